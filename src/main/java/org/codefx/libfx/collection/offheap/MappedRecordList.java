@@ -0,0 +1,471 @@
+package org.codefx.libfx.collection.offheap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.UnaryOperator;
+
+/**
+ * A {@link List} of fixed-size records which is backed by a memory-mapped file.
+ * <p>
+ * Each element is a {@link ByteBuffer} with exactly {@link #getRecordSize() recordSize} remaining bytes. The buffers
+ * returned by {@link #get(int) get} are read-only views into the mapped file, so reading does not copy the record onto
+ * the heap. Because the file is mapped in segments which are only created on access, the list can be much larger than
+ * the heap. Modifications are written to the file and become durable after {@link #force()} or {@link #close()}.
+ * <p>
+ * Appending and replacing records are cheap; inserting and removing records anywhere but at the end of the list shift
+ * all following records and take linear time.
+ * <p>
+ * This class is intended to be used as the inner list of a
+ * {@link org.codefx.libfx.collection.transform.TransformingList TransformingList} whose transformations decode and
+ * encode the outer elements:
+ *
+ * <pre>
+ * List&lt;Point&gt; points = TransformingCollectionBuilder
+ * 		.&lt;ByteBuffer, Point&gt; forInnerAndOuterType(ByteBuffer.class, Point.class)
+ * 		.toOuter(record -&gt; new Point(record.getInt(0), record.getInt(4)))
+ * 		.toInner(point -&gt; (ByteBuffer) ByteBuffer.allocate(8).putInt(point.x).putInt(point.y).flip())
+ * 		.transformList(MappedRecordList.open(file, 8));
+ * </pre>
+ * <p>
+ * Null elements are not allowed. Note that the views returned by {@code get} reflect later modifications of their
+ * record (e.g. by {@link #set(int, ByteBuffer) set} or by shifting records on removal); outer elements decoded from
+ * them do not. Algorithms which read records and later write them back must hence not hold on to these views. This is
+ * why {@link #toArray() toArray}, {@link #sort(Comparator) sort} and {@link #replaceAll(UnaryOperator) replaceAll}
+ * copy the records onto the heap (which also makes sorting a transforming list with this inner list safe).
+ * <p>
+ * This class is not thread-safe. Its iterators are fail-fast.
+ */
+public final class MappedRecordList extends AbstractList<ByteBuffer> implements RandomAccess, Closeable {
+
+	// #begin CONSTANTS
+
+	/**
+	 * Identifies files created by this class.
+	 */
+	private static final int MAGIC_NUMBER = 0x4c665245;
+
+	/**
+	 * The file starts with a header containing the {@link #MAGIC_NUMBER} ({@code int}), the record size ({@code int})
+	 * and the number of records ({@code long}).
+	 */
+	private static final int HEADER_SIZE = 2 * Integer.BYTES + Long.BYTES;
+
+	private static final int RECORD_SIZE_POSITION = Integer.BYTES;
+
+	private static final int SIZE_POSITION = 2 * Integer.BYTES;
+
+	/**
+	 * The maximum number of bytes mapped by a single segment (1 GiB).
+	 */
+	private static final int MAX_SEGMENT_SIZE = 1 << 30;
+
+	/**
+	 * The minimum number of records mapped when a segment is mapped or grown, which keeps small lists from mapping (and
+	 * hence growing the file to) a full segment.
+	 */
+	private static final int MIN_MAPPED_RECORDS = 1 << 10;
+
+	// #end CONSTANTS
+
+	// #begin FIELDS
+
+	private final FileChannel channel;
+
+	private final int recordSize;
+
+	/**
+	 * The number of records per segment; segments never split a record.
+	 */
+	private final int recordsPerSegment;
+
+	private final MappedByteBuffer header;
+
+	/**
+	 * The mapped segments; entries are null until the segment is first accessed. Segments are mapped only as far as
+	 * needed and remapped with a larger size when records beyond their end are accessed.
+	 */
+	private final List<MappedByteBuffer> segments;
+
+	private int size;
+
+	private boolean closed;
+
+	// #end FIELDS
+
+	// #begin CONSTRUCTION
+
+	private MappedRecordList(FileChannel channel, int recordSize, MappedByteBuffer header, int size) {
+		this.channel = channel;
+		this.recordSize = recordSize;
+		this.recordsPerSegment = Math.max(1, MAX_SEGMENT_SIZE / recordSize);
+		this.header = header;
+		this.segments = new ArrayList<>();
+		this.size = size;
+	}
+
+	/**
+	 * Opens the list stored in the specified file. If the file does not exist or is empty, a new, empty list is
+	 * created.
+	 *
+	 * @param file
+	 *            the file backing the list
+	 * @param recordSize
+	 *            the size in bytes of each record; must be positive and equal to the size with which the file was
+	 *            created
+	 * @return a list of the records in the file
+	 * @throws IOException
+	 *             if the file can not be opened or mapped or if it is no record file with the specified record size
+	 */
+	public static MappedRecordList open(Path file, int recordSize) throws IOException {
+		Objects.requireNonNull(file, "The argument 'file' must not be null.");
+		if (recordSize <= 0)
+			throw new IllegalArgumentException("The argument 'recordSize' must be positive.");
+
+		FileChannel channel = FileChannel.open(
+				file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			boolean newFile = channel.size() == 0;
+			MappedByteBuffer header = channel.map(MapMode.READ_WRITE, 0, HEADER_SIZE);
+			if (newFile)
+				writeHeader(header, recordSize);
+			int size = readAndValidateHeader(file, header, recordSize);
+			return new MappedRecordList(channel, recordSize, header, size);
+		} catch (IOException | RuntimeException ex) {
+			channel.close();
+			throw ex;
+		}
+	}
+
+	private static void writeHeader(ByteBuffer header, int recordSize) {
+		header.putInt(0, MAGIC_NUMBER);
+		header.putInt(RECORD_SIZE_POSITION, recordSize);
+		header.putLong(SIZE_POSITION, 0);
+	}
+
+	private static int readAndValidateHeader(Path file, ByteBuffer header, int recordSize) throws IOException {
+		if (header.getInt(0) != MAGIC_NUMBER)
+			throw new IOException("The file '" + file + "' is no record file.");
+		int fileRecordSize = header.getInt(RECORD_SIZE_POSITION);
+		if (fileRecordSize != recordSize)
+			throw new IOException("The file '" + file + "' contains records of size " + fileRecordSize
+					+ " instead of " + recordSize + ".");
+		long size = header.getLong(SIZE_POSITION);
+		if (size < 0 || size > Integer.MAX_VALUE)
+			throw new IOException("The file '" + file + "' contains an invalid number of records (" + size + ").");
+		return (int) size;
+	}
+
+	// #end CONSTRUCTION
+
+	// #begin ACCESS TO THE FILE
+
+	/**
+	 * @return the size in bytes of each record
+	 */
+	public int getRecordSize() {
+		return recordSize;
+	}
+
+	/**
+	 * Writes all modifications to the underlying storage device.
+	 */
+	public void force() {
+		ensureOpen();
+		header.force();
+		for (MappedByteBuffer segment : segments)
+			if (segment != null)
+				segment.force();
+	}
+
+	/**
+	 * {@link #force() Forces} all modifications to the storage device and closes the file. All further operations on
+	 * this list (except {@code close}) throw an {@link IllegalStateException}. Buffers which were returned by
+	 * {@link #get(int) get} remain readable until they are garbage collected.
+	 *
+	 * @throws IOException
+	 *             if closing the file fails
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed)
+			return;
+
+		force();
+		closed = true;
+		channel.close();
+	}
+
+	private void ensureOpen() {
+		if (closed)
+			throw new IllegalStateException("This list was already closed.");
+	}
+
+	/**
+	 * Returns a buffer whose position is at the start of the specified record and whose limit is at its end.
+	 *
+	 * @param index
+	 *            the record's index, which must be smaller than the current capacity of the file
+	 * @return a writable view of the record
+	 */
+	private ByteBuffer record(int index) {
+		int indexInSegment = index % recordsPerSegment;
+		MappedByteBuffer segment = segment(index / recordsPerSegment, indexInSegment + 1);
+		int offset = indexInSegment * recordSize;
+
+		ByteBuffer record = segment.duplicate();
+		record.limit(offset + recordSize);
+		record.position(offset);
+		return record.slice();
+	}
+
+	/**
+	 * Returns the specified segment, which is mapped far enough to contain the specified number of records.
+	 *
+	 * @param segmentIndex
+	 *            the segment's index
+	 * @param minRecordCount
+	 *            the minimum number of records the returned mapping must contain
+	 * @return the mapped segment
+	 */
+	private MappedByteBuffer segment(int segmentIndex, int minRecordCount) {
+		while (segments.size() <= segmentIndex)
+			segments.add(null);
+
+		MappedByteBuffer segment = segments.get(segmentIndex);
+		int mappedRecordCount = segment == null ? 0 : segment.capacity() / recordSize;
+		if (mappedRecordCount < minRecordCount) {
+			int existingRecordCount = size - segmentIndex * recordsPerSegment;
+			int recordCount = Math.max(minRecordCount, Math.max(existingRecordCount, 2 * mappedRecordCount));
+			recordCount = Math.min(recordsPerSegment, Math.max(MIN_MAPPED_RECORDS, recordCount));
+			segment = mapSegment(segmentIndex, recordCount);
+			segments.set(segmentIndex, segment);
+		}
+		return segment;
+	}
+
+	private MappedByteBuffer mapSegment(int segmentIndex, int recordCount) {
+		long position = HEADER_SIZE + (long) segmentIndex * recordsPerSegment * recordSize;
+		// mapping a region beyond the end of the file lets the file grow accordingly;
+		// views of a former, smaller mapping of the same region remain valid
+		try {
+			return channel.map(MapMode.READ_WRITE, position, (long) recordCount * recordSize);
+		} catch (IOException ex) {
+			throw new UncheckedIOException("Mapping segment " + segmentIndex + " failed.", ex);
+		}
+	}
+
+	private void writeRecord(int index, ByteBuffer element) {
+		record(index).put(element.duplicate());
+	}
+
+	private void copyRecord(int fromIndex, int toIndex) {
+		record(toIndex).put(record(fromIndex));
+	}
+
+	private ByteBuffer copyOfRecord(int index) {
+		ByteBuffer copy = ByteBuffer.allocate(recordSize);
+		copy.put(record(index));
+		copy.flip();
+		return copy;
+	}
+
+	private void setSize(int size) {
+		this.size = size;
+		header.putLong(SIZE_POSITION, size);
+	}
+
+	// #end ACCESS TO THE FILE
+
+	// #begin IMPLEMENTATION OF 'List<ByteBuffer>'
+
+	@Override
+	public int size() {
+		ensureOpen();
+		return size;
+	}
+
+	/**
+	 * Returns a read-only view of the record at the specified index. The view is not copied onto the heap and reflects
+	 * later modifications of the record.
+	 *
+	 * @param index
+	 *            the record's index
+	 * @return a read-only buffer with exactly {@link #getRecordSize() recordSize} remaining bytes
+	 */
+	@Override
+	public ByteBuffer get(int index) {
+		ensureOpen();
+		checkElementIndex(index);
+		return record(index).asReadOnlyBuffer();
+	}
+
+	/**
+	 * Replaces the record at the specified index with a copy of the specified buffer's remaining bytes.
+	 *
+	 * @param index
+	 *            the record's index
+	 * @param element
+	 *            the new record; must have exactly {@link #getRecordSize() recordSize} remaining bytes; its position is
+	 *            not changed
+	 * @return a heap buffer containing a copy of the replaced record
+	 */
+	@Override
+	public ByteBuffer set(int index, ByteBuffer element) {
+		ensureOpen();
+		checkElementIndex(index);
+		checkRecord(element);
+
+		ByteBuffer formerRecord = copyOfRecord(index);
+		writeRecord(index, element);
+		return formerRecord;
+	}
+
+	/**
+	 * Inserts a copy of the specified buffer's remaining bytes at the specified index.
+	 *
+	 * @param index
+	 *            the index at which the record is inserted
+	 * @param element
+	 *            the new record; must have exactly {@link #getRecordSize() recordSize} remaining bytes; its position is
+	 *            not changed
+	 */
+	@Override
+	public void add(int index, ByteBuffer element) {
+		ensureOpen();
+		if (index < 0 || size < index)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		checkRecord(element);
+		if (size == Integer.MAX_VALUE)
+			throw new IllegalStateException("The list can not contain more than " + size + " records.");
+
+		for (int current = size; current > index; current--)
+			copyRecord(current - 1, current);
+		writeRecord(index, element);
+		setSize(size + 1);
+		modCount++;
+	}
+
+	@Override
+	public ByteBuffer remove(int index) {
+		ensureOpen();
+		checkElementIndex(index);
+
+		ByteBuffer removedRecord = copyOfRecord(index);
+		for (int current = index + 1; current < size; current++)
+			copyRecord(current, current - 1);
+		setSize(size - 1);
+		modCount++;
+		return removedRecord;
+	}
+
+	/**
+	 * Removes all records. The file is not truncated.
+	 */
+	@Override
+	public void clear() {
+		ensureOpen();
+		setSize(0);
+		modCount++;
+	}
+
+	/**
+	 * Returns an array containing heap copies of all records. Unlike the views returned by {@link #get(int) get}, the
+	 * copies do not reflect later modifications, so the array can be used to write the records back to this list.
+	 *
+	 * @return an array of heap buffers with exactly {@link #getRecordSize() recordSize} remaining bytes each
+	 */
+	@Override
+	public Object[] toArray() {
+		ensureOpen();
+		Object[] records = new Object[size];
+		for (int index = 0; index < size; index++)
+			records[index] = copyOfRecord(index);
+		return records;
+	}
+
+	/**
+	 * Returns an array containing heap copies of all records (see {@link #toArray()}).
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T[] toArray(T[] array) {
+		Objects.requireNonNull(array, "The argument 'array' must not be null.");
+		ensureOpen();
+
+		T[] records = array.length < size
+				? (T[]) Array.newInstance(array.getClass().getComponentType(), size)
+				: array;
+		for (int index = 0; index < size; index++)
+			// throws an 'ArrayStoreException' if 'T' is no supertype of 'ByteBuffer', as required by the contract
+			records[index] = (T) copyOfRecord(index);
+		if (size < records.length)
+			records[size] = null;
+		return records;
+	}
+
+	/**
+	 * Sorts the records by sorting heap copies of them and writing those back. (Sorting the views returned by
+	 * {@link #get(int) get} would read records which were already overwritten.)
+	 */
+	@Override
+	public void sort(Comparator<? super ByteBuffer> comparator) {
+		ensureOpen();
+
+		ByteBuffer[] records = toArray(new ByteBuffer[size]);
+		Arrays.sort(records, comparator);
+		for (int index = 0; index < records.length; index++)
+			writeRecord(index, records[index]);
+		modCount++;
+	}
+
+	/**
+	 * Replaces each record with the result of applying the specified operator to a heap copy of it. All results are
+	 * copied onto the heap before the first record is written, so the operator can not observe replaced records even
+	 * if it accesses this list.
+	 */
+	@Override
+	public void replaceAll(UnaryOperator<ByteBuffer> operator) {
+		Objects.requireNonNull(operator, "The argument 'operator' must not be null.");
+		ensureOpen();
+
+		ByteBuffer[] records = new ByteBuffer[size];
+		for (int index = 0; index < size; index++) {
+			ByteBuffer record = operator.apply(copyOfRecord(index));
+			checkRecord(record);
+			records[index] = ByteBuffer.allocate(recordSize).put(record.duplicate());
+			records[index].flip();
+		}
+		for (int index = 0; index < records.length; index++)
+			writeRecord(index, records[index]);
+	}
+
+	private void checkElementIndex(int index) {
+		if (index < 0 || size <= index)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+	}
+
+	private void checkRecord(ByteBuffer element) {
+		Objects.requireNonNull(element, "The argument 'element' must not be null.");
+		if (element.remaining() != recordSize)
+			throw new IllegalArgumentException("The record must have exactly " + recordSize
+					+ " remaining bytes but has " + element.remaining() + ".");
+	}
+
+	// #end IMPLEMENTATION OF 'List<ByteBuffer>'
+
+}
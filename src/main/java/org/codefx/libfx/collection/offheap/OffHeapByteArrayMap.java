@@ -0,0 +1,755 @@
+package org.codefx.libfx.collection.offheap;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A {@link Map} from {@code long} keys to {@code byte[]} values which keeps its keys and values outside of the Java
+ * heap.
+ * <p>
+ * The keys are kept in an open addressing hash table and the values in large chunks of memory. Both are held in direct
+ * {@link ByteBuffer}s so the garbage collector only sees a handful of objects regardless of how many entries the map
+ * contains. Values are copied into the map on {@link #put(Long, byte[]) put} and out of it on {@link #get(Object) get}
+ * - to avoid the latter copy, {@link #getBuffer(long)} can be used.
+ * <p>
+ * This class is intended to be used as the inner map of a {@link org.codefx.libfx.collection.transform.TransformingMap
+ * TransformingMap} whose value transformations (de)serialize the outer values:
+ *
+ * <pre>
+ * Map&lt;Long, Customer&gt; customers = TransformingMapBuilder
+ * 		.&lt;Long, Long, byte[], Customer&gt; forTypes(Long.class, Long.class, byte[].class, Customer.class)
+ * 		.toOuterKey(key -&gt; key)
+ * 		.toInnerKey(key -&gt; key)
+ * 		.toOuterValue(Customer::deserialize)
+ * 		.toInnerValue(Customer::serialize)
+ * 		.transformMap(new OffHeapByteArrayMap());
+ * </pre>
+ * <p>
+ * Removing or replacing a value does not immediately free its memory. Instead the map keeps track of how much memory is
+ * wasted this way and {@link #compact() compacts} the values once it exceeds the memory used by live values.
+ * <p>
+ * Neither null keys nor null values are allowed. Like a {@code HashMap<Long, byte[]>} this map compares values by
+ * identity (which is how arrays implement {@link Object#equals(Object) equals}); since values are copied, this means
+ * that {@link #containsValue(Object) containsValue} and {@link #equals(Object) equals} are of little use.
+ * <p>
+ * This class is not thread-safe. Its iterators are fail-fast.
+ */
+public final class OffHeapByteArrayMap extends AbstractMap<Long, byte[]> {
+
+	// #begin CONSTANTS
+
+	/**
+	 * The default number of entries the map can contain before its index has to grow.
+	 */
+	private static final int DEFAULT_EXPECTED_SIZE = 1 << 10;
+
+	/**
+	 * The default size of the chunks in which values are stored (64 MiB).
+	 */
+	private static final int DEFAULT_CHUNK_SIZE = 1 << 26;
+
+	/**
+	 * The number of bytes occupied by a slot in the index (a {@code long} for the key and one for the location).
+	 */
+	private static final int SLOT_SIZE = 2 * Long.BYTES;
+
+	/**
+	 * Each of the index' segments contains {@code 2 ^ SEGMENT_SHIFT} slots (i.e. takes up 16 MiB).
+	 */
+	private static final int SEGMENT_SHIFT = 20;
+
+	private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+
+	/**
+	 * The maximum number of slots in the index.
+	 */
+	private static final int MAX_SLOT_COUNT = 1 << 30;
+
+	/**
+	 * The location of a slot which never contained an entry. Because direct buffers are zeroed, new slots are free.
+	 */
+	private static final long FREE = 0;
+
+	/**
+	 * The location of a slot whose entry was removed.
+	 */
+	private static final long DELETED = -1;
+
+	// #end CONSTANTS
+
+	// #begin FIELDS
+
+	/**
+	 * The size of newly allocated value chunks.
+	 */
+	private final int chunkSize;
+
+	/**
+	 * The index, which is a hash table with linear probing. It is split into segments of {@code 2 ^ SEGMENT_SHIFT}
+	 * slots so it can grow beyond the maximum size of a single buffer. Each slot contains the key followed by the
+	 * value's location (or {@link #FREE} or {@link #DELETED}).
+	 */
+	private ByteBuffer[] index;
+
+	/**
+	 * The number of slots in the {@link #index}; always a power of two.
+	 */
+	private int slotCount;
+
+	/**
+	 * The number of slots which are not {@link #FREE}, i.e. which either contain an entry or were {@link #DELETED}.
+	 */
+	private int usedSlotCount;
+
+	private int size;
+
+	/**
+	 * The chunks containing the values. Each value is stored as its length followed by its bytes. Chunks are only ever
+	 * appended to, so existing values are never overwritten.
+	 */
+	private List<ByteBuffer> chunks;
+
+	/**
+	 * The number of bytes written to the {@link #chunks}.
+	 */
+	private long writtenValueBytes;
+
+	/**
+	 * The number of bytes in the {@link #chunks} which belong to values contained in this map.
+	 */
+	private long liveValueBytes;
+
+	/**
+	 * Counts structural modifications to implement fail-fast iterators.
+	 */
+	private int modCount;
+
+	private final Set<Entry<Long, byte[]>> entrySet;
+
+	// #end FIELDS
+
+	// #begin CONSTRUCTION
+
+	/**
+	 * Creates a new, empty map.
+	 */
+	public OffHeapByteArrayMap() {
+		this(DEFAULT_EXPECTED_SIZE, DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * Creates a new, empty map which can contain the specified number of entries before its index has to grow.
+	 *
+	 * @param expectedSize
+	 *            the expected number of entries; must be non-negative
+	 */
+	public OffHeapByteArrayMap(int expectedSize) {
+		this(expectedSize, DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * Creates a new, empty map which can contain the specified number of entries before its index has to grow and
+	 * which stores its values in chunks of the specified size.
+	 *
+	 * @param expectedSize
+	 *            the expected number of entries; must be non-negative
+	 * @param chunkSize
+	 *            the size in bytes of the chunks in which the values are stored; must be positive; values which do not
+	 *            fit into a chunk get one of their own
+	 */
+	public OffHeapByteArrayMap(int expectedSize, int chunkSize) {
+		if (expectedSize < 0)
+			throw new IllegalArgumentException("The argument 'expectedSize' must be non-negative.");
+		if (chunkSize <= 0)
+			throw new IllegalArgumentException("The argument 'chunkSize' must be positive.");
+
+		this.chunkSize = chunkSize;
+		this.entrySet = new EntrySet();
+		initializeIndex(slotCountFor(expectedSize));
+		initializeValues();
+	}
+
+	private void initializeIndex(int slotCount) {
+		this.index = createIndex(slotCount);
+		this.slotCount = slotCount;
+		this.usedSlotCount = 0;
+		this.size = 0;
+	}
+
+	private void initializeValues() {
+		this.chunks = new ArrayList<>();
+		this.writtenValueBytes = 0;
+		this.liveValueBytes = 0;
+	}
+
+	/**
+	 * Returns the number of slots needed to hold the specified number of entries with a load factor of at most one
+	 * half.
+	 *
+	 * @param entryCount
+	 *            the number of entries
+	 * @return a power of two
+	 */
+	private static int slotCountFor(int entryCount) {
+		int slotCount = 16;
+		while (slotCount < MAX_SLOT_COUNT && slotCount / 2 < entryCount)
+			slotCount <<= 1;
+		return slotCount;
+	}
+
+	private static ByteBuffer[] createIndex(int slotCount) {
+		int slotsPerSegment = Math.min(slotCount, 1 << SEGMENT_SHIFT);
+		ByteBuffer[] index = new ByteBuffer[slotCount / slotsPerSegment];
+		for (int i = 0; i < index.length; i++)
+			index[i] = ByteBuffer.allocateDirect(slotsPerSegment * SLOT_SIZE).order(ByteOrder.nativeOrder());
+		return index;
+	}
+
+	// #end CONSTRUCTION
+
+	// #begin INDEX
+
+	/**
+	 * Spreads the bits of the specified key (uses MurmurHash3's finalizer).
+	 *
+	 * @param key
+	 *            the key to hash
+	 * @return the key's hash
+	 */
+	private static int hash(long key) {
+		long hash = key;
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return (int) hash;
+	}
+
+	private static long getKey(ByteBuffer[] index, int slot) {
+		return index[slot >>> SEGMENT_SHIFT].getLong((slot & SEGMENT_MASK) * SLOT_SIZE);
+	}
+
+	private static long getLocation(ByteBuffer[] index, int slot) {
+		return index[slot >>> SEGMENT_SHIFT].getLong((slot & SEGMENT_MASK) * SLOT_SIZE + Long.BYTES);
+	}
+
+	private static void setSlot(ByteBuffer[] index, int slot, long key, long location) {
+		ByteBuffer segment = index[slot >>> SEGMENT_SHIFT];
+		int offset = (slot & SEGMENT_MASK) * SLOT_SIZE;
+		segment.putLong(offset, key);
+		segment.putLong(offset + Long.BYTES, location);
+	}
+
+	private static void setLocation(ByteBuffer[] index, int slot, long location) {
+		index[slot >>> SEGMENT_SHIFT].putLong((slot & SEGMENT_MASK) * SLOT_SIZE + Long.BYTES, location);
+	}
+
+	private static boolean isEntry(long location) {
+		return location != FREE && location != DELETED;
+	}
+
+	/**
+	 * Finds the slot containing the specified key.
+	 *
+	 * @param key
+	 *            the key to look up
+	 * @return the slot containing the key if it is present; otherwise {@code -(insertionSlot + 1)}, where
+	 *         {@code insertionSlot} is the slot in which the key should be inserted
+	 */
+	private int findSlot(long key) {
+		int mask = slotCount - 1;
+		int slot = hash(key) & mask;
+		int firstDeletedSlot = -1;
+		// there is always at least one free slot, so this loop terminates
+		while (true) {
+			long location = getLocation(index, slot);
+			if (location == FREE)
+				return -((firstDeletedSlot >= 0 ? firstDeletedSlot : slot) + 1);
+			if (location == DELETED) {
+				if (firstDeletedSlot < 0)
+					firstDeletedSlot = slot;
+			} else if (getKey(index, slot) == key)
+				return slot;
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	/**
+	 * Rebuilds the index if too many slots are used, which also removes all {@link #DELETED} markers. Must only be
+	 * called before inserting a new key because rebuilding moves all entries to other slots.
+	 *
+	 * @return true if the index was rebuilt, in which case slots found before are invalid
+	 */
+	private boolean ensureFreeSlots() {
+		boolean tooManyUsedSlots = usedSlotCount >= slotCount - (slotCount >>> 2);
+		if (!tooManyUsedSlots)
+			return false;
+
+		int newSlotCount = slotCountFor(size + 1);
+		if (newSlotCount == MAX_SLOT_COUNT && size + 1 >= newSlotCount - (newSlotCount >>> 2))
+			throw new IllegalStateException("This map can not contain more than " + size + " entries.");
+		rebuildIndex(newSlotCount);
+		return true;
+	}
+
+	private void rebuildIndex(int newSlotCount) {
+		// the entries are moved to other slots, which breaks iterators
+		modCount++;
+		ByteBuffer[] oldIndex = index;
+		int oldSlotCount = slotCount;
+
+		index = createIndex(newSlotCount);
+		slotCount = newSlotCount;
+		usedSlotCount = size;
+
+		int mask = newSlotCount - 1;
+		for (int oldSlot = 0; oldSlot < oldSlotCount; oldSlot++) {
+			long location = getLocation(oldIndex, oldSlot);
+			if (!isEntry(location))
+				continue;
+			long key = getKey(oldIndex, oldSlot);
+			int slot = hash(key) & mask;
+			while (getLocation(index, slot) != FREE)
+				slot = (slot + 1) & mask;
+			setSlot(index, slot, key, location);
+		}
+	}
+
+	// #end INDEX
+
+	// #begin VALUES
+
+	private static long encodeLocation(int chunkIndex, int offset) {
+		// add one so no location is equal to 'FREE'
+		return ((long) chunkIndex << 32 | offset) + 1;
+	}
+
+	private static int chunkIndexOf(long location) {
+		return (int) ((location - 1) >>> 32);
+	}
+
+	private static int offsetOf(long location) {
+		return (int) (location - 1);
+	}
+
+	/**
+	 * Appends the specified value's remaining bytes to the chunks.
+	 *
+	 * @param value
+	 *            the buffer containing the value
+	 * @return the value's location
+	 */
+	private long writeValue(ByteBuffer value) {
+		int length = value.remaining();
+		if (length > Integer.MAX_VALUE - Integer.BYTES)
+			throw new IllegalArgumentException("The value is too large to be stored in this map.");
+		int recordSize = Integer.BYTES + length;
+
+		ByteBuffer chunk = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+		if (chunk == null || chunk.remaining() < recordSize) {
+			chunk = ByteBuffer.allocateDirect(Math.max(chunkSize, recordSize)).order(ByteOrder.nativeOrder());
+			chunks.add(chunk);
+		}
+
+		int offset = chunk.position();
+		chunk.putInt(length);
+		chunk.put(value);
+
+		writtenValueBytes += recordSize;
+		liveValueBytes += recordSize;
+		return encodeLocation(chunks.size() - 1, offset);
+	}
+
+	/**
+	 * @param location
+	 *            the value's location
+	 * @return a read-only buffer containing (exactly) the value at the specified location
+	 */
+	private ByteBuffer valueBuffer(long location) {
+		ByteBuffer chunk = chunks.get(chunkIndexOf(location));
+		int offset = offsetOf(location);
+		int length = chunk.getInt(offset);
+
+		ByteBuffer value = chunk.duplicate();
+		value.limit(offset + Integer.BYTES + length);
+		value.position(offset + Integer.BYTES);
+		return value.slice().asReadOnlyBuffer();
+	}
+
+	private static byte[] toArray(ByteBuffer value) {
+		byte[] array = new byte[value.remaining()];
+		value.get(array);
+		return array;
+	}
+
+	/**
+	 * Marks the value at the specified location as garbage.
+	 *
+	 * @param location
+	 *            the value's location
+	 */
+	private void discardValue(long location) {
+		int length = chunks.get(chunkIndexOf(location)).getInt(offsetOf(location));
+		liveValueBytes -= Integer.BYTES + length;
+	}
+
+	/**
+	 * {@link #compact() Compacts} the values if more memory is wasted by discarded values than is used by live ones.
+	 */
+	private void compactIfWasteful() {
+		long discardedValueBytes = writtenValueBytes - liveValueBytes;
+		boolean wasteful = discardedValueBytes >= chunkSize && discardedValueBytes > liveValueBytes;
+		if (wasteful)
+			compact();
+	}
+
+	/**
+	 * Copies all values into new chunks so that the memory wasted by removed or replaced values is released.
+	 * <p>
+	 * This is done automatically when the wasted memory exceeds the memory used by the map's values. Note that the
+	 * memory is only released when the garbage collector collects the old chunks and all buffers returned by
+	 * {@link #getBuffer(long)}.
+	 */
+	public void compact() {
+		List<ByteBuffer> oldChunks = chunks;
+		initializeValues();
+
+		for (int slot = 0; slot < slotCount; slot++) {
+			long location = getLocation(index, slot);
+			if (!isEntry(location))
+				continue;
+
+			ByteBuffer oldChunk = oldChunks.get(chunkIndexOf(location));
+			int offset = offsetOf(location);
+			ByteBuffer value = oldChunk.duplicate();
+			value.limit(offset + Integer.BYTES + oldChunk.getInt(offset));
+			value.position(offset + Integer.BYTES);
+			setLocation(index, slot, writeValue(value));
+		}
+	}
+
+	// #end VALUES
+
+	// #begin PRIMITIVE ACCESS
+
+	/**
+	 * Indicates whether this map contains the specified key.
+	 *
+	 * @param key
+	 *            the key to look up
+	 * @return true if the map contains the key
+	 * @see #containsKey(Object)
+	 */
+	public boolean containsKey(long key) {
+		return findSlot(key) >= 0;
+	}
+
+	/**
+	 * Returns a copy of the value to which the specified key is mapped.
+	 *
+	 * @param key
+	 *            the key to look up
+	 * @return a copy of the key's value; null if the key is not contained in the map
+	 * @see #get(Object)
+	 */
+	public byte[] get(long key) {
+		int slot = findSlot(key);
+		if (slot < 0)
+			return null;
+		return toArray(valueBuffer(getLocation(index, slot)));
+	}
+
+	/**
+	 * Returns the value to which the specified key is mapped without copying it onto the heap.
+	 * <p>
+	 * The returned buffer is read-only and its content is not changed by later modifications of this map (not even if
+	 * the key is mapped to another value).
+	 *
+	 * @param key
+	 *            the key to look up
+	 * @return a read-only buffer containing exactly the key's value; empty if the key is not contained in the map
+	 */
+	public Optional<ByteBuffer> getBuffer(long key) {
+		int slot = findSlot(key);
+		if (slot < 0)
+			return Optional.empty();
+		return Optional.of(valueBuffer(getLocation(index, slot)));
+	}
+
+	/**
+	 * Maps the specified key to a copy of the specified value.
+	 *
+	 * @param key
+	 *            the key
+	 * @param value
+	 *            the value; must not be null
+	 * @return a copy of the value the key was previously mapped to; null if there was none
+	 * @see #put(Long, byte[])
+	 */
+	public byte[] put(long key, byte[] value) {
+		Objects.requireNonNull(value, "The argument 'value' must not be null.");
+
+		int slot = findSlot(key);
+		byte[] formerValue = null;
+		if (slot >= 0) {
+			// replacing a value does not move any entries, so iterators remain valid
+			long formerLocation = getLocation(index, slot);
+			formerValue = toArray(valueBuffer(formerLocation));
+			discardValue(formerLocation);
+			setLocation(index, slot, writeValue(ByteBuffer.wrap(value)));
+		} else {
+			if (ensureFreeSlots())
+				slot = findSlot(key);
+			long location = writeValue(ByteBuffer.wrap(value));
+			int insertionSlot = -(slot + 1);
+			if (getLocation(index, insertionSlot) == FREE)
+				usedSlotCount++;
+			setSlot(index, insertionSlot, key, location);
+			size++;
+			modCount++;
+		}
+
+		compactIfWasteful();
+		return formerValue;
+	}
+
+	/**
+	 * Removes the specified key.
+	 *
+	 * @param key
+	 *            the key to remove
+	 * @return a copy of the value the key was mapped to; null if the key was not contained in the map
+	 * @see #remove(Object)
+	 */
+	public byte[] remove(long key) {
+		int slot = findSlot(key);
+		if (slot < 0)
+			return null;
+
+		long location = getLocation(index, slot);
+		byte[] removedValue = toArray(valueBuffer(location));
+		removeAtSlot(slot);
+		return removedValue;
+	}
+
+	private void removeAtSlot(int slot) {
+		discardValue(getLocation(index, slot));
+		setLocation(index, slot, DELETED);
+		size--;
+		modCount++;
+	}
+
+	// #end PRIMITIVE ACCESS
+
+	// #begin IMPLEMENTATION OF 'Map<Long, byte[]>'
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		if (key instanceof Long)
+			return containsKey(((Long) key).longValue());
+		else
+			return false;
+	}
+
+	@Override
+	public byte[] get(Object key) {
+		if (key instanceof Long)
+			return get(((Long) key).longValue());
+		else
+			return null;
+	}
+
+	@Override
+	public byte[] put(Long key, byte[] value) {
+		Objects.requireNonNull(key, "The argument 'key' must not be null.");
+		return put(key.longValue(), value);
+	}
+
+	@Override
+	public byte[] remove(Object key) {
+		if (key instanceof Long)
+			return remove(((Long) key).longValue());
+		else
+			return null;
+	}
+
+	@Override
+	public void clear() {
+		initializeIndex(slotCountFor(DEFAULT_EXPECTED_SIZE));
+		initializeValues();
+		modCount++;
+	}
+
+	@Override
+	public Set<Entry<Long, byte[]>> entrySet() {
+		return entrySet;
+	}
+
+	// #end IMPLEMENTATION OF 'Map<Long, byte[]>'
+
+	// #begin INNER CLASSES
+
+	/**
+	 * The view on this map's entries.
+	 */
+	private class EntrySet extends AbstractSet<Entry<Long, byte[]>> {
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public Iterator<Entry<Long, byte[]>> iterator() {
+			return new EntryIterator();
+		}
+
+		@Override
+		public void clear() {
+			OffHeapByteArrayMap.this.clear();
+		}
+
+	}
+
+	/**
+	 * A fail-fast iterator over this map's entries, which visits the slots in order.
+	 */
+	private class EntryIterator implements Iterator<Entry<Long, byte[]>> {
+
+		private int nextSlot;
+
+		private int lastSlot;
+
+		private int expectedModCount;
+
+		public EntryIterator() {
+			nextSlot = findEntryFrom(0);
+			lastSlot = -1;
+			expectedModCount = modCount;
+		}
+
+		private int findEntryFrom(int slot) {
+			int current = slot;
+			while (current < slotCount && !isEntry(getLocation(index, current)))
+				current++;
+			return current;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return nextSlot < slotCount;
+		}
+
+		@Override
+		public Entry<Long, byte[]> next() {
+			if (modCount != expectedModCount)
+				throw new ConcurrentModificationException();
+			if (!hasNext())
+				throw new NoSuchElementException();
+
+			lastSlot = nextSlot;
+			nextSlot = findEntryFrom(nextSlot + 1);
+			// the value buffer is not affected by later modifications, so it can be copied lazily
+			return new LazyEntry(getKey(index, lastSlot), valueBuffer(getLocation(index, lastSlot)));
+		}
+
+		@Override
+		public void remove() {
+			if (lastSlot < 0)
+				throw new IllegalStateException();
+			if (modCount != expectedModCount)
+				throw new ConcurrentModificationException();
+
+			// removal does not move other entries, so the iteration can continue from 'nextSlot'
+			removeAtSlot(lastSlot);
+			lastSlot = -1;
+			expectedModCount = modCount;
+		}
+
+	}
+
+	/**
+	 * An entry which copies its value onto the heap only when it is requested and writes new values through to the map
+	 * (which makes {@link Map#replaceAll(java.util.function.BiFunction) replaceAll} work).
+	 * <p>
+	 * Because each call to {@link #getValue()} returns a new copy, entries are compared by the values' content.
+	 */
+	private final class LazyEntry implements Entry<Long, byte[]> {
+
+		private final long key;
+
+		private ByteBuffer value;
+
+		public LazyEntry(long key, ByteBuffer value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		public Long getKey() {
+			return key;
+		}
+
+		@Override
+		public byte[] getValue() {
+			return toArray(value.duplicate());
+		}
+
+		@Override
+		public byte[] setValue(byte[] value) {
+			Objects.requireNonNull(value, "The argument 'value' must not be null.");
+			if (!containsKey(key))
+				throw new IllegalStateException("The entry's key " + key + " was removed from the map.");
+
+			// replacing the value of an existing key does not break iterators
+			byte[] formerValue = put(key, value);
+			this.value = getBuffer(key).get();
+			return formerValue;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (object == this)
+				return true;
+			if (!(object instanceof Entry))
+				return false;
+
+			Entry<?, ?> other = (Entry<?, ?>) object;
+			return getKey().equals(other.getKey())
+					&& other.getValue() instanceof byte[]
+					&& Arrays.equals(getValue(), (byte[]) other.getValue());
+		}
+
+		@Override
+		public int hashCode() {
+			return getKey().hashCode() ^ Arrays.hashCode(getValue());
+		}
+
+		@Override
+		public String toString() {
+			return key + "=" + Arrays.toString(getValue());
+		}
+
+	}
+
+	// #end INNER CLASSES
+
+}
@@ -0,0 +1,9 @@
+/**
+ * Provides collections which keep their elements outside of the Java heap.
+ * <p>
+ * These collections store their content in direct {@link java.nio.ByteBuffer ByteBuffer}s and are hence restricted to
+ * primitive or binary elements. They are meant to be used as the inner collections of the transforming collections in
+ * {@link org.codefx.libfx.collection.transform}, whose transformations (de)serialize the actual elements on access.
+ * This keeps large data sets from putting pressure on the garbage collector.
+ */
+package org.codefx.libfx.collection.offheap;
@@ -5,6 +5,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Spliterator;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -13,6 +14,9 @@ import java.util.stream.Collectors;
  * Abstract superclass to {@link Collection}s which transform another collection.
  * <p>
  * This class allows null elements. Subclasses might override that by implementing aggressive null checks.
+ * <p>
+ * Modifications made through this collection can be recorded in a {@link ModificationLog} which is started with
+ * {@link #startModificationLog(int)}.
  *
  * @param <I>
  *            the inner type, i.e. the type of the elements contained in the wrapped/inner collection
@@ -40,6 +44,15 @@ abstract class AbstractTransformingCollection<I, O> implements Collection<O> {
 
 	// #end CONSTANTS
 
+	// #begin FIELDS
+
+	/**
+	 * The log to which modifications are recorded; null until {@link #startModificationLog(int)} is called.
+	 */
+	private ModificationLog<ElementModification<O>> modificationLog;
+
+	// #end FIELDS
+
 	// #begin IMPLEMENTATION OF 'Collection<O>'
 
 	/**
@@ -146,13 +159,19 @@ abstract class AbstractTransformingCollection<I, O> implements Collection<O> {
 	@Override
 	public boolean add(O element) {
 		I innerElement = transformToInner(element);
-		return getInnerCollection().add(innerElement);
+		boolean added = getInnerCollection().add(innerElement);
+		if (added)
+			logAdded(element);
+		return added;
 	}
 
 	@Override
 	public boolean addAll(Collection<? extends O> otherCollection) {
 		Objects.requireNonNull(otherCollection, "The argument 'otherCollection' must not be null.");
 
+		if (isLoggingModifications())
+			// only individual calls reveal which elements were actually added
+			return callAddOnThis(otherCollection);
 		return callAddAllOnInner(otherCollection);
 	}
 
@@ -208,7 +227,10 @@ abstract class AbstractTransformingCollection<I, O> implements Collection<O> {
 			 */
 			O outerElement = (O) object;
 			I innerElement = transformToInner(outerElement);
-			return getInnerCollection().remove(innerElement);
+			boolean removed = getInnerCollection().remove(innerElement);
+			if (removed)
+				logRemoved(outerElement);
+			return removed;
 		} else
 			return false;
 	}
@@ -217,19 +239,40 @@ abstract class AbstractTransformingCollection<I, O> implements Collection<O> {
 	public boolean removeIf(Predicate<? super O> filter) {
 		Objects.requireNonNull(filter, "The argument 'filter' must not be null.");
 
-		Predicate<I> innerFilter = innerElement -> {
-			O outerElement = transformToOuter(innerElement);
-			return filter.test(outerElement);
-		};
+		if (isLoggingModifications())
+			// only individual calls reveal which elements were actually removed
+			return removeIfByCallingRemoveOnIterator(filter);
+		Predicate<I> innerFilter = innerElement -> filter.test(transformToOuter(innerElement));
 		return getInnerCollection().removeIf(innerFilter);
 	}
 
+	/**
+	 * Iterates over this collection and calls {@link Iterator#remove() remove} on the iterator for each element which
+	 * matches the specified filter.
+	 *
+	 * @param filter
+	 *            the filter which returns true for elements to be removed
+	 * @return true if at least one element was removed; otherwise false
+	 */
+	private boolean removeIfByCallingRemoveOnIterator(Predicate<? super O> filter) {
+		boolean changed = false;
+		for (Iterator<O> iterator = iterator(); iterator.hasNext();)
+			if (filter.test(iterator.next())) {
+				iterator.remove();
+				changed = true;
+			}
+		return changed;
+	}
+
 	@Override
 	public boolean removeAll(Collection<?> otherCollection) {
 		Objects.requireNonNull(otherCollection, "The argument 'otherCollection' must not be null.");
 		if (isThisCollection(otherCollection))
 			return clearToRemoveAll();
 
+		if (isLoggingModifications())
+			// only individual calls reveal which elements were actually removed
+			return callRemoveOnThis(otherCollection);
 		return callRemoveAllOnInner(otherCollection);
 	}
 
@@ -290,6 +333,9 @@ abstract class AbstractTransformingCollection<I, O> implements Collection<O> {
 		if (isThisCollection(otherCollection))
 			return false;
 
+		if (isLoggingModifications())
+			// only individual calls reveal which elements were actually removed
+			return retainByCallingRemoveOnThis(otherCollection);
 		return callRetainAllOnInner(otherCollection);
 	}
 
@@ -341,6 +387,7 @@ abstract class AbstractTransformingCollection<I, O> implements Collection<O> {
 	@Override
 	public void clear() {
 		getInnerCollection().clear();
+		logCleared();
 	}
 
 	// iteration
@@ -568,6 +615,93 @@ abstract class AbstractTransformingCollection<I, O> implements Collection<O> {
 
 	// #end IMPLEMENTATION OF 'Collection<O>'
 
+	// #begin MODIFICATION LOG
+
+	/**
+	 * Starts recording all modifications made through this collection to a new {@link ModificationLog}.
+	 * <p>
+	 * While the log is active, bulk operations like {@link #addAll(Collection) addAll} or
+	 * {@link #removeAll(Collection) removeAll} are executed by calling the corresponding single element operation on
+	 * this collection for each element. This might break guarantees (e.g. regarding atomicity) or optimizations made by
+	 * the inner collection.
+	 *
+	 * @param capacity
+	 *            the maximum number of modifications retained by the log; must be positive
+	 * @return the new log
+	 * @throws IllegalArgumentException
+	 *             if the capacity is not positive
+	 * @throws IllegalStateException
+	 *             if the modifications are already being logged
+	 */
+	public final ModificationLog<ElementModification<O>> startModificationLog(int capacity)
+			throws IllegalArgumentException, IllegalStateException {
+		if (modificationLog != null)
+			throw new IllegalStateException("The modifications of this collection are already being logged.");
+
+		modificationLog = new ModificationLog<>(capacity);
+		return modificationLog;
+	}
+
+	/**
+	 * @return the {@link ModificationLog} started by {@link #startModificationLog(int)} if there is one
+	 */
+	public final Optional<ModificationLog<ElementModification<O>>> getModificationLog() {
+		return Optional.ofNullable(modificationLog);
+	}
+
+	/**
+	 * Indicates whether modifications made through this collection are logged.
+	 * <p>
+	 * Subclasses which route their modifications into another log (e.g. the views on a map) must override this method
+	 * as well as {@link #logAdded(Object) logAdded}, {@link #logRemoved(Object) logRemoved} and {@link #logCleared()
+	 * logCleared}. Lists log their modifications with the elements' indices instead.
+	 *
+	 * @return true if modifications are logged
+	 */
+	protected boolean isLoggingModifications() {
+		return modificationLog != null;
+	}
+
+	/**
+	 * Logs that the specified element was added to this collection.
+	 *
+	 * @param element
+	 *            the added element
+	 */
+	protected void logAdded(O element) {
+		recordModification(ElementModification.added(element));
+	}
+
+	/**
+	 * Logs that the specified element was removed from this collection.
+	 *
+	 * @param element
+	 *            the removed element
+	 */
+	protected void logRemoved(O element) {
+		recordModification(ElementModification.removed(element));
+	}
+
+	/**
+	 * Logs that this collection was cleared.
+	 */
+	protected void logCleared() {
+		recordModification(ElementModification.cleared());
+	}
+
+	/**
+	 * Records the specified modification in this collection's log if there is one.
+	 *
+	 * @param modification
+	 *            the modification to record
+	 */
+	final void recordModification(ElementModification<O> modification) {
+		if (modificationLog != null)
+			modificationLog.record(modification);
+	}
+
+	// #end MODIFICATION LOG
+
 	// #begin OBJECT
 
 	@Override
@@ -656,6 +790,11 @@ abstract class AbstractTransformingCollection<I, O> implements Collection<O> {
 
 		private final Iterator<I> innerIterator = getInnerCollection().iterator();
 
+		/**
+		 * The element which was last returned by this iterator; needed to log its removal.
+		 */
+		private O lastReturned;
+
 		@Override
 		protected Iterator<I> getInnerIterator() {
 			return innerIterator;
@@ -663,7 +802,14 @@ abstract class AbstractTransformingCollection<I, O> implements Collection<O> {
 
 		@Override
 		protected O transformToOuter(I innerElement) {
-			return AbstractTransformingCollection.this.transformToOuter(innerElement);
+			lastReturned = AbstractTransformingCollection.this.transformToOuter(innerElement);
+			return lastReturned;
+		}
+
+		@Override
+		public void remove() {
+			super.remove();
+			logRemoved(lastReturned);
 		}
 
 	}
@@ -1,10 +1,14 @@
 package org.codefx.libfx.collection.transform;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Objects;
+import java.util.function.IntFunction;
 import java.util.function.UnaryOperator;
 
 /**
@@ -71,16 +75,30 @@ abstract class AbstractTransformingList<I, O> extends AbstractTransformingCollec
 
 	// mutate
 
+	@Override
+	public boolean add(O element) {
+		I innerElement = transformToInner(element);
+		boolean added = getInnerList().add(innerElement);
+		// lists append the element so it is now the last one
+		if (added)
+			logAdded(size() - 1, element);
+		return added;
+	}
+
 	@Override
 	public void add(int index, O element) {
 		I innerElement = transformToInner(element);
 		getInnerList().add(index, innerElement);
+		logAdded(index, element);
 	}
 
 	@Override
 	public boolean addAll(int index, Collection<? extends O> otherCollection) {
 		Objects.requireNonNull(otherCollection, "The argument 'otherCollection' must not be null.");
 
+		if (isLoggingModifications())
+			// only individual calls reveal which elements were added
+			return callAddOnThis(index, otherCollection);
 		return callAddAllOnInner(index, otherCollection);
 	}
 
@@ -134,21 +152,44 @@ abstract class AbstractTransformingList<I, O> extends AbstractTransformingCollec
 	public O set(int index, O element) {
 		I innerElement = transformToInner(element);
 		I formerInnerElement = getInnerList().set(index, innerElement);
-		return transformToOuter(formerInnerElement);
+		O formerElement = transformToOuter(formerInnerElement);
+		logReplaced(index, formerElement, element);
+		return formerElement;
 	}
 
 	@Override
 	public void replaceAll(UnaryOperator<O> operator) {
 		Objects.requireNonNull(operator, "The argument 'operator' must not be null.");
 
+		if (isLoggingModifications()) {
+			// only individual calls reveal the indices of the replaced elements
+			for (ListIterator<O> iterator = listIterator(); iterator.hasNext();)
+				iterator.set(operator.apply(iterator.next()));
+			return;
+		}
 		UnaryOperator<I> operatorOnInner = inner -> transformToInner(operator.apply(transformToOuter(inner)));
 		getInnerList().replaceAll(operatorOnInner);
 	}
 
+	@Override
+	public boolean remove(Object object) {
+		if (!isLoggingModifications())
+			return super.remove(object);
+
+		// the index is needed to log the removal
+		int index = indexOf(object);
+		if (index == -1)
+			return false;
+		remove(index);
+		return true;
+	}
+
 	@Override
 	public O remove(int index) {
 		I removedInnerElement = getInnerList().remove(index);
-		return transformToOuter(removedInnerElement);
+		O removedElement = transformToOuter(removedInnerElement);
+		logRemoved(index, removedElement);
+		return removedElement;
 	}
 
 	// sort
@@ -157,15 +198,108 @@ abstract class AbstractTransformingList<I, O> extends AbstractTransformingCollec
 	public void sort(Comparator<? super O> comparator) {
 		Objects.requireNonNull(comparator, "The argument 'comparator' must not be null.");
 
+		List<O> formerElements = copyIfLoggingModifications();
 		Comparator<I> comparatorOfInner = (leftInner, rightInner) ->
 				comparator.compare(
 						transformToOuter(leftInner),
 						transformToOuter(rightInner));
 		getInnerList().sort(comparatorOfInner);
+		logReordered(formerElements);
+	}
+
+	/**
+	 * Sorts this list according to the order induced by the specified comparator while transforming each element only
+	 * once.
+	 * <p>
+	 * {@link #sort(Comparator) sort} forwards to the inner list which means that both operands of each comparison have
+	 * to be transformed, which amounts to O(n log n) transformations. This method instead transforms each inner element
+	 * once, sorts the resulting pairs of inner and outer elements by the outer ones and writes the sorted inner elements
+	 * back to the inner list in a single pass. Outer elements are never transformed back to inner ones.
+	 * <p>
+	 * Unlike {@code sort}, this method does not forward to the inner list's {@link List#sort(Comparator) sort}, so
+	 * guarantees made by it (e.g. regarding atomicity) are not upheld. Like {@code sort}, it is stable and logged as a
+	 * reordering (see {@link ModificationLog}).
+	 *
+	 * @param comparator
+	 *            the {@link Comparator} used to compare outer elements
+	 * @throws ClassCastException
+	 *             if the list contains elements that are not mutually comparable using the specified comparator
+	 * @throws UnsupportedOperationException
+	 *             if the inner list's list-iterator does not support the {@code set} operation
+	 */
+	public void sortTransformingOnce(Comparator<? super O> comparator) {
+		Objects.requireNonNull(comparator, "The argument 'comparator' must not be null.");
+
+		sortTransformingOnce(comparator, false);
+	}
+
+	/**
+	 * Like {@link #sortTransformingOnce(Comparator) sortTransformingOnce} but transforms and sorts the elements in
+	 * parallel (see {@link Arrays#parallelSort(Object[], Comparator) Arrays.parallelSort}).
+	 * <p>
+	 * This only pays off for large lists. Note that the transformation functions will be called from different threads.
+	 *
+	 * @param comparator
+	 *            the {@link Comparator} used to compare outer elements
+	 * @throws ClassCastException
+	 *             if the list contains elements that are not mutually comparable using the specified comparator
+	 * @throws UnsupportedOperationException
+	 *             if the inner list's list-iterator does not support the {@code set} operation
+	 */
+	public void parallelSortTransformingOnce(Comparator<? super O> comparator) {
+		Objects.requireNonNull(comparator, "The argument 'comparator' must not be null.");
+
+		sortTransformingOnce(comparator, true);
+	}
+
+	private void sortTransformingOnce(Comparator<? super O> comparator, boolean parallel) {
+		List<O> formerElements = copyIfLoggingModifications();
+		DecoratedElement<I, O>[] decoratedElements = decorateInnerElements(parallel);
+
+		Comparator<DecoratedElement<I, O>> comparatorOfDecorated =
+				(left, right) -> comparator.compare(left.outerElement, right.outerElement);
+		if (parallel)
+			Arrays.parallelSort(decoratedElements, comparatorOfDecorated);
+		else
+			Arrays.sort(decoratedElements, comparatorOfDecorated);
+
+		writeBackToInnerList(decoratedElements);
+		logReordered(formerElements);
+	}
+
+	private DecoratedElement<I, O>[] decorateInnerElements(boolean parallel) {
+		@SuppressWarnings("unchecked")
+		// due to erasure this cast can not fail and the inner list's array only contains instances of 'I'
+		I[] innerElements = (I[]) getInnerList().toArray();
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		// generic arrays can not be created; the array is empty so the cast can not fail
+		DecoratedElement<I, O>[] decoratedElements = new DecoratedElement[innerElements.length];
+
+		IntFunction<DecoratedElement<I, O>> decorate =
+				index -> new DecoratedElement<>(innerElements[index], transformToOuter(innerElements[index]));
+		if (parallel)
+			Arrays.parallelSetAll(decoratedElements, decorate);
+		else
+			Arrays.setAll(decoratedElements, decorate);
+		return decoratedElements;
+	}
+
+	private void writeBackToInnerList(DecoratedElement<I, O>[] sortedElements) {
+		ListIterator<I> innerIterator = getInnerList().listIterator();
+		for (DecoratedElement<I, O> element : sortedElements) {
+			innerIterator.next();
+			innerIterator.set(element.innerElement);
+		}
 	}
 
 	// iteration & sublist
 
+	@Override
+	public Iterator<O> iterator() {
+		// the list iterator knows the indices of removed elements
+		return listIterator();
+	}
+
 	@Override
 	public ListIterator<O> listIterator() {
 		return new ForwardingTransformingIterator();
@@ -181,6 +315,73 @@ abstract class AbstractTransformingList<I, O> extends AbstractTransformingCollec
 		return new ForwardingSubList(fromIndex, toIndex);
 	}
 
+	// #begin MODIFICATION LOG
+
+	/**
+	 * Logs that the specified element was inserted at the specified index.
+	 *
+	 * @param index
+	 *            the index at which the element was inserted
+	 * @param element
+	 *            the added element
+	 */
+	protected void logAdded(int index, O element) {
+		recordModification(ElementModification.added(index, element));
+	}
+
+	/**
+	 * Logs that the specified element was removed from the specified index.
+	 *
+	 * @param index
+	 *            the index from which the element was removed
+	 * @param element
+	 *            the removed element
+	 */
+	protected void logRemoved(int index, O element) {
+		recordModification(ElementModification.removed(index, element));
+	}
+
+	/**
+	 * Logs that the element at the specified index was replaced.
+	 *
+	 * @param index
+	 *            the index of the replaced element
+	 * @param formerElement
+	 *            the element which was replaced
+	 * @param element
+	 *            the element which replaced it
+	 */
+	private void logReplaced(int index, O formerElement, O element) {
+		logRemoved(index, formerElement);
+		logAdded(index, element);
+	}
+
+	/**
+	 * @return a copy of this list if modifications are logged; otherwise null
+	 */
+	private List<O> copyIfLoggingModifications() {
+		return isLoggingModifications() ? new ArrayList<>(this) : null;
+	}
+
+	/**
+	 * Logs that this list's elements were reordered by logging the removal of all former elements followed by adding
+	 * all current elements in their new order.
+	 *
+	 * @param formerElements
+	 *            this list's elements before they were reordered; null if modifications are not logged
+	 */
+	private void logReordered(List<O> formerElements) {
+		if (formerElements == null)
+			return;
+
+		formerElements.forEach(element -> logRemoved(0, element));
+		int index = 0;
+		for (O element : this)
+			logAdded(index++, element);
+	}
+
+	// #end MODIFICATION LOG
+
 	// #begin OBJECT
 
 	@Override
@@ -223,6 +424,16 @@ abstract class AbstractTransformingList<I, O> extends AbstractTransformingCollec
 
 		private final ListIterator<I> innerIterator;
 
+		/**
+		 * The element which was last returned by this iterator; needed to log its removal or replacement.
+		 */
+		private O lastReturned;
+
+		/**
+		 * The index of the element which was last returned by this iterator; needed to log its removal or replacement.
+		 */
+		private int lastReturnedIndex;
+
 		public ForwardingTransformingIterator() {
 			innerIterator = getInnerList().listIterator();
 		}
@@ -238,7 +449,8 @@ abstract class AbstractTransformingList<I, O> extends AbstractTransformingCollec
 
 		@Override
 		protected O transformToOuter(I innerElement) {
-			return AbstractTransformingList.this.transformToOuter(innerElement);
+			lastReturned = AbstractTransformingList.this.transformToOuter(innerElement);
+			return lastReturned;
 		}
 
 		@Override
@@ -246,18 +458,77 @@ abstract class AbstractTransformingList<I, O> extends AbstractTransformingCollec
 			return AbstractTransformingList.this.transformToInner(outerElement);
 		}
 
+		@Override
+		public O next() {
+			lastReturnedIndex = innerIterator.nextIndex();
+			return super.next();
+		}
+
+		@Override
+		public O previous() {
+			lastReturnedIndex = innerIterator.previousIndex();
+			return super.previous();
+		}
+
+		@Override
+		public void remove() {
+			super.remove();
+			logRemoved(lastReturnedIndex, lastReturned);
+		}
+
+		@Override
+		public void set(O element) {
+			super.set(element);
+			logReplaced(lastReturnedIndex, lastReturned, element);
+			lastReturned = element;
+		}
+
+		@Override
+		public void add(O element) {
+			int index = innerIterator.nextIndex();
+			super.add(element);
+			logAdded(index, element);
+		}
+
+	}
+
+	/**
+	 * An inner element paired with its transformation to an outer element, which is used to sort while transforming
+	 * each element only once.
+	 *
+	 * @param <I>
+	 *            the inner type
+	 * @param <O>
+	 *            the outer type
+	 */
+	private static final class DecoratedElement<I, O> {
+
+		private final I innerElement;
+		private final O outerElement;
+
+		public DecoratedElement(I innerElement, O outerElement) {
+			this.innerElement = innerElement;
+			this.outerElement = outerElement;
+		}
+
 	}
 
 	/**
 	 * A transforming list which is the sub list of this list and directly forwards all transformation calls to the
-	 * abstract methods in this list.
+	 * abstract methods in this list. Modifications are also logged to this list's {@link ModificationLog}.
 	 */
 	private class ForwardingSubList extends AbstractTransformingList<I, O> {
 
 		private final List<I> innerSubList;
 
+		/**
+		 * The index in this list at which the sub list starts; needed to log modifications to this list.
+		 */
+		private final int fromIndex;
+
 		public ForwardingSubList(int fromIndex, int toIndex) {
 			innerSubList = AbstractTransformingList.this.getInnerList().subList(fromIndex, toIndex);
+			this.fromIndex = fromIndex;
 		}
 
 		@Override
@@ -285,6 +556,36 @@ abstract class AbstractTransformingList<I, O> extends AbstractTransformingCollec
 			return AbstractTransformingList.this.transformToInner(outerElement);
 		}
 
+		@Override
+		public void clear() {
+			List<O> removedElements = AbstractTransformingList.this.isLoggingModifications()
+					? new ArrayList<>(this)
+					: null;
+			super.clear();
+			if (removedElements != null)
+				// clearing a sub list only removes some of the elements from this list
+				removedElements.forEach(element -> AbstractTransformingList.this.logRemoved(fromIndex, element));
+		}
+
+		@Override
+		protected boolean isLoggingModifications() {
+			return super.isLoggingModifications() || AbstractTransformingList.this.isLoggingModifications();
+		}
+
+		@Override
+		protected void logAdded(int index, O element) {
+			super.logAdded(index, element);
+			AbstractTransformingList.this.logAdded(fromIndex + index, element);
+		}
+
+		@Override
+		protected void logRemoved(int index, O element) {
+			super.logRemoved(index, element);
+			AbstractTransformingList.this.logRemoved(fromIndex + index, element);
+		}
+
+		// 'logCleared' only logs to this sub list's log because 'clear' logs each removal to this list's log
+
 	}
 
 	// #end INNER CLASSES
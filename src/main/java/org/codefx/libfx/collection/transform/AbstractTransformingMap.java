@@ -2,18 +2,24 @@ package org.codefx.libfx.collection.transform;
 
 import java.util.AbstractMap.SimpleEntry;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
  * Abstract superclass to {@link Map}s which transform another map.
  * <p>
  * This class allows null keys and values. Subclasses might override that by implementing aggressive null checks.
+ * <p>
+ * Modifications made through this map or its views can be recorded in a {@link ModificationLog} which is started with
+ * {@link #startModificationLog(int)}.
  *
  * @param <IK>
  *            the inner key type, i.e. the type of the keys contained in the wrapped/inner map
@@ -34,6 +40,11 @@ abstract class AbstractTransformingMap<IK, OK, IV, OV> implements Map<OK, OV> {
 
 	private final Set<Entry<OK, OV>> outerEntries;
 
+	/**
+	 * The log to which modifications are recorded; null until {@link #startModificationLog(int)} is called.
+	 */
+	private ModificationLog<EntryModification<OK, OV>> modificationLog;
+
 	// #end FIELDS
 
 	// #begin CONSTRUCTION
@@ -159,16 +170,21 @@ abstract class AbstractTransformingMap<IK, OK, IV, OV> implements Map<OK, OV> {
 
 	@Override
 	public OV put(OK key, OV value) {
-		return transformToOuterValue(getInnerMap().put(
+		OV formerValue = transformToOuterValue(getInnerMap().put(
 				transformToInnerKey(key),
 				transformToInnerValue(value)));
+		logPut(key, value);
+		return formerValue;
 	}
 
 	@Override
 	public OV putIfAbsent(OK key, OV value) {
-		return transformToOuterValue(getInnerMap().putIfAbsent(
+		OV formerValue = transformToOuterValue(getInnerMap().putIfAbsent(
 				transformToInnerKey(key),
 				transformToInnerValue(value)));
+		if (formerValue == null)
+			logPut(key, value);
+		return formerValue;
 	}
 
 	@Override
@@ -177,70 +193,110 @@ abstract class AbstractTransformingMap<IK, OK, IV, OV> implements Map<OK, OV> {
 
 		Map<IK, IV> asInner = new TransformToReadOnlyInnerMap(outerMap);
 		getInnerMap().putAll(asInner);
+		if (isLoggingModifications())
+			outerMap.forEach(this::logPut);
 	}
 
 	@Override
 	public OV compute(OK key, BiFunction<? super OK, ? super OV, ? extends OV> remappingFunction) {
 		Objects.requireNonNull(remappingFunction, "The argument 'remappingFunction' must not be null.");
 
-		return transformToOuterValue(getInnerMap().compute(
+		OV value = transformToOuterValue(getInnerMap().compute(
 				transformToInnerKey(key),
 				transformToInnerKeyValueToValueFunction(remappingFunction)
 				));
+		logComputed(key, value);
+		return value;
 	}
 
 	@Override
 	public OV computeIfAbsent(OK key, Function<? super OK, ? extends OV> mappingFunction) {
 		Objects.requireNonNull(mappingFunction, "The argument 'mappingFunction' must not be null.");
 
-		return transformToOuterValue(getInnerMap().computeIfAbsent(
+		OV value = transformToOuterValue(getInnerMap().computeIfAbsent(
 				transformToInnerKey(key),
 				transformToInnerToKeyValueFunction(mappingFunction)
 				));
+		// if the function returned null, nothing was changed
+		if (value != null)
+			logPut(key, value);
+		return value;
 	}
 
 	@Override
 	public OV computeIfPresent(OK key, BiFunction<? super OK, ? super OV, ? extends OV> remappingFunction) {
 		Objects.requireNonNull(remappingFunction, "The argument 'remappingFunction' must not be null.");
 
-		return transformToOuterValue(getInnerMap().computeIfPresent(
+		OV value = transformToOuterValue(getInnerMap().computeIfPresent(
 				transformToInnerKey(key),
 				transformToInnerKeyValueToValueFunction(remappingFunction)
 				));
+		logComputed(key, value);
+		return value;
 	}
 
 	@Override
 	public OV merge(OK key, OV value, BiFunction<? super OV, ? super OV, ? extends OV> remappingFunction) {
 		Objects.requireNonNull(remappingFunction, "The argument 'remappingFunction' must not be null.");
 
-		return transformToOuterValue(getInnerMap().merge(
+		OV mergedValue = transformToOuterValue(getInnerMap().merge(
 				transformToInnerKey(key),
 				transformToInnerValue(value),
 				transformToInnerValueValueToValueFunction(remappingFunction)
 				));
+		logComputed(key, mergedValue);
+		return mergedValue;
 	}
 
 	@Override
 	public OV replace(OK key, OV value) {
-		return transformToOuterValue(getInnerMap().replace(
+		OV formerValue = transformToOuterValue(getInnerMap().replace(
 				transformToInnerKey(key),
 				transformToInnerValue(value)));
+		// a key mapped to null also returns null, so the key's presence has to be checked
+		if (isLoggingModifications() && (formerValue != null || containsKey(key)))
+			logPut(key, value);
+		return formerValue;
 	}
 
 	@Override
 	public boolean replace(OK key, OV oldValue, OV newValue) {
-		return getInnerMap().replace(
+		boolean replaced = getInnerMap().replace(
 				transformToInnerKey(key),
 				transformToInnerValue(oldValue),
 				transformToInnerValue(newValue)
 				);
+		if (replaced)
+			logPut(key, newValue);
+		return replaced;
 	}
 
 	@Override
 	public void replaceAll(BiFunction<? super OK, ? super OV, ? extends OV> function) {
 		Objects.requireNonNull(function, "The argument 'function' must not be null.");
 
-		getInnerMap().replaceAll(transformToInnerKeyValueToValueFunction(function));
+		BiFunction<? super OK, ? super OV, ? extends OV> loggingFunction = (key, value) -> {
+			OV newValue = function.apply(key, value);
+			logPut(key, newValue);
+			return newValue;
+		};
+		getInnerMap().replaceAll(transformToInnerKeyValueToValueFunction(loggingFunction));
+	}
+
+	/**
+	 * Logs the result of a call to one of the {@code compute} methods or to {@code merge}, which remove the key if the
+	 * new value is null.
+	 *
+	 * @param key
+	 *            the key whose value was computed
+	 * @param value
+	 *            the computed value
+	 */
+	private void logComputed(OK key, OV value) {
+		if (value == null)
+			logRemoved(key);
+		else
+			logPut(key, value);
 	}
 
 	// remove
@@ -255,8 +311,13 @@ abstract class AbstractTransformingMap<IK, OK, IV, OV> implements Map<OK, OV> {
 			 * 'isOuterKey' does its job well (which can be hard due to erasure) this will not happen.
 			 */
 			OK outerKey = (OK) key;
-			return transformToOuterValue(getInnerMap().remove(
-					transformToInnerKey(outerKey)));
+			IK innerKey = transformToInnerKey(outerKey);
+			// a key mapped to null also returns null, so the key's presence has to be checked beforehand
+			boolean logRemoval = isLoggingModifications() && getInnerMap().containsKey(innerKey);
+			OV removedValue = transformToOuterValue(getInnerMap().remove(innerKey));
+			if (logRemoval)
+				logRemoved(outerKey);
+			return removedValue;
 		} else
 			return null;
 	}
@@ -273,10 +334,13 @@ abstract class AbstractTransformingMap<IK, OK, IV, OV> implements Map<OK, OV> {
 			OK outerKey = (OK) key;
 			@SuppressWarnings("unchecked")
 			OV outerValue = (OV) value;
-			return getInnerMap().remove(
+			boolean removed = getInnerMap().remove(
 					transformToInnerKey(outerKey),
 					transformToInnerValue(outerValue)
 					);
+			if (removed)
+				logRemoved(outerKey);
+			return removed;
 		} else
 			return false;
 	}
@@ -284,6 +348,7 @@ abstract class AbstractTransformingMap<IK, OK, IV, OV> implements Map<OK, OV> {
 	@Override
 	public void clear() {
 		getInnerMap().clear();
+		logCleared();
 	}
 
 	// process
@@ -346,6 +411,80 @@ abstract class AbstractTransformingMap<IK, OK, IV, OV> implements Map<OK, OV> {
 
 	// #end IMPLEMENTATION OF 'Map<OK, OV>'
 
+	// #begin MODIFICATION LOG
+
+	/**
+	 * Starts recording all modifications made through this map and its views to a new {@link ModificationLog}.
+	 * <p>
+	 * While the log is active, some operations (e.g. {@link #remove(Object) remove}) need additional calls to the inner
+	 * map and bulk operations on the views are executed by calling the corresponding single element operation for each
+	 * element. This might break guarantees (e.g. regarding atomicity) or optimizations made by the inner map.
+	 *
+	 * @param capacity
+	 *            the maximum number of modifications retained by the log; must be positive
+	 * @return the new log
+	 * @throws IllegalArgumentException
+	 *             if the capacity is not positive
+	 * @throws IllegalStateException
+	 *             if the modifications are already being logged
+	 */
+	public final ModificationLog<EntryModification<OK, OV>> startModificationLog(int capacity)
+			throws IllegalArgumentException, IllegalStateException {
+		if (modificationLog != null)
+			throw new IllegalStateException("The modifications of this map are already being logged.");
+
+		modificationLog = new ModificationLog<>(capacity);
+		return modificationLog;
+	}
+
+	/**
+	 * @return the {@link ModificationLog} started by {@link #startModificationLog(int)} if there is one
+	 */
+	public final Optional<ModificationLog<EntryModification<OK, OV>>> getModificationLog() {
+		return Optional.ofNullable(modificationLog);
+	}
+
+	/**
+	 * @return true if modifications made through this map are logged
+	 */
+	protected final boolean isLoggingModifications() {
+		return modificationLog != null;
+	}
+
+	/**
+	 * Logs that the specified key was mapped to the specified value.
+	 *
+	 * @param key
+	 *            the key
+	 * @param value
+	 *            the value
+	 */
+	private void logPut(OK key, OV value) {
+		if (modificationLog != null)
+			modificationLog.record(EntryModification.put(key, value));
+	}
+
+	/**
+	 * Logs that the specified key was removed.
+	 *
+	 * @param key
+	 *            the removed key
+	 */
+	private void logRemoved(OK key) {
+		if (modificationLog != null)
+			modificationLog.record(EntryModification.removed(key));
+	}
+
+	/**
+	 * Logs that this map was cleared.
+	 */
+	private void logCleared() {
+		if (modificationLog != null)
+			modificationLog.record(EntryModification.cleared());
+	}
+
+	// #end MODIFICATION LOG
+
 	// #begin OBJECT
 
 	@Override
@@ -524,6 +663,25 @@ abstract class AbstractTransformingMap<IK, OK, IV, OV> implements Map<OK, OV> {
 			return transformToInnerKey(outerElement);
 		}
 
+		// log removals to this map's log
+
+		@Override
+		protected boolean isLoggingModifications() {
+			return super.isLoggingModifications() || AbstractTransformingMap.this.isLoggingModifications();
+		}
+
+		@Override
+		protected void logRemoved(OK element) {
+			super.logRemoved(element);
+			AbstractTransformingMap.this.logRemoved(element);
+		}
+
+		@Override
+		protected void logCleared() {
+			super.logCleared();
+			AbstractTransformingMap.this.logCleared();
+		}
+
 		// prevent adding elements according to the contract of 'Map.keySet()'
 
 		@Override
@@ -570,6 +728,68 @@ abstract class AbstractTransformingMap<IK, OK, IV, OV> implements Map<OK, OV> {
 			return transformToInnerValue(outerElement);
 		}
 
+		// log removals to this map's log;
+		// because a removed value does not identify its key, removals are executed via the entry set while logging
+
+		@Override
+		protected boolean isLoggingModifications() {
+			return super.isLoggingModifications() || AbstractTransformingMap.this.isLoggingModifications();
+		}
+
+		@Override
+		protected void logCleared() {
+			super.logCleared();
+			AbstractTransformingMap.this.logCleared();
+		}
+
+		@Override
+		public Iterator<OV> iterator() {
+			if (AbstractTransformingMap.this.isLoggingModifications())
+				return new ValueIteratorOverEntries();
+			else
+				return super.iterator();
+		}
+
+		@Override
+		public boolean remove(Object object) {
+			if (!AbstractTransformingMap.this.isLoggingModifications())
+				return super.remove(object);
+
+			for (Iterator<OV> iterator = iterator(); iterator.hasNext();)
+				if (Objects.equals(iterator.next(), object)) {
+					iterator.remove();
+					return true;
+				}
+			return false;
+		}
+
+		@Override
+		public boolean removeIf(Predicate<? super OV> filter) {
+			if (!AbstractTransformingMap.this.isLoggingModifications())
+				return super.removeIf(filter);
+
+			Objects.requireNonNull(filter, "The argument 'filter' must not be null.");
+			boolean changed = false;
+			for (Iterator<OV> iterator = iterator(); iterator.hasNext();)
+				if (filter.test(iterator.next())) {
+					iterator.remove();
+					changed = true;
+				}
+			return changed;
+		}
+
+		@Override
+		public boolean removeAll(Collection<?> otherCollection) {
+			if (!isLoggingModifications())
+				return super.removeAll(otherCollection);
+
+			Objects.requireNonNull(otherCollection, "The argument 'otherCollection' must not be null.");
+			if (isThisCollection(otherCollection))
+				return clearToRemoveAll();
+			// 'callRemoveOnThis' would only remove the first occurrence of each value
+			return removeIf(otherCollection::contains);
+		}
+
 		// prevent adding elements according to the contract of 'Map.values()'
 
 		@Override
@@ -606,6 +826,36 @@ abstract class AbstractTransformingMap<IK, OK, IV, OV> implements Map<OK, OV> {
 			return hashCode;
 		}
 
+		/**
+		 * An iterator over the values which iterates over the map's entries, so that removed values can be logged
+		 * together with their keys.
+		 */
+		private class ValueIteratorOverEntries implements Iterator<OV> {
+
+			private final Iterator<Entry<OK, OV>> entries = entrySet().iterator();
+
+			private OV lastReturned;
+
+			@Override
+			public boolean hasNext() {
+				return entries.hasNext();
+			}
+
+			@Override
+			public OV next() {
+				lastReturned = entries.next().getValue();
+				return lastReturned;
+			}
+
+			@Override
+			public void remove() {
+				// the entry set logs the removal to the map's log
+				entries.remove();
+				ValueCollectionView.this.logRemoved(lastReturned);
+			}
+
+		}
+
 	}
 
 	/**
@@ -665,6 +915,25 @@ abstract class AbstractTransformingMap<IK, OK, IV, OV> implements Map<OK, OV> {
 			return new SimpleEntry<>(innerKey, innerValue);
 		}
 
+		// log removals to this map's log
+
+		@Override
+		protected boolean isLoggingModifications() {
+			return super.isLoggingModifications() || AbstractTransformingMap.this.isLoggingModifications();
+		}
+
+		@Override
+		protected void logRemoved(Entry<OK, OV> element) {
+			super.logRemoved(element);
+			AbstractTransformingMap.this.logRemoved(element.getKey());
+		}
+
+		@Override
+		protected void logCleared() {
+			super.logCleared();
+			AbstractTransformingMap.this.logCleared();
+		}
+
 		// prevent adding elements according to the contract of 'Map.entrySet()'
 
 		@Override
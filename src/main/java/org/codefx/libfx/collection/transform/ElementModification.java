@@ -0,0 +1,191 @@
+package org.codefx.libfx.collection.transform;
+
+import java.util.Objects;
+import java.util.OptionalInt;
+
+/**
+ * A modification of a transforming collection as recorded by a {@link ModificationLog}.
+ * <p>
+ * The modification is expressed in outer terms, i.e. the element is of the collection's outer type. Modifications of
+ * lists also contain the {@link #getIndex() index} at which the element was added or removed.
+ *
+ * @param <E>
+ *            the type of elements in the modified collection
+ */
+public final class ElementModification<E> {
+
+	// #begin FIELDS
+
+	/**
+	 * Indicates that a modification has no index.
+	 */
+	private static final int NO_INDEX = -1;
+
+	private final Type type;
+
+	private final int index;
+
+	private final E element;
+
+	// #end FIELDS
+
+	// #begin CONSTRUCTION
+
+	private ElementModification(Type type, int index, E element) {
+		Objects.requireNonNull(type, "The argument 'type' must not be null.");
+
+		this.type = type;
+		this.index = index;
+		this.element = element;
+	}
+
+	/**
+	 * @param <E>
+	 *            the type of elements in the modified collection
+	 * @param element
+	 *            the added element
+	 * @return a modification indicating that the element was added
+	 */
+	static <E> ElementModification<E> added(E element) {
+		return new ElementModification<>(Type.ADDED, NO_INDEX, element);
+	}
+
+	/**
+	 * @param <E>
+	 *            the type of elements in the modified list
+	 * @param index
+	 *            the index at which the element was inserted
+	 * @param element
+	 *            the added element
+	 * @return a modification indicating that the element was inserted into a list at the specified index
+	 */
+	static <E> ElementModification<E> added(int index, E element) {
+		checkIndex(index);
+		return new ElementModification<>(Type.ADDED, index, element);
+	}
+
+	/**
+	 * @param <E>
+	 *            the type of elements in the modified collection
+	 * @param element
+	 *            the removed element
+	 * @return a modification indicating that the element was removed
+	 */
+	static <E> ElementModification<E> removed(E element) {
+		return new ElementModification<>(Type.REMOVED, NO_INDEX, element);
+	}
+
+	/**
+	 * @param <E>
+	 *            the type of elements in the modified list
+	 * @param index
+	 *            the index from which the element was removed
+	 * @param element
+	 *            the removed element
+	 * @return a modification indicating that the element was removed from a list at the specified index
+	 */
+	static <E> ElementModification<E> removed(int index, E element) {
+		checkIndex(index);
+		return new ElementModification<>(Type.REMOVED, index, element);
+	}
+
+	/**
+	 * @param <E>
+	 *            the type of elements in the modified collection
+	 * @return a modification indicating that the collection was cleared
+	 */
+	static <E> ElementModification<E> cleared() {
+		return new ElementModification<>(Type.CLEARED, NO_INDEX, null);
+	}
+
+	private static void checkIndex(int index) {
+		if (index < 0)
+			throw new IllegalArgumentException("The argument 'index' must not be negative (was " + index + ").");
+	}
+
+	// #end CONSTRUCTION
+
+	// #begin ACCESSORS
+
+	/**
+	 * @return the type of this modification
+	 */
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * @return the index at which the element was added to or removed from a list; empty if the modified collection is
+	 *         no list or if it was {@link Type#CLEARED cleared}
+	 */
+	public OptionalInt getIndex() {
+		return index == NO_INDEX ? OptionalInt.empty() : OptionalInt.of(index);
+	}
+
+	/**
+	 * @return the added or removed element; null if the collection was {@link Type#CLEARED cleared}
+	 */
+	public E getElement() {
+		return element;
+	}
+
+	// #end ACCESSORS
+
+	// #begin OBJECT
+
+	@Override
+	public boolean equals(Object object) {
+		if (object == this)
+			return true;
+		if (!(object instanceof ElementModification))
+			return false;
+
+		ElementModification<?> other = (ElementModification<?>) object;
+		return type == other.type && index == other.index && Objects.equals(element, other.element);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(type, index, element);
+	}
+
+	@Override
+	public String toString() {
+		if (type == Type.CLEARED)
+			return "ElementModification [" + type + "]";
+		if (index == NO_INDEX)
+			return "ElementModification [" + type + ": " + element + "]";
+		return "ElementModification [" + type + " at " + index + ": " + element + "]";
+	}
+
+	// #end OBJECT
+
+	// #begin INNER CLASSES
+
+	/**
+	 * The type of an {@link ElementModification}.
+	 */
+	public enum Type {
+
+		/**
+		 * The element was added to the collection. If the collection is a list, it was inserted at the modification's
+		 * index.
+		 */
+		ADDED,
+
+		/**
+		 * The element was removed from the collection. If the collection allows duplicates, one occurrence was removed.
+		 * If the collection is a list, it was removed from the modification's index.
+		 */
+		REMOVED,
+
+		/**
+		 * All elements were removed from the collection.
+		 */
+		CLEARED,
+
+	}
+
+	// #end INNER CLASSES
+
+}
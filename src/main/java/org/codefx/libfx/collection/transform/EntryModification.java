@@ -0,0 +1,162 @@
+package org.codefx.libfx.collection.transform;
+
+import java.util.Objects;
+
+/**
+ * A modification of a transforming map as recorded by a {@link ModificationLog}.
+ * <p>
+ * The modification is expressed in outer terms, i.e. the key and value are of the map's outer types.
+ *
+ * @param <K>
+ *            the type of keys in the modified map
+ * @param <V>
+ *            the type of values in the modified map
+ */
+public final class EntryModification<K, V> {
+
+	// #begin FIELDS
+
+	private final Type type;
+
+	private final K key;
+
+	private final V value;
+
+	// #end FIELDS
+
+	// #begin CONSTRUCTION
+
+	private EntryModification(Type type, K key, V value) {
+		Objects.requireNonNull(type, "The argument 'type' must not be null.");
+
+		this.type = type;
+		this.key = key;
+		this.value = value;
+	}
+
+	/**
+	 * @param <K>
+	 *            the type of keys in the modified map
+	 * @param <V>
+	 *            the type of values in the modified map
+	 * @param key
+	 *            the key which was put into the map
+	 * @param value
+	 *            the value which the key is now mapped to
+	 * @return a modification indicating that the key is now mapped to the value
+	 */
+	static <K, V> EntryModification<K, V> put(K key, V value) {
+		return new EntryModification<>(Type.PUT, key, value);
+	}
+
+	/**
+	 * @param <K>
+	 *            the type of keys in the modified map
+	 * @param <V>
+	 *            the type of values in the modified map
+	 * @param key
+	 *            the key which was removed from the map
+	 * @return a modification indicating that the key is no longer contained in the map
+	 */
+	static <K, V> EntryModification<K, V> removed(K key) {
+		return new EntryModification<>(Type.REMOVED, key, null);
+	}
+
+	/**
+	 * @param <K>
+	 *            the type of keys in the modified map
+	 * @param <V>
+	 *            the type of values in the modified map
+	 * @return a modification indicating that the map was cleared
+	 */
+	static <K, V> EntryModification<K, V> cleared() {
+		return new EntryModification<>(Type.CLEARED, null, null);
+	}
+
+	// #end CONSTRUCTION
+
+	// #begin ACCESSORS
+
+	/**
+	 * @return the type of this modification
+	 */
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * @return the key which was put or removed; null if the map was {@link Type#CLEARED cleared}
+	 */
+	public K getKey() {
+		return key;
+	}
+
+	/**
+	 * @return the value the {@link #getKey() key} was mapped to; null unless this modification is a {@link Type#PUT
+	 *         put}
+	 */
+	public V getValue() {
+		return value;
+	}
+
+	// #end ACCESSORS
+
+	// #begin OBJECT
+
+	@Override
+	public boolean equals(Object object) {
+		if (object == this)
+			return true;
+		if (!(object instanceof EntryModification))
+			return false;
+
+		EntryModification<?, ?> other = (EntryModification<?, ?>) object;
+		return type == other.type && Objects.equals(key, other.key) && Objects.equals(value, other.value);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(type, key, value);
+	}
+
+	@Override
+	public String toString() {
+		switch (type) {
+		case PUT:
+			return "EntryModification [" + type + ": " + key + "=" + value + "]";
+		case REMOVED:
+			return "EntryModification [" + type + ": " + key + "]";
+		default:
+			return "EntryModification [" + type + "]";
+		}
+	}
+
+	// #end OBJECT
+
+	// #begin INNER CLASSES
+
+	/**
+	 * The type of an {@link EntryModification}.
+	 */
+	public enum Type {
+
+		/**
+		 * The key was mapped to the value.
+		 */
+		PUT,
+
+		/**
+		 * The key and its value were removed from the map.
+		 */
+		REMOVED,
+
+		/**
+		 * All mappings were removed from the map.
+		 */
+		CLEARED,
+
+	}
+
+	// #end INNER CLASSES
+
+}
@@ -0,0 +1,195 @@
+package org.codefx.libfx.collection.transform;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A bounded log of the modifications made through a transforming collection or map.
+ * <p>
+ * The log is a ring buffer with a fixed capacity. Each recorded modification is assigned a <i>cursor</i>, which is the
+ * total number of modifications recorded before it. Consumers keep track of the cursor up to which they processed the
+ * log and call {@link #drainChanges(long) drainChanges} with it to get all modifications recorded since. Draining does
+ * not remove modifications from the log so any number of consumers can follow it independently.
+ * <p>
+ * If a consumer falls behind by more than the log's capacity, the oldest modifications it did not process yet are
+ * overwritten. The returned {@link Changes} will then be {@link Changes#isComplete() incomplete} and the consumer has
+ * to fall back to a full snapshot of the collection (after taking it, {@link #getCursor()} can be used to resume).
+ * <p>
+ * Only modifications made through the transforming view (or views derived from it like iterators, sub lists or a map's
+ * key set) are logged. Modifications made directly to the inner collection or map are not. Modifications are recorded
+ * in outer terms and they may be redundant (e.g. a put of a mapping which already existed). Applying them in order to a
+ * replica, which equaled the view at the drained cursor, leads to a replica which equals the view. Modifications of
+ * lists must be applied at their {@link ElementModification#getIndex() index}; reordering a list (e.g. by sorting it)
+ * is logged as the removal of all its elements followed by adding them in their new order.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @param <M>
+ *            the type of modifications contained in this log (e.g. {@link ElementModification} or
+ *            {@link EntryModification})
+ */
+public final class ModificationLog<M> {
+
+	// #begin FIELDS
+
+	/**
+	 * The ring buffer containing the modifications. The modification with cursor {@code c} is stored at index
+	 * {@code c % buffer.length}.
+	 */
+	private final Object[] buffer;
+
+	/**
+	 * The cursor which will be assigned to the next recorded modification, i.e. the total number of modifications
+	 * recorded so far.
+	 */
+	private long nextCursor;
+
+	// #end FIELDS
+
+	/**
+	 * Creates a new, empty modification log.
+	 *
+	 * @param capacity
+	 *            the maximum number of modifications retained by this log; must be positive
+	 */
+	ModificationLog(int capacity) {
+		if (capacity <= 0)
+			throw new IllegalArgumentException("The argument 'capacity' must be positive.");
+
+		this.buffer = new Object[capacity];
+		this.nextCursor = 0;
+	}
+
+	// #begin RECORD
+
+	/**
+	 * Records the specified modification.
+	 *
+	 * @param modification
+	 *            the modification to record
+	 */
+	synchronized void record(M modification) {
+		Objects.requireNonNull(modification, "The argument 'modification' must not be null.");
+
+		buffer[indexOf(nextCursor)] = modification;
+		nextCursor++;
+	}
+
+	private int indexOf(long cursor) {
+		return (int) (cursor % buffer.length);
+	}
+
+	// #end RECORD
+
+	// #begin ACCESS
+
+	/**
+	 * @return the maximum number of modifications retained by this log
+	 */
+	public int getCapacity() {
+		return buffer.length;
+	}
+
+	/**
+	 * Returns the cursor which points past the most recently recorded modification. Draining with this cursor returns
+	 * only modifications which will be recorded after this call.
+	 *
+	 * @return the current cursor
+	 */
+	public synchronized long getCursor() {
+		return nextCursor;
+	}
+
+	/**
+	 * Returns all modifications which were recorded since the specified cursor and are still contained in this log.
+	 *
+	 * @param cursor
+	 *            the cursor from which on modifications are returned; usually {@link Changes#getNextCursor()} of the
+	 *            previous call or {@link #getCursor()}
+	 * @return the {@link Changes} since the cursor
+	 * @throws IllegalArgumentException
+	 *             if the cursor is negative or greater than the {@link #getCursor() current cursor}
+	 */
+	public synchronized Changes<M> drainChanges(long cursor) throws IllegalArgumentException {
+		if (cursor < 0)
+			throw new IllegalArgumentException("The argument 'cursor' must be non-negative.");
+		if (cursor > nextCursor)
+			throw new IllegalArgumentException(
+					"The argument 'cursor' (" + cursor + ") must not be greater than the current cursor ("
+							+ nextCursor + ").");
+
+		long oldestRetainedCursor = Math.max(0, nextCursor - buffer.length);
+		boolean complete = oldestRetainedCursor <= cursor;
+		long firstCursor = Math.max(cursor, oldestRetainedCursor);
+
+		List<M> modifications = new ArrayList<>((int) (nextCursor - firstCursor));
+		for (long current = firstCursor; current < nextCursor; current++) {
+			@SuppressWarnings("unchecked")
+			// only instances of 'M' are stored in the buffer
+			M modification = (M) buffer[indexOf(current)];
+			modifications.add(modification);
+		}
+		return new Changes<>(modifications, nextCursor, complete);
+	}
+
+	// #end ACCESS
+
+	// #begin INNER CLASSES
+
+	/**
+	 * The modifications returned by {@link ModificationLog#drainChanges(long) drainChanges}.
+	 *
+	 * @param <M>
+	 *            the type of modifications
+	 */
+	public static final class Changes<M> {
+
+		private final List<M> modifications;
+
+		private final long nextCursor;
+
+		private final boolean complete;
+
+		private Changes(List<M> modifications, long nextCursor, boolean complete) {
+			this.modifications = Collections.unmodifiableList(modifications);
+			this.nextCursor = nextCursor;
+			this.complete = complete;
+		}
+
+		/**
+		 * @return the drained modifications in the order in which they were recorded
+		 */
+		public List<M> getModifications() {
+			return modifications;
+		}
+
+		/**
+		 * @return the cursor to use for the next call to {@link ModificationLog#drainChanges(long) drainChanges}
+		 */
+		public long getNextCursor() {
+			return nextCursor;
+		}
+
+		/**
+		 * Indicates whether these changes contain all modifications recorded since the drained cursor. If not, some
+		 * were already overwritten and the consumer has to resynchronize with a full snapshot.
+		 *
+		 * @return true if no modifications were lost
+		 */
+		public boolean isComplete() {
+			return complete;
+		}
+
+		@Override
+		public String toString() {
+			return "Changes [modifications=" + modifications + ", nextCursor=" + nextCursor + ", complete="
+					+ complete + "]";
+		}
+
+	}
+
+	// #end INNER CLASSES
+
+}
@@ -0,0 +1,237 @@
+package org.codefx.libfx.collection.transform;
+
+import java.util.OptionalDouble;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Statistics about the transformations performed by instrumented transforming collections and maps.
+ * <p>
+ * A collection or map is instrumented by handing an instance of this class to its builder (see
+ * {@link TransformingCollectionBuilder#instrumentWith(TransformationStatistics)} and
+ * {@link TransformingMapBuilder#instrumentWith(TransformationStatistics)}). The same instance can be used for several
+ * collections, in which case it aggregates their statistics. For maps, key and value transformations are counted
+ * together.
+ * <p>
+ * The statistics consist of:
+ * <ul>
+ * <li>the number of transformations from inner to outer elements and vice versa
+ * <li>the number of <i>rejections</i>, i.e. how often an object handed to a method like
+ * {@link java.util.Collection#contains(Object) contains} was not of the inner or outer type (according to the type
+ * token) and could hence not be transformed
+ * <li>the average duration of a transformation in each direction, which is measured for a random sample of the
+ * transformations
+ * </ul>
+ * Transformations of null are not counted because the transformation functions are not called for them.
+ * <p>
+ * Counting is implemented with {@link LongAdder}s so it scales to many threads. Reading the statistics is comparatively
+ * expensive. This class is thread-safe but the statistics are not a consistent snapshot if they are read while
+ * transformations occur.
+ */
+public final class TransformationStatistics {
+
+	// #begin CONSTANTS
+
+	/**
+	 * By default, one in this many transformations is timed.
+	 */
+	private static final int DEFAULT_SAMPLING_INTERVAL = 64;
+
+	// #end CONSTANTS
+
+	// #begin FIELDS
+
+	/**
+	 * On average, one in this many transformations is timed.
+	 */
+	private final int samplingInterval;
+
+	private final DirectionStatistics toOuter;
+
+	private final DirectionStatistics toInner;
+
+	private final LongAdder rejections;
+
+	// #end FIELDS
+
+	// #begin CONSTRUCTION
+
+	/**
+	 * Creates new statistics which time one in 64 transformations.
+	 */
+	public TransformationStatistics() {
+		this(DEFAULT_SAMPLING_INTERVAL);
+	}
+
+	/**
+	 * Creates new statistics which time one in {@code samplingInterval} transformations (on average).
+	 *
+	 * @param samplingInterval
+	 *            the average number of transformations per timed transformation; must be positive; 1 times each
+	 *            transformation
+	 */
+	public TransformationStatistics(int samplingInterval) {
+		if (samplingInterval <= 0)
+			throw new IllegalArgumentException("The argument 'samplingInterval' must be positive.");
+
+		this.samplingInterval = samplingInterval;
+		this.toOuter = new DirectionStatistics();
+		this.toInner = new DirectionStatistics();
+		this.rejections = new LongAdder();
+	}
+
+	// #end CONSTRUCTION
+
+	// #begin INSTRUMENTATION
+
+	/**
+	 * Wraps the specified function so that each call is counted as a transformation from an inner to an outer element.
+	 *
+	 * @param <T>
+	 *            the input type of the function
+	 * @param <R>
+	 *            the output type of the function
+	 * @param transformToOuter
+	 *            the function to instrument; may be null, in which case null is returned
+	 * @return the instrumented function
+	 */
+	<T, R> Function<T, R> instrumentToOuter(Function<? super T, ? extends R> transformToOuter) {
+		return instrument(transformToOuter, toOuter);
+	}
+
+	/**
+	 * Wraps the specified function so that each call is counted as a transformation from an outer to an inner element.
+	 *
+	 * @param <T>
+	 *            the input type of the function
+	 * @param <R>
+	 *            the output type of the function
+	 * @param transformToInner
+	 *            the function to instrument; may be null, in which case null is returned
+	 * @return the instrumented function
+	 */
+	<T, R> Function<T, R> instrumentToInner(Function<? super T, ? extends R> transformToInner) {
+		return instrument(transformToInner, toInner);
+	}
+
+	private <T, R> Function<T, R> instrument(
+			Function<? super T, ? extends R> transformation, DirectionStatistics statistics) {
+		// let the transforming collection's constructor fail on the missing function
+		if (transformation == null)
+			return null;
+
+		return element -> {
+			statistics.count.increment();
+			if (!isSampled())
+				return transformation.apply(element);
+
+			long start = System.nanoTime();
+			R transformed = transformation.apply(element);
+			statistics.sampledNanos.add(System.nanoTime() - start);
+			statistics.samples.increment();
+			return transformed;
+		};
+	}
+
+	private boolean isSampled() {
+		return samplingInterval == 1 || ThreadLocalRandom.current().nextInt(samplingInterval) == 0;
+	}
+
+	/**
+	 * Counts an object which was rejected because it is not of the expected type.
+	 */
+	void countRejection() {
+		rejections.increment();
+	}
+
+	// #end INSTRUMENTATION
+
+	// #begin ACCESS
+
+	/**
+	 * @return the number of transformations from inner to outer elements
+	 */
+	public long getToOuterCount() {
+		return toOuter.count.sum();
+	}
+
+	/**
+	 * @return the number of transformations from outer to inner elements
+	 */
+	public long getToInnerCount() {
+		return toInner.count.sum();
+	}
+
+	/**
+	 * @return the number of objects which were rejected because they were not of the expected type
+	 */
+	public long getRejectionCount() {
+		return rejections.sum();
+	}
+
+	/**
+	 * @return the average duration in nanoseconds of a transformation from an inner to an outer element; empty if no
+	 *         such transformation was timed yet
+	 */
+	public OptionalDouble getAverageToOuterNanos() {
+		return toOuter.getAverageNanos();
+	}
+
+	/**
+	 * @return the average duration in nanoseconds of a transformation from an outer to an inner element; empty if no
+	 *         such transformation was timed yet
+	 */
+	public OptionalDouble getAverageToInnerNanos() {
+		return toInner.getAverageNanos();
+	}
+
+	/**
+	 * Resets all statistics to zero.
+	 */
+	public void reset() {
+		toOuter.reset();
+		toInner.reset();
+		rejections.reset();
+	}
+
+	// #end ACCESS
+
+	@Override
+	public String toString() {
+		return "TransformationStatistics [toOuterCount=" + getToOuterCount() + ", toInnerCount=" + getToInnerCount()
+				+ ", rejectionCount=" + getRejectionCount() + ", averageToOuterNanos=" + getAverageToOuterNanos()
+				+ ", averageToInnerNanos=" + getAverageToInnerNanos() + "]";
+	}
+
+	// #begin INNER CLASSES
+
+	/**
+	 * The statistics for transformations in one direction.
+	 */
+	private static final class DirectionStatistics {
+
+		private final LongAdder count = new LongAdder();
+
+		private final LongAdder samples = new LongAdder();
+
+		private final LongAdder sampledNanos = new LongAdder();
+
+		public OptionalDouble getAverageNanos() {
+			long sampleCount = samples.sum();
+			if (sampleCount == 0)
+				return OptionalDouble.empty();
+			return OptionalDouble.of((double) sampledNanos.sum() / sampleCount);
+		}
+
+		public void reset() {
+			count.reset();
+			samples.reset();
+			sampledNanos.reset();
+		}
+
+	}
+
+	// #end INNER CLASSES
+
+}
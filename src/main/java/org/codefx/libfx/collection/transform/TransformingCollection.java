@@ -38,6 +38,7 @@ public final class TransformingCollection<I, O> extends AbstractTransformingColl
 	private final Class<? super O> outerTypeToken;
 	private final Function<? super I, ? extends O> transformToOuter;
 	private final Function<? super O, ? extends I> transformToInner;
+	private final TransformationStatistics statistics;
 
 	// #end FIELDS
 
@@ -62,6 +63,33 @@ public final class TransformingCollection<I, O> extends AbstractTransformingColl
 			Class<? super I> innerTypeToken, Class<? super O> outerTypeToken,
 			Function<? super I, ? extends O> transformToOuter, Function<? super O, ? extends I> transformToInner) {
 
+		this(innerCollection, innerTypeToken, outerTypeToken, transformToOuter, transformToInner, null);
+	}
+
+	/**
+	 * Creates a new transforming collection which counts rejected elements to the specified statistics.
+	 *
+	 * @param innerCollection
+	 *            the wrapped collection
+	 * @param innerTypeToken
+	 *            the token for the inner type
+	 * @param outerTypeToken
+	 *            the token for the outer type
+	 * @param transformToOuter
+	 *            transforms an element from an inner to an outer type; will never be called with null argument and must
+	 *            not produce null
+	 * @param transformToInner
+	 *            transforms an element from an outer to an inner type; will never be called with null argument and must
+	 *            not produce null
+	 * @param statistics
+	 *            the statistics to which rejected elements are counted; null if this collection is not instrumented
+	 */
+	TransformingCollection(
+			Collection<I> innerCollection,
+			Class<? super I> innerTypeToken, Class<? super O> outerTypeToken,
+			Function<? super I, ? extends O> transformToOuter, Function<? super O, ? extends I> transformToInner,
+			TransformationStatistics statistics) {
+
 		Objects.requireNonNull(innerCollection, "The argument 'innerCollection' must not be null.");
 		Objects.requireNonNull(innerTypeToken, "The argument 'innerTypeToken' must not be null.");
 		Objects.requireNonNull(outerTypeToken, "The argument 'outerTypeToken' must not be null.");
@@ -73,6 +101,7 @@ public final class TransformingCollection<I, O> extends AbstractTransformingColl
 		this.outerTypeToken = outerTypeToken;
 		this.transformToOuter = transformToOuter;
 		this.transformToInner = transformToInner;
+		this.statistics = statistics;
 	}
 
 	// #begin IMPLEMENTATION OF 'AbstractTransformingCollection'
@@ -84,7 +113,10 @@ public final class TransformingCollection<I, O> extends AbstractTransformingColl
 
 	@Override
 	protected boolean isInnerElement(Object object) {
-		return object == null || innerTypeToken.isInstance(object);
+		boolean isInnerElement = object == null || innerTypeToken.isInstance(object);
+		if (!isInnerElement && statistics != null)
+			statistics.countRejection();
+		return isInnerElement;
 	}
 
 	@Override
@@ -99,7 +131,10 @@ public final class TransformingCollection<I, O> extends AbstractTransformingColl
 
 	@Override
 	protected boolean isOuterElement(Object object) {
-		return object == null || outerTypeToken.isInstance(object);
+		boolean isOuterElement = object == null || outerTypeToken.isInstance(object);
+		if (!isOuterElement && statistics != null)
+			statistics.countRejection();
+		return isOuterElement;
 	}
 
 	@Override
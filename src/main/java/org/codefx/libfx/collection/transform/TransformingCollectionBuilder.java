@@ -30,6 +30,8 @@ public class TransformingCollectionBuilder<I, O> {
 	private Function<? super I, ? extends O> transformToOuter;
 	private Function<? super O, ? extends I> transformToInner;
 
+	private TransformationStatistics statistics;
+
 	// #end FIELDS
 
 	// #begin CONSTRUCTION
@@ -113,10 +115,33 @@ public class TransformingCollectionBuilder<I, O> {
 		return this;
 	}
 
+	/**
+	 * Instruments the created collections so that their transformations are counted and timed by the specified
+	 * statistics.
+	 *
+	 * @param statistics
+	 *            the statistics to record the transformations; can be shared by several collections
+	 * @return this builder
+	 */
+	public TransformingCollectionBuilder<I, O> instrumentWith(TransformationStatistics statistics) {
+		Objects.requireNonNull(statistics, "The argument 'statistics' must not be null.");
+
+		this.statistics = statistics;
+		return this;
+	}
+
 	// #end SET FIELDS
 
 	// #begin BUILD
 
+	private Function<? super I, ? extends O> transformToOuter() {
+		return statistics == null ? transformToOuter : statistics.instrumentToOuter(transformToOuter);
+	}
+
+	private Function<? super O, ? extends I> transformToInner() {
+		return statistics == null ? transformToInner : statistics.instrumentToInner(transformToInner);
+	}
+
 	/**
 	 * Creates a {@link TransformingCollection} which transforms/decorates the specified collection.
 	 *
@@ -126,7 +151,7 @@ public class TransformingCollectionBuilder<I, O> {
 	 */
 	public TransformingCollection<I, O> transformCollection(Collection<I> collection) {
 		return new TransformingCollection<>(
-				collection, innerTypeToken, outerTypeToken, transformToOuter, transformToInner);
+				collection, innerTypeToken, outerTypeToken, transformToOuter(), transformToInner(), statistics);
 	}
 
 	/**
@@ -138,7 +163,7 @@ public class TransformingCollectionBuilder<I, O> {
 	 */
 	public TransformingSet<I, O> transformSet(Set<I> set) {
 		return new TransformingSet<>(
-				set, innerTypeToken, outerTypeToken, transformToOuter, transformToInner);
+				set, innerTypeToken, outerTypeToken, transformToOuter(), transformToInner(), statistics);
 	}
 
 	/**
@@ -150,7 +175,7 @@ public class TransformingCollectionBuilder<I, O> {
 	 */
 	public TransformingList<I, O> transformList(List<I> list) {
 		return new TransformingList<>(
-				list, innerTypeToken, outerTypeToken, transformToOuter, transformToInner);
+				list, innerTypeToken, outerTypeToken, transformToOuter(), transformToInner(), statistics);
 	}
 
 	// #end BUILD
@@ -38,6 +38,7 @@ public final class TransformingList<I, O> extends AbstractTransformingList<I, O>
 	private final Class<? super O> outerTypeToken;
 	private final Function<? super I, ? extends O> transformToOuter;
 	private final Function<? super O, ? extends I> transformToInner;
+	private final TransformationStatistics statistics;
 
 	// #end FIELDS
 
@@ -62,6 +63,33 @@ public final class TransformingList<I, O> extends AbstractTransformingList<I, O>
 			Class<? super I> innerTypeToken, Class<? super O> outerTypeToken,
 			Function<? super I, ? extends O> transformToOuter, Function<? super O, ? extends I> transformToInner) {
 
+		this(innerList, innerTypeToken, outerTypeToken, transformToOuter, transformToInner, null);
+	}
+
+	/**
+	 * Creates a new transforming list which counts rejected elements to the specified statistics.
+	 *
+	 * @param innerList
+	 *            the wrapped list
+	 * @param innerTypeToken
+	 *            the token for the inner type
+	 * @param outerTypeToken
+	 *            the token for the outer type
+	 * @param transformToOuter
+	 *            transforms an element from an inner to an outer type; will never be called with null argument and must
+	 *            not produce null
+	 * @param transformToInner
+	 *            transforms an element from an outer to an inner type; will never be called with null argument and must
+	 *            not produce null
+	 * @param statistics
+	 *            the statistics to which rejected elements are counted; null if this list is not instrumented
+	 */
+	TransformingList(
+			List<I> innerList,
+			Class<? super I> innerTypeToken, Class<? super O> outerTypeToken,
+			Function<? super I, ? extends O> transformToOuter, Function<? super O, ? extends I> transformToInner,
+			TransformationStatistics statistics) {
+
 		Objects.requireNonNull(innerList, "The argument 'innerList' must not be null.");
 		Objects.requireNonNull(innerTypeToken, "The argument 'innerTypeToken' must not be null.");
 		Objects.requireNonNull(outerTypeToken, "The argument 'outerTypeToken' must not be null.");
@@ -73,6 +101,7 @@ public final class TransformingList<I, O> extends AbstractTransformingList<I, O>
 		this.outerTypeToken = outerTypeToken;
 		this.transformToOuter = transformToOuter;
 		this.transformToInner = transformToInner;
+		this.statistics = statistics;
 	}
 
 	// #begin IMPLEMENTATION OF 'AbstractTransformingList'
@@ -84,7 +113,10 @@ public final class TransformingList<I, O> extends AbstractTransformingList<I, O>
 
 	@Override
 	protected boolean isInnerElement(Object object) {
-		return object == null || innerTypeToken.isInstance(object);
+		boolean isInnerElement = object == null || innerTypeToken.isInstance(object);
+		if (!isInnerElement && statistics != null)
+			statistics.countRejection();
+		return isInnerElement;
 	}
 
 	@Override
@@ -99,7 +131,10 @@ public final class TransformingList<I, O> extends AbstractTransformingList<I, O>
 
 	@Override
 	protected boolean isOuterElement(Object object) {
-		return object == null || outerTypeToken.isInstance(object);
+		boolean isOuterElement = object == null || outerTypeToken.isInstance(object);
+		if (!isOuterElement && statistics != null)
+			statistics.countRejection();
+		return isOuterElement;
 	}
 
 	@Override
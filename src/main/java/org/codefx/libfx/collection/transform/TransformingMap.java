@@ -49,6 +49,8 @@ public final class TransformingMap<IK, OK, IV, OV> extends AbstractTransformingM
 	private final Function<? super IV, ? extends OV> transformToOuterValue;
 	private final Function<? super OV, ? extends IV> transformToInnerValue;
 
+	private final TransformationStatistics statistics;
+
 	// #end FIELDS
 
 	// #begin CONSTRUCTION
@@ -88,6 +90,50 @@ public final class TransformingMap<IK, OK, IV, OV> extends AbstractTransformingM
 			Function<? super IV, ? extends OV> transformToOuterValue,
 			Function<? super OV, ? extends IV> transformToInnerValue) {
 
+		this(innerMap,
+				innerKeyTypeToken, outerKeyTypeToken, transformToOuterKey, transformToInnerKey,
+				innerValueTypeToken, outerValueTypeToken, transformToOuterValue, transformToInnerValue,
+				null);
+	}
+
+	/**
+	 * Creates a new transforming map which counts rejected keys and values to the specified statistics.
+	 *
+	 * @param innerMap
+	 *            the wrapped map
+	 * @param innerKeyTypeToken
+	 *            the token for the inner key type
+	 * @param outerKeyTypeToken
+	 *            the token for the outer key type
+	 * @param transformToOuterKey
+	 *            transforms a key from an inner to an outer key type; will never be called with null argument and must
+	 *            not produce null
+	 * @param transformToInnerKey
+	 *            transforms a key from an outer to an inner key type; will never be called with null argument and must
+	 *            not produce null
+	 * @param innerValueTypeToken
+	 *            the token for the inner value type
+	 * @param outerValueTypeToken
+	 *            the token for the outer value type
+	 * @param transformToOuterValue
+	 *            transforms a value from an inner to an outer value type; will never be called with null argument and
+	 *            must not produce null
+	 * @param transformToInnerValue
+	 *            transforms a value from an outer to an inner value type; will never be called with null argument and
+	 *            must not produce null
+	 * @param statistics
+	 *            the statistics to which rejected keys and values are counted; null if this map is not instrumented
+	 */
+	TransformingMap(
+			Map<IK, IV> innerMap,
+			Class<? super IK> innerKeyTypeToken, Class<? super OK> outerKeyTypeToken,
+			Function<? super IK, ? extends OK> transformToOuterKey,
+			Function<? super OK, ? extends IK> transformToInnerKey,
+			Class<? super IV> innerValueTypeToken, Class<? super OV> outerValueTypeToken,
+			Function<? super IV, ? extends OV> transformToOuterValue,
+			Function<? super OV, ? extends IV> transformToInnerValue,
+			TransformationStatistics statistics) {
+
 		Objects.requireNonNull(innerMap, "The argument 'innerMap' must not be null.");
 		Objects.requireNonNull(innerKeyTypeToken, "The argument 'innerKeyTypeToken' must not be null.");
 		Objects.requireNonNull(outerKeyTypeToken, "The argument 'outerKeyTypeToken' must not be null.");
@@ -107,6 +153,7 @@ public final class TransformingMap<IK, OK, IV, OV> extends AbstractTransformingM
 		this.innerValueTypeToken = innerValueTypeToken;
 		this.transformToOuterValue = transformToOuterValue;
 		this.transformToInnerValue = transformToInnerValue;
+		this.statistics = statistics;
 	}
 
 	// #end CONSTRUCTION
@@ -120,7 +167,10 @@ public final class TransformingMap<IK, OK, IV, OV> extends AbstractTransformingM
 
 	@Override
 	protected boolean isInnerKey(Object object) {
-		return object == null || innerKeyTypeToken.isInstance(object);
+		boolean isInnerKey = object == null || innerKeyTypeToken.isInstance(object);
+		if (!isInnerKey && statistics != null)
+			statistics.countRejection();
+		return isInnerKey;
 	}
 
 	@Override
@@ -135,7 +185,10 @@ public final class TransformingMap<IK, OK, IV, OV> extends AbstractTransformingM
 
 	@Override
 	protected boolean isOuterKey(Object object) {
-		return object == null || outerKeyTypeToken.isInstance(object);
+		boolean isOuterKey = object == null || outerKeyTypeToken.isInstance(object);
+		if (!isOuterKey && statistics != null)
+			statistics.countRejection();
+		return isOuterKey;
 	}
 
 	@Override
@@ -150,7 +203,10 @@ public final class TransformingMap<IK, OK, IV, OV> extends AbstractTransformingM
 
 	@Override
 	protected boolean isInnerValue(Object object) {
-		return object == null || innerValueTypeToken.isInstance(object);
+		boolean isInnerValue = object == null || innerValueTypeToken.isInstance(object);
+		if (!isInnerValue && statistics != null)
+			statistics.countRejection();
+		return isInnerValue;
 	}
 
 	@Override
@@ -165,7 +221,10 @@ public final class TransformingMap<IK, OK, IV, OV> extends AbstractTransformingM
 
 	@Override
 	protected boolean isOuterValue(Object object) {
-		return object == null || outerValueTypeToken.isInstance(object);
+		boolean isOuterValue = object == null || outerValueTypeToken.isInstance(object);
+		if (!isOuterValue && statistics != null)
+			statistics.countRejection();
+		return isOuterValue;
 	}
 
 	@Override
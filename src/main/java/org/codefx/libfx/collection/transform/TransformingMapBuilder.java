@@ -36,6 +36,8 @@ public class TransformingMapBuilder<IK, OK, IV, OV> {
 	private Function<? super IV, ? extends OV> transformToOuterValue;
 	private Function<? super OV, ? extends IV> transformToInnerValue;
 
+	private TransformationStatistics statistics;
+
 	// #end FIELDS
 
 	// #begin CONSTRUCTION
@@ -150,7 +152,8 @@ public class TransformingMapBuilder<IK, OK, IV, OV> {
 	 *            transforms inner to outer values
 	 * @return this builder
 	 */
-	public TransformingMapBuilder<IK, OK, IV, OV> toOuterValue(Function<? super IV, ? extends OV> transformToOuterValue) {
+	public TransformingMapBuilder<IK, OK, IV, OV> toOuterValue(
+			Function<? super IV, ? extends OV> transformToOuterValue) {
 		Objects.requireNonNull(transformToOuterValue, "The argument 'transformToOuterValue' must not be null.");
 
 		this.transformToOuterValue = transformToOuterValue;
@@ -164,17 +167,49 @@ public class TransformingMapBuilder<IK, OK, IV, OV> {
 	 *            transforms outer to inner values
 	 * @return this builder
 	 */
-	public TransformingMapBuilder<IK, OK, IV, OV> toInnerValue(Function<? super OV, ? extends IV> transformToInnerValue) {
+	public TransformingMapBuilder<IK, OK, IV, OV> toInnerValue(
+			Function<? super OV, ? extends IV> transformToInnerValue) {
 		Objects.requireNonNull(transformToInnerValue, "The argument 'transformToInnerValue' must not be null.");
 
 		this.transformToInnerValue = transformToInnerValue;
 		return this;
 	}
 
+	/**
+	 * Instruments the created maps so that their key and value transformations are counted and timed by the specified
+	 * statistics.
+	 *
+	 * @param statistics
+	 *            the statistics to record the transformations; can be shared by several maps
+	 * @return this builder
+	 */
+	public TransformingMapBuilder<IK, OK, IV, OV> instrumentWith(TransformationStatistics statistics) {
+		Objects.requireNonNull(statistics, "The argument 'statistics' must not be null.");
+
+		this.statistics = statistics;
+		return this;
+	}
+
 	// #end SET FIELDS
 
 	// #begin BUILD
 
+	private Function<? super IK, ? extends OK> transformToOuterKey() {
+		return statistics == null ? transformToOuterKey : statistics.instrumentToOuter(transformToOuterKey);
+	}
+
+	private Function<? super OK, ? extends IK> transformToInnerKey() {
+		return statistics == null ? transformToInnerKey : statistics.instrumentToInner(transformToInnerKey);
+	}
+
+	private Function<? super IV, ? extends OV> transformToOuterValue() {
+		return statistics == null ? transformToOuterValue : statistics.instrumentToOuter(transformToOuterValue);
+	}
+
+	private Function<? super OV, ? extends IV> transformToInnerValue() {
+		return statistics == null ? transformToInnerValue : statistics.instrumentToInner(transformToInnerValue);
+	}
+
 	/**
 	 * Creates a {@link TransformingMap} which transforms/decorates the specified map.
 	 *
@@ -184,8 +219,9 @@ public class TransformingMapBuilder<IK, OK, IV, OV> {
 	 */
 	public TransformingMap<IK, OK, IV, OV> transformMap(Map<IK, IV> map) {
 		return new TransformingMap<>(map,
-				innerKeyTypeToken, outerKeyTypeToken, transformToOuterKey, transformToInnerKey,
-				innerValueTypeToken, outerValueTypeToken, transformToOuterValue, transformToInnerValue);
+				innerKeyTypeToken, outerKeyTypeToken, transformToOuterKey(), transformToInnerKey(),
+				innerValueTypeToken, outerValueTypeToken, transformToOuterValue(), transformToInnerValue(),
+				statistics);
 	}
 
 	// #end BUILD
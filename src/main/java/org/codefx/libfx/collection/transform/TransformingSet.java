@@ -38,6 +38,7 @@ public final class TransformingSet<I, O> extends AbstractTransformingSet<I, O> {
 	private final Class<? super I> innerTypeToken;
 	private final Function<? super I, ? extends O> transformToOuter;
 	private final Function<? super O, ? extends I> transformToInner;
+	private final TransformationStatistics statistics;
 
 	// #end FIELDS
 
@@ -62,6 +63,33 @@ public final class TransformingSet<I, O> extends AbstractTransformingSet<I, O> {
 			Class<? super I> innerTypeToken, Class<? super O> outerTypeToken,
 			Function<? super I, ? extends O> transformToOuter, Function<? super O, ? extends I> transformToInner) {
 
+		this(innerSet, innerTypeToken, outerTypeToken, transformToOuter, transformToInner, null);
+	}
+
+	/**
+	 * Creates a new transforming set which counts rejected elements to the specified statistics.
+	 *
+	 * @param innerSet
+	 *            the wrapped set
+	 * @param innerTypeToken
+	 *            the token for the inner type
+	 * @param outerTypeToken
+	 *            the token for the outer type
+	 * @param transformToOuter
+	 *            transforms an element from an inner to an outer type; will never be called with null argument and must
+	 *            not produce null
+	 * @param transformToInner
+	 *            transforms an element from an outer to an inner type; will never be called with null argument and must
+	 *            not produce null
+	 * @param statistics
+	 *            the statistics to which rejected elements are counted; null if this set is not instrumented
+	 */
+	TransformingSet(
+			Set<I> innerSet,
+			Class<? super I> innerTypeToken, Class<? super O> outerTypeToken,
+			Function<? super I, ? extends O> transformToOuter, Function<? super O, ? extends I> transformToInner,
+			TransformationStatistics statistics) {
+
 		Objects.requireNonNull(innerSet, "The argument 'innerSet' must not be null.");
 		Objects.requireNonNull(innerTypeToken, "The argument 'innerTypeToken' must not be null.");
 		Objects.requireNonNull(outerTypeToken, "The argument 'outerTypeToken' must not be null.");
@@ -73,6 +101,7 @@ public final class TransformingSet<I, O> extends AbstractTransformingSet<I, O> {
 		this.outerTypeToken = outerTypeToken;
 		this.transformToOuter = transformToOuter;
 		this.transformToInner = transformToInner;
+		this.statistics = statistics;
 	}
 
 	// #begin IMPLEMENTATION OF 'AbstractTransformingSet'
@@ -84,7 +113,10 @@ public final class TransformingSet<I, O> extends AbstractTransformingSet<I, O> {
 
 	@Override
 	protected boolean isInnerElement(Object object) {
-		return object == null || innerTypeToken.isInstance(object);
+		boolean isInnerElement = object == null || innerTypeToken.isInstance(object);
+		if (!isInnerElement && statistics != null)
+			statistics.countRejection();
+		return isInnerElement;
 	}
 
 	@Override
@@ -99,7 +131,10 @@ public final class TransformingSet<I, O> extends AbstractTransformingSet<I, O> {
 
 	@Override
 	protected boolean isOuterElement(Object object) {
-		return object == null || outerTypeToken.isInstance(object);
+		boolean isOuterElement = object == null || outerTypeToken.isInstance(object);
+		if (!isOuterElement && statistics != null)
+			statistics.countRejection();
+		return isOuterElement;
 	}
 
 	@Override
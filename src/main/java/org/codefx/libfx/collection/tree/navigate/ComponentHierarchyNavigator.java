@@ -2,9 +2,13 @@ package org.codefx.libfx.collection.tree.navigate;
 
 import java.awt.Component;
 import java.awt.Container;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.function.Consumer;
 
 /**
  * A {@link TreeNavigator} for an AWT component hierarchy.
@@ -30,6 +34,12 @@ import java.util.OptionalInt;
  * // if the component hierarchy changed between the two calls, this may be false
  * boolean sameChildren = child1.equals(child2);
  * </pre>
+ * Because {@link Container#getComponents()} copies the array of children, the index-based methods need time linear in
+ * the number of siblings. To access all children, use {@link #forEachChild(Component, Consumer) forEachChild} or
+ * {@link #getChildren(Component) getChildren}, which copy the array only once.
+ * <p>
+ * To traverse a component hierarchy which might be changed concurrently without skipping or repeating nodes, wrap this
+ * navigator in a {@link SnapshotNavigator}.
  */
 public class ComponentHierarchyNavigator implements TreeNavigator<Component> {
 
@@ -100,4 +110,27 @@ public class ComponentHierarchyNavigator implements TreeNavigator<Component> {
 		}
 	}
 
+	@Override
+	public void forEachChild(Component parent, Consumer<? super Component> action) {
+		Objects.requireNonNull(parent, "The argument 'parent' must not be null.");
+		Objects.requireNonNull(action, "The argument 'action' must not be null.");
+
+		if (!(parent instanceof Container))
+			return;
+
+		for (Component child : ((Container) parent).getComponents())
+			action.accept(child);
+	}
+
+	@Override
+	public List<Component> getChildren(Component parent) {
+		Objects.requireNonNull(parent, "The argument 'parent' must not be null.");
+
+		if (!(parent instanceof Container))
+			return Collections.emptyList();
+
+		// 'getComponents' returns a copy, so it can be wrapped without creating another one
+		return Arrays.asList(((Container) parent).getComponents());
+	}
+
 }
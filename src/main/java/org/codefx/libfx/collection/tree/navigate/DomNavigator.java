@@ -0,0 +1,90 @@
+package org.codefx.libfx.collection.tree.navigate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.Consumer;
+
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * A {@link TreeNavigator} for a W3C DOM, e.g. a parsed XML document.
+ * <p>
+ * The children of a node are its {@link Node#getChildNodes() child nodes}, i.e. elements as well as text, comments and
+ * so forth. Attributes are not part of the navigated tree.
+ * <p>
+ * The navigator does not copy the DOM. Bulk access to children walks the chain of {@link Node#getNextSibling() next
+ * siblings} and computing a child index walks the chain of {@link Node#getPreviousSibling() previous siblings}, so
+ * the latter needs time linear in the index.
+ * <p>
+ * Most DOM implementations are not thread-safe, not even for reading. This navigator does not guard against that, so
+ * it must not be used concurrently, e.g. by {@link java.util.stream.Stream#parallel() parallel} streams.
+ */
+public class DomNavigator implements TreeNavigator<Node> {
+
+	@Override
+	public Optional<Node> getParent(Node child) {
+		Objects.requireNonNull(child, "The argument 'child' must not be null.");
+
+		return Optional.ofNullable(child.getParentNode());
+	}
+
+	@Override
+	public OptionalInt getChildIndex(Node node) {
+		Objects.requireNonNull(node, "The argument 'node' must not be null.");
+
+		if (node.getParentNode() == null)
+			return OptionalInt.empty();
+
+		int childIndex = 0;
+		for (Node sibling = node.getPreviousSibling(); sibling != null; sibling = sibling.getPreviousSibling())
+			childIndex++;
+		return OptionalInt.of(childIndex);
+	}
+
+	@Override
+	public int getChildrenCount(Node parent) {
+		Objects.requireNonNull(parent, "The argument 'parent' must not be null.");
+
+		return parent.getChildNodes().getLength();
+	}
+
+	@Override
+	public Optional<Node> getChild(Node parent, int childIndex) {
+		Objects.requireNonNull(parent, "The argument 'parent' must not be null.");
+		if (childIndex < 0)
+			throw new IllegalArgumentException("The argument 'childIndex' must be non-negative.");
+
+		NodeList children = parent.getChildNodes();
+		// 'item' returns null if the index is out of bounds
+		return Optional.ofNullable(children.item(childIndex));
+	}
+
+	@Override
+	public void forEachChild(Node parent, Consumer<? super Node> action) {
+		Objects.requireNonNull(parent, "The argument 'parent' must not be null.");
+		Objects.requireNonNull(action, "The argument 'action' must not be null.");
+
+		for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling())
+			action.accept(child);
+	}
+
+	@Override
+	public List<Node> getChildren(Node parent) {
+		Objects.requireNonNull(parent, "The argument 'parent' must not be null.");
+
+		Node firstChild = parent.getFirstChild();
+		if (firstChild == null)
+			return Collections.emptyList();
+
+		List<Node> children = new ArrayList<>();
+		for (Node child = firstChild; child != null; child = child.getNextSibling())
+			children.add(child);
+		return children;
+	}
+
+}
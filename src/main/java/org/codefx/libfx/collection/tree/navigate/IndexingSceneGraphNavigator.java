@@ -0,0 +1,85 @@
+package org.codefx.libfx.collection.tree.navigate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.WeakHashMap;
+
+import javafx.scene.Node;
+import javafx.scene.Parent;
+
+/**
+ * A {@link TreeNavigator} for a JavaFX scene graph which looks up child indices in constant time.
+ * <p>
+ * The {@link SceneGraphNavigator} determines a node's {@link #getChildIndex(Node) child index} by searching the list of
+ * its parent's children, which takes time linear in the number of siblings. This is repeated for each level when a
+ * path from the root to a node is created (e.g. to start a stream from within a tree), which makes doing so expensive
+ * in wide scene graphs.
+ * <p>
+ * This navigator instead maps each child of a parent to its index. The map is created when a child index is first
+ * requested for one of the parent's children and kept by the navigator. Each lookup checks whether the parent's
+ * children still contain the node at the mapped index and recreates the map if they do not. Hence the first lookup for
+ * a parent and the first lookup of a moved or added child take linear time, all others constant time.
+ * <p>
+ * The maps are only weakly referenced by the navigator and do not reference the parents, so neither the parents nor
+ * their children are kept from being garbage collected. The navigator does not modify the scene graph in any way (e.g.
+ * it neither adds listeners nor properties), so discarding it releases all its maps.
+ * <p>
+ * Unlike {@code SceneGraphNavigator}, this implementation is not thread-safe. Like the scene graph itself, it must only
+ * be used on the JavaFX Application Thread (or on scene graphs which are not attached to a visible scene and which are
+ * not changed concurrently). Several instances of this navigator do not share their maps.
+ */
+public class IndexingSceneGraphNavigator extends SceneGraphNavigator {
+
+	/**
+	 * Maps parents to the indices of their children. Because {@link Node} does not override {@code equals} and
+	 * {@code hashCode}, the weak maps compare nodes by identity.
+	 */
+	private final Map<Parent, Map<Node, Integer>> childIndices = new WeakHashMap<>();
+
+	@Override
+	public OptionalInt getChildIndex(Node node) {
+		Objects.requireNonNull(node, "The argument 'node' must not be null.");
+
+		Parent parent = node.getParent();
+		if (parent == null)
+			return OptionalInt.empty();
+
+		List<Node> children = parent.getChildrenUnmodifiable();
+		Integer childIndex = childIndices.computeIfAbsent(parent, this::createChildIndex).get(node);
+		if (!isIndexOf(children, childIndex, node))
+			// the index is stale; replace it with a new one
+			childIndex = replaceChildIndex(parent).get(node);
+		if (childIndex == null)
+			return OptionalInt.empty();
+		return OptionalInt.of(childIndex);
+	}
+
+	private static boolean isIndexOf(List<Node> children, Integer childIndex, Node node) {
+		return childIndex != null && childIndex < children.size() && children.get(childIndex) == node;
+	}
+
+	private Map<Node, Integer> replaceChildIndex(Parent parent) {
+		Map<Node, Integer> newIndex = createChildIndex(parent);
+		childIndices.put(parent, newIndex);
+		return newIndex;
+	}
+
+	/**
+	 * Creates a map from the parent's children to their indices which references the children weakly. Otherwise the
+	 * children would keep the parent (which is the map's key in {@link #childIndices}) from being collected.
+	 *
+	 * @param parent
+	 *            the parent whose children are mapped
+	 * @return a map from the children to their indices
+	 */
+	private Map<Node, Integer> createChildIndex(Parent parent) {
+		List<Node> children = parent.getChildrenUnmodifiable();
+		Map<Node, Integer> indices = new WeakHashMap<>(children.size());
+		for (int childIndex = 0; childIndex < children.size(); childIndex++)
+			indices.put(children.get(childIndex), childIndex);
+		return indices;
+	}
+
+}
@@ -2,9 +2,12 @@ package org.codefx.libfx.collection.tree.navigate;
 
 import java.awt.Component;
 import java.awt.Container;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.function.Consumer;
 
 import javax.swing.JComponent;
 
@@ -38,6 +41,10 @@ import javax.swing.JComponent;
  * // if the component hierarchy changed between the two calls, this may be false
  * boolean sameChildren = child1.equals(child2);
  * </pre>
+ * Because {@link Container#getComponents()} copies the array of children, the index-based methods need time linear in
+ * the number of siblings. To access all children, use {@link #forEachChild(JComponent, Consumer) forEachChild} or
+ * {@link #getChildren(JComponent) getChildren}, which copy the array only once. Like {@code getChild}, they skip
+ * children which are no {@code JComponent}s.
  */
 public class JComponentHierarchyNavigator implements TreeNavigator<JComponent> {
 
@@ -105,4 +112,26 @@ public class JComponentHierarchyNavigator implements TreeNavigator<JComponent> {
 		}
 	}
 
+	@Override
+	public void forEachChild(JComponent parent, Consumer<? super JComponent> action) {
+		Objects.requireNonNull(parent, "The argument 'parent' must not be null.");
+		Objects.requireNonNull(action, "The argument 'action' must not be null.");
+
+		for (Component child : parent.getComponents())
+			if (child instanceof JComponent)
+				action.accept((JComponent) child);
+	}
+
+	@Override
+	public List<JComponent> getChildren(JComponent parent) {
+		Objects.requireNonNull(parent, "The argument 'parent' must not be null.");
+
+		Component[] components = parent.getComponents();
+		List<JComponent> children = new ArrayList<>(components.length);
+		for (Component child : components)
+			if (child instanceof JComponent)
+				children.add((JComponent) child);
+		return children;
+	}
+
 }
@@ -0,0 +1,194 @@
+package org.codefx.libfx.collection.tree.navigate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.Consumer;
+
+/**
+ * A {@link TreeNavigator} for a file system tree, where directories are inner nodes and all other files are leaves.
+ * <p>
+ * The children of a directory are the entries of its {@link DirectoryStream} in their {@link Path#compareTo(Path)
+ * natural order}, so child indices are stable as long as the directory does not change. Symbolic links are not
+ * followed, i.e. a link to a directory is a leaf, so the navigated graph is always a tree.
+ * <p>
+ * Listing a directory is expensive, so the listings are cached. But to walk huge trees without holding them in memory,
+ * only the listings of the directories on the path to the most recently listed directory are kept. When a directory is
+ * listed, the listings of all directories which are not its ancestors are released. A depth-first search (which lists
+ * each directory while it is inside of it) hence lists each directory once and never keeps more listings than the
+ * directory it is in and its ancestors. Concurrent use (e.g. by {@link java.util.stream.Stream#parallel() parallel}
+ * streams) is safe but will lead to more directories being listed repeatedly.
+ * <p>
+ * The navigator reflects the file system at the time of each listing. If the file system is changed concurrently,
+ * return values can be stale (see {@link SceneGraphNavigator} for examples). If a directory can not be listed, an
+ * {@link UncheckedIOException} is thrown.
+ */
+public class PathNavigator implements TreeNavigator<Path> {
+
+	// #begin FIELDS
+
+	/**
+	 * The cached listings with the one of the most recently listed directory on top. Each listing's directory is an
+	 * ancestor of the directories of all listings above it.
+	 */
+	private final Deque<DirectoryListing> listings;
+
+	// #end FIELDS
+
+	// #begin CONSTRUCTION
+
+	/**
+	 * Creates a new navigator.
+	 */
+	public PathNavigator() {
+		listings = new ArrayDeque<>();
+	}
+
+	// #end CONSTRUCTION
+
+	// #begin IMPLEMENTATION OF 'TreeNavigator'
+
+	@Override
+	public Optional<Path> getParent(Path child) {
+		Objects.requireNonNull(child, "The argument 'child' must not be null.");
+
+		return Optional.ofNullable(child.getParent());
+	}
+
+	@Override
+	public OptionalInt getChildIndex(Path node) {
+		Objects.requireNonNull(node, "The argument 'node' must not be null.");
+
+		Path parent = node.getParent();
+		if (parent == null)
+			return OptionalInt.empty();
+
+		List<Path> siblings = getListing(parent);
+		// the listing is sorted, so the node can be found with a binary search
+		int childIndex = Collections.binarySearch(siblings, node);
+		if (childIndex < 0)
+			return OptionalInt.empty();
+
+		return OptionalInt.of(childIndex);
+	}
+
+	@Override
+	public int getChildrenCount(Path parent) {
+		Objects.requireNonNull(parent, "The argument 'parent' must not be null.");
+
+		return getListing(parent).size();
+	}
+
+	@Override
+	public Optional<Path> getChild(Path parent, int childIndex) {
+		Objects.requireNonNull(parent, "The argument 'parent' must not be null.");
+		if (childIndex < 0)
+			throw new IllegalArgumentException("The argument 'childIndex' must be non-negative.");
+
+		List<Path> children = getListing(parent);
+		if (children.size() <= childIndex)
+			return Optional.empty();
+
+		return Optional.of(children.get(childIndex));
+	}
+
+	@Override
+	public void forEachChild(Path parent, Consumer<? super Path> action) {
+		Objects.requireNonNull(action, "The argument 'action' must not be null.");
+
+		getChildren(parent).forEach(action);
+	}
+
+	@Override
+	public List<Path> getChildren(Path parent) {
+		Objects.requireNonNull(parent, "The argument 'parent' must not be null.");
+
+		return getListing(parent);
+	}
+
+	// #end IMPLEMENTATION OF 'TreeNavigator'
+
+	// #begin LISTINGS
+
+	/**
+	 * Returns the listing of the specified directory, either from the cache or by listing it.
+	 *
+	 * @param directory
+	 *            the directory to list; if it is no directory, the returned listing is empty
+	 * @return an unmodifiable, sorted list of the directory's entries
+	 */
+	private synchronized List<Path> getListing(Path directory) {
+		releaseListingsOutsideOf(directory);
+
+		DirectoryListing cached = listings.peek();
+		if (cached != null && cached.directory.equals(directory))
+			return cached.entries;
+
+		if (!Files.isDirectory(directory, LinkOption.NOFOLLOW_LINKS))
+			return Collections.emptyList();
+
+		List<Path> entries = listDirectory(directory);
+		listings.push(new DirectoryListing(directory, entries));
+		return entries;
+	}
+
+	/**
+	 * Releases all cached listings whose directories are neither the specified one nor one of its ancestors.
+	 */
+	private void releaseListingsOutsideOf(Path directory) {
+		Iterator<DirectoryListing> fromTop = listings.iterator();
+		while (fromTop.hasNext() && !directory.startsWith(fromTop.next().directory))
+			fromTop.remove();
+	}
+
+	private static List<Path> listDirectory(Path directory) {
+		List<Path> entries = new ArrayList<>();
+		try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(directory)) {
+			for (Path entry : directoryStream)
+				entries.add(entry);
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+
+		if (entries.isEmpty())
+			return Collections.emptyList();
+
+		Collections.sort(entries);
+		return Collections.unmodifiableList(entries);
+	}
+
+	// #end LISTINGS
+
+	// #begin INNER CLASSES
+
+	/**
+	 * The sorted entries of a directory.
+	 */
+	private static final class DirectoryListing {
+
+		private final Path directory;
+
+		private final List<Path> entries;
+
+		public DirectoryListing(Path directory, List<Path> entries) {
+			this.directory = directory;
+			this.entries = entries;
+		}
+
+	}
+
+	// #end INNER CLASSES
+
+}
@@ -1,8 +1,12 @@
 package org.codefx.libfx.collection.tree.navigate;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.function.Consumer;
 
 import javafx.scene.Node;
 import javafx.scene.Parent;
@@ -31,6 +35,9 @@ import javafx.scene.Parent;
  * // if the scene graph changed between the two calls, this may be false
  * boolean sameChildren = child1.equals(child2);
  * </pre>
+ * <p>
+ * To traverse a scene graph which might be changed concurrently without skipping or repeating nodes, wrap this
+ * navigator in a {@link SnapshotNavigator}.
  */
 public class SceneGraphNavigator implements TreeNavigator<Node> {
 
@@ -90,4 +97,22 @@ public class SceneGraphNavigator implements TreeNavigator<Node> {
 		}
 	}
 
+	@Override
+	public void forEachChild(Node parent, Consumer<? super Node> action) {
+		Objects.requireNonNull(action, "The argument 'action' must not be null.");
+
+		// iterate over a snapshot so a concurrent change of the scene graph can not break the iteration
+		getChildren(parent).forEach(action);
+	}
+
+	@Override
+	public List<Node> getChildren(Node parent) {
+		Objects.requireNonNull(parent, "The argument 'parent' must not be null.");
+
+		if (!(parent instanceof Parent))
+			return Collections.emptyList();
+
+		return new ArrayList<>(((Parent) parent).getChildrenUnmodifiable());
+	}
+
 }
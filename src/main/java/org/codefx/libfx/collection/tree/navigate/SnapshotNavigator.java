@@ -0,0 +1,152 @@
+package org.codefx.libfx.collection.tree.navigate;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * A {@link TreeNavigator} which wraps another navigator and gives a consistent view of a tree which might be changed
+ * concurrently.
+ * <p>
+ * When the children of a node are accessed for the first time, this navigator takes a snapshot of them with the
+ * wrapped navigator's {@link TreeNavigator#getChildren(Object) getChildren} method and answers all further questions
+ * about the node's children from that snapshot. It also remembers the snapshot's node as the parent of each of the
+ * children. A traversal using this navigator hence sees each node's children exactly as they were when it first
+ * looked at them: it never skips or repeats a sibling because the siblings were changed between two index-based
+ * accesses (which navigators like {@link ComponentHierarchyNavigator} or {@link SceneGraphNavigator} can not prevent).
+ * <p>
+ * Snapshots are taken per node and only when needed, so the whole tree is never copied at once and no lock is held
+ * while traversing it or while taking a snapshot. (If several threads need the snapshot of the same node at the same
+ * time, each of them takes one but only the first finished snapshot is kept and returned to all of them.) This means
+ * that the view is not an atomic snapshot of the entire tree, e.g. a subtree which was moved after its old parent's
+ * snapshot was taken but before its new parent's snapshot was taken can be encountered twice. (This is unavoidable
+ * without locking the entire tree.) Whether taking a single snapshot is safe while the tree is being changed depends on
+ * the wrapped navigator. Note that Swing and JavaFX require their components to be accessed on their respective UI
+ * threads.
+ * <p>
+ * The snapshots are kept until they are {@link #clear() cleared}, so a snapshot navigator should usually only be used
+ * for a single traversal. It is thread-safe (if the wrapped navigator is), so it can be used by
+ * {@link java.util.stream.Stream#parallel() parallel} streams. Nodes are compared with {@link Object#equals(Object)
+ * equals}.
+ *
+ * @param <E>
+ *            the type of elements contained in the tree
+ */
+public class SnapshotNavigator<E> implements TreeNavigator<E> {
+
+	private final TreeNavigator<E> navigator;
+
+	private final Map<E, List<E>> children;
+
+	private final Map<E, E> parents;
+
+	/**
+	 * Creates a new snapshot navigator which wraps the specified navigator.
+	 *
+	 * @param navigator
+	 *            the navigator used to take snapshots of the tree
+	 */
+	public SnapshotNavigator(TreeNavigator<E> navigator) {
+		Objects.requireNonNull(navigator, "The argument 'navigator' must not be null.");
+
+		this.navigator = navigator;
+		this.children = new ConcurrentHashMap<>();
+		this.parents = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Discards all snapshots, so subsequent calls will see the tree as it is then.
+	 */
+	public void clear() {
+		children.clear();
+		parents.clear();
+	}
+
+	@Override
+	public Optional<E> getParent(E child) {
+		Objects.requireNonNull(child, "The argument 'child' must not be null.");
+
+		E parent = parents.get(child);
+		if (parent != null)
+			return Optional.of(parent);
+		return navigator.getParent(child);
+	}
+
+	@Override
+	public OptionalInt getChildIndex(E node) {
+		Objects.requireNonNull(node, "The argument 'node' must not be null.");
+
+		Optional<E> parent = getParent(node);
+		if (!parent.isPresent())
+			return OptionalInt.empty();
+
+		List<E> siblings = snapshotChildren(parent.get());
+		for (int childIndex = 0; childIndex < siblings.size(); childIndex++)
+			if (siblings.get(childIndex).equals(node))
+				return OptionalInt.of(childIndex);
+		// the node was not a child of its parent when the snapshot was taken
+		return OptionalInt.empty();
+	}
+
+	@Override
+	public int getChildrenCount(E parent) {
+		Objects.requireNonNull(parent, "The argument 'parent' must not be null.");
+
+		return snapshotChildren(parent).size();
+	}
+
+	@Override
+	public Optional<E> getChild(E parent, int childIndex) {
+		Objects.requireNonNull(parent, "The argument 'parent' must not be null.");
+		if (childIndex < 0)
+			throw new IllegalArgumentException("The argument 'childIndex' must be non-negative.");
+
+		List<E> parentsChildren = snapshotChildren(parent);
+		if (parentsChildren.size() <= childIndex)
+			return Optional.empty();
+
+		return Optional.of(parentsChildren.get(childIndex));
+	}
+
+	@Override
+	public void forEachChild(E parent, Consumer<? super E> action) {
+		Objects.requireNonNull(parent, "The argument 'parent' must not be null.");
+		Objects.requireNonNull(action, "The argument 'action' must not be null.");
+
+		snapshotChildren(parent).forEach(action);
+	}
+
+	@Override
+	public List<E> getChildren(E parent) {
+		Objects.requireNonNull(parent, "The argument 'parent' must not be null.");
+
+		return snapshotChildren(parent);
+	}
+
+	private List<E> snapshotChildren(E parent) {
+		List<E> snapshot = children.get(parent);
+		if (snapshot != null)
+			return snapshot;
+
+		// the snapshot is taken outside of the map so threads snapshotting other nodes never wait for the (possibly
+		// slow) wrapped navigator; it is only published after its children's parents were stored, so no thread can
+		// see the snapshot and then fall back to the wrapped navigator for its children's parent
+		snapshot = takeSnapshot(parent);
+		List<E> publishedSnapshot = children.putIfAbsent(parent, snapshot);
+		// if another thread published its snapshot first, that one is used; this thread's children were nonetheless
+		// stored with the same parent, which is harmless because they were the parent's children moments ago
+		return publishedSnapshot == null ? snapshot : publishedSnapshot;
+	}
+
+	private List<E> takeSnapshot(E parent) {
+		List<E> snapshot = Collections.unmodifiableList(navigator.getChildren(parent));
+		snapshot.forEach(child -> parents.put(child, parent));
+		return snapshot;
+	}
+
+}
@@ -0,0 +1,103 @@
+package org.codefx.libfx.collection.tree.navigate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.Consumer;
+
+import javafx.scene.control.TreeItem;
+
+/**
+ * A {@link TreeNavigator} for a hierarchy of JavaFX {@link TreeItem}s, e.g. the model behind a
+ * {@link javafx.scene.control.TreeView TreeView}.
+ * <p>
+ * The navigator works directly on the items' {@link TreeItem#getChildren() children lists}, so access to a child by
+ * its index needs constant time. It neither expands nor copies items. Items which are {@link TreeItem#isLeaf() leaves}
+ * are treated as having no children without accessing their children lists, so lazily populated items (which load
+ * their children when the list is first accessed) are not populated merely by checking whether they have children.
+ * Computing a child index searches the parent's children and needs time linear in the number of siblings.
+ * <p>
+ * Like the items themselves, this navigator is not thread-safe. It should only be used on the JavaFX application thread
+ * and must not be used concurrently, e.g. by {@link java.util.stream.Stream#parallel() parallel} streams.
+ *
+ * @param <T>
+ *            the type of the values contained in the tree items
+ */
+public class TreeItemNavigator<T> implements TreeNavigator<TreeItem<T>> {
+
+	@Override
+	public Optional<TreeItem<T>> getParent(TreeItem<T> child) {
+		Objects.requireNonNull(child, "The argument 'child' must not be null.");
+
+		return Optional.ofNullable(child.getParent());
+	}
+
+	@Override
+	public OptionalInt getChildIndex(TreeItem<T> node) {
+		Objects.requireNonNull(node, "The argument 'node' must not be null.");
+
+		TreeItem<T> parent = node.getParent();
+		if (parent == null)
+			return OptionalInt.empty();
+
+		List<TreeItem<T>> siblings = parent.getChildren();
+		for (int childIndex = 0; childIndex < siblings.size(); childIndex++)
+			if (siblings.get(childIndex) == node)
+				return OptionalInt.of(childIndex);
+		return OptionalInt.empty();
+	}
+
+	@Override
+	public int getChildrenCount(TreeItem<T> parent) {
+		Objects.requireNonNull(parent, "The argument 'parent' must not be null.");
+
+		if (parent.isLeaf())
+			return 0;
+
+		return parent.getChildren().size();
+	}
+
+	@Override
+	public Optional<TreeItem<T>> getChild(TreeItem<T> parent, int childIndex) {
+		Objects.requireNonNull(parent, "The argument 'parent' must not be null.");
+		if (childIndex < 0)
+			throw new IllegalArgumentException("The argument 'childIndex' must be non-negative.");
+
+		if (parent.isLeaf())
+			return Optional.empty();
+
+		List<TreeItem<T>> children = parent.getChildren();
+		if (children.size() <= childIndex)
+			return Optional.empty();
+
+		return Optional.of(children.get(childIndex));
+	}
+
+	@Override
+	public void forEachChild(TreeItem<T> parent, Consumer<? super TreeItem<T>> action) {
+		Objects.requireNonNull(parent, "The argument 'parent' must not be null.");
+		Objects.requireNonNull(action, "The argument 'action' must not be null.");
+
+		if (parent.isLeaf())
+			return;
+
+		// iterate by index instead of by iterator so no iterator has to be created
+		List<TreeItem<T>> children = parent.getChildren();
+		for (int childIndex = 0; childIndex < children.size(); childIndex++)
+			action.accept(children.get(childIndex));
+	}
+
+	@Override
+	public List<TreeItem<T>> getChildren(TreeItem<T> parent) {
+		Objects.requireNonNull(parent, "The argument 'parent' must not be null.");
+
+		if (parent.isLeaf())
+			return Collections.emptyList();
+
+		return new ArrayList<>(parent.getChildren());
+	}
+
+}
@@ -0,0 +1,137 @@
+package org.codefx.libfx.collection.tree.navigate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.Consumer;
+
+import javax.swing.tree.TreeModel;
+import javax.swing.tree.TreePath;
+
+/**
+ * A {@link TreeNavigator} for a Swing {@link TreeModel}, e.g. the model behind a {@link javax.swing.JTree JTree}.
+ * <p>
+ * A tree model only knows how to get from a node to its children but not back to its parent. The navigated nodes are
+ * hence {@link TreePath}s (as used by {@code JTree} itself), which know their {@link TreePath#getParentPath() parent
+ * paths}. The root of the navigated tree is {@code new TreePath(model.getRoot())}. A child's path is created by
+ * {@link TreePath#pathByAddingChild(Object) adding} the child to the parent's path, which shares the parent's path
+ * instead of copying it. Note that paths are compared by {@link TreePath#equals(Object) equals}, i.e. by the contained
+ * nodes, and that each access to a child creates a new path.
+ * <p>
+ * The navigator uses the model's index-based methods ({@link TreeModel#getChild(Object, int) getChild},
+ * {@link TreeModel#getChildCount(Object) getChildCount} and {@link TreeModel#getIndexOfChild(Object, Object)
+ * getIndexOfChild}) and neither expands nor copies the tree. Nodes which are {@link TreeModel#isLeaf(Object) leaves}
+ * are treated as having no children.
+ * <p>
+ * Like most tree models, this navigator is not thread-safe. It should only be used on the event dispatch thread and
+ * must not be used concurrently, e.g. by {@link java.util.stream.Stream#parallel() parallel} streams.
+ */
+public class TreeModelNavigator implements TreeNavigator<TreePath> {
+
+	private final TreeModel model;
+
+	/**
+	 * Creates a new navigator for the specified model.
+	 *
+	 * @param model
+	 *            the navigated model
+	 */
+	public TreeModelNavigator(TreeModel model) {
+		Objects.requireNonNull(model, "The argument 'model' must not be null.");
+		this.model = model;
+	}
+
+	/**
+	 * @return the path to the model's root; {@link Optional#empty() empty} if the model has no root
+	 */
+	public Optional<TreePath> getRootPath() {
+		Object root = model.getRoot();
+		return root == null ? Optional.empty() : Optional.of(new TreePath(root));
+	}
+
+	@Override
+	public Optional<TreePath> getParent(TreePath child) {
+		Objects.requireNonNull(child, "The argument 'child' must not be null.");
+
+		return Optional.ofNullable(child.getParentPath());
+	}
+
+	@Override
+	public OptionalInt getChildIndex(TreePath node) {
+		Objects.requireNonNull(node, "The argument 'node' must not be null.");
+
+		TreePath parent = node.getParentPath();
+		if (parent == null)
+			return OptionalInt.empty();
+
+		int childIndex = model.getIndexOfChild(parent.getLastPathComponent(), node.getLastPathComponent());
+		if (childIndex == -1)
+			return OptionalInt.empty();
+
+		return OptionalInt.of(childIndex);
+	}
+
+	@Override
+	public int getChildrenCount(TreePath parent) {
+		Objects.requireNonNull(parent, "The argument 'parent' must not be null.");
+
+		Object parentNode = parent.getLastPathComponent();
+		if (model.isLeaf(parentNode))
+			return 0;
+
+		return model.getChildCount(parentNode);
+	}
+
+	@Override
+	public Optional<TreePath> getChild(TreePath parent, int childIndex) {
+		Objects.requireNonNull(parent, "The argument 'parent' must not be null.");
+		if (childIndex < 0)
+			throw new IllegalArgumentException("The argument 'childIndex' must be non-negative.");
+
+		Object parentNode = parent.getLastPathComponent();
+		if (model.isLeaf(parentNode) || model.getChildCount(parentNode) <= childIndex)
+			return Optional.empty();
+
+		Object child = model.getChild(parentNode, childIndex);
+		return child == null ? Optional.empty() : Optional.of(parent.pathByAddingChild(child));
+	}
+
+	@Override
+	public void forEachChild(TreePath parent, Consumer<? super TreePath> action) {
+		Objects.requireNonNull(parent, "The argument 'parent' must not be null.");
+		Objects.requireNonNull(action, "The argument 'action' must not be null.");
+
+		Object parentNode = parent.getLastPathComponent();
+		if (model.isLeaf(parentNode))
+			return;
+
+		int childrenCount = model.getChildCount(parentNode);
+		for (int childIndex = 0; childIndex < childrenCount; childIndex++) {
+			Object child = model.getChild(parentNode, childIndex);
+			if (child != null)
+				action.accept(parent.pathByAddingChild(child));
+		}
+	}
+
+	@Override
+	public List<TreePath> getChildren(TreePath parent) {
+		Objects.requireNonNull(parent, "The argument 'parent' must not be null.");
+
+		Object parentNode = parent.getLastPathComponent();
+		if (model.isLeaf(parentNode))
+			return Collections.emptyList();
+
+		int childrenCount = model.getChildCount(parentNode);
+		List<TreePath> children = new ArrayList<>(childrenCount);
+		for (int childIndex = 0; childIndex < childrenCount; childIndex++) {
+			Object child = model.getChild(parentNode, childIndex);
+			if (child != null)
+				children.add(parent.pathByAddingChild(child));
+		}
+		return children;
+	}
+
+}
@@ -1,7 +1,12 @@
 package org.codefx.libfx.collection.tree.navigate;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.function.Consumer;
 
 /**
  * A tree navigator allows to walk through a tree (i.e. a connected, directed, acyclic graph).
@@ -10,6 +15,11 @@ import java.util.OptionalInt;
  * a specific interface.
  * <p>
  * The navigation relies on child nodes having some fixed order so they can be accessed via an index.
+ * <p>
+ * Besides accessing children one by one, the children of a node can be accessed in bulk with
+ * {@link #forEachChild(Object, Consumer) forEachChild} and {@link #getChildren(Object) getChildren}. Their default
+ * implementations use the index-based methods but implementations should override them if they can provide all
+ * children at once more efficiently than one by one (e.g. because each index-based access copies all children).
  *
  * @param <E>
  *            the type of elements contained in the tree
@@ -55,4 +65,49 @@ public interface TreeNavigator<E> {
 	 */
 	Optional<E> getChild(E parent, int childIndex);
 
+	/**
+	 * Passes each child of the specified node to the specified action, in the order of their child indices.
+	 * <p>
+	 * The default implementation calls {@link #getChildrenCount(Object) getChildrenCount} once and then
+	 * {@link #getChild(Object, int) getChild} for each index, skipping those for which no child is present.
+	 *
+	 * @param parent
+	 *            a node in the tree
+	 * @param action
+	 *            the action to perform on each child
+	 */
+	default void forEachChild(E parent, Consumer<? super E> action) {
+		Objects.requireNonNull(parent, "The argument 'parent' must not be null.");
+		Objects.requireNonNull(action, "The argument 'action' must not be null.");
+
+		int childrenCount = getChildrenCount(parent);
+		for (int childIndex = 0; childIndex < childrenCount; childIndex++)
+			getChild(parent, childIndex).ifPresent(action);
+	}
+
+	/**
+	 * Returns the children of the specified node in the order of their child indices.
+	 * <p>
+	 * The returned list is a snapshot which does not reflect later changes to the tree. It might be unmodifiable.
+	 * <p>
+	 * The default implementation calls {@link #getChildrenCount(Object) getChildrenCount} once and then
+	 * {@link #getChild(Object, int) getChild} for each index, skipping those for which no child is present.
+	 *
+	 * @param parent
+	 *            a node in the tree
+	 * @return a list of the node's children
+	 */
+	default List<E> getChildren(E parent) {
+		Objects.requireNonNull(parent, "The argument 'parent' must not be null.");
+
+		int childrenCount = getChildrenCount(parent);
+		if (childrenCount == 0)
+			return Collections.emptyList();
+
+		List<E> children = new ArrayList<>(childrenCount);
+		for (int childIndex = 0; childIndex < childrenCount; childIndex++)
+			getChild(parent, childIndex).ifPresent(children::add);
+		return children;
+	}
+
 }
@@ -3,7 +3,8 @@
  * data structures without requiring them to implement a specific interface.
  * <p>
  * It contains the {@link org.codefx.libfx.collection.tree.navigate.TreeNavigator TreeNavigator} interface and several
- * implementations, e.g. for AWT, Swing and JavaFX component hierarchies.
+ * implementations, e.g. for AWT, Swing and JavaFX component hierarchies, Swing tree models, JavaFX tree items, file
+ * systems and DOMs.
  */
 package org.codefx.libfx.collection.tree.navigate;
 
@@ -104,6 +104,9 @@ final class BackwardsDfsTreeIterationStrategy<E> implements TreeIterationStrateg
 		Optional<TreeNode<E>> parent = path.getEnd();
 		if (parent.isPresent()) {
 			int leftSiblingIndex = node.getChildIndex().getAsInt() - 1;
+			// navigators may reject negative indices, so do not ask for the left sibling of the leftmost child
+			if (leftSiblingIndex < 0)
+				return Optional.empty();
 			return navigator
 					.getChild(parent.get().getElement(), leftSiblingIndex)
 					.map(ls -> SimpleTreeNode.innerNode(ls, leftSiblingIndex));
@@ -116,6 +119,9 @@ final class BackwardsDfsTreeIterationStrategy<E> implements TreeIterationStrateg
 		while (rightmostChild.isPresent()) {
 			path.append(rightmostChild.get());
 			int rightmostChildIndex = navigator.getChildrenCount(rightmostChild.get().getElement()) - 1;
+			// leaves have no rightmost child and navigators may reject the negative index
+			if (rightmostChildIndex < 0)
+				return;
 			rightmostChild = navigator
 					.getChild(rightmostChild.get().getElement(), rightmostChildIndex)
 					.map(child -> SimpleTreeNode.innerNode(child, rightmostChildIndex));
@@ -0,0 +1,230 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import org.codefx.libfx.collection.tree.navigate.TreeNavigator;
+
+/**
+ * A {@link Spliterator} which enumerates a tree's nodes in the order of a <em>backwards</em> <a
+ * href="https://en.wikipedia.org/wiki/Depth-first_search">depth-first search</a>.
+ * <p>
+ * Given an initial path from the root {@code R} to some node {@code N}, it enumerates the same nodes as
+ * {@link BackwardsDfsTreeIterationStrategy}: those which a depth-first search starting in {@code R} would encounter
+ * until it reaches {@code N}, but in reverse order (starting with {@code N} and ending with {@code R}).
+ * <p>
+ * Like {@link DfsTraversal}, this class keeps the state of the search in parallel arrays instead of creating
+ * {@link java.util.Optional Optional}s and {@link SimpleTreeNode}s for each step. The state is a stack of frames, one
+ * for each node on the path from the root to the last returned node which was not yet returned itself (in backwards
+ * order a node is returned after its descendants). A frame consists of the node, its children and the index of the
+ * child which will be visited next, counting down towards 0. The children are accessed in bulk with
+ * {@link TreeNavigator#getChildren(Object) getChildren}, so finding a subtree's rightmost leaf takes a single call to
+ * the navigator per level.
+ * <p>
+ * Backwards searches are typically used to find a node shortly before the start node, so splitting is not supported.
+ * The {@link #estimateSize() estimated size} is {@link Long#MAX_VALUE}.
+ * <p>
+ * This implementation is only guaranteed to work on trees, i.e. a connected, directed, acyclic graph. Using it on other
+ * graphs can lead to unexpected behavior including infinite loops.
+ *
+ * @param <E>
+ *            the type of elements contained in the tree
+ */
+final class BackwardsDfsTreeSpliterator<E> implements Spliterator<E> {
+
+	// #begin CONSTANTS
+
+	private static final int INITIAL_STACK_CAPACITY = 16;
+
+	// #end CONSTANTS
+
+	// #begin FIELDS
+
+	private final TreeNavigator<E> navigator;
+
+	private final int characteristics;
+
+	/**
+	 * The node which must be returned before continuing with the frames on the stack; null if there is no such node.
+	 */
+	private E pendingNode;
+
+	/**
+	 * For each frame the node which owns it; it is returned when the frame is popped.
+	 */
+	private Object[] owners;
+
+	/**
+	 * For each frame the list of children of its owner.
+	 */
+	private Object[] children;
+
+	/**
+	 * For each frame the index of the next child which will be visited; if negative, all children were visited.
+	 */
+	private int[] childIndices;
+
+	/**
+	 * The number of frames on the stack; the frame on top of it has index {@code depth - 1}.
+	 */
+	private int depth;
+
+	// #end FIELDS
+
+	// #begin CONSTRUCTION
+
+	/**
+	 * Creates a new backwards depth-first search spliterator starting with the specified initial path.
+	 * <p>
+	 * The spliterator will begin with the node at the end of the path and stop after it returned the first node in it.
+	 *
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param initialPath
+	 *            the initial path from the root of the (sub-)tree enumerated by this spliterator; must contain at least
+	 *            one element; the path will be emptied by this constructor
+	 * @param characteristics
+	 *            the characteristics of this spliterator
+	 */
+	public BackwardsDfsTreeSpliterator(
+			TreeNavigator<E> navigator, TreePath<TreeNode<E>> initialPath, int characteristics) {
+		Objects.requireNonNull(navigator, "The argument 'navigator' must not be null.");
+		Objects.requireNonNull(initialPath, "The argument 'initialPath' must not be null.");
+		if (initialPath.isEmpty())
+			throw new IllegalArgumentException("The 'initialPath' must not be empty.");
+
+		this.navigator = navigator;
+		this.characteristics = characteristics;
+		this.owners = new Object[INITIAL_STACK_CAPACITY];
+		this.children = new Object[INITIAL_STACK_CAPACITY];
+		this.childIndices = new int[INITIAL_STACK_CAPACITY];
+
+		initializeFromPath(initialPath);
+	}
+
+	private void initializeFromPath(TreePath<TreeNode<E>> initialPath) {
+		List<TreeNode<E>> pathFromEndToRoot = new ArrayList<>();
+		while (!initialPath.isEmpty())
+			pathFromEndToRoot.add(initialPath.removeEnd());
+
+		// each ancestor of the path's end gets a frame containing its children to the left of the path
+		for (int pathIndex = pathFromEndToRoot.size() - 1; pathIndex > 0; pathIndex--) {
+			E ancestor = pathFromEndToRoot.get(pathIndex).getElement();
+			TreeNode<E> childOnPath = pathFromEndToRoot.get(pathIndex - 1);
+			List<E> ancestorsChildren = navigator.getChildren(ancestor);
+			int childIndexOnPath = DfsTraversal.indexOf(ancestor, ancestorsChildren, childOnPath);
+			push(ancestor, ancestorsChildren, childIndexOnPath - 1);
+		}
+
+		pendingNode = pathFromEndToRoot.get(0).getElement();
+	}
+
+	// #end CONSTRUCTION
+
+	// #begin TRAVERSAL
+
+	@Override
+	public boolean tryAdvance(Consumer<? super E> action) {
+		Objects.requireNonNull(action, "The argument 'action' must not be null.");
+
+		E nextNode = goToNextNode();
+		if (nextNode == null)
+			return false;
+
+		action.accept(nextNode);
+		return true;
+	}
+
+	@Override
+	public void forEachRemaining(Consumer<? super E> action) {
+		Objects.requireNonNull(action, "The argument 'action' must not be null.");
+
+		for (E nextNode = goToNextNode(); nextNode != null; nextNode = goToNextNode())
+			action.accept(nextNode);
+	}
+
+	/**
+	 * @return the next node; null if no next node exists
+	 */
+	@SuppressWarnings("unchecked")
+	private E goToNextNode() {
+		if (pendingNode != null) {
+			E node = pendingNode;
+			pendingNode = null;
+			return node;
+		}
+
+		while (depth > 0) {
+			int top = depth - 1;
+			if (childIndices[top] >= 0) {
+				// descend into the next child's subtree; its rightmost leaf is returned first
+				E child = ((List<E>) children[top]).get(childIndices[top]--);
+				List<E> childsChildren = navigator.getChildren(child);
+				if (childsChildren.isEmpty())
+					return child;
+				push(child, childsChildren, childsChildren.size() - 1);
+			} else {
+				// all of the owner's descendants were returned, so the owner is next
+				E owner = (E) owners[top];
+				pop();
+				return owner;
+			}
+		}
+
+		return null;
+	}
+
+	// #end TRAVERSAL
+
+	// #begin STACK
+
+	private void push(E owner, List<E> ownersChildren, int childIndex) {
+		if (depth == owners.length)
+			growStack();
+
+		owners[depth] = owner;
+		children[depth] = ownersChildren;
+		childIndices[depth] = childIndex;
+		depth++;
+	}
+
+	private void pop() {
+		depth--;
+		owners[depth] = null;
+		children[depth] = null;
+	}
+
+	private void growStack() {
+		int newCapacity = 2 * owners.length;
+		owners = Arrays.copyOf(owners, newCapacity);
+		children = Arrays.copyOf(children, newCapacity);
+		childIndices = Arrays.copyOf(childIndices, newCapacity);
+	}
+
+	// #end STACK
+
+	// #begin SPLIT & PROPERTIES
+
+	@Override
+	public Spliterator<E> trySplit() {
+		// splitting is not supported
+		return null;
+	}
+
+	@Override
+	public long estimateSize() {
+		return Long.MAX_VALUE;
+	}
+
+	@Override
+	public int characteristics() {
+		return characteristics;
+	}
+
+	// #end SPLIT & PROPERTIES
+
+}
@@ -0,0 +1,215 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import org.codefx.libfx.collection.tree.navigate.TreeNavigator;
+
+/**
+ * A {@link TreeIterationStrategy} which uses <a href="https://en.wikipedia.org/wiki/Breadth-first_search">breadth-first
+ * search</a> to iterate a tree's nodes.
+ * <p>
+ * The nodes which were found but not yet returned (the so called <i>frontier</i>) are kept in an array-backed queue.
+ * The children of a node are only added to the frontier when the next node is requested after the node itself was
+ * returned. Hence the frontier never contains more than the rest of the current level and the part of the next level
+ * which was already discovered, so memory is bounded by the width of the widest two consecutive levels. The search can
+ * be restricted to a maximum depth, in which case the levels below it are never visited. It can also be pruned with a
+ * predicate, in which case the children of nodes which do not pass it are never visited. The children of a node are
+ * accessed in bulk with {@link TreeNavigator#forEachChild(Object, java.util.function.Consumer) forEachChild}.
+ * <p>
+ * This implementation is only guaranteed to work on trees, i.e. a connected, directed, acyclic graph. Using it on other
+ * graphs can lead to unexpected behavior including infinite loops.
+ *
+ * @param <E>
+ *            the type of elements contained in the tree
+ */
+final class BfsTreeIterationStrategy<E> implements TreeIterationStrategy<E> {
+
+	// #begin CONSTANTS
+
+	/**
+	 * The maximum depth which effectively means that the depth is unlimited.
+	 */
+	static final int UNLIMITED_DEPTH = Integer.MAX_VALUE;
+
+	private static final int INITIAL_FRONTIER_CAPACITY = 16;
+
+	// #end CONSTANTS
+
+	// #begin FIELDS
+
+	private final TreeNavigator<E> navigator;
+
+	/**
+	 * The depth of the deepest nodes which are returned by this strategy, where the root has depth 0.
+	 */
+	private final int maxDepth;
+
+	/**
+	 * Decides whether the children of a returned node are visited.
+	 */
+	private final Predicate<? super E> descendInto;
+
+	/**
+	 * The circular queue of nodes which were found but not yet returned. It contains {@link #frontierSize} nodes
+	 * starting at {@link #frontierHead}.
+	 */
+	private Object[] frontier;
+
+	private int frontierHead;
+
+	private int frontierSize;
+
+	/**
+	 * The number of nodes in the frontier which have the same depth as the {@link #lastReturned last returned} node.
+	 * The remaining nodes in the frontier are one level deeper.
+	 */
+	private int nodesLeftInCurrentLevel;
+
+	/**
+	 * The depth of the {@link #lastReturned last returned} node.
+	 */
+	private int currentDepth;
+
+	/**
+	 * The node which was last returned by {@link #goToNextNode()}; its children were not yet added to the frontier. Is
+	 * null if there is no such node (i.e. before the first call and after the iteration ended).
+	 */
+	private E lastReturned;
+
+	// #end FIELDS
+
+	// #begin CONSTRUCTION
+
+	/**
+	 * Creates a new breadth-first search strategy which iterates over the (sub-)tree rooted in the specified node.
+	 *
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param root
+	 *            the root of the (sub-)tree iterated by this strategy; will be returned by the first call to
+	 *            {@link #goToNextNode()}
+	 */
+	public BfsTreeIterationStrategy(TreeNavigator<E> navigator, E root) {
+		this(navigator, root, UNLIMITED_DEPTH);
+	}
+
+	/**
+	 * Creates a new breadth-first search strategy which iterates over the (sub-)tree rooted in the specified node but
+	 * does not descend below the specified maximum depth.
+	 *
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param root
+	 *            the root of the (sub-)tree iterated by this strategy; will be returned by the first call to
+	 *            {@link #goToNextNode()}
+	 * @param maxDepth
+	 *            the depth of the deepest nodes which will be returned, where the root has depth 0; must not be
+	 *            negative
+	 */
+	public BfsTreeIterationStrategy(TreeNavigator<E> navigator, E root, int maxDepth) {
+		this(navigator, root, maxDepth, node -> true);
+	}
+
+	/**
+	 * Creates a new breadth-first search strategy which iterates over the (sub-)tree rooted in the specified node but
+	 * does not descend below the specified maximum depth or into nodes which do not pass the specified predicate.
+	 *
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param root
+	 *            the root of the (sub-)tree iterated by this strategy; will be returned by the first call to
+	 *            {@link #goToNextNode()}
+	 * @param maxDepth
+	 *            the depth of the deepest nodes which will be returned, where the root has depth 0; must not be
+	 *            negative
+	 * @param descendInto
+	 *            called for each returned node above the maximum depth (including the root) to decide whether its
+	 *            children are visited
+	 */
+	public BfsTreeIterationStrategy(
+			TreeNavigator<E> navigator, E root, int maxDepth, Predicate<? super E> descendInto) {
+		Objects.requireNonNull(navigator, "The argument 'navigator' must not be null.");
+		Objects.requireNonNull(root, "The argument 'root' must not be null.");
+		Objects.requireNonNull(descendInto, "The argument 'descendInto' must not be null.");
+		if (maxDepth < 0)
+			throw new IllegalArgumentException("The argument 'maxDepth' must not be negative.");
+
+		this.navigator = navigator;
+		this.maxDepth = maxDepth;
+		this.descendInto = descendInto;
+		this.frontier = new Object[INITIAL_FRONTIER_CAPACITY];
+
+		// the root is the only node on the level above depth 0 and will "start" the first level when it is dequeued
+		enqueue(root);
+		this.nodesLeftInCurrentLevel = 0;
+		this.currentDepth = -1;
+	}
+
+	// #end CONSTRUCTION
+
+	// #begin GO TO NEXT NODE
+
+	@Override
+	public Optional<E> goToNextNode() {
+		expandLastReturned();
+
+		if (frontierSize == 0)
+			return Optional.empty();
+
+		// if all nodes of the current level were returned, the frontier consists of exactly the next level
+		if (nodesLeftInCurrentLevel == 0) {
+			currentDepth++;
+			nodesLeftInCurrentLevel = frontierSize;
+		}
+
+		lastReturned = dequeue();
+		nodesLeftInCurrentLevel--;
+		return Optional.of(lastReturned);
+	}
+
+	private void expandLastReturned() {
+		if (lastReturned == null)
+			return;
+
+		if (currentDepth < maxDepth && descendInto.test(lastReturned))
+			navigator.forEachChild(lastReturned, this::enqueue);
+		lastReturned = null;
+	}
+
+	// #end GO TO NEXT NODE
+
+	// #begin FRONTIER
+
+	private void enqueue(E node) {
+		if (frontierSize == frontier.length)
+			growFrontier();
+
+		int tail = (frontierHead + frontierSize) % frontier.length;
+		frontier[tail] = node;
+		frontierSize++;
+	}
+
+	@SuppressWarnings("unchecked")
+	private E dequeue() {
+		E node = (E) frontier[frontierHead];
+		// release the reference so the frontier does not keep returned nodes alive
+		frontier[frontierHead] = null;
+		frontierHead = (frontierHead + 1) % frontier.length;
+		frontierSize--;
+		return node;
+	}
+
+	private void growFrontier() {
+		// unroll the circular queue so that its head is at index 0 of the larger array
+		Object[] grown = Arrays.copyOfRange(frontier, frontierHead, frontierHead + 2 * frontier.length);
+		System.arraycopy(frontier, 0, grown, frontier.length - frontierHead, frontierHead);
+		frontier = grown;
+		frontierHead = 0;
+	}
+
+	// #end FRONTIER
+
+}
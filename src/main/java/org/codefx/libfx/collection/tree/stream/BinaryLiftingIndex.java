@@ -0,0 +1,228 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.codefx.libfx.collection.tree.navigate.TreeNavigator;
+
+/**
+ * An index over a (sub-)tree which answers the queries of {@link TreeQueries} (lowest common ancestor, distance and
+ * path between nodes) in time logarithmic in the size of the tree.
+ * <p>
+ * It is based on a {@link TreeIndex}, which answers ancestor tests in constant time, and adds a <a
+ * href="https://en.wikipedia.org/wiki/Level_ancestor_problem#Jump_pointer_algorithm">binary lifting</a> table: for each
+ * node and each {@code k} the pre-order index of its {@code 2^k}-th ancestor. To find the lowest common ancestor of two
+ * nodes, the first node jumps up in decreasing powers of two as long as it does not become an ancestor of the second
+ * node; then its parent is the lowest common ancestor. Building the index needs time and memory in
+ * {@code O(n log n)}.
+ * <p>
+ * Like the tree index, this index is a snapshot. It is meant for large trees which do not change. If the tree does
+ * change, the index must be {@link #rebuild() rebuilt}.
+ * <p>
+ * This class is not thread-safe. Queries may be performed concurrently only as long as the index is not rebuilt.
+ *
+ * @param <N>
+ *            the type of nodes contained in the tree
+ */
+public final class BinaryLiftingIndex<N> {
+
+	// #begin FIELDS
+
+	private final TreeIndex<N> treeIndex;
+
+	/**
+	 * For each {@code k} and each node (by pre-order index) the pre-order index of its {@code 2^k}-th ancestor;
+	 * {@link TreeIndex#NO_INDEX} if that ancestor does not exist.
+	 */
+	private int[][] ancestors;
+
+	// #end FIELDS
+
+	// #begin CONSTRUCTION
+
+	/**
+	 * Creates a new index over the (sub-)tree rooted in the specified node and builds it.
+	 *
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param root
+	 *            the root of the indexed (sub-)tree
+	 */
+	public BinaryLiftingIndex(TreeNavigator<N> navigator, N root) {
+		this.treeIndex = new TreeIndex<>(navigator, root);
+		buildAncestors();
+	}
+
+	/**
+	 * Rebuilds this index (including its {@link #getTreeIndex() tree index}) by traversing the tree.
+	 */
+	public void rebuild() {
+		treeIndex.rebuild();
+		buildAncestors();
+	}
+
+	private void buildAncestors() {
+		int size = treeIndex.size();
+		// the number of bits needed to express the largest possible depth, which is 'size - 1'
+		int levels = Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(size - 1));
+
+		ancestors = new int[levels][size];
+		for (int node = 0; node < size; node++)
+			ancestors[0][node] = treeIndex.getParentIndex(node);
+		for (int level = 1; level < levels; level++)
+			for (int node = 0; node < size; node++) {
+				int halfwayAncestor = ancestors[level - 1][node];
+				ancestors[level][node] = halfwayAncestor == TreeIndex.NO_INDEX
+						? TreeIndex.NO_INDEX
+						: ancestors[level - 1][halfwayAncestor];
+			}
+	}
+
+	// #end CONSTRUCTION
+
+	// #begin QUERIES
+
+	/**
+	 * @return the tree index on which this index is based; it must not be invalidated or rebuilt directly
+	 */
+	public TreeIndex<N> getTreeIndex() {
+		return treeIndex;
+	}
+
+	/**
+	 * Returns the ancestor which is the specified number of generations above the specified node.
+	 *
+	 * @param node
+	 *            a node in the indexed (sub-)tree
+	 * @param generations
+	 *            the number of generations; 0 returns the node itself, 1 its parent and so forth; must not be negative
+	 * @return the ancestor; {@link Optional#empty() empty} if the node's depth is less than the number of generations
+	 * @throws IllegalArgumentException
+	 *             if the node is not contained in the indexed (sub-)tree or the number of generations is negative
+	 */
+	public Optional<N> getAncestor(N node, int generations) {
+		if (generations < 0)
+			throw new IllegalArgumentException(
+					"The argument 'generations' must not be negative (was " + generations + ").");
+
+		int ancestor = ancestorIndex(getContainedPreOrderIndex(node), generations);
+		return ancestor == TreeIndex.NO_INDEX ? Optional.empty() : Optional.of(treeIndex.getNode(ancestor));
+	}
+
+	/**
+	 * Finds the lowest common ancestor of the specified nodes (see
+	 * {@link TreeQueries#lowestCommonAncestor(TreeNavigator, Object, Object) TreeQueries}).
+	 *
+	 * @param first
+	 *            a node in the indexed (sub-)tree
+	 * @param second
+	 *            another node in the indexed (sub-)tree
+	 * @return the lowest common ancestor
+	 * @throws IllegalArgumentException
+	 *             if one of the nodes is not contained in the indexed (sub-)tree
+	 */
+	public N lowestCommonAncestor(N first, N second) {
+		int lowestCommonAncestor =
+				lowestCommonAncestorIndex(getContainedPreOrderIndex(first), getContainedPreOrderIndex(second));
+		return treeIndex.getNode(lowestCommonAncestor);
+	}
+
+	/**
+	 * Computes the distance between the specified nodes, i.e. the number of edges on the path between them.
+	 *
+	 * @param first
+	 *            a node in the indexed (sub-)tree
+	 * @param second
+	 *            another node in the indexed (sub-)tree
+	 * @return the distance
+	 * @throws IllegalArgumentException
+	 *             if one of the nodes is not contained in the indexed (sub-)tree
+	 */
+	public int distance(N first, N second) {
+		int firstIndex = getContainedPreOrderIndex(first);
+		int secondIndex = getContainedPreOrderIndex(second);
+		int lowestCommonAncestor = lowestCommonAncestorIndex(firstIndex, secondIndex);
+
+		return treeIndex.getDepthAt(firstIndex) + treeIndex.getDepthAt(secondIndex)
+				- 2 * treeIndex.getDepthAt(lowestCommonAncestor);
+	}
+
+	/**
+	 * Returns the path between the specified nodes (see
+	 * {@link TreeQueries#pathBetween(TreeNavigator, Object, Object) TreeQueries}).
+	 *
+	 * @param first
+	 *            a node in the indexed (sub-)tree
+	 * @param second
+	 *            another node in the indexed (sub-)tree
+	 * @return the nodes on the path (including both specified nodes)
+	 * @throws IllegalArgumentException
+	 *             if one of the nodes is not contained in the indexed (sub-)tree
+	 */
+	public List<N> pathBetween(N first, N second) {
+		int firstIndex = getContainedPreOrderIndex(first);
+		int secondIndex = getContainedPreOrderIndex(second);
+		int lowestCommonAncestor = lowestCommonAncestorIndex(firstIndex, secondIndex);
+		int lowestCommonAncestorDepth = treeIndex.getDepthAt(lowestCommonAncestor);
+		int upwardsLength = treeIndex.getDepthAt(firstIndex) - lowestCommonAncestorDepth;
+		int downwardsLength = treeIndex.getDepthAt(secondIndex) - lowestCommonAncestorDepth;
+
+		List<N> path = new ArrayList<>(upwardsLength + 1 + downwardsLength);
+		for (int node = firstIndex; node != lowestCommonAncestor; node = treeIndex.getParentIndex(node))
+			path.add(treeIndex.getNode(node));
+		path.add(treeIndex.getNode(lowestCommonAncestor));
+		// walking up from the second node would yield the downward path in reverse, so fetch each node by its height
+		for (int generations = downwardsLength - 1; generations >= 0; generations--)
+			path.add(treeIndex.getNode(ancestorIndex(secondIndex, generations)));
+		return path;
+	}
+
+	// #end QUERIES
+
+	// #begin LIFTING
+
+	private int getContainedPreOrderIndex(N node) {
+		Objects.requireNonNull(node, "The argument 'node' must not be null.");
+
+		int preOrderIndex = treeIndex.getPreOrderIndex(node);
+		if (preOrderIndex == TreeIndex.NO_INDEX)
+			throw new IllegalArgumentException("The node " + node + " is not contained in this index.");
+		return preOrderIndex;
+	}
+
+	private int ancestorIndex(int node, int generations) {
+		int ancestor = node;
+		for (int level = 0; generations > 0 && ancestor != TreeIndex.NO_INDEX; level++, generations >>>= 1) {
+			if (level >= ancestors.length)
+				return TreeIndex.NO_INDEX;
+			if ((generations & 1) == 1)
+				ancestor = ancestors[level][ancestor];
+		}
+		return ancestor;
+	}
+
+	private int lowestCommonAncestorIndex(int first, int second) {
+		if (isAncestorOrSelf(first, second))
+			return first;
+		if (isAncestorOrSelf(second, first))
+			return second;
+
+		// jump up as far as possible without reaching a common ancestor; the parent is then the lowest one
+		int ancestor = first;
+		for (int level = ancestors.length - 1; level >= 0; level--) {
+			int candidate = ancestors[level][ancestor];
+			if (candidate != TreeIndex.NO_INDEX && !isAncestorOrSelf(candidate, second))
+				ancestor = candidate;
+		}
+		return ancestors[0][ancestor];
+	}
+
+	private boolean isAncestorOrSelf(int ancestor, int descendant) {
+		return ancestor <= descendant && descendant < treeIndex.getSubtreeEnd(ancestor);
+	}
+
+	// #end LIFTING
+
+}
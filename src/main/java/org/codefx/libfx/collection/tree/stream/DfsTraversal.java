@@ -0,0 +1,436 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+import org.codefx.libfx.collection.tree.navigate.TreeNavigator;
+
+/**
+ * An allocation-light engine for a <a href="https://en.wikipedia.org/wiki/Depth-first_search">depth-first search</a>
+ * through a tree.
+ * <p>
+ * Where {@link DfsTreeIterationStrategy} creates an {@link Optional} for every step and a {@link SimpleTreeNode} for
+ * every visited node, this class keeps the state of the search in parallel arrays and returns nodes directly (using
+ * null to indicate the end of the search). Apart from what the {@link TreeNavigator} allocates, a step only allocates
+ * when the stack has to grow.
+ * <p>
+ * The state is a stack of frames, one for each node on the path from the (sub-)tree's root to the last returned node
+ * which has children that were not yet visited. A frame consists of the node's children and the range of them which
+ * still have to be visited, i.e. the index of the next child and the index after the last one. (Nodes without children
+ * never get a frame.) The children are accessed in bulk with {@link TreeNavigator#getChildren(Object) getChildren} when
+ * the node is returned, so navigators which copy all children on each access are used efficiently. If the traversal
+ * is pruned by a predicate, the children of nodes which do not pass it are never accessed. The frames can be
+ * {@link #splitOffPrefix() split} to hand unvisited subtrees to another traversal.
+ * <p>
+ * This implementation is only guaranteed to work on trees, i.e. a connected, directed, acyclic graph. Using it on other
+ * graphs can lead to unexpected behavior including infinite loops.
+ *
+ * @param <E>
+ *            the type of elements contained in the tree
+ */
+final class DfsTraversal<E> {
+
+	// #begin CONSTANTS
+
+	private static final int INITIAL_STACK_CAPACITY = 16;
+
+	// #end CONSTANTS
+
+	// #begin FIELDS
+
+	private final TreeNavigator<E> navigator;
+
+	/**
+	 * Decides whether the children of a returned node are visited.
+	 */
+	private final Predicate<? super E> descendInto;
+
+	/**
+	 * A node which must be returned before continuing with the frames on the stack; null if there is no such node.
+	 */
+	private E pendingNode;
+
+	/**
+	 * Indicates whether the children of the {@link #pendingNode} will be visited after it was returned.
+	 */
+	private boolean descendIntoPendingNode;
+
+	/**
+	 * For each frame the list of children of its node; the frame on top of the stack has index {@code depth - 1}.
+	 */
+	private Object[] children;
+
+	/**
+	 * For each frame the index of the next child of its node which will be visited.
+	 */
+	private int[] childIndices;
+
+	/**
+	 * For each frame the index after the last child of its node which will be visited.
+	 */
+	private int[] endChildIndices;
+
+	/**
+	 * The number of frames on the stack.
+	 */
+	private int depth;
+
+	// #end FIELDS
+
+	// #begin CONSTRUCTION
+
+	/**
+	 * Creates a new depth-first traversal of the (sub-)tree rooted in the specified node.
+	 *
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param root
+	 *            the root of the traversed (sub-)tree; will be returned by the first call to {@link #goToNextNode()}
+	 */
+	public DfsTraversal(TreeNavigator<E> navigator, E root) {
+		this(navigator, root, node -> true);
+	}
+
+	/**
+	 * Creates a new depth-first traversal of the (sub-)tree rooted in the specified node which only visits the children
+	 * of nodes which pass the specified predicate.
+	 *
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param root
+	 *            the root of the traversed (sub-)tree; will be returned by the first call to {@link #goToNextNode()}
+	 * @param descendInto
+	 *            called for each returned node (including the root) to decide whether its children are visited
+	 */
+	public DfsTraversal(TreeNavigator<E> navigator, E root, Predicate<? super E> descendInto) {
+		Objects.requireNonNull(navigator, "The argument 'navigator' must not be null.");
+		Objects.requireNonNull(root, "The argument 'root' must not be null.");
+		Objects.requireNonNull(descendInto, "The argument 'descendInto' must not be null.");
+
+		this.navigator = navigator;
+		this.descendInto = descendInto;
+		this.children = new Object[INITIAL_STACK_CAPACITY];
+		this.childIndices = new int[INITIAL_STACK_CAPACITY];
+		this.endChildIndices = new int[INITIAL_STACK_CAPACITY];
+		this.pendingNode = root;
+		this.descendIntoPendingNode = true;
+	}
+
+	/**
+	 * Creates a new depth-first traversal starting with the specified initial path.
+	 * <p>
+	 * The traversal behaves like a {@link DfsTreeIterationStrategy} which was created with the same initial path: it
+	 * will begin with the node at the end of the path and stop when backtracking to the first node in it.
+	 *
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param initialPath
+	 *            the initial path from the root of the traversed (sub-)tree; must contain at least one element; the
+	 *            path will be emptied by this constructor
+	 */
+	public DfsTraversal(TreeNavigator<E> navigator, TreePath<TreeNode<E>> initialPath) {
+		this(navigator, initialPath, node -> true);
+	}
+
+	/**
+	 * Creates a new depth-first traversal starting with the specified initial path which only visits the children of
+	 * nodes which pass the specified predicate.
+	 * <p>
+	 * The predicate is not called for the nodes in the path except for the last one. The others are already being
+	 * descended into, so their children to the right of the path will be visited.
+	 *
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param initialPath
+	 *            the initial path from the root of the traversed (sub-)tree; must contain at least one element; the
+	 *            path will be emptied by this constructor
+	 * @param descendInto
+	 *            called for each returned node to decide whether its children are visited
+	 */
+	public DfsTraversal(
+			TreeNavigator<E> navigator, TreePath<TreeNode<E>> initialPath, Predicate<? super E> descendInto) {
+		Objects.requireNonNull(navigator, "The argument 'navigator' must not be null.");
+		Objects.requireNonNull(initialPath, "The argument 'initialPath' must not be null.");
+		Objects.requireNonNull(descendInto, "The argument 'descendInto' must not be null.");
+		if (initialPath.isEmpty())
+			throw new IllegalArgumentException("The 'initialPath' must not be empty.");
+
+		this.navigator = navigator;
+		this.descendInto = descendInto;
+		this.children = new Object[INITIAL_STACK_CAPACITY];
+		this.childIndices = new int[INITIAL_STACK_CAPACITY];
+		this.endChildIndices = new int[INITIAL_STACK_CAPACITY];
+
+		initializeFromPath(initialPath);
+	}
+
+	private void initializeFromPath(TreePath<TreeNode<E>> initialPath) {
+		List<TreeNode<E>> pathFromEndToRoot = new ArrayList<>();
+		while (!initialPath.isEmpty())
+			pathFromEndToRoot.add(initialPath.removeEnd());
+
+		// each ancestor of the path's end gets a frame containing its children to the right of the path
+		for (int pathIndex = pathFromEndToRoot.size() - 1; pathIndex > 0; pathIndex--) {
+			E ancestor = pathFromEndToRoot.get(pathIndex).getElement();
+			TreeNode<E> childOnPath = pathFromEndToRoot.get(pathIndex - 1);
+			List<E> ancestorsChildren = navigator.getChildren(ancestor);
+			int childIndexOnPath = indexOf(ancestor, ancestorsChildren, childOnPath);
+			push(ancestorsChildren, childIndexOnPath + 1);
+		}
+
+		pendingNode = pathFromEndToRoot.get(0).getElement();
+		descendIntoPendingNode = true;
+	}
+
+	/**
+	 * Returns the index of the specified node in the specified list of children. The node's child index is used as a
+	 * hint but it is not guaranteed to be the index in the list because {@link TreeNavigator#getChildren(Object)
+	 * getChildren} may leave out some children. Nodes are compared with {@link Object#equals(Object) equals} because
+	 * some navigators create new node instances on each call.
+	 *
+	 * @throws IllegalStateException
+	 *             if the node is not among the children (e.g. because the tree was changed)
+	 */
+	static <E> int indexOf(E parent, List<E> children, TreeNode<E> child) throws IllegalStateException {
+		E element = child.getElement();
+		int hint = child.getChildIndex().getAsInt();
+		if (hint < children.size() && Objects.equals(children.get(hint), element))
+			return hint;
+
+		for (int index = 0; index < children.size(); index++)
+			if (Objects.equals(children.get(index), element))
+				return index;
+		throw new IllegalStateException(
+				"The node '" + element + "' is not among the children of its parent '" + parent + "'.");
+	}
+
+	/**
+	 * Creates a new traversal which consists of the specified state.
+	 *
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param descendInto
+	 *            decides whether the children of a returned node are visited
+	 * @param pendingNode
+	 *            the node which is returned first; may be null
+	 * @param descendIntoPendingNode
+	 *            whether the pending node's children will be visited
+	 * @param children
+	 *            the list of children of each node on the stack; the array is used as is
+	 * @param childIndices
+	 *            the index of each node's next child; the array is used as is
+	 * @param endChildIndices
+	 *            the index after each node's last child; the array is used as is
+	 */
+	private DfsTraversal(TreeNavigator<E> navigator, Predicate<? super E> descendInto,
+			E pendingNode, boolean descendIntoPendingNode,
+			Object[] children, int[] childIndices, int[] endChildIndices) {
+
+		this.navigator = navigator;
+		this.descendInto = descendInto;
+		this.pendingNode = pendingNode;
+		this.descendIntoPendingNode = descendIntoPendingNode;
+		this.children = children;
+		this.childIndices = childIndices;
+		this.endChildIndices = endChildIndices;
+		this.depth = children.length;
+	}
+
+	// #end CONSTRUCTION
+
+	// #begin GO TO NEXT NODE
+
+	/**
+	 * @return the next node; null if no next node exists
+	 */
+	@SuppressWarnings("unchecked")
+	public E goToNextNode() {
+		if (pendingNode != null)
+			return returnPendingNode();
+
+		while (depth > 0) {
+			int top = depth - 1;
+			if (childIndices[top] < endChildIndices[top]) {
+				E child = ((List<E>) children[top]).get(childIndices[top]++);
+				pushWithChildren(child);
+				return child;
+			} else
+				pop();
+		}
+
+		return null;
+	}
+
+	private E returnPendingNode() {
+		E node = pendingNode;
+		pendingNode = null;
+		if (descendIntoPendingNode)
+			pushWithChildren(node);
+		return node;
+	}
+
+	// #end GO TO NEXT NODE
+
+	// #begin STACK
+
+	private void pushWithChildren(E node) {
+		if (!descendInto.test(node))
+			return;
+
+		List<E> nodesChildren = navigator.getChildren(node);
+		if (!nodesChildren.isEmpty())
+			push(nodesChildren, 0);
+	}
+
+	private void push(List<E> nodesChildren, int childIndex) {
+		if (depth == children.length)
+			growStack();
+
+		children[depth] = nodesChildren;
+		childIndices[depth] = childIndex;
+		endChildIndices[depth] = nodesChildren.size();
+		depth++;
+	}
+
+	private void pop() {
+		depth--;
+		children[depth] = null;
+	}
+
+	private void growStack() {
+		int newCapacity = Math.max(INITIAL_STACK_CAPACITY, 2 * children.length);
+		children = Arrays.copyOf(children, newCapacity);
+		childIndices = Arrays.copyOf(childIndices, newCapacity);
+		endChildIndices = Arrays.copyOf(endChildIndices, newCapacity);
+	}
+
+	// #end STACK
+
+	// #begin SPLIT
+
+	/**
+	 * Hands a prefix of the remaining nodes to a new traversal, which will return them in the same order as this
+	 * traversal would have; this traversal continues with the first node after the prefix.
+	 * <p>
+	 * If a node is pending, it (but none of its descendants) forms the prefix. Otherwise the shallowest frame with at
+	 * least two unvisited children is split in half. Because the frame is the shallowest one, the subtrees rooted in
+	 * the children of the first half are visited before any node in the second half. The new traversal hence gets all
+	 * frames deeper than the split one and the first half of its children while this traversal keeps the second half
+	 * and all shallower frames.
+	 *
+	 * @return the traversal of a prefix of the remaining nodes; null if no split is possible
+	 */
+	public DfsTraversal<E> splitOffPrefix() {
+		if (pendingNode != null)
+			return splitOffPendingNode();
+
+		int splitFrame = findShallowestFrameWithTwoUnvisitedChildren();
+		if (splitFrame < 0)
+			return null;
+		int splitChildIndex = childIndices[splitFrame] + (endChildIndices[splitFrame] - childIndices[splitFrame]) / 2;
+		return splitOffPrefixAt(splitFrame, splitChildIndex);
+	}
+
+	/**
+	 * Like {@link #splitOffPrefix()} but splits the shallowest frame with at least two unvisited children where the
+	 * prefix contains (as close as possible) half of the remaining nodes instead of at the middle child.
+	 *
+	 * @param subtreeSize
+	 *            returns the number of nodes in the subtree rooted in the specified node
+	 * @return the traversal of a prefix of the remaining nodes; null if no split is possible
+	 */
+	@SuppressWarnings("unchecked")
+	public DfsTraversal<E> splitOffPrefix(ToLongFunction<? super E> subtreeSize) {
+		if (pendingNode != null)
+			return splitOffPendingNode();
+
+		int splitFrame = findShallowestFrameWithTwoUnvisitedChildren();
+		if (splitFrame < 0)
+			return null;
+
+		// the prefix gets all frames deeper than the split frame and the first children of the split frame
+		long halfSize = remainingSize(subtreeSize) / 2;
+		long prefixSize = 0;
+		for (int frame = splitFrame + 1; frame < depth; frame++)
+			prefixSize += unvisitedSize(frame, subtreeSize);
+
+		List<E> splitChildren = (List<E>) children[splitFrame];
+		int splitChildIndex = childIndices[splitFrame] + 1;
+		prefixSize += subtreeSize.applyAsLong(splitChildren.get(childIndices[splitFrame]));
+		while (splitChildIndex < endChildIndices[splitFrame] - 1 && prefixSize < halfSize)
+			prefixSize += subtreeSize.applyAsLong(splitChildren.get(splitChildIndex++));
+		return splitOffPrefixAt(splitFrame, splitChildIndex);
+	}
+
+	private DfsTraversal<E> splitOffPendingNode() {
+		if (!descendIntoPendingNode)
+			return null;
+
+		E node = pendingNode;
+		pendingNode = null;
+		pushWithChildren(node);
+
+		return new DfsTraversal<>(navigator, descendInto, node, false, new Object[0], new int[0], new int[0]);
+	}
+
+	private int findShallowestFrameWithTwoUnvisitedChildren() {
+		for (int frame = 0; frame < depth; frame++)
+			if (endChildIndices[frame] - childIndices[frame] >= 2)
+				return frame;
+		return -1;
+	}
+
+	private DfsTraversal<E> splitOffPrefixAt(int splitFrame, int splitChildIndex) {
+		Object[] prefixChildren = Arrays.copyOfRange(children, splitFrame, depth);
+		int[] prefixChildIndices = Arrays.copyOfRange(childIndices, splitFrame, depth);
+		int[] prefixEndChildIndices = Arrays.copyOfRange(endChildIndices, splitFrame, depth);
+		prefixEndChildIndices[0] = splitChildIndex;
+
+		childIndices[splitFrame] = splitChildIndex;
+		while (depth > splitFrame + 1)
+			pop();
+
+		return new DfsTraversal<>(navigator, descendInto,
+				null, false, prefixChildren, prefixChildIndices, prefixEndChildIndices);
+	}
+
+	// #end SPLIT
+
+	// #begin SIZE
+
+	/**
+	 * Computes the number of nodes this traversal will return.
+	 * <p>
+	 * This is only correct if the traversal descends into all nodes, i.e. if it was created without a predicate (or
+	 * one which is true for all nodes).
+	 *
+	 * @param subtreeSize
+	 *            returns the number of nodes in the subtree rooted in the specified node
+	 * @return the number of remaining nodes
+	 */
+	public long remainingSize(ToLongFunction<? super E> subtreeSize) {
+		long size = 0;
+		if (pendingNode != null)
+			size += descendIntoPendingNode ? subtreeSize.applyAsLong(pendingNode) : 1;
+		for (int frame = 0; frame < depth; frame++)
+			size += unvisitedSize(frame, subtreeSize);
+		return size;
+	}
+
+	@SuppressWarnings("unchecked")
+	private long unvisitedSize(int frame, ToLongFunction<? super E> subtreeSize) {
+		List<E> framesChildren = (List<E>) children[frame];
+		long size = 0;
+		for (int childIndex = childIndices[frame]; childIndex < endChildIndices[frame]; childIndex++)
+			size += subtreeSize.applyAsLong(framesChildren.get(childIndex));
+		return size;
+	}
+
+	// #end SIZE
+
+}
@@ -0,0 +1,196 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.codefx.libfx.collection.tree.navigate.TreeNavigator;
+
+/**
+ * A {@link Spliterator} which enumerates a tree's nodes in the order of a <a
+ * href="https://en.wikipedia.org/wiki/Depth-first_search">depth-first search</a> and which can be split by handing off
+ * whole unvisited subtrees.
+ * <p>
+ * The search itself is performed by a {@link DfsTraversal}. {@link #trySplit() Splitting} uses
+ * {@link DfsTraversal#splitOffPrefix()}, which splits the range of unvisited children of the shallowest node which has
+ * at least two of them. The returned spliterator covers a prefix of the remaining nodes, which upholds the contract for
+ * {@link Spliterator#ORDERED ordered} spliterators while giving each half entire subtrees to work on.
+ * <p>
+ * Usually the size of the tree is unknown, so the {@link #estimateSize() estimated size} is {@link Long#MAX_VALUE} for
+ * a new spliterator and halved with each split. If the spliterator is created with a {@link SubtreeSizeCache}, it is
+ * {@link Spliterator#SIZED sized} and {@link Spliterator#SUBSIZED subsized} instead: it uses the cached sizes of the
+ * unvisited subtrees to compute its exact size and to split into halves with (roughly) the same number of nodes.
+ * <p>
+ * This implementation is only guaranteed to work on trees, i.e. a connected, directed, acyclic graph. Using it on other
+ * graphs can lead to unexpected behavior including infinite loops.
+ *
+ * @param <E>
+ *            the type of elements contained in the tree
+ */
+final class DfsTreeSpliterator<E> implements Spliterator<E> {
+
+	// #begin FIELDS
+
+	private final DfsTraversal<E> traversal;
+
+	private final int characteristics;
+
+	/**
+	 * The subtree sizes if this spliterator is sized; otherwise null.
+	 */
+	private final SubtreeSizeCache<E> sizes;
+
+	/**
+	 * The exact number of remaining nodes if this spliterator is sized; otherwise an estimate.
+	 */
+	private long estimatedSize;
+
+	// #end FIELDS
+
+	// #begin CONSTRUCTION
+
+	/**
+	 * Creates a new depth-first search spliterator starting with the specified initial path.
+	 * <p>
+	 * The spliterator behaves like a {@link DfsTreeIterationStrategy} which was created with the same initial path: it
+	 * will begin with the node at the end of the path and stop when backtracking to the first node in it.
+	 *
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param initialPath
+	 *            the initial path from the root of the (sub-)tree enumerated by this spliterator; must contain at least
+	 *            one element; the path will be emptied by this constructor
+	 * @param characteristics
+	 *            the characteristics of this spliterator
+	 */
+	public DfsTreeSpliterator(TreeNavigator<E> navigator, TreePath<TreeNode<E>> initialPath, int characteristics) {
+		this(new DfsTraversal<>(navigator, initialPath), characteristics, Long.MAX_VALUE, null);
+	}
+
+	/**
+	 * Creates a new depth-first search spliterator starting with the specified initial path which only visits the
+	 * children of nodes which pass the specified predicate.
+	 *
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param initialPath
+	 *            the initial path from the root of the (sub-)tree enumerated by this spliterator; must contain at least
+	 *            one element; the path will be emptied by this constructor
+	 * @param descendInto
+	 *            called for each returned node (except the ones in the initial path before its end) to decide whether
+	 *            its children are visited
+	 * @param characteristics
+	 *            the characteristics of this spliterator
+	 */
+	public DfsTreeSpliterator(TreeNavigator<E> navigator, TreePath<TreeNode<E>> initialPath,
+			Predicate<? super E> descendInto, int characteristics) {
+		this(new DfsTraversal<>(navigator, initialPath, descendInto), characteristics, Long.MAX_VALUE, null);
+	}
+
+	/**
+	 * Creates a new {@link Spliterator#SIZED sized} depth-first search spliterator over the (sub-)tree rooted in the
+	 * specified node.
+	 *
+	 * @param <E>
+	 *            the type of elements contained in the tree
+	 * @param sizes
+	 *            the cache of subtree sizes, which also provides the navigator used to navigate the tree
+	 * @param root
+	 *            the root of the (sub-)tree enumerated by the spliterator
+	 * @param characteristics
+	 *            the characteristics of the spliterator; {@link Spliterator#SIZED SIZED} and
+	 *            {@link Spliterator#SUBSIZED SUBSIZED} are added
+	 * @return a new sized spliterator
+	 */
+	public static <E> DfsTreeSpliterator<E> createSized(SubtreeSizeCache<E> sizes, E root, int characteristics) {
+		Objects.requireNonNull(sizes, "The argument 'sizes' must not be null.");
+		Objects.requireNonNull(root, "The argument 'root' must not be null.");
+
+		return new DfsTreeSpliterator<>(
+				new DfsTraversal<>(sizes.getNavigator(), root),
+				characteristics | Spliterator.SIZED | Spliterator.SUBSIZED,
+				sizes.getSubtreeSize(root),
+				sizes);
+	}
+
+	private DfsTreeSpliterator(
+			DfsTraversal<E> traversal, int characteristics, long estimatedSize, SubtreeSizeCache<E> sizes) {
+		this.traversal = traversal;
+		this.characteristics = characteristics;
+		this.estimatedSize = estimatedSize;
+		this.sizes = sizes;
+	}
+
+	// #end CONSTRUCTION
+
+	// #begin TRAVERSAL
+
+	@Override
+	public boolean tryAdvance(Consumer<? super E> action) {
+		Objects.requireNonNull(action, "The argument 'action' must not be null.");
+
+		E nextNode = traversal.goToNextNode();
+		if (nextNode == null)
+			return false;
+
+		if (sizes != null)
+			estimatedSize--;
+		action.accept(nextNode);
+		return true;
+	}
+
+	@Override
+	public void forEachRemaining(Consumer<? super E> action) {
+		Objects.requireNonNull(action, "The argument 'action' must not be null.");
+
+		for (E nextNode = traversal.goToNextNode(); nextNode != null; nextNode = traversal.goToNextNode())
+			action.accept(nextNode);
+		if (sizes != null)
+			estimatedSize = 0;
+	}
+
+	// #end TRAVERSAL
+
+	// #begin SPLIT
+
+	@Override
+	public Spliterator<E> trySplit() {
+		if (sizes != null)
+			return trySplitSized();
+
+		DfsTraversal<E> prefix = traversal.splitOffPrefix();
+		if (prefix == null)
+			return null;
+
+		estimatedSize >>>= 1;
+		return new DfsTreeSpliterator<>(prefix, characteristics, estimatedSize, null);
+	}
+
+	private Spliterator<E> trySplitSized() {
+		DfsTraversal<E> prefix = traversal.splitOffPrefix(sizes::getSubtreeSize);
+		if (prefix == null)
+			return null;
+
+		long prefixSize = prefix.remainingSize(sizes::getSubtreeSize);
+		estimatedSize -= prefixSize;
+		return new DfsTreeSpliterator<>(prefix, characteristics, prefixSize, sizes);
+	}
+
+	// #end SPLIT
+
+	// #begin PROPERTIES
+
+	@Override
+	public long estimateSize() {
+		return estimatedSize;
+	}
+
+	@Override
+	public int characteristics() {
+		return characteristics;
+	}
+
+	// #end PROPERTIES
+
+}
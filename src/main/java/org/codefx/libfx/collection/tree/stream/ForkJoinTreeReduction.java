@@ -0,0 +1,236 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+import org.codefx.libfx.collection.tree.navigate.TreeNavigator;
+
+/**
+ * Reduces a tree to a single result by mapping each node to a value and combining the values with a monoid, using
+ * {@link RecursiveTask}s to reduce different subtrees in parallel.
+ * <p>
+ * Each task reduces a range of sibling subtrees. It walks each subtree in post-order on an explicit stack, keeping one
+ * frame per level with the node's children and its accumulated value (see {@link PostOrderFold}). When the walk
+ * encounters a node with more than {@link #splitThreshold} children, the node's children are handed to a new task
+ * instead. That task halves the range of children, {@link ForkJoinTask#fork() forks} one half and reduces the other,
+ * so idle workers can steal whole subtrees. To avoid creating many tiny tasks, a node is only split while the
+ * current worker has few {@link ForkJoinTask#getSurplusQueuedTaskCount() surplus tasks} queued.
+ * <p>
+ * A task reduces its first subtree and waits for the forked ones on the calling thread's stack, so each split on the
+ * path from the root to a node adds a few stack frames. To keep deep trees from overflowing the stack, a node is not
+ * split if {@link #MAX_NESTED_SPLITS} of its ancestors were already split; its subtree is then walked without
+ * splitting.
+ * <p>
+ * The values of siblings are always combined in the order of their child indices and each node's value is combined
+ * with its children's values before its siblings', so the combiner only needs to be associative, not commutative.
+ *
+ * @param <N>
+ *            the type of nodes contained in the tree
+ * @param <R>
+ *            the type of the result
+ */
+final class ForkJoinTreeReduction<N, R> {
+
+	// #begin CONSTANTS
+
+	/**
+	 * The number of tasks which may be queued by a worker before it stops splitting.
+	 */
+	private static final int MAX_SURPLUS_QUEUED_TASKS = 3;
+
+	/**
+	 * The number of split ancestors beyond which a node is no longer split. This bounds the depth of the stack.
+	 */
+	private static final int MAX_NESTED_SPLITS = 64;
+
+	private static final int INITIAL_STACK_CAPACITY = 16;
+
+	// #end CONSTANTS
+
+	// #begin FIELDS
+
+	private final TreeNavigator<N> navigator;
+
+	private final R identity;
+
+	private final Function<? super N, ? extends R> mapper;
+
+	private final BinaryOperator<R> combiner;
+
+	/**
+	 * Only nodes with more children than this are split.
+	 */
+	private final int splitThreshold;
+
+	// #end FIELDS
+
+	// #begin CONSTRUCTION
+
+	/**
+	 * Creates a new reduction.
+	 *
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param identity
+	 *            the identity of the combiner
+	 * @param mapper
+	 *            maps each node to a value
+	 * @param combiner
+	 *            an associative function which combines two values
+	 * @param splitThreshold
+	 *            only nodes with more children than this are split; must not be negative
+	 */
+	public ForkJoinTreeReduction(TreeNavigator<N> navigator,
+			R identity, Function<? super N, ? extends R> mapper, BinaryOperator<R> combiner, int splitThreshold) {
+		Objects.requireNonNull(navigator, "The argument 'navigator' must not be null.");
+		Objects.requireNonNull(mapper, "The argument 'mapper' must not be null.");
+		Objects.requireNonNull(combiner, "The argument 'combiner' must not be null.");
+		if (splitThreshold < 0)
+			throw new IllegalArgumentException(
+					"The argument 'splitThreshold' must not be negative (was " + splitThreshold + ").");
+
+		this.navigator = navigator;
+		this.identity = identity;
+		this.mapper = mapper;
+		this.combiner = combiner;
+		this.splitThreshold = splitThreshold;
+	}
+
+	// #end CONSTRUCTION
+
+	// #begin REDUCE
+
+	/**
+	 * Reduces the (sub-)tree rooted in the specified node in the specified pool.
+	 *
+	 * @param root
+	 *            the root of the reduced (sub-)tree
+	 * @param pool
+	 *            the pool in which the tasks are executed
+	 * @return the result of reducing the (sub-)tree
+	 */
+	public R reduce(N root, ForkJoinPool pool) {
+		Objects.requireNonNull(root, "The argument 'root' must not be null.");
+		Objects.requireNonNull(pool, "The argument 'pool' must not be null.");
+
+		return pool.invoke(new SubtreesTask(Collections.singletonList(root), 0, 1, 0));
+	}
+
+	/**
+	 * Reduces the specified subtree in the current thread, handing the children of wide nodes to new tasks.
+	 *
+	 * @param root
+	 *            the root of the reduced subtree
+	 * @param nestedSplits
+	 *            the number of split ancestors of the root
+	 * @return the result of reducing the subtree
+	 */
+	@SuppressWarnings("unchecked")
+	private R reduceSubtree(N root, int nestedSplits) {
+		Object[] children = new Object[INITIAL_STACK_CAPACITY];
+		int[] childIndices = new int[INITIAL_STACK_CAPACITY];
+		Object[] values = new Object[INITIAL_STACK_CAPACITY];
+		int depth = 0;
+
+		N next = root;
+		while (true) {
+			if (next != null) {
+				if (depth == children.length) {
+					int newCapacity = 2 * depth;
+					children = Arrays.copyOf(children, newCapacity);
+					childIndices = Arrays.copyOf(childIndices, newCapacity);
+					values = Arrays.copyOf(values, newCapacity);
+				}
+				List<N> nextsChildren = navigator.getChildren(next);
+				R value = mapper.apply(next);
+				if (shouldSplit(nextsChildren, nestedSplits)) {
+					R childrenValue =
+							new SubtreesTask(nextsChildren, 0, nextsChildren.size(), nestedSplits + 1).compute();
+					value = combiner.apply(value, childrenValue);
+					nextsChildren = Collections.emptyList();
+				}
+				children[depth] = nextsChildren;
+				childIndices[depth] = 0;
+				values[depth] = value;
+				depth++;
+				next = null;
+			}
+
+			int top = depth - 1;
+			List<N> topsChildren = (List<N>) children[top];
+			if (childIndices[top] < topsChildren.size())
+				next = topsChildren.get(childIndices[top]++);
+			else {
+				R subtreeValue = (R) values[top];
+				children[top] = null;
+				values[top] = null;
+				depth--;
+				if (depth == 0)
+					return subtreeValue;
+				values[depth - 1] = combiner.apply((R) values[depth - 1], subtreeValue);
+			}
+		}
+	}
+
+	private boolean shouldSplit(List<N> children, int nestedSplits) {
+		return children.size() > splitThreshold
+				&& nestedSplits < MAX_NESTED_SPLITS
+				&& ForkJoinTask.getSurplusQueuedTaskCount() <= MAX_SURPLUS_QUEUED_TASKS;
+	}
+
+	// #end REDUCE
+
+	// #begin INNER CLASSES
+
+	/**
+	 * Reduces a range of sibling subtrees.
+	 */
+	private final class SubtreesTask extends RecursiveTask<R> {
+
+		private static final long serialVersionUID = -4206337219064131052L;
+
+		private final List<N> siblings;
+
+		private final int fromIndex;
+
+		private final int toIndex;
+
+		/**
+		 * The number of split ancestors of the siblings (including their parent).
+		 */
+		private final int nestedSplits;
+
+		public SubtreesTask(List<N> siblings, int fromIndex, int toIndex, int nestedSplits) {
+			this.siblings = siblings;
+			this.fromIndex = fromIndex;
+			this.toIndex = toIndex;
+			this.nestedSplits = nestedSplits;
+		}
+
+		@Override
+		protected R compute() {
+			int rangeSize = toIndex - fromIndex;
+			if (rangeSize == 0)
+				return identity;
+			if (rangeSize == 1)
+				return reduceSubtree(siblings.get(fromIndex), nestedSplits);
+
+			int middleIndex = (fromIndex + toIndex) >>> 1;
+			SubtreesTask rightHalf = new SubtreesTask(siblings, middleIndex, toIndex, nestedSplits);
+			rightHalf.fork();
+			R leftValue = new SubtreesTask(siblings, fromIndex, middleIndex, nestedSplits).compute();
+			return combiner.apply(leftValue, rightHalf.join());
+		}
+
+	}
+
+	// #end INNER CLASSES
+
+}
@@ -0,0 +1,122 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A node of a tree together with its depth and its path from the root of the streamed (sub-)tree.
+ * <p>
+ * Instances are created by streams like {@link TreeStreams#dfsWithPathFromRoot(
+ * org.codefx.libfx.collection.tree.navigate.TreeNavigator, Object) dfsWithPathFromRoot}. Each instance references the
+ * instance which was created for its parent, so the depth and the path are known without using the
+ * {@link org.codefx.libfx.collection.tree.navigate.TreeNavigator TreeNavigator} to walk back up the tree. Computing the
+ * depth takes constant time; computing the path takes time linear in the depth.
+ * <p>
+ * Depth and path are relative to the root of the streamed (sub-)tree, which has depth 0 and no parent.
+ *
+ * @param <N>
+ *            the type of nodes contained in the tree
+ */
+public final class NodeWithPath<N> {
+
+	// #begin FIELDS
+
+	private final N node;
+
+	/**
+	 * The instance of the node's parent; null for the root of the streamed (sub-)tree.
+	 */
+	private final NodeWithPath<N> parent;
+
+	private final int depth;
+
+	// #end FIELDS
+
+	// #begin CONSTRUCTION
+
+	private NodeWithPath(N node, NodeWithPath<N> parent, int depth) {
+		this.node = node;
+		this.parent = parent;
+		this.depth = depth;
+	}
+
+	/**
+	 * Creates an instance for the root of a streamed (sub-)tree.
+	 *
+	 * @param <N>
+	 *            the type of nodes contained in the tree
+	 * @param root
+	 *            the root node
+	 * @return an instance with depth 0 and no parent
+	 */
+	static <N> NodeWithPath<N> root(N root) {
+		Objects.requireNonNull(root, "The argument 'root' must not be null.");
+		return new NodeWithPath<>(root, null, 0);
+	}
+
+	/**
+	 * Creates an instance for a child of this instance's node.
+	 *
+	 * @param child
+	 *            the child node
+	 * @return an instance whose parent is this one
+	 */
+	NodeWithPath<N> child(N child) {
+		Objects.requireNonNull(child, "The argument 'child' must not be null.");
+		return new NodeWithPath<>(child, this, depth + 1);
+	}
+
+	// #end CONSTRUCTION
+
+	// #begin ACCESSORS
+
+	/**
+	 * @return the node
+	 */
+	public N getNode() {
+		return node;
+	}
+
+	/**
+	 * @return the node's depth, where the root of the streamed (sub-)tree has depth 0
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * @return the instance of the node's parent; {@link Optional#empty() empty} for the root of the streamed (sub-)tree
+	 */
+	public Optional<NodeWithPath<N>> getParent() {
+		return Optional.ofNullable(parent);
+	}
+
+	/**
+	 * Returns the nodes on the path from the root of the streamed (sub-)tree to this node (both inclusive).
+	 *
+	 * @return an unmodifiable list of nodes starting with the root and ending with this node; its size is the depth
+	 *         plus one
+	 */
+	public List<N> getPath() {
+		Object[] path = new Object[depth + 1];
+		NodeWithPath<N> current = this;
+		for (int index = depth; index >= 0; index--) {
+			path[index] = current.node;
+			current = current.parent;
+		}
+		@SuppressWarnings("unchecked")
+		List<N> pathAsList = (List<N>) Arrays.asList(path);
+		return Collections.unmodifiableList(pathAsList);
+	}
+
+	// #end ACCESSORS
+
+	@Override
+	public String toString() {
+		return "NodeWithPath [node=" + node + ", depth=" + depth + "]";
+	}
+
+}
@@ -0,0 +1,90 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.Consumer;
+
+import org.codefx.libfx.collection.tree.navigate.TreeNavigator;
+
+/**
+ * A {@link TreeNavigator} over {@link NodeWithPath} instances which wraps a navigator over the contained nodes.
+ * <p>
+ * Each child returned by this navigator is wrapped in a new instance referencing the parent's instance. This way, any
+ * traversal which uses this navigator to walk down the tree creates instances which know their depth and path.
+ *
+ * @param <N>
+ *            the type of nodes contained in the tree
+ */
+final class NodeWithPathNavigator<N> implements TreeNavigator<NodeWithPath<N>> {
+
+	private final TreeNavigator<N> navigator;
+
+	/**
+	 * Creates a new navigator which wraps the specified one.
+	 *
+	 * @param navigator
+	 *            the navigator used to navigate the contained nodes
+	 */
+	public NodeWithPathNavigator(TreeNavigator<N> navigator) {
+		Objects.requireNonNull(navigator, "The argument 'navigator' must not be null.");
+		this.navigator = navigator;
+	}
+
+	@Override
+	public Optional<NodeWithPath<N>> getParent(NodeWithPath<N> child) {
+		Objects.requireNonNull(child, "The argument 'child' must not be null.");
+
+		return child.getParent();
+	}
+
+	@Override
+	public OptionalInt getChildIndex(NodeWithPath<N> node) {
+		Objects.requireNonNull(node, "The argument 'node' must not be null.");
+
+		// the root of the streamed (sub-)tree has no parent, even if the node has one in the navigated tree
+		if (!node.getParent().isPresent())
+			return OptionalInt.empty();
+		return navigator.getChildIndex(node.getNode());
+	}
+
+	@Override
+	public int getChildrenCount(NodeWithPath<N> parent) {
+		Objects.requireNonNull(parent, "The argument 'parent' must not be null.");
+
+		return navigator.getChildrenCount(parent.getNode());
+	}
+
+	@Override
+	public Optional<NodeWithPath<N>> getChild(NodeWithPath<N> parent, int childIndex) {
+		Objects.requireNonNull(parent, "The argument 'parent' must not be null.");
+
+		return navigator.getChild(parent.getNode(), childIndex).map(parent::child);
+	}
+
+	@Override
+	public void forEachChild(NodeWithPath<N> parent, Consumer<? super NodeWithPath<N>> action) {
+		Objects.requireNonNull(parent, "The argument 'parent' must not be null.");
+		Objects.requireNonNull(action, "The argument 'action' must not be null.");
+
+		navigator.forEachChild(parent.getNode(), child -> action.accept(parent.child(child)));
+	}
+
+	@Override
+	public List<NodeWithPath<N>> getChildren(NodeWithPath<N> parent) {
+		Objects.requireNonNull(parent, "The argument 'parent' must not be null.");
+
+		List<N> children = navigator.getChildren(parent.getNode());
+		if (children.isEmpty())
+			return Collections.emptyList();
+
+		List<NodeWithPath<N>> wrappedChildren = new ArrayList<>(children.size());
+		for (N child : children)
+			wrappedChildren.add(parent.child(child));
+		return wrappedChildren;
+	}
+
+}
@@ -0,0 +1,146 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.codefx.libfx.collection.tree.navigate.TreeNavigator;
+
+/**
+ * Folds a tree bottom-up by computing a result for each subtree from the node's initial value and the results of its
+ * children's subtrees.
+ * <p>
+ * The fold walks the tree in post-order without recursion (so deep trees can not overflow the call stack) and without
+ * collecting nodes or results in lists. Instead it keeps a stack with one frame per level of the current path, each
+ * consisting of the node's children (as returned by {@link TreeNavigator#getChildren(Object) getChildren}), the index
+ * of the next child to visit and the node's accumulated value. As soon as all children of a node were folded, the
+ * node's value is final and accumulated into its parent's value.
+ *
+ * @param <N>
+ *            the type of nodes contained in the tree
+ * @param <R>
+ *            the type of the result
+ */
+final class PostOrderFold<N, R> {
+
+	// #begin CONSTANTS
+
+	private static final int INITIAL_STACK_CAPACITY = 16;
+
+	// #end CONSTANTS
+
+	// #begin FIELDS
+
+	private final TreeNavigator<N> navigator;
+
+	private final Function<? super N, ? extends R> initial;
+
+	private final BiFunction<? super R, ? super R, ? extends R> accumulate;
+
+	/**
+	 * For each frame the list of children of its node; the frame on top of the stack has index {@code depth - 1}.
+	 */
+	private Object[] children;
+
+	/**
+	 * For each frame the index of the next child which will be visited.
+	 */
+	private int[] childIndices;
+
+	/**
+	 * For each frame the value accumulated for its node so far.
+	 */
+	private Object[] values;
+
+	private int depth;
+
+	// #end FIELDS
+
+	// #begin CONSTRUCTION
+
+	/**
+	 * Creates a new fold.
+	 *
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param initial
+	 *            computes the initial value of each node
+	 * @param accumulate
+	 *            accumulates the result of a child's subtree into the value of its parent; called once for each child
+	 *            in the order of their child indices with the parent's current value as the first argument
+	 */
+	public PostOrderFold(TreeNavigator<N> navigator,
+			Function<? super N, ? extends R> initial, BiFunction<? super R, ? super R, ? extends R> accumulate) {
+		Objects.requireNonNull(navigator, "The argument 'navigator' must not be null.");
+		Objects.requireNonNull(initial, "The argument 'initial' must not be null.");
+		Objects.requireNonNull(accumulate, "The argument 'accumulate' must not be null.");
+
+		this.navigator = navigator;
+		this.initial = initial;
+		this.accumulate = accumulate;
+	}
+
+	// #end CONSTRUCTION
+
+	// #begin FOLD
+
+	/**
+	 * Folds the (sub-)tree rooted in the specified node.
+	 *
+	 * @param root
+	 *            the root of the folded (sub-)tree
+	 * @return the result of folding the (sub-)tree
+	 */
+	@SuppressWarnings("unchecked")
+	public R fold(N root) {
+		Objects.requireNonNull(root, "The argument 'root' must not be null.");
+
+		children = new Object[INITIAL_STACK_CAPACITY];
+		childIndices = new int[INITIAL_STACK_CAPACITY];
+		values = new Object[INITIAL_STACK_CAPACITY];
+		depth = 0;
+
+		push(root);
+		while (true) {
+			int top = depth - 1;
+			List<N> nodesChildren = (List<N>) children[top];
+			if (childIndices[top] < nodesChildren.size())
+				push(nodesChildren.get(childIndices[top]++));
+			else {
+				R subtreeResult = (R) values[top];
+				pop();
+				if (depth == 0)
+					return subtreeResult;
+				values[depth - 1] = accumulate.apply((R) values[depth - 1], subtreeResult);
+			}
+		}
+	}
+
+	private void push(N node) {
+		if (depth == children.length)
+			growStack();
+
+		children[depth] = navigator.getChildren(node);
+		childIndices[depth] = 0;
+		values[depth] = initial.apply(node);
+		depth++;
+	}
+
+	private void pop() {
+		depth--;
+		children[depth] = null;
+		values[depth] = null;
+	}
+
+	private void growStack() {
+		int newCapacity = 2 * children.length;
+		children = Arrays.copyOf(children, newCapacity);
+		childIndices = Arrays.copyOf(childIndices, newCapacity);
+		values = Arrays.copyOf(values, newCapacity);
+	}
+
+	// #end FOLD
+
+}
@@ -0,0 +1,109 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import org.codefx.libfx.collection.tree.navigate.TreeNavigator;
+
+/**
+ * A {@link TreeIterationStrategy} which iterates a tree's nodes in <a
+ * href="https://en.wikipedia.org/wiki/Tree_traversal#Post-order">post-order</a>, i.e. each node is returned after all
+ * of its descendants.
+ * <p>
+ * Like the {@link DfsTreeIterationStrategy}, this strategy keeps the path from the root to the current node in a
+ * {@link TreePath}, so it needs constant memory per level of the tree. The path always ends with the node which was
+ * last returned. To find the next one, that node is removed from the path and its right sibling (if it exists) is
+ * appended together with the sibling's leftmost descendants down to a leaf. If the sibling does not exist, the parent
+ * is next.
+ * <p>
+ * This implementation is only guaranteed to work on trees, i.e. a connected, directed, acyclic graph. Using it on other
+ * graphs can lead to unexpected behavior including infinite loops.
+ *
+ * @param <E>
+ *            the type of elements contained in the tree
+ */
+final class PostOrderTreeIterationStrategy<E> implements TreeIterationStrategy<E> {
+
+	// #begin FIELDS
+
+	private final TreeNavigator<E> navigator;
+
+	/**
+	 * The path from the root to the last node returned by {@link #goToNextNode()}. Before the first call, it only
+	 * contains the root. If the path is empty, no more nodes will be returned.
+	 */
+	private final TreePath<TreeNode<E>> path;
+
+	/**
+	 * Indicates whether {@link #goToNextNode()} was not already called at least once.
+	 */
+	private boolean beforeFirst;
+
+	// #end FIELDS
+
+	// #begin CONSTRUCTION
+
+	/**
+	 * Creates a new post-order strategy which iterates over the (sub-)tree rooted in the specified node.
+	 *
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param root
+	 *            the root of the (sub-)tree iterated by this strategy; it will be the last node returned by
+	 *            {@link #goToNextNode()}
+	 */
+	public PostOrderTreeIterationStrategy(TreeNavigator<E> navigator, E root) {
+		Objects.requireNonNull(navigator, "The argument 'navigator' must not be null.");
+		Objects.requireNonNull(root, "The argument 'root' must not be null.");
+
+		this.navigator = navigator;
+		this.path = TreePathFactory.createWithSingleNode(root);
+		this.beforeFirst = true;
+	}
+
+	// #end CONSTRUCTION
+
+	// #begin GO TO NEXT NODE
+
+	@Override
+	public Optional<E> goToNextNode() {
+		// if the path is empty, iteration ended and no more nodes will be returned
+		if (path.isEmpty())
+			return Optional.empty();
+
+		if (beforeFirst) {
+			beforeFirst = false;
+			appendLeftmostDescendants();
+		} else
+			movePathEndToNextNode();
+
+		return path.getEnd().map(TreeNode::getElement);
+	}
+
+	private void movePathEndToNextNode() {
+		TreeNode<E> lastReturned = path.removeEnd();
+		Optional<TreeNode<E>> parent = path.getEnd();
+		if (!parent.isPresent())
+			// the last returned node was the root, so the iteration ended
+			return;
+
+		int rightSiblingIndex = lastReturned.getChildIndex().getAsInt() + 1;
+		Optional<E> rightSibling = navigator.getChild(parent.get().getElement(), rightSiblingIndex);
+		if (rightSibling.isPresent()) {
+			path.append(SimpleTreeNode.innerNode(rightSibling.get(), rightSiblingIndex));
+			appendLeftmostDescendants();
+		}
+		// otherwise the parent is the next node and it is already the path's end
+	}
+
+	private void appendLeftmostDescendants() {
+		Optional<E> leftmostChild = navigator.getChild(path.getEnd().get().getElement(), 0);
+		while (leftmostChild.isPresent()) {
+			path.append(SimpleTreeNode.innerNode(leftmostChild.get(), 0));
+			leftmostChild = navigator.getChild(leftmostChild.get(), 0);
+		}
+	}
+
+	// #end GO TO NEXT NODE
+
+}
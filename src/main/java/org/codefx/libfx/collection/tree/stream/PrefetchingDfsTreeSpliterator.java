@@ -0,0 +1,276 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import org.codefx.libfx.collection.tree.navigate.TreeNavigator;
+
+/**
+ * A {@link Spliterator} which enumerates a tree's nodes in the order of a <a
+ * href="https://en.wikipedia.org/wiki/Depth-first_search">depth-first search</a> and fetches the children of upcoming
+ * nodes in advance.
+ * <p>
+ * The state of the search is a stack of the nodes which were discovered but not yet returned; the node on top of it is
+ * returned next. Each time the stack changes, the children of the nodes closest to the top are requested from the
+ * navigator by tasks submitted to an {@link Executor}. At most {@code prefetchWindow} such requests are outstanding at
+ * any time. When a node is returned, its children are not needed until the next node is requested, so the caller's
+ * processing of the node overlaps with the requests as well.
+ * <p>
+ * This is useful for navigators which are backed by slow I/O, e.g. a remote file system or a lazily loaded database
+ * hierarchy, where a sequential search would be limited by the latency of each call. With prefetching, it is instead
+ * limited by the number of calls which can be performed in parallel. The navigator's
+ * {@link TreeNavigator#getChildren(Object) getChildren} method must hence be thread-safe.
+ * <p>
+ * Outstanding requests are {@link CompletableFuture#cancel(boolean) cancelled} when the spliterator is
+ * {@link #close() closed}. Splitting is not supported and the {@link #estimateSize() estimated size} is
+ * {@link Long#MAX_VALUE}.
+ * <p>
+ * This implementation is only guaranteed to work on trees, i.e. a connected, directed, acyclic graph. Using it on other
+ * graphs can lead to unexpected behavior including infinite loops.
+ *
+ * @param <E>
+ *            the type of elements contained in the tree
+ */
+final class PrefetchingDfsTreeSpliterator<E> implements Spliterator<E> {
+
+	// #begin CONSTANTS
+
+	private static final int INITIAL_STACK_CAPACITY = 16;
+
+	// #end CONSTANTS
+
+	// #begin FIELDS
+
+	private final TreeNavigator<E> navigator;
+
+	private final Executor executor;
+
+	private final int prefetchWindow;
+
+	private final int characteristics;
+
+	/**
+	 * The last returned node; its children must be pushed onto the stack before the next node can be returned. Null if
+	 * there is no such node.
+	 */
+	private E expandingNode;
+
+	/**
+	 * The request for the children of {@link #expandingNode}; null if they were not requested (yet).
+	 */
+	private CompletableFuture<List<E>> expandingNodesChildren;
+
+	/**
+	 * The discovered nodes which were not yet returned; the one on top of the stack is returned next.
+	 */
+	private Object[] nodes;
+
+	/**
+	 * For each node on the stack the request for its children; null if they were not requested (yet).
+	 */
+	private CompletableFuture<?>[] nodesChildren;
+
+	/**
+	 * The number of nodes on the stack; the node on top of it has index {@code depth - 1}.
+	 */
+	private int depth;
+
+	/**
+	 * The number of requests which were submitted but whose results were not yet used.
+	 */
+	private int outstandingRequests;
+
+	// #end FIELDS
+
+	// #begin CONSTRUCTION
+
+	/**
+	 * Creates a new prefetching depth-first search spliterator over the (sub-)tree rooted in the specified node.
+	 *
+	 * @param navigator
+	 *            the navigator used to navigate the tree; its {@link TreeNavigator#getChildren(Object) getChildren}
+	 *            method must be thread-safe
+	 * @param root
+	 *            the root of the (sub-)tree enumerated by this spliterator
+	 * @param executor
+	 *            the executor which performs the requests for children
+	 * @param prefetchWindow
+	 *            the maximum number of outstanding requests; must be positive
+	 * @param characteristics
+	 *            the characteristics of this spliterator
+	 */
+	public PrefetchingDfsTreeSpliterator(
+			TreeNavigator<E> navigator, E root, Executor executor, int prefetchWindow, int characteristics) {
+		Objects.requireNonNull(navigator, "The argument 'navigator' must not be null.");
+		Objects.requireNonNull(root, "The argument 'root' must not be null.");
+		Objects.requireNonNull(executor, "The argument 'executor' must not be null.");
+		if (prefetchWindow < 1)
+			throw new IllegalArgumentException(
+					"The argument 'prefetchWindow' must be positive (was " + prefetchWindow + ").");
+
+		this.navigator = navigator;
+		this.executor = executor;
+		this.prefetchWindow = prefetchWindow;
+		this.characteristics = characteristics;
+		this.nodes = new Object[INITIAL_STACK_CAPACITY];
+		this.nodesChildren = new CompletableFuture<?>[INITIAL_STACK_CAPACITY];
+
+		push(root);
+		prefetch();
+	}
+
+	// #end CONSTRUCTION
+
+	// #begin TRAVERSAL
+
+	@Override
+	public boolean tryAdvance(Consumer<? super E> action) {
+		Objects.requireNonNull(action, "The argument 'action' must not be null.");
+
+		E nextNode = goToNextNode();
+		if (nextNode == null)
+			return false;
+
+		action.accept(nextNode);
+		return true;
+	}
+
+	@Override
+	public void forEachRemaining(Consumer<? super E> action) {
+		Objects.requireNonNull(action, "The argument 'action' must not be null.");
+
+		for (E nextNode = goToNextNode(); nextNode != null; nextNode = goToNextNode())
+			action.accept(nextNode);
+	}
+
+	/**
+	 * @return the next node; null if no next node exists
+	 */
+	@SuppressWarnings("unchecked")
+	private E goToNextNode() {
+		if (expandingNode != null)
+			expand();
+		if (depth == 0)
+			return null;
+
+		depth--;
+		expandingNode = (E) nodes[depth];
+		expandingNodesChildren = (CompletableFuture<List<E>>) nodesChildren[depth];
+		nodes[depth] = null;
+		nodesChildren[depth] = null;
+
+		prefetch();
+		return expandingNode;
+	}
+
+	/**
+	 * Pushes the children of {@link #expandingNode} onto the stack so that the leftmost child is on top.
+	 */
+	private void expand() {
+		List<E> children = expandingNodesChildren == null
+				? navigator.getChildren(expandingNode)
+				: await(expandingNodesChildren);
+		expandingNode = null;
+		expandingNodesChildren = null;
+
+		for (int childIndex = children.size() - 1; childIndex >= 0; childIndex--)
+			push(children.get(childIndex));
+	}
+
+	private List<E> await(CompletableFuture<List<E>> request) {
+		outstandingRequests--;
+		try {
+			return request.join();
+		} catch (CompletionException ex) {
+			// rethrow the exception thrown by the navigator
+			if (ex.getCause() instanceof RuntimeException)
+				throw (RuntimeException) ex.getCause();
+			if (ex.getCause() instanceof Error)
+				throw (Error) ex.getCause();
+			throw ex;
+		}
+	}
+
+	// #end TRAVERSAL
+
+	// #begin PREFETCH
+
+	/**
+	 * Requests the children of the nodes which will be expanded next until the prefetch window is full.
+	 */
+	@SuppressWarnings("unchecked")
+	private void prefetch() {
+		if (expandingNode != null && expandingNodesChildren == null && outstandingRequests < prefetchWindow)
+			expandingNodesChildren = request(expandingNode);
+
+		// the nodes closest to the top of the stack are expanded first
+		int lowestPrefetchedIndex = Math.max(0, depth - prefetchWindow);
+		for (int index = depth - 1; index >= lowestPrefetchedIndex && outstandingRequests < prefetchWindow; index--)
+			if (nodesChildren[index] == null)
+				nodesChildren[index] = request((E) nodes[index]);
+	}
+
+	private CompletableFuture<List<E>> request(E node) {
+		CompletableFuture<List<E>> request = CompletableFuture.supplyAsync(() -> navigator.getChildren(node), executor);
+		outstandingRequests++;
+		return request;
+	}
+
+	/**
+	 * Cancels all outstanding requests. Afterwards, the spliterator must no longer be used.
+	 */
+	public void close() {
+		if (expandingNodesChildren != null)
+			expandingNodesChildren.cancel(false);
+		for (int index = 0; index < depth; index++)
+			if (nodesChildren[index] != null)
+				nodesChildren[index].cancel(false);
+	}
+
+	// #end PREFETCH
+
+	// #begin STACK
+
+	private void push(E node) {
+		if (depth == nodes.length)
+			growStack();
+
+		nodes[depth] = node;
+		depth++;
+	}
+
+	private void growStack() {
+		int newCapacity = 2 * nodes.length;
+		nodes = Arrays.copyOf(nodes, newCapacity);
+		nodesChildren = Arrays.copyOf(nodesChildren, newCapacity);
+	}
+
+	// #end STACK
+
+	// #begin SPLIT & PROPERTIES
+
+	@Override
+	public Spliterator<E> trySplit() {
+		// splitting is not supported
+		return null;
+	}
+
+	@Override
+	public long estimateSize() {
+		return Long.MAX_VALUE;
+	}
+
+	@Override
+	public int characteristics() {
+		return characteristics;
+	}
+
+	// #end SPLIT & PROPERTIES
+
+}
@@ -0,0 +1,187 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.WeakHashMap;
+
+import org.codefx.libfx.collection.tree.navigate.TreeNavigator;
+
+/**
+ * Memoizes the sizes of subtrees, i.e. the number of nodes in the subtree rooted in a node (including the node itself).
+ * <p>
+ * The size of a subtree is computed on first request by traversing it, where the sizes of all nodes in it are cached
+ * as well. Later requests for the same or other nodes reuse the cached sizes. The cache is used by
+ * {@link TreeStreams#sizedDfsFromRoot(SubtreeSizeCache, Object) sized streams}, which can hence report their
+ * {@link java.util.Spliterator#SIZED exact size} and split into halves of equal size.
+ * <p>
+ * The cache holds its nodes with weak references (and compares them with {@link Object#equals(Object) equals}), so
+ * it does not keep removed nodes from being garbage collected. This also means that a cached size is only kept as
+ * long as its node is strongly referenced elsewhere, usually by the tree itself. The cache must hence not be used with
+ * navigators which create new node instances on each access (like
+ * {@link org.codefx.libfx.collection.tree.navigate.PathNavigator PathNavigator} or
+ * {@link org.codefx.libfx.collection.tree.navigate.TreeModelNavigator TreeModelNavigator}): their nodes are only
+ * referenced by the cache, so the sizes are collected right after they were computed and every request traverses the
+ * whole subtree again.
+ * <p>
+ * The cache can not detect changes to the tree. When a node's children change (i.e. one is added or removed),
+ * {@link #invalidate(Object) invalidate} must be called with the node as an argument, e.g. from a listener to the
+ * node's list of children. This evicts the node and all its ancestors from the cache. Alternatively, the whole cache
+ * can be {@link #invalidateAll() invalidated}.
+ * <p>
+ * This class is thread-safe. The cache is only defined on trees, i.e. connected, directed, acyclic graphs. Using it
+ * on other graphs can lead to unexpected behavior including infinite loops.
+ *
+ * @param <N>
+ *            the type of nodes contained in the tree
+ */
+public final class SubtreeSizeCache<N> {
+
+	// #begin CONSTANTS
+
+	private static final int INITIAL_STACK_CAPACITY = 16;
+
+	// #end CONSTANTS
+
+	// #begin FIELDS
+
+	private final TreeNavigator<N> navigator;
+
+	private final Map<N, Long> sizes;
+
+	// #end FIELDS
+
+	// #begin CONSTRUCTION
+
+	/**
+	 * Creates a new, empty cache.
+	 *
+	 * @param navigator
+	 *            the navigator used to navigate the tree; it must return the same node instances on each access
+	 */
+	public SubtreeSizeCache(TreeNavigator<N> navigator) {
+		Objects.requireNonNull(navigator, "The argument 'navigator' must not be null.");
+
+		this.navigator = navigator;
+		this.sizes = new WeakHashMap<>();
+	}
+
+	// #end CONSTRUCTION
+
+	// #begin ACCESSORS
+
+	/**
+	 * @return the navigator used to navigate the tree
+	 */
+	public TreeNavigator<N> getNavigator() {
+		return navigator;
+	}
+
+	/**
+	 * Returns the number of nodes in the subtree rooted in the specified node. If it is not cached, the subtree is
+	 * traversed (skipping subtrees whose sizes are cached) and the sizes of all visited nodes are cached.
+	 *
+	 * @param node
+	 *            a node in the tree
+	 * @return the size of the node's subtree (at least 1)
+	 */
+	public synchronized long getSubtreeSize(N node) {
+		Objects.requireNonNull(node, "The argument 'node' must not be null.");
+
+		Long size = sizes.get(node);
+		if (size != null)
+			return size;
+		return computeSubtreeSize(node);
+	}
+
+	// #end ACCESSORS
+
+	// #begin INVALIDATION
+
+	/**
+	 * Evicts the specified node and all its ancestors from the cache. Must be called when the node's children changed.
+	 *
+	 * @param node
+	 *            the node whose children changed
+	 */
+	public synchronized void invalidate(N node) {
+		Objects.requireNonNull(node, "The argument 'node' must not be null.");
+
+		sizes.remove(node);
+		Optional<N> ancestor = navigator.getParent(node);
+		while (ancestor.isPresent()) {
+			sizes.remove(ancestor.get());
+			ancestor = navigator.getParent(ancestor.get());
+		}
+	}
+
+	/**
+	 * Evicts all nodes from the cache.
+	 */
+	public synchronized void invalidateAll() {
+		sizes.clear();
+	}
+
+	// #end INVALIDATION
+
+	// #begin COMPUTATION
+
+	/**
+	 * Computes the size with an iterative post-order traversal, which keeps a stack of frames, one for each node on the
+	 * path from the specified node to the current one. A frame consists of the node, its children, the index of the
+	 * next child to visit and the size accumulated so far.
+	 */
+	@SuppressWarnings("unchecked")
+	private long computeSubtreeSize(N root) {
+		Object[] nodes = new Object[INITIAL_STACK_CAPACITY];
+		Object[] children = new Object[INITIAL_STACK_CAPACITY];
+		int[] childIndices = new int[INITIAL_STACK_CAPACITY];
+		long[] accumulatedSizes = new long[INITIAL_STACK_CAPACITY];
+
+		nodes[0] = root;
+		children[0] = navigator.getChildren(root);
+		accumulatedSizes[0] = 1;
+		int depth = 1;
+
+		while (true) {
+			int top = depth - 1;
+			List<N> topChildren = (List<N>) children[top];
+			if (childIndices[top] == topChildren.size()) {
+				// all children were visited, so the top node's size is known
+				long size = accumulatedSizes[top];
+				sizes.put((N) nodes[top], size);
+				nodes[top] = null;
+				children[top] = null;
+				depth--;
+				if (depth == 0)
+					return size;
+				accumulatedSizes[depth - 1] += size;
+				continue;
+			}
+
+			N child = topChildren.get(childIndices[top]++);
+			Long cachedSize = sizes.get(child);
+			if (cachedSize != null) {
+				accumulatedSizes[top] += cachedSize;
+				continue;
+			}
+
+			if (depth == nodes.length) {
+				nodes = Arrays.copyOf(nodes, 2 * depth);
+				children = Arrays.copyOf(children, 2 * depth);
+				childIndices = Arrays.copyOf(childIndices, 2 * depth);
+				accumulatedSizes = Arrays.copyOf(accumulatedSizes, 2 * depth);
+			}
+			nodes[depth] = child;
+			children[depth] = navigator.getChildren(child);
+			childIndices[depth] = 0;
+			accumulatedSizes[depth] = 1;
+			depth++;
+		}
+	}
+
+	// #end COMPUTATION
+
+}
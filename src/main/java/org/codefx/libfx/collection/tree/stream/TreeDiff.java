@@ -0,0 +1,104 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+import org.codefx.libfx.collection.tree.navigate.TreeNavigator;
+
+/**
+ * Computes the differences between two trees as a list of {@link TreeEdit}s.
+ * <p>
+ * The trees can be navigated by two different navigators (e.g. a live scene graph and a replica of it) or by the same
+ * navigator at two different points in time (in which case the old tree must have been copied). Nodes in both trees
+ * are identified by keys which must be unique within each tree and stable across both (e.g. IDs).
+ * <p>
+ * Both trees are walked in lockstep, level by level, starting with the roots. A pair of nodes with the same key whose
+ * subtrees are known to be identical (as decided by a user-supplied predicate, e.g. by comparing identities, version
+ * numbers or hashes) is skipped, so for mostly unchanged trees only a small part of each tree is visited.
+ * <p>
+ * The edits are meant to be applied to the old tree (or a replica of it) in the order in which they are returned:
+ * <ol>
+ * <li>all {@link TreeEdit.Type#REMOVED removals} come first
+ * <li>then {@link TreeEdit.Type#MOVED moves} and {@link TreeEdit.Type#INSERTED insertions} follow; for each, the node
+ * is put at the specified index among its new parent's children (after detaching it from its current parent in case
+ * of a move)
+ * </ol>
+ * If the roots' keys differ, the edits remove the old root and insert the new one.
+ * <p>
+ * The diff is only defined on trees, i.e. connected, directed, acyclic graphs. Using it on other graphs can lead to
+ * unexpected behavior including infinite loops.
+ */
+public class TreeDiff {
+
+	/**
+	 * Private constructor so utility class is not instantiated.
+	 */
+	private TreeDiff() {
+		// nothing to do
+	}
+
+	// #begin DIFF
+
+	/**
+	 * Computes the edits which transform the old tree into the new one, visiting all nodes whose keys appear in both
+	 * trees at matching positions.
+	 *
+	 * @param <E>
+	 *            the type of nodes contained in the trees
+	 * @param <K>
+	 *            the type of keys identifying the nodes
+	 * @param oldNavigator
+	 *            the navigator used to navigate the old tree
+	 * @param oldRoot
+	 *            the root of the old tree
+	 * @param newNavigator
+	 *            the navigator used to navigate the new tree
+	 * @param newRoot
+	 *            the root of the new tree
+	 * @param key
+	 *            computes the key of a node in either tree; keys must not be null and must be unique within each tree
+	 * @return the list of edits
+	 * @throws IllegalArgumentException
+	 *             if two visited nodes in the same tree have the same key
+	 */
+	public static <E, K> List<TreeEdit<E, K>> diff(
+			TreeNavigator<E> oldNavigator, E oldRoot, TreeNavigator<E> newNavigator, E newRoot,
+			Function<? super E, ? extends K> key) {
+		return diff(oldNavigator, oldRoot, newNavigator, newRoot, key, (oldNode, newNode) -> false);
+	}
+
+	/**
+	 * Computes the edits which transform the old tree into the new one, skipping all pairs of nodes whose subtrees are
+	 * identical according to the specified predicate.
+	 *
+	 * @param <E>
+	 *            the type of nodes contained in the trees
+	 * @param <K>
+	 *            the type of keys identifying the nodes
+	 * @param oldNavigator
+	 *            the navigator used to navigate the old tree
+	 * @param oldRoot
+	 *            the root of the old tree
+	 * @param newNavigator
+	 *            the navigator used to navigate the new tree
+	 * @param newRoot
+	 *            the root of the new tree
+	 * @param key
+	 *            computes the key of a node in either tree; keys must not be null and must be unique within each tree
+	 * @param sameSubtree
+	 *            called with an old and a new node which have the same key; if it returns true, their subtrees are
+	 *            considered to be identical and are not visited
+	 * @return the list of edits
+	 * @throws IllegalArgumentException
+	 *             if two visited nodes in the same tree have the same key
+	 */
+	public static <E, K> List<TreeEdit<E, K>> diff(
+			TreeNavigator<E> oldNavigator, E oldRoot, TreeNavigator<E> newNavigator, E newRoot,
+			Function<? super E, ? extends K> key, BiPredicate<? super E, ? super E> sameSubtree) {
+		return new TreeDiffer<E, K>(oldNavigator, newNavigator, key, sameSubtree).diff(oldRoot, newRoot);
+	}
+
+	// #end DIFF
+
+}
@@ -0,0 +1,286 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+import org.codefx.libfx.collection.tree.navigate.TreeNavigator;
+
+/**
+ * Computes the {@link TreeEdit}s which transform an old tree into a new one.
+ * <p>
+ * The diff works in two phases:
+ * <ol>
+ * <li><b>Matching:</b> Starting with the roots, pairs of nodes with the same key are visited breadth-first. If a pair
+ * passes the {@link #sameSubtree} predicate, the subtrees are considered identical and are not visited. Otherwise the
+ * pair's children are matched by key. Children which have no partner under the same parent are collected and, when no
+ * more pairs are left, matched by key across the whole tree; each such match is a node which was moved to another
+ * parent and its pair is visited as well. Children which remain without partner were removed or inserted.
+ * <li><b>Edits:</b> First, all removals are emitted. Then, for each visited pair in the order of the visits, the new
+ * children are put into place from left to right. To compute correct indices, the children lists of all visited nodes
+ * are simulated and each emitted move or insertion is applied to the simulation.
+ * </ol>
+ * Only the subtrees of matched pairs are visited, so a node which was moved into an inserted subtree (or out of a
+ * removed one) is part of the insertion (or removal).
+ *
+ * @param <E>
+ *            the type of nodes contained in the trees
+ * @param <K>
+ *            the type of keys identifying the nodes
+ */
+final class TreeDiffer<E, K> {
+
+	// #begin FIELDS
+
+	private final TreeNavigator<E> oldNavigator;
+
+	private final TreeNavigator<E> newNavigator;
+
+	private final Function<? super E, ? extends K> key;
+
+	/**
+	 * Decides whether an old and a new node with the same key have identical subtrees.
+	 */
+	private final BiPredicate<? super E, ? super E> sameSubtree;
+
+	/**
+	 * The pairs which were visited (i.e. whose subtrees are not identical) in the order of their visits.
+	 */
+	private final List<Pair> visitedPairs;
+
+	/**
+	 * The pairs which still need to be visited.
+	 */
+	private final Queue<Pair> pendingPairs;
+
+	/**
+	 * The old children of visited pairs which have no partner (yet) by their keys.
+	 */
+	private final Map<K, E> unmatchedOldChildren;
+
+	/**
+	 * The new children of visited pairs which have no partner (yet) by their keys.
+	 */
+	private final Map<K, E> unmatchedNewChildren;
+
+	// #end FIELDS
+
+	// #begin CONSTRUCTION
+
+	/**
+	 * Creates a new differ.
+	 *
+	 * @param oldNavigator
+	 *            the navigator used to navigate the old tree
+	 * @param newNavigator
+	 *            the navigator used to navigate the new tree
+	 * @param key
+	 *            computes the key of a node in either tree
+	 * @param sameSubtree
+	 *            decides whether an old and a new node with the same key have identical subtrees
+	 */
+	public TreeDiffer(TreeNavigator<E> oldNavigator, TreeNavigator<E> newNavigator,
+			Function<? super E, ? extends K> key, BiPredicate<? super E, ? super E> sameSubtree) {
+		Objects.requireNonNull(oldNavigator, "The argument 'oldNavigator' must not be null.");
+		Objects.requireNonNull(newNavigator, "The argument 'newNavigator' must not be null.");
+		Objects.requireNonNull(key, "The argument 'key' must not be null.");
+		Objects.requireNonNull(sameSubtree, "The argument 'sameSubtree' must not be null.");
+
+		this.oldNavigator = oldNavigator;
+		this.newNavigator = newNavigator;
+		this.key = key;
+		this.sameSubtree = sameSubtree;
+		this.visitedPairs = new ArrayList<>();
+		this.pendingPairs = new ArrayDeque<>();
+		this.unmatchedOldChildren = new LinkedHashMap<>();
+		this.unmatchedNewChildren = new HashMap<>();
+	}
+
+	// #end CONSTRUCTION
+
+	// #begin DIFF
+
+	/**
+	 * Computes the edits which transform the old tree into the new one. This instance must only be used once.
+	 *
+	 * @param oldRoot
+	 *            the root of the old tree
+	 * @param newRoot
+	 *            the root of the new tree
+	 * @return the list of edits
+	 */
+	public List<TreeEdit<E, K>> diff(E oldRoot, E newRoot) {
+		Objects.requireNonNull(oldRoot, "The argument 'oldRoot' must not be null.");
+		Objects.requireNonNull(newRoot, "The argument 'newRoot' must not be null.");
+
+		K oldRootKey = keyOf(oldRoot);
+		K newRootKey = keyOf(newRoot);
+		if (!oldRootKey.equals(newRootKey)) {
+			List<TreeEdit<E, K>> edits = new ArrayList<>(2);
+			edits.add(TreeEdit.removed(oldRootKey, oldRoot));
+			edits.add(TreeEdit.inserted(newRootKey, newRoot, null, 0));
+			return edits;
+		}
+
+		match(oldRootKey, oldRoot, newRoot);
+		return createEdits();
+	}
+
+	private K keyOf(E node) {
+		K nodeKey = key.apply(node);
+		Objects.requireNonNull(nodeKey, "The key of the node " + node + " must not be null.");
+		return nodeKey;
+	}
+
+	// #end DIFF
+
+	// #begin MATCHING
+
+	private void match(K rootKey, E oldRoot, E newRoot) {
+		enqueueIfChanged(rootKey, oldRoot, newRoot);
+		while (!pendingPairs.isEmpty()) {
+			while (!pendingPairs.isEmpty())
+				visit(pendingPairs.remove());
+			matchMovedChildren();
+		}
+	}
+
+	private void enqueueIfChanged(K pairKey, E oldNode, E newNode) {
+		if (!sameSubtree.test(oldNode, newNode))
+			pendingPairs.add(new Pair(pairKey, oldNode, newNode));
+	}
+
+	private void visit(Pair pair) {
+		visitedPairs.add(pair);
+		pair.oldChildren = oldNavigator.getChildren(pair.oldNode);
+		pair.newChildren = newNavigator.getChildren(pair.newNode);
+
+		Map<K, E> oldChildrenByKey = new HashMap<>();
+		for (E oldChild : pair.oldChildren)
+			putUnique(oldChildrenByKey, keyOf(oldChild), oldChild);
+
+		for (E newChild : pair.newChildren) {
+			K newChildKey = keyOf(newChild);
+			E oldChild = oldChildrenByKey.remove(newChildKey);
+			if (oldChild != null)
+				enqueueIfChanged(newChildKey, oldChild, newChild);
+			else
+				putUnique(unmatchedNewChildren, newChildKey, newChild);
+		}
+		for (Entry<K, E> oldChild : oldChildrenByKey.entrySet())
+			putUnique(unmatchedOldChildren, oldChild.getKey(), oldChild.getValue());
+	}
+
+	private void matchMovedChildren() {
+		Iterator<Entry<K, E>> oldChildren = unmatchedOldChildren.entrySet().iterator();
+		while (oldChildren.hasNext()) {
+			Entry<K, E> oldChild = oldChildren.next();
+			E newChild = unmatchedNewChildren.remove(oldChild.getKey());
+			if (newChild != null) {
+				oldChildren.remove();
+				enqueueIfChanged(oldChild.getKey(), oldChild.getValue(), newChild);
+			}
+		}
+	}
+
+	private void putUnique(Map<K, E> nodesByKey, K nodeKey, E node) {
+		E previous = nodesByKey.put(nodeKey, node);
+		if (previous != null)
+			throw new IllegalArgumentException(
+					"The nodes " + previous + " and " + node + " have the same key " + nodeKey + ".");
+	}
+
+	// #end MATCHING
+
+	// #begin EDITS
+
+	private List<TreeEdit<E, K>> createEdits() {
+		List<TreeEdit<E, K>> edits = new ArrayList<>();
+		for (Entry<K, E> removed : unmatchedOldChildren.entrySet())
+			edits.add(TreeEdit.removed(removed.getKey(), removed.getValue()));
+
+		// simulate the children of each visited node (after the removals) to compute correct indices
+		Map<K, List<K>> simulatedChildren = new HashMap<>();
+		Map<K, K> simulatedParents = new HashMap<>();
+		for (Pair pair : visitedPairs) {
+			List<K> children = new ArrayList<>(pair.oldChildren.size());
+			for (E oldChild : pair.oldChildren) {
+				K oldChildKey = keyOf(oldChild);
+				if (!unmatchedOldChildren.containsKey(oldChildKey)) {
+					children.add(oldChildKey);
+					simulatedParents.put(oldChildKey, pair.key);
+				}
+			}
+			simulatedChildren.put(pair.key, children);
+		}
+
+		for (Pair pair : visitedPairs)
+			putNewChildrenInPlace(pair, simulatedChildren, simulatedParents, edits);
+		return edits;
+	}
+
+	/**
+	 * Emits the moves and insertions which put the pair's new children into place from left to right. After this, the
+	 * simulated children start with the new children; if more follow, they will be moved to other parents later.
+	 */
+	private void putNewChildrenInPlace(Pair pair,
+			Map<K, List<K>> simulatedChildren, Map<K, K> simulatedParents, List<TreeEdit<E, K>> edits) {
+		List<K> children = simulatedChildren.get(pair.key);
+		for (int index = 0; index < pair.newChildren.size(); index++) {
+			E newChild = pair.newChildren.get(index);
+			K newChildKey = keyOf(newChild);
+			if (index < children.size() && children.get(index).equals(newChildKey))
+				continue;
+
+			K currentParentKey = simulatedParents.put(newChildKey, pair.key);
+			if (currentParentKey == null)
+				edits.add(TreeEdit.inserted(newChildKey, newChild, pair.key, index));
+			else {
+				// the child is currently to the right of the index (or under another parent), so removing it does not
+				// change the index
+				simulatedChildren.get(currentParentKey).remove(newChildKey);
+				edits.add(TreeEdit.moved(newChildKey, newChild, pair.key, index));
+			}
+			children.add(index, newChildKey);
+		}
+	}
+
+	// #end EDITS
+
+	// #begin INNER CLASSES
+
+	/**
+	 * A node from the old tree and one from the new tree with the same key.
+	 */
+	private final class Pair {
+
+		private final K key;
+
+		private final E oldNode;
+
+		private final E newNode;
+
+		private List<E> oldChildren;
+
+		private List<E> newChildren;
+
+		public Pair(K key, E oldNode, E newNode) {
+			this.key = key;
+			this.oldNode = oldNode;
+			this.newNode = newNode;
+		}
+
+	}
+
+	// #end INNER CLASSES
+
+}
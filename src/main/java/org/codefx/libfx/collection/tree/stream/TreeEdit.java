@@ -0,0 +1,209 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * An operation which transforms one tree towards another as computed by {@link TreeDiff}.
+ * <p>
+ * Nodes are identified by keys which are stable across both trees. An edit either
+ * <ul>
+ * <li>{@link Type#REMOVED removes} the node with its key (and its entire subtree),
+ * <li>{@link Type#INSERTED inserts} a node (with its entire subtree) as a child of the node with the parent key at the
+ * given index or
+ * <li>{@link Type#MOVED moves} the node with its key (and its entire subtree) from wherever it currently is to become
+ * a child of the node with the parent key at the given index.
+ * </ul>
+ *
+ * @param <E>
+ *            the type of nodes contained in the trees
+ * @param <K>
+ *            the type of keys identifying the nodes
+ */
+public final class TreeEdit<E, K> {
+
+	// #begin FIELDS
+
+	private final Type type;
+
+	private final K key;
+
+	private final E node;
+
+	/**
+	 * The parent's key; null for removals and the insertion of a new root.
+	 */
+	private final K parentKey;
+
+	private final int index;
+
+	// #end FIELDS
+
+	// #begin CONSTRUCTION
+
+	private TreeEdit(Type type, K key, E node, K parentKey, int index) {
+		Objects.requireNonNull(type, "The argument 'type' must not be null.");
+		Objects.requireNonNull(key, "The argument 'key' must not be null.");
+		Objects.requireNonNull(node, "The argument 'node' must not be null.");
+
+		this.type = type;
+		this.key = key;
+		this.node = node;
+		this.parentKey = parentKey;
+		this.index = index;
+	}
+
+	/**
+	 * @param <E>
+	 *            the type of nodes contained in the trees
+	 * @param <K>
+	 *            the type of keys identifying the nodes
+	 * @param key
+	 *            the removed node's key
+	 * @param oldNode
+	 *            the removed node from the old tree
+	 * @return an edit indicating that the node was removed
+	 */
+	static <E, K> TreeEdit<E, K> removed(K key, E oldNode) {
+		return new TreeEdit<>(Type.REMOVED, key, oldNode, null, -1);
+	}
+
+	/**
+	 * @param <E>
+	 *            the type of nodes contained in the trees
+	 * @param <K>
+	 *            the type of keys identifying the nodes
+	 * @param key
+	 *            the inserted node's key
+	 * @param newNode
+	 *            the inserted node from the new tree
+	 * @param parentKey
+	 *            the key of the node's new parent; null if the node is the new root
+	 * @param index
+	 *            the node's index in the list of its new parent's children
+	 * @return an edit indicating that the node was inserted
+	 */
+	static <E, K> TreeEdit<E, K> inserted(K key, E newNode, K parentKey, int index) {
+		return new TreeEdit<>(Type.INSERTED, key, newNode, parentKey, index);
+	}
+
+	/**
+	 * @param <E>
+	 *            the type of nodes contained in the trees
+	 * @param <K>
+	 *            the type of keys identifying the nodes
+	 * @param key
+	 *            the moved node's key
+	 * @param newNode
+	 *            the moved node from the new tree
+	 * @param parentKey
+	 *            the key of the node's new parent
+	 * @param index
+	 *            the node's index in the list of its new parent's children
+	 * @return an edit indicating that the node was moved
+	 */
+	static <E, K> TreeEdit<E, K> moved(K key, E newNode, K parentKey, int index) {
+		Objects.requireNonNull(parentKey, "The argument 'parentKey' must not be null.");
+		return new TreeEdit<>(Type.MOVED, key, newNode, parentKey, index);
+	}
+
+	// #end CONSTRUCTION
+
+	// #begin ACCESSORS
+
+	/**
+	 * @return the type of this edit
+	 */
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * @return the key of the removed, inserted or moved node
+	 */
+	public K getKey() {
+		return key;
+	}
+
+	/**
+	 * @return the removed node from the old tree or the inserted or moved node from the new tree
+	 */
+	public E getNode() {
+		return node;
+	}
+
+	/**
+	 * @return the key of the node's new parent; {@link Optional#empty() empty} for {@link Type#REMOVED removals} and if
+	 *         the node was inserted as the new root
+	 */
+	public Optional<K> getParentKey() {
+		return Optional.ofNullable(parentKey);
+	}
+
+	/**
+	 * @return the node's index in the list of its new parent's children; -1 for {@link Type#REMOVED removals}
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	// #end ACCESSORS
+
+	// #begin OBJECT
+
+	@Override
+	public boolean equals(Object object) {
+		if (object == this)
+			return true;
+		if (!(object instanceof TreeEdit))
+			return false;
+
+		TreeEdit<?, ?> other = (TreeEdit<?, ?>) object;
+		return type == other.type
+				&& Objects.equals(key, other.key)
+				&& Objects.equals(node, other.node)
+				&& Objects.equals(parentKey, other.parentKey)
+				&& index == other.index;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(type, key, node, parentKey, index);
+	}
+
+	@Override
+	public String toString() {
+		return type == Type.REMOVED
+				? "TreeEdit [" + type + ": " + key + "]"
+				: "TreeEdit [" + type + ": " + key + " to " + parentKey + "@" + index + "]";
+	}
+
+	// #end OBJECT
+
+	// #begin INNER CLASSES
+
+	/**
+	 * The type of a {@link TreeEdit}.
+	 */
+	public enum Type {
+
+		/**
+		 * The node (with its subtree) was removed from the tree.
+		 */
+		REMOVED,
+
+		/**
+		 * The node (with its subtree) was inserted into the tree.
+		 */
+		INSERTED,
+
+		/**
+		 * The node (with its subtree) was moved to a new position in the tree.
+		 */
+		MOVED,
+
+	}
+
+	// #end INNER CLASSES
+
+}
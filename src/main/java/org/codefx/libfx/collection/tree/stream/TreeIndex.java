@@ -0,0 +1,452 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.codefx.libfx.collection.tree.navigate.TreeNavigator;
+
+/**
+ * An index over a (sub-)tree which answers structural queries like "is A an ancestor of B" or "which nodes are
+ * descendants of X" without navigating the tree.
+ * <p>
+ * The index is built with one depth-first traversal of the tree. It numbers the nodes in pre-order (the order of a
+ * {@link TreeStreams#dfsFromRoot(TreeNavigator, Object) depth-first search}) and in post-order and stores, for each
+ * node, its depth, its parent's pre-order index and the pre-order index after its subtree in primitive arrays. Because
+ * the descendants of a node directly follow it in pre-order, they form a contiguous range of indices. This gives
+ * <ul>
+ * <li>constant time {@link #isAncestor(Object, Object) ancestor tests} (a node is an ancestor of another if the
+ * latter's pre-order index lies in the former's range),
+ * <li>constant time {@link #getSubtreeSize(Object) subtree sizes} and {@link #getDepth(Object) depths},
+ * <li>allocation-free iteration over descendants with {@link #getNode(int) getNode} and
+ * {@link #getSubtreeEnd(int) getSubtreeEnd}.
+ * </ul>
+ * Nodes are mapped to their indices with a {@link HashMap}, so they must implement {@link Object#equals(Object)
+ * equals} and {@link Object#hashCode() hashCode} consistently with the navigator's view on the tree (identity is
+ * fine).
+ * <p>
+ * The index is a snapshot and does not observe the tree. If the tree changes, the index must be
+ * {@link #invalidate() invalidated} (in which case it is rebuilt before the next query) or {@link #rebuild() rebuilt}
+ * right away. Rebuilding reuses the arrays if they are large enough, so it does not allocate much for trees whose size
+ * does not grow.
+ * <p>
+ * This class is not thread-safe. Queries may be performed concurrently only as long as the index is valid and is
+ * neither invalidated nor rebuilt.
+ *
+ * @param <N>
+ *            the type of nodes contained in the tree
+ */
+public final class TreeIndex<N> {
+
+	// #begin CONSTANTS
+
+	/**
+	 * The index returned for nodes which are not contained in the index and for the root's parent.
+	 */
+	public static final int NO_INDEX = -1;
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	// #end CONSTANTS
+
+	// #begin FIELDS
+
+	private final TreeNavigator<N> navigator;
+
+	private final N root;
+
+	/**
+	 * Maps nodes to their pre-order indices.
+	 */
+	private final Map<N, Integer> preOrderIndices;
+
+	/**
+	 * The nodes in pre-order.
+	 */
+	private Object[] nodes;
+
+	/**
+	 * For each node (in pre-order) its post-order index.
+	 */
+	private int[] postOrderIndices;
+
+	/**
+	 * For each node (in pre-order) the pre-order index of its parent; {@link #NO_INDEX} for the root.
+	 */
+	private int[] parents;
+
+	/**
+	 * For each node (in pre-order) its depth, where the root has depth 0.
+	 */
+	private int[] depths;
+
+	/**
+	 * For each node (in pre-order) the pre-order index after its last descendant.
+	 */
+	private int[] subtreeEnds;
+
+	private int size;
+
+	private boolean valid;
+
+	// #end FIELDS
+
+	// #begin CONSTRUCTION
+
+	/**
+	 * Creates a new index over the (sub-)tree rooted in the specified node and builds it.
+	 *
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param root
+	 *            the root of the indexed (sub-)tree; it has pre-order index 0
+	 */
+	public TreeIndex(TreeNavigator<N> navigator, N root) {
+		Objects.requireNonNull(navigator, "The argument 'navigator' must not be null.");
+		Objects.requireNonNull(root, "The argument 'root' must not be null.");
+
+		this.navigator = navigator;
+		this.root = root;
+		this.preOrderIndices = new HashMap<>();
+		this.nodes = new Object[INITIAL_CAPACITY];
+		this.postOrderIndices = new int[INITIAL_CAPACITY];
+		this.parents = new int[INITIAL_CAPACITY];
+		this.depths = new int[INITIAL_CAPACITY];
+		this.subtreeEnds = new int[INITIAL_CAPACITY];
+
+		rebuild();
+	}
+
+	// #end CONSTRUCTION
+
+	// #begin VALIDITY
+
+	/**
+	 * Marks this index as invalid, so it is rebuilt before the next query.
+	 * <p>
+	 * Call this when the tree changed but it is not yet known whether the index will be queried again.
+	 */
+	public void invalidate() {
+		valid = false;
+	}
+
+	/**
+	 * @return whether this index is valid, i.e. was built since it was last {@link #invalidate() invalidated}
+	 */
+	public boolean isValid() {
+		return valid;
+	}
+
+	/**
+	 * Rebuilds this index right away by traversing the tree.
+	 */
+	@SuppressWarnings("unchecked")
+	public void rebuild() {
+		Arrays.fill(nodes, 0, size, null);
+		preOrderIndices.clear();
+		size = 0;
+
+		// the stack of the traversal; each frame contains a node's pre-order index, children and next child's index
+		int[] framePreOrderIndices = new int[INITIAL_CAPACITY];
+		Object[] frameChildren = new Object[INITIAL_CAPACITY];
+		int[] frameChildIndices = new int[INITIAL_CAPACITY];
+		int depth = 0;
+		int nextPostOrderIndex = 0;
+
+		N nextNode = root;
+		while (true) {
+			if (nextNode != null) {
+				int parent = depth == 0 ? NO_INDEX : framePreOrderIndices[depth - 1];
+				int preOrderIndex = add(nextNode, parent, depth);
+				if (depth == framePreOrderIndices.length) {
+					int newCapacity = 2 * depth;
+					framePreOrderIndices = Arrays.copyOf(framePreOrderIndices, newCapacity);
+					frameChildren = Arrays.copyOf(frameChildren, newCapacity);
+					frameChildIndices = Arrays.copyOf(frameChildIndices, newCapacity);
+				}
+				framePreOrderIndices[depth] = preOrderIndex;
+				frameChildren[depth] = navigator.getChildren(nextNode);
+				frameChildIndices[depth] = 0;
+				depth++;
+				nextNode = null;
+			}
+
+			int top = depth - 1;
+			List<N> children = (List<N>) frameChildren[top];
+			if (frameChildIndices[top] < children.size())
+				nextNode = children.get(frameChildIndices[top]++);
+			else {
+				// all descendants of the top frame's node were added, so its subtree is complete
+				int preOrderIndex = framePreOrderIndices[top];
+				subtreeEnds[preOrderIndex] = size;
+				postOrderIndices[preOrderIndex] = nextPostOrderIndex++;
+				frameChildren[top] = null;
+				depth--;
+				if (depth == 0)
+					break;
+			}
+		}
+
+		valid = true;
+	}
+
+	private int add(N node, int parent, int depth) {
+		if (size == nodes.length)
+			grow();
+
+		int preOrderIndex = size++;
+		nodes[preOrderIndex] = node;
+		parents[preOrderIndex] = parent;
+		depths[preOrderIndex] = depth;
+		preOrderIndices.put(node, preOrderIndex);
+		return preOrderIndex;
+	}
+
+	private void grow() {
+		int newCapacity = 2 * nodes.length;
+		nodes = Arrays.copyOf(nodes, newCapacity);
+		postOrderIndices = Arrays.copyOf(postOrderIndices, newCapacity);
+		parents = Arrays.copyOf(parents, newCapacity);
+		depths = Arrays.copyOf(depths, newCapacity);
+		subtreeEnds = Arrays.copyOf(subtreeEnds, newCapacity);
+	}
+
+	private void ensureValid() {
+		if (!valid)
+			rebuild();
+	}
+
+	// #end VALIDITY
+
+	// #begin QUERIES BY NODE
+
+	/**
+	 * @return the root of the indexed (sub-)tree
+	 */
+	public N getRoot() {
+		return root;
+	}
+
+	/**
+	 * @return the number of nodes in the indexed (sub-)tree
+	 */
+	public int size() {
+		ensureValid();
+		return size;
+	}
+
+	/**
+	 * @param node
+	 *            a node
+	 * @return whether the node is contained in the indexed (sub-)tree
+	 */
+	public boolean contains(N node) {
+		return getPreOrderIndex(node) != NO_INDEX;
+	}
+
+	/**
+	 * @param node
+	 *            a node
+	 * @return the node's pre-order index, i.e. its position in a depth-first search from the root; {@link #NO_INDEX}
+	 *         if the node is not contained in the indexed (sub-)tree
+	 */
+	public int getPreOrderIndex(N node) {
+		Objects.requireNonNull(node, "The argument 'node' must not be null.");
+		ensureValid();
+
+		Integer preOrderIndex = preOrderIndices.get(node);
+		return preOrderIndex == null ? NO_INDEX : preOrderIndex;
+	}
+
+	/**
+	 * @param node
+	 *            a node in the indexed (sub-)tree
+	 * @return the node's post-order index, i.e. its position in a
+	 *         {@link TreeStreams#postOrderFromRoot(TreeNavigator, Object) post-order traversal} from the root
+	 * @throws IllegalArgumentException
+	 *             if the node is not contained in the indexed (sub-)tree
+	 */
+	public int getPostOrderIndex(N node) {
+		return postOrderIndices[getContainedPreOrderIndex(node)];
+	}
+
+	/**
+	 * @param node
+	 *            a node in the indexed (sub-)tree
+	 * @return the node's depth, where the root has depth 0
+	 * @throws IllegalArgumentException
+	 *             if the node is not contained in the indexed (sub-)tree
+	 */
+	public int getDepth(N node) {
+		return depths[getContainedPreOrderIndex(node)];
+	}
+
+	/**
+	 * @param node
+	 *            a node in the indexed (sub-)tree
+	 * @return the node's parent; {@link Optional#empty() empty} for the root
+	 * @throws IllegalArgumentException
+	 *             if the node is not contained in the indexed (sub-)tree
+	 */
+	public Optional<N> getParent(N node) {
+		int parent = parents[getContainedPreOrderIndex(node)];
+		return parent == NO_INDEX ? Optional.empty() : Optional.of(getNode(parent));
+	}
+
+	/**
+	 * @param node
+	 *            a node in the indexed (sub-)tree
+	 * @return the number of nodes in the subtree rooted in the node (including it)
+	 * @throws IllegalArgumentException
+	 *             if the node is not contained in the indexed (sub-)tree
+	 */
+	public int getSubtreeSize(N node) {
+		int preOrderIndex = getContainedPreOrderIndex(node);
+		return subtreeEnds[preOrderIndex] - preOrderIndex;
+	}
+
+	/**
+	 * Indicates whether the first node is a (proper) ancestor of the second, i.e. whether the second node is contained
+	 * in the first node's subtree but not the same node.
+	 * <p>
+	 * This needs constant time. If either node is not contained in the indexed (sub-)tree, false is returned.
+	 *
+	 * @param ancestor
+	 *            the node which might be the other's ancestor
+	 * @param descendant
+	 *            the node which might be the other's descendant
+	 * @return true if {@code ancestor} is an ancestor of {@code descendant}
+	 */
+	public boolean isAncestor(N ancestor, N descendant) {
+		int ancestorIndex = getPreOrderIndex(ancestor);
+		int descendantIndex = getPreOrderIndex(descendant);
+		if (ancestorIndex == NO_INDEX || descendantIndex == NO_INDEX)
+			return false;
+
+		return ancestorIndex < descendantIndex && descendantIndex < subtreeEnds[ancestorIndex];
+	}
+
+	/**
+	 * Returns the (proper) descendants of the specified node in pre-order.
+	 * <p>
+	 * The returned list is an unmodifiable view on this index which is created in constant time. It must not be used
+	 * after the index was invalidated or rebuilt.
+	 *
+	 * @param node
+	 *            a node in the indexed (sub-)tree
+	 * @return a list of the node's descendants
+	 * @throws IllegalArgumentException
+	 *             if the node is not contained in the indexed (sub-)tree
+	 */
+	public List<N> getDescendants(N node) {
+		int preOrderIndex = getContainedPreOrderIndex(node);
+
+		@SuppressWarnings("unchecked")
+		List<N> nodesAsList = (List<N>) Arrays.asList(nodes);
+		return Collections.unmodifiableList(nodesAsList.subList(preOrderIndex + 1, subtreeEnds[preOrderIndex]));
+	}
+
+	/**
+	 * Passes each (proper) descendant of the specified node to the specified action, in pre-order.
+	 *
+	 * @param node
+	 *            a node in the indexed (sub-)tree
+	 * @param action
+	 *            the action to perform on each descendant
+	 * @throws IllegalArgumentException
+	 *             if the node is not contained in the indexed (sub-)tree
+	 */
+	public void forEachDescendant(N node, Consumer<? super N> action) {
+		Objects.requireNonNull(action, "The argument 'action' must not be null.");
+		int preOrderIndex = getContainedPreOrderIndex(node);
+
+		int subtreeEnd = subtreeEnds[preOrderIndex];
+		for (int descendant = preOrderIndex + 1; descendant < subtreeEnd; descendant++)
+			action.accept(getNode(descendant));
+	}
+
+	private int getContainedPreOrderIndex(N node) {
+		int preOrderIndex = getPreOrderIndex(node);
+		if (preOrderIndex == NO_INDEX)
+			throw new IllegalArgumentException("The node " + node + " is not contained in this index.");
+		return preOrderIndex;
+	}
+
+	// #end QUERIES BY NODE
+
+	// #begin QUERIES BY INDEX
+
+	/**
+	 * @param preOrderIndex
+	 *            a pre-order index between 0 (inclusive) and {@link #size()} (exclusive)
+	 * @return the node with the specified pre-order index
+	 * @throws IndexOutOfBoundsException
+	 *             if the index is out of bounds
+	 */
+	@SuppressWarnings("unchecked")
+	public N getNode(int preOrderIndex) {
+		checkIndex(preOrderIndex);
+		return (N) nodes[preOrderIndex];
+	}
+
+	/**
+	 * Returns the pre-order index after the subtree rooted in the node with the specified index. The subtree's nodes
+	 * hence have the indices from {@code preOrderIndex} (inclusive) to the returned one (exclusive), so the descendants
+	 * of a node can be visited without allocating:
+	 *
+	 * <pre>
+	 * int subtreeEnd = index.getSubtreeEnd(nodeIndex);
+	 * for (int descendant = nodeIndex + 1; descendant &lt; subtreeEnd; descendant++)
+	 * 	process(index.getNode(descendant));
+	 * </pre>
+	 *
+	 * @param preOrderIndex
+	 *            a pre-order index between 0 (inclusive) and {@link #size()} (exclusive)
+	 * @return the pre-order index after the node's last descendant
+	 * @throws IndexOutOfBoundsException
+	 *             if the index is out of bounds
+	 */
+	public int getSubtreeEnd(int preOrderIndex) {
+		checkIndex(preOrderIndex);
+		return subtreeEnds[preOrderIndex];
+	}
+
+	/**
+	 * @param preOrderIndex
+	 *            a pre-order index between 0 (inclusive) and {@link #size()} (exclusive)
+	 * @return the pre-order index of the node's parent; {@link #NO_INDEX} for the root
+	 * @throws IndexOutOfBoundsException
+	 *             if the index is out of bounds
+	 */
+	public int getParentIndex(int preOrderIndex) {
+		checkIndex(preOrderIndex);
+		return parents[preOrderIndex];
+	}
+
+	/**
+	 * @param preOrderIndex
+	 *            a pre-order index between 0 (inclusive) and {@link #size()} (exclusive)
+	 * @return the depth of the node with the specified index, where the root has depth 0
+	 * @throws IndexOutOfBoundsException
+	 *             if the index is out of bounds
+	 */
+	public int getDepthAt(int preOrderIndex) {
+		checkIndex(preOrderIndex);
+		return depths[preOrderIndex];
+	}
+
+	private void checkIndex(int preOrderIndex) {
+		ensureValid();
+		if (preOrderIndex < 0 || size <= preOrderIndex)
+			throw new IndexOutOfBoundsException(
+					"The index " + preOrderIndex + " is out of bounds for an index of size " + size + ".");
+	}
+
+	// #end QUERIES BY INDEX
+
+}
@@ -0,0 +1,206 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import org.codefx.libfx.collection.tree.navigate.TreeNavigator;
+
+/**
+ * Answers structural queries about nodes in a tree, e.g. their <a
+ * href="https://en.wikipedia.org/wiki/Lowest_common_ancestor">lowest common ancestor</a>, their distance or the path
+ * between them.
+ * <p>
+ * The queries only use the navigator's {@link TreeNavigator#getParent(Object) getParent} method. They need time linear
+ * in the depth of the involved nodes and (apart from their results) do not create lists or paths. Nodes are compared
+ * with {@link Object#equals(Object) equals}.
+ * <p>
+ * For many queries on a large tree which does not change, a {@link BinaryLiftingIndex} answers the same queries in
+ * logarithmic time.
+ * <p>
+ * The queries are only defined on trees, i.e. connected, directed, acyclic graphs. Using them on other graphs can lead
+ * to unexpected behavior including infinite loops.
+ */
+public class TreeQueries {
+
+	/**
+	 * Private constructor so utility class is not instantiated.
+	 */
+	private TreeQueries() {
+		// nothing to do
+	}
+
+	// #begin QUERIES
+
+	/**
+	 * Computes the depth of the specified node, i.e. the number of its ancestors.
+	 *
+	 * @param <N>
+	 *            the type of nodes contained in the tree
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param node
+	 *            a node in the tree
+	 * @return the node's depth, where the root has depth 0
+	 */
+	public static <N> int depth(TreeNavigator<N> navigator, N node) {
+		Objects.requireNonNull(navigator, "The argument 'navigator' must not be null.");
+		Objects.requireNonNull(node, "The argument 'node' must not be null.");
+
+		int depth = 0;
+		Optional<N> ancestor = navigator.getParent(node);
+		while (ancestor.isPresent()) {
+			depth++;
+			ancestor = navigator.getParent(ancestor.get());
+		}
+		return depth;
+	}
+
+	/**
+	 * Indicates whether the first node is a (proper) ancestor of the second.
+	 *
+	 * @param <N>
+	 *            the type of nodes contained in the tree
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param ancestor
+	 *            the node which might be the other's ancestor
+	 * @param descendant
+	 *            the node which might be the other's descendant
+	 * @return true if {@code ancestor} is an ancestor of {@code descendant}
+	 */
+	public static <N> boolean isAncestor(TreeNavigator<N> navigator, N ancestor, N descendant) {
+		Objects.requireNonNull(navigator, "The argument 'navigator' must not be null.");
+		Objects.requireNonNull(ancestor, "The argument 'ancestor' must not be null.");
+		Objects.requireNonNull(descendant, "The argument 'descendant' must not be null.");
+
+		Optional<N> node = navigator.getParent(descendant);
+		while (node.isPresent()) {
+			if (ancestor.equals(node.get()))
+				return true;
+			node = navigator.getParent(node.get());
+		}
+		return false;
+	}
+
+	/**
+	 * Finds the lowest common ancestor of the specified nodes, i.e. the deepest node which has both nodes in its
+	 * subtree. If one node is an ancestor of the other (or both are the same), it is the lowest common ancestor.
+	 *
+	 * @param <N>
+	 *            the type of nodes contained in the tree
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param first
+	 *            a node in the tree
+	 * @param second
+	 *            another node in the tree
+	 * @return the lowest common ancestor; {@link Optional#empty() empty} if the nodes are not in the same tree
+	 */
+	public static <N> Optional<N> lowestCommonAncestor(TreeNavigator<N> navigator, N first, N second) {
+		Objects.requireNonNull(navigator, "The argument 'navigator' must not be null.");
+		Objects.requireNonNull(first, "The argument 'first' must not be null.");
+		Objects.requireNonNull(second, "The argument 'second' must not be null.");
+
+		int firstDepth = depth(navigator, first);
+		int secondDepth = depth(navigator, second);
+		N firstAncestor = ancestor(navigator, first, firstDepth - secondDepth);
+		N secondAncestor = ancestor(navigator, second, secondDepth - firstDepth);
+
+		// both ancestors have the same depth, so they reach the lowest common ancestor (or their roots) together
+		while (!firstAncestor.equals(secondAncestor)) {
+			Optional<N> firstParent = navigator.getParent(firstAncestor);
+			if (!firstParent.isPresent())
+				return Optional.empty();
+			firstAncestor = firstParent.get();
+			secondAncestor = navigator.getParent(secondAncestor).get();
+		}
+		return Optional.of(firstAncestor);
+	}
+
+	/**
+	 * Computes the distance between the specified nodes, i.e. the number of edges on the path between them.
+	 *
+	 * @param <N>
+	 *            the type of nodes contained in the tree
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param first
+	 *            a node in the tree
+	 * @param second
+	 *            another node in the tree
+	 * @return the distance; {@link OptionalInt#empty() empty} if the nodes are not in the same tree
+	 */
+	public static <N> OptionalInt distance(TreeNavigator<N> navigator, N first, N second) {
+		Objects.requireNonNull(navigator, "The argument 'navigator' must not be null.");
+		Objects.requireNonNull(first, "The argument 'first' must not be null.");
+		Objects.requireNonNull(second, "The argument 'second' must not be null.");
+
+		int firstDepth = depth(navigator, first);
+		int secondDepth = depth(navigator, second);
+		N firstAncestor = ancestor(navigator, first, firstDepth - secondDepth);
+		N secondAncestor = ancestor(navigator, second, secondDepth - firstDepth);
+
+		int distance = Math.abs(firstDepth - secondDepth);
+		while (!firstAncestor.equals(secondAncestor)) {
+			Optional<N> firstParent = navigator.getParent(firstAncestor);
+			if (!firstParent.isPresent())
+				return OptionalInt.empty();
+			firstAncestor = firstParent.get();
+			secondAncestor = navigator.getParent(secondAncestor).get();
+			distance += 2;
+		}
+		return OptionalInt.of(distance);
+	}
+
+	/**
+	 * Returns the path between the specified nodes. It starts with the first node, goes up to the nodes'
+	 * {@link #lowestCommonAncestor(TreeNavigator, Object, Object) lowest common ancestor} and then down to the second
+	 * node.
+	 *
+	 * @param <N>
+	 *            the type of nodes contained in the tree
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param first
+	 *            a node in the tree
+	 * @param second
+	 *            another node in the tree
+	 * @return the nodes on the path (including both specified nodes); {@link Optional#empty() empty} if the nodes are
+	 *         not in the same tree
+	 */
+	public static <N> Optional<List<N>> pathBetween(TreeNavigator<N> navigator, N first, N second) {
+		Optional<N> lowestCommonAncestor = lowestCommonAncestor(navigator, first, second);
+		if (!lowestCommonAncestor.isPresent())
+			return Optional.empty();
+
+		List<N> path = new ArrayList<>();
+		for (N node = first; !node.equals(lowestCommonAncestor.get()); node = navigator.getParent(node).get())
+			path.add(node);
+		path.add(lowestCommonAncestor.get());
+
+		int upwardsPathEnd = path.size();
+		for (N node = second; !node.equals(lowestCommonAncestor.get()); node = navigator.getParent(node).get())
+			path.add(node);
+		Collections.reverse(path.subList(upwardsPathEnd, path.size()));
+
+		return Optional.of(path);
+	}
+
+	/**
+	 * @return the ancestor which is the specified number of generations above the node; the node itself if the number
+	 *         is not positive
+	 */
+	private static <N> N ancestor(TreeNavigator<N> navigator, N node, int generations) {
+		N ancestor = node;
+		for (int generation = 0; generation < generations; generation++)
+			ancestor = navigator.getParent(ancestor).get();
+		return ancestor;
+	}
+
+	// #end QUERIES
+
+}
@@ -0,0 +1,133 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+import org.codefx.libfx.collection.tree.navigate.TreeNavigator;
+
+/**
+ * Reduces trees to single results in parallel.
+ * <p>
+ * A reduction maps each node of a (sub-)tree to a value and combines all values with a <a
+ * href="https://en.wikipedia.org/wiki/Monoid">monoid</a>, i.e. an associative combiner together with its identity.
+ * Typical examples are counting nodes ({@code 0}, {@code node -> 1}, {@code Integer::sum}), computing bounding boxes or
+ * hashing styles.
+ * <p>
+ * The tree is walked by {@link java.util.concurrent.RecursiveTask RecursiveTask}s in a {@link ForkJoinPool}. A task
+ * splits at nodes which have more children than the <i>split threshold</i> by forking tasks for subsets of those
+ * children. Unlike a {@link java.util.stream.Stream#parallel() parallel} {@link TreeStreams stream} followed by a
+ * reduction, no nodes are buffered and no stream pipeline is involved, so the work scales across cores with little
+ * overhead.
+ * <p>
+ * Values are combined in the order in which a depth-first search would encounter their nodes, so the combiner does not
+ * have to be commutative. The mapper and combiner will be called concurrently from different threads, though, so they
+ * must be stateless and the navigator must support concurrent reads of the tree.
+ * <p>
+ * The reductions are only defined on trees, i.e. connected, directed, acyclic graphs. Using them on other graphs can
+ * lead to unexpected behavior including infinite loops.
+ *
+ * @see TreeStreams#foldPostOrder(TreeNavigator, Object, Function, java.util.function.BiFunction) foldPostOrder
+ */
+public class TreeReductions {
+
+	// #begin CONSTANTS
+
+	/**
+	 * The split threshold used by {@link #reduce(TreeNavigator, Object, Object, Function, BinaryOperator) reduce} if
+	 * none is specified. With this value, every node with at least two children can be split.
+	 */
+	public static final int DEFAULT_SPLIT_THRESHOLD = 1;
+
+	// #end CONSTANTS
+
+	/**
+	 * Private constructor so utility class is not instantiated.
+	 */
+	private TreeReductions() {
+		// nothing to do
+	}
+
+	// #begin REDUCE
+
+	/**
+	 * Reduces the (sub-)tree rooted in the specified root by mapping each node to a value and combining the values with
+	 * the specified monoid.
+	 * <p>
+	 * The reduction is executed in the {@link ForkJoinPool#commonPool() common pool} and uses the
+	 * {@link #DEFAULT_SPLIT_THRESHOLD default split threshold}.
+	 *
+	 * @param <N>
+	 *            the type of nodes contained in the tree
+	 * @param <R>
+	 *            the type of the result
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param root
+	 *            the root node for the reduced (sub-)tree
+	 * @param identity
+	 *            the identity of the combiner, i.e. {@code combiner.apply(identity, value)} equals {@code value}
+	 * @param mapper
+	 *            maps each node to a value
+	 * @param combiner
+	 *            an associative, stateless function which combines two values
+	 * @return the result of combining the values of all nodes in the (sub-)tree
+	 */
+	public static <N, R> R reduce(TreeNavigator<N> navigator, N root,
+			R identity, Function<? super N, ? extends R> mapper, BinaryOperator<R> combiner) {
+		return reduce(navigator, root, identity, mapper, combiner, DEFAULT_SPLIT_THRESHOLD, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Reduces the (sub-)tree rooted in the specified root by mapping each node to a value and combining the values with
+	 * the specified monoid.
+	 * <p>
+	 * The reduction is executed in the specified pool. Only nodes with more children than the specified split
+	 * threshold are split into several tasks; a higher threshold hence leads to fewer but larger tasks. Independent of
+	 * the threshold, a worker stops splitting while it has enough queued tasks to keep other workers busy.
+	 *
+	 * @param <N>
+	 *            the type of nodes contained in the tree
+	 * @param <R>
+	 *            the type of the result
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param root
+	 *            the root node for the reduced (sub-)tree
+	 * @param identity
+	 *            the identity of the combiner, i.e. {@code combiner.apply(identity, value)} equals {@code value}
+	 * @param mapper
+	 *            maps each node to a value
+	 * @param combiner
+	 *            an associative, stateless function which combines two values
+	 * @param splitThreshold
+	 *            only nodes with more children than this are split; must not be negative
+	 * @param pool
+	 *            the pool in which the reduction is executed
+	 * @return the result of combining the values of all nodes in the (sub-)tree
+	 */
+	public static <N, R> R reduce(TreeNavigator<N> navigator, N root,
+			R identity, Function<? super N, ? extends R> mapper, BinaryOperator<R> combiner,
+			int splitThreshold, ForkJoinPool pool) {
+		return new ForkJoinTreeReduction<N, R>(navigator, identity, mapper, combiner, splitThreshold)
+				.reduce(root, pool);
+	}
+
+	/**
+	 * Counts the nodes in the (sub-)tree rooted in the specified root in parallel.
+	 *
+	 * @param <N>
+	 *            the type of nodes contained in the tree
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param root
+	 *            the root node for the counted (sub-)tree
+	 * @return the number of nodes in the (sub-)tree, including the root
+	 */
+	public static <N> long count(TreeNavigator<N> navigator, N root) {
+		return reduce(navigator, root, 0L, node -> 1L, Long::sum);
+	}
+
+	// #end REDUCE
+
+}
@@ -0,0 +1,336 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import org.codefx.libfx.collection.tree.navigate.TreeNavigator;
+
+/**
+ * Searches trees for nodes which pass a predicate (the goal) and stops as soon as enough of them were found.
+ * <p>
+ * The same can be expressed with {@link TreeStreams} and {@link java.util.stream.Stream#filter(Predicate) filter},
+ * {@link java.util.stream.Stream#limit(long) limit} and {@link java.util.stream.Stream#findFirst() findFirst} but the
+ * searches in this class avoid the stream pipeline. Their loops keep the state of the search in local arrays,
+ * access children in bulk with {@link TreeNavigator#getChildren(Object) getChildren} and do not create
+ * {@link java.util.Iterator Iterator}s or {@link Optional}s for each step. They can additionally be limited to a
+ * maximum depth (or distance), so the navigator is never used to find nodes beyond it.
+ * <p>
+ * {@link #findFirst(TreeNavigator, Object, Predicate) findFirst} and
+ * {@link #findAll(TreeNavigator, Object, Predicate, int) findAll} search a (sub-)tree in the order of a <a
+ * href="https://en.wikipedia.org/wiki/Depth-first_search">depth-first search</a>.
+ * {@link #findNearest(TreeNavigator, Object, Predicate) findNearest} searches outwards from a node, i.e. through its
+ * descendants, siblings and ancestors in the order of their distance from it.
+ * <p>
+ * The searches are only defined on trees, i.e. connected, directed, acyclic graphs. Using them on other graphs can
+ * lead to unexpected behavior including infinite loops.
+ */
+public class TreeSearch {
+
+	// #begin CONSTANTS
+
+	/**
+	 * Indicates that a search's depth or distance is not limited.
+	 */
+	public static final int UNLIMITED = Integer.MAX_VALUE;
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * Marks nodes in the queue of {@link #findNearest(TreeNavigator, Object, Predicate, int) findNearest} which were
+	 * reached from their parent.
+	 */
+	private static final Object REACHED_FROM_PARENT = new Object();
+
+	// #end CONSTANTS
+
+	/**
+	 * Private constructor so utility class is not instantiated.
+	 */
+	private TreeSearch() {
+		// nothing to do
+	}
+
+	// #begin DEPTH-FIRST
+
+	/**
+	 * Finds the first node in the (sub-)tree rooted in the specified root (in depth-first order) which passes the
+	 * specified goal.
+	 *
+	 * @param <N>
+	 *            the type of nodes contained in the tree
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param root
+	 *            the root node for the searched (sub-)tree
+	 * @param goal
+	 *            the predicate the searched node must pass
+	 * @return the first node which passes the goal; {@link Optional#empty() empty} if there is none
+	 */
+	public static <N> Optional<N> findFirst(TreeNavigator<N> navigator, N root, Predicate<? super N> goal) {
+		return findFirst(navigator, root, goal, UNLIMITED);
+	}
+
+	/**
+	 * Finds the first node in the (sub-)tree rooted in the specified root (in depth-first order) which passes the
+	 * specified goal and is at most the specified depth below the root.
+	 *
+	 * @param <N>
+	 *            the type of nodes contained in the tree
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param root
+	 *            the root node for the searched (sub-)tree
+	 * @param goal
+	 *            the predicate the searched node must pass
+	 * @param maxDepth
+	 *            the maximum depth of the searched nodes, where the root has depth 0; must not be negative;
+	 *            {@link #UNLIMITED} to search the whole (sub-)tree
+	 * @return the first node which passes the goal; {@link Optional#empty() empty} if there is none
+	 */
+	public static <N> Optional<N> findFirst(
+			TreeNavigator<N> navigator, N root, Predicate<? super N> goal, int maxDepth) {
+		List<N> found = findAll(navigator, root, goal, 1, maxDepth);
+		return found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+	}
+
+	/**
+	 * Finds the first nodes in the (sub-)tree rooted in the specified root (in depth-first order) which pass the
+	 * specified goal and stops when the specified number of them was found.
+	 *
+	 * @param <N>
+	 *            the type of nodes contained in the tree
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param root
+	 *            the root node for the searched (sub-)tree
+	 * @param goal
+	 *            the predicate the searched nodes must pass
+	 * @param limit
+	 *            the maximum number of returned nodes; must not be negative
+	 * @return the nodes which pass the goal in depth-first order
+	 */
+	public static <N> List<N> findAll(TreeNavigator<N> navigator, N root, Predicate<? super N> goal, int limit) {
+		return findAll(navigator, root, goal, limit, UNLIMITED);
+	}
+
+	/**
+	 * Finds the first nodes in the (sub-)tree rooted in the specified root (in depth-first order) which pass the
+	 * specified goal and are at most the specified depth below the root; stops when the specified number of them was
+	 * found.
+	 *
+	 * @param <N>
+	 *            the type of nodes contained in the tree
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param root
+	 *            the root node for the searched (sub-)tree
+	 * @param goal
+	 *            the predicate the searched nodes must pass
+	 * @param limit
+	 *            the maximum number of returned nodes; must not be negative
+	 * @param maxDepth
+	 *            the maximum depth of the searched nodes, where the root has depth 0; must not be negative;
+	 *            {@link #UNLIMITED} to search the whole (sub-)tree
+	 * @return the nodes which pass the goal in depth-first order
+	 */
+	@SuppressWarnings("unchecked")
+	public static <N> List<N> findAll(
+			TreeNavigator<N> navigator, N root, Predicate<? super N> goal, int limit, int maxDepth) {
+		Objects.requireNonNull(navigator, "The argument 'navigator' must not be null.");
+		Objects.requireNonNull(root, "The argument 'root' must not be null.");
+		Objects.requireNonNull(goal, "The argument 'goal' must not be null.");
+		if (limit < 0)
+			throw new IllegalArgumentException("The argument 'limit' must not be negative (was " + limit + ").");
+		if (maxDepth < 0)
+			throw new IllegalArgumentException("The argument 'maxDepth' must not be negative (was " + maxDepth + ").");
+
+		if (limit == 0)
+			return Collections.emptyList();
+		List<N> found = new ArrayList<>(Math.min(limit, INITIAL_CAPACITY));
+		if (goal.test(root)) {
+			found.add(root);
+			if (found.size() == limit)
+				return found;
+		}
+		if (maxDepth == 0)
+			return found;
+
+		// a stack of frames, each consisting of a list of siblings and the index of the next one to visit;
+		// the nodes in the frame on top of the stack have a depth which equals the stack's size
+		Object[] siblings = new Object[INITIAL_CAPACITY];
+		int[] nextSiblingIndices = new int[INITIAL_CAPACITY];
+		int depth = 0;
+
+		List<N> rootsChildren = navigator.getChildren(root);
+		if (!rootsChildren.isEmpty()) {
+			siblings[0] = rootsChildren;
+			depth = 1;
+		}
+
+		while (depth > 0) {
+			int top = depth - 1;
+			List<N> topSiblings = (List<N>) siblings[top];
+			if (nextSiblingIndices[top] == topSiblings.size()) {
+				siblings[top] = null;
+				depth--;
+				continue;
+			}
+
+			N node = topSiblings.get(nextSiblingIndices[top]++);
+			if (goal.test(node)) {
+				found.add(node);
+				if (found.size() == limit)
+					return found;
+			}
+			if (depth == maxDepth)
+				continue;
+
+			List<N> children = navigator.getChildren(node);
+			if (children.isEmpty())
+				continue;
+			if (depth == siblings.length) {
+				siblings = Arrays.copyOf(siblings, 2 * depth);
+				nextSiblingIndices = Arrays.copyOf(nextSiblingIndices, 2 * depth);
+			}
+			siblings[depth] = children;
+			nextSiblingIndices[depth] = 0;
+			depth++;
+		}
+
+		return found;
+	}
+
+	// #end DEPTH-FIRST
+
+	// #begin NEAREST
+
+	/**
+	 * Finds the node nearest to the specified start node which passes the specified goal.
+	 * <p>
+	 * The search expands outwards from the start node, i.e. it visits the nodes in the order of their
+	 * {@link TreeQueries#distance(TreeNavigator, Object, Object) distance} from the start node: first the start node
+	 * itself, then its children and its parent, then its grandchildren, its siblings and its grandparent and so forth.
+	 * Nodes with the same distance are visited in the order in which they were reached, where the children of a node
+	 * are reached before its parent.
+	 *
+	 * @param <N>
+	 *            the type of nodes contained in the tree
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param startNode
+	 *            the node in which the search starts
+	 * @param goal
+	 *            the predicate the searched node must pass
+	 * @return the nearest node which passes the goal; {@link Optional#empty() empty} if there is none
+	 */
+	public static <N> Optional<N> findNearest(TreeNavigator<N> navigator, N startNode, Predicate<? super N> goal) {
+		return findNearest(navigator, startNode, goal, UNLIMITED);
+	}
+
+	/**
+	 * Finds the node nearest to the specified start node which passes the specified goal and whose distance to it is
+	 * at most the specified maximum (see {@link #findNearest(TreeNavigator, Object, Predicate)}).
+	 *
+	 * @param <N>
+	 *            the type of nodes contained in the tree
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param startNode
+	 *            the node in which the search starts
+	 * @param goal
+	 *            the predicate the searched node must pass
+	 * @param maxDistance
+	 *            the maximum distance of the searched node from the start node; must not be negative;
+	 *            {@link #UNLIMITED} to search the whole tree
+	 * @return the nearest node which passes the goal; {@link Optional#empty() empty} if there is none
+	 */
+	@SuppressWarnings("unchecked")
+	public static <N> Optional<N> findNearest(
+			TreeNavigator<N> navigator, N startNode, Predicate<? super N> goal, int maxDistance) {
+		Objects.requireNonNull(navigator, "The argument 'navigator' must not be null.");
+		Objects.requireNonNull(startNode, "The argument 'startNode' must not be null.");
+		Objects.requireNonNull(goal, "The argument 'goal' must not be null.");
+		if (maxDistance < 0)
+			throw new IllegalArgumentException(
+					"The argument 'maxDistance' must not be negative (was " + maxDistance + ").");
+
+		// a breadth-first search over the tree's edges in both directions; in a tree it suffices to remember for
+		// each node where it was reached from (so the search does not go back) instead of all visited nodes:
+		// nodes reached from their parent only lead to their children; nodes reached from a child lead to their other
+		// children and their parent; the queue is a ring buffer of pairs of a node and where it was reached from
+		Object[] queue = new Object[2 * INITIAL_CAPACITY];
+		queue[0] = startNode;
+		int head = 0;
+		int size = 1;
+
+		int distance = 0;
+		int remainingAtDistance = 1;
+		while (size > 0) {
+			N node = (N) queue[2 * head];
+			Object reachedFrom = queue[2 * head + 1];
+			queue[2 * head] = null;
+			queue[2 * head + 1] = null;
+			head = (head + 1) % (queue.length / 2);
+			size--;
+
+			if (goal.test(node))
+				return Optional.of(node);
+
+			if (distance < maxDistance) {
+				List<N> children = navigator.getChildren(node);
+				if (queue.length / 2 < size + children.size() + 1) {
+					queue = growRingBuffer(queue, head, size, size + children.size() + 1);
+					head = 0;
+				}
+				int capacity = queue.length / 2;
+				for (int childIndex = 0; childIndex < children.size(); childIndex++) {
+					N child = children.get(childIndex);
+					// navigators might create new instances for the same node, so compare them with 'equals'
+					if (Objects.equals(child, reachedFrom))
+						continue;
+					int tail = (head + size) % capacity;
+					queue[2 * tail] = child;
+					queue[2 * tail + 1] = REACHED_FROM_PARENT;
+					size++;
+				}
+				if (reachedFrom != REACHED_FROM_PARENT) {
+					Optional<N> parent = navigator.getParent(node);
+					if (parent.isPresent()) {
+						int tail = (head + size) % capacity;
+						queue[2 * tail] = parent.get();
+						queue[2 * tail + 1] = node;
+						size++;
+					}
+				}
+			}
+
+			remainingAtDistance--;
+			if (remainingAtDistance == 0) {
+				distance++;
+				remainingAtDistance = size;
+			}
+		}
+
+		return Optional.empty();
+	}
+
+	private static Object[] growRingBuffer(Object[] queue, int head, int size, int minCapacity) {
+		int capacity = queue.length / 2;
+		int newCapacity = Math.max(2 * capacity, minCapacity);
+		Object[] newQueue = new Object[2 * newCapacity];
+		for (int index = 0; index < size; index++) {
+			int oldIndex = (head + index) % capacity;
+			newQueue[2 * index] = queue[2 * oldIndex];
+			newQueue[2 * index + 1] = queue[2 * oldIndex + 1];
+		}
+		return newQueue;
+	}
+
+	// #end NEAREST
+
+}
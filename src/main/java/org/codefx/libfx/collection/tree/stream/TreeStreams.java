@@ -3,18 +3,37 @@ package org.codefx.libfx.collection.tree.stream;
 import java.util.Iterator;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import org.codefx.libfx.collection.tree.navigate.SnapshotNavigator;
 import org.codefx.libfx.collection.tree.navigate.TreeNavigator;
 
 /**
  * Creates streams of nodes.
  * <p>
  * Unless otherwise noted all streams are {@link Spliterator#ORDERED ordered} and sequential. They are generated lazily,
- * i.e. the {@link TreeNavigator} is only used to find nodes which are known to be processed by the stream. This is
- * implies that short-circuiting operation (like {@link Stream#limit(long) limit}) will lead to the evaluation of less
- * nodes.
+ * i.e. the {@link TreeNavigator} is only used to find nodes which the stream is about to process. The depth-first
+ * streams access a node's children in bulk (with {@link TreeNavigator#getChildren(Object) getChildren}) as soon as
+ * the node itself is returned, so they look one level ahead: the children of each processed node are fetched even if
+ * the stream stops before processing them. Short-circuiting operations (like {@link Stream#limit(long) limit}) will
+ * still lead to the evaluation of fewer nodes.
+ * <p>
+ * The depth-first streams are backed by a spliterator which splits by handing off whole unvisited subtrees, so they
+ * perform well when made {@link Stream#parallel() parallel}. The backwards depth-first streams are backed by a
+ * spliterator which can not be split; they are meant to find nodes close to the start node and stop early. Streams
+ * created {@link #byStrategy(TreeIterationStrategy) by strategy} can only be split by buffering nodes. The
+ * {@link #prefetchingDfsFromRoot(TreeNavigator, Object, Executor, int) prefetching} depth-first
+ * stream is not lazy: it fetches the children of upcoming nodes in advance.
+ * <p>
+ * The depth-first streams stream each node's children from the list returned by {@code getChildren}, so they give a
+ * consistent view of each node's children even if the tree is changed while it is streamed (see
+ * {@link #dfsFromRoot(TreeNavigator, Object) dfsFromRoot} for the precondition). The other streams access children by
+ * index or more than once; a {@link SnapshotNavigator} gives them a consistent view.
  * <p>
  * The streams are only defined on trees, i.e. connected, directed, acyclic graphs. Creating them on other graphs can
  * lead to unexpected behavior including infinite streams.
@@ -29,6 +48,14 @@ public class TreeStreams {
 	 * Returns a stream which enumerates nodes in the (sub-)tree rooted in the specified root in the order of a <a
 	 * href="https://en.wikipedia.org/wiki/Depth-first_search">depth-first search</a>.
 	 * <p>
+	 * The stream gets each node's children with {@link TreeNavigator#getChildren(Object) getChildren} when it returns
+	 * the node and streams them from that list, which it discards once all of them were streamed. If the tree is
+	 * changed while it is streamed (e.g. by the stream's own operations), siblings are hence never skipped or repeated.
+	 * If the tree is changed concurrently, this only holds if the navigator's {@code getChildren} takes an atomic
+	 * snapshot of the children. The default implementation does not: it accesses each child by index, so it can skip or
+	 * repeat a sibling which is moved while it runs. Either way, the stream is no atomic snapshot of the entire tree,
+	 * e.g. a subtree which is moved to a node the stream did not yet reach can be streamed twice.
+	 * <p>
 	 * It is not necessary for the specified node to be the tree's actual root. It will be treated as the root of a
 	 * subtree and only this subtree will be streamed.
 	 *
@@ -42,8 +69,35 @@ public class TreeStreams {
 	 */
 	public static <N> Stream<N> dfsFromRoot(TreeNavigator<N> navigator, N root) {
 		TreePath<TreeNode<N>> initialPath = TreePathFactory.createWithSingleNode(root);
-		TreeIterationStrategy<N> strategy = new DfsTreeIterationStrategy<N>(navigator, initialPath);
-		return byStrategy(strategy);
+		return dfsByPath(navigator, initialPath, node -> true);
+	}
+
+	/**
+	 * Returns a stream which enumerates nodes in the (sub-)tree rooted in the specified root in the order of a <a
+	 * href="https://en.wikipedia.org/wiki/Depth-first_search">depth-first search</a> which only descends into nodes
+	 * which pass the specified predicate.
+	 * <p>
+	 * Each streamed node (including the root) is tested with the predicate before its children are visited. If it does
+	 * not pass, the node is still part of the stream but its entire subtree is skipped, i.e. the navigator is never
+	 * used to find its descendants. This is more efficient than {@link Stream#filter(Predicate) filtering} all nodes
+	 * in irrelevant subtrees, e.g. those of invisible nodes or collapsed containers.
+	 * <p>
+	 * It is not necessary for the specified node to be the tree's actual root. It will be treated as the root of a
+	 * subtree and only this subtree will be streamed.
+	 *
+	 * @param <N>
+	 *            the type of nodes contained in the tree
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param root
+	 *            the root node for the searched (sub-)tree
+	 * @param descendInto
+	 *            decides for each streamed node whether its children are visited
+	 * @return a stream of nodes
+	 */
+	public static <N> Stream<N> dfsFromRoot(TreeNavigator<N> navigator, N root, Predicate<? super N> descendInto) {
+		TreePath<TreeNode<N>> initialPath = TreePathFactory.createWithSingleNode(root);
+		return dfsByPath(navigator, initialPath, descendInto);
 	}
 
 	/**
@@ -54,6 +108,12 @@ public class TreeStreams {
 	 * While the search will start in the specified node it will eventually backtrack above it, i.e. the search is not
 	 * limited to the subtree rooted in the node. This is equivalent to starting a full depth-first search in the tree's
 	 * root but ignoring all encountered nodes until the specified start node is found.
+	 * <p>
+	 * The start node's position among its ancestors' children is looked up in the same lists from which the ancestors'
+	 * remaining children are streamed, so the search continues with the start node's actual siblings. If a node on the
+	 * path from the root to the start node is not among its parent's children (e.g. because the tree was changed), an
+	 * {@link IllegalStateException} is thrown. Otherwise, the children are streamed as described for
+	 * {@link #dfsFromRoot(TreeNavigator, Object) dfsFromRoot}, including the precondition for concurrent changes.
 	 *
 	 * @param <N>
 	 *            the type of nodes contained in the tree
@@ -65,8 +125,7 @@ public class TreeStreams {
 	 */
 	public static <N> Stream<N> dfsFromWithin(TreeNavigator<N> navigator, N startNode) {
 		TreePath<TreeNode<N>> initialPath = TreePathFactory.createFromRootToNode(navigator, startNode);
-		TreeIterationStrategy<N> strategy = new DfsTreeIterationStrategy<N>(navigator, initialPath);
-		return byStrategy(strategy);
+		return dfsByPath(navigator, initialPath, node -> true);
 	}
 
 	/**
@@ -91,8 +150,14 @@ public class TreeStreams {
 	 */
 	public static <N> Stream<N> dfsFromWithin(TreeNavigator<N> navigator, N root, N startNode) {
 		TreePath<TreeNode<N>> initialPath = TreePathFactory.createFromNodeToDescendant(navigator, root, startNode);
-		TreeIterationStrategy<N> strategy = new DfsTreeIterationStrategy<N>(navigator, initialPath);
-		return byStrategy(strategy);
+		return dfsByPath(navigator, initialPath, node -> true);
+	}
+
+	private static <N> Stream<N> dfsByPath(
+			TreeNavigator<N> navigator, TreePath<TreeNode<N>> initialPath, Predicate<? super N> descendInto) {
+		Spliterator<N> spliterator = new DfsTreeSpliterator<N>(
+				navigator, initialPath, descendInto, Spliterator.NONNULL | Spliterator.ORDERED);
+		return StreamSupport.stream(spliterator, false);
 	}
 
 	// backward
@@ -115,8 +180,7 @@ public class TreeStreams {
 	 */
 	public static <N> Stream<N> backwardDfs(TreeNavigator<N> navigator, N startNode) {
 		TreePath<TreeNode<N>> initialPath = TreePathFactory.createFromRootToNode(navigator, startNode);
-		TreeIterationStrategy<N> strategy = new DfsTreeIterationStrategy<N>(navigator, initialPath);
-		return byStrategy(strategy);
+		return backwardDfsByPath(navigator, initialPath);
 	}
 
 	/**
@@ -139,12 +203,302 @@ public class TreeStreams {
 	 */
 	public static <N> Stream<N> backwardDfsToRoot(TreeNavigator<N> navigator, N root, N startNode) {
 		TreePath<TreeNode<N>> initialPath = TreePathFactory.createFromNodeToDescendant(navigator, root, startNode);
-		TreeIterationStrategy<N> strategy = new DfsTreeIterationStrategy<N>(navigator, initialPath);
-		return byStrategy(strategy);
+		return backwardDfsByPath(navigator, initialPath);
+	}
+
+	private static <N> Stream<N> backwardDfsByPath(TreeNavigator<N> navigator, TreePath<TreeNode<N>> initialPath) {
+		Spliterator<N> spliterator = new BackwardsDfsTreeSpliterator<N>(
+				navigator, initialPath, Spliterator.NONNULL | Spliterator.ORDERED);
+		return StreamSupport.stream(spliterator, false);
 	}
 
 	// #end DFS
 
+	// #begin BFS
+
+	/**
+	 * Returns a stream which enumerates nodes in the (sub-)tree rooted in the specified root in the order of a <a
+	 * href="https://en.wikipedia.org/wiki/Breadth-first_search">breadth-first search</a>, i.e. level by level.
+	 * <p>
+	 * It is not necessary for the specified node to be the tree's actual root. It will be treated as the root of a
+	 * subtree and only this subtree will be streamed.
+	 *
+	 * @param <N>
+	 *            the type of nodes contained in the tree
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param root
+	 *            the root node for the searched (sub-)tree
+	 * @return a stream of nodes
+	 */
+	public static <N> Stream<N> bfsFromRoot(TreeNavigator<N> navigator, N root) {
+		TreeIterationStrategy<N> strategy = new BfsTreeIterationStrategy<N>(navigator, root);
+		return byStrategy(strategy);
+	}
+
+	/**
+	 * Returns a stream which enumerates nodes in the (sub-)tree rooted in the specified root in the order of a <a
+	 * href="https://en.wikipedia.org/wiki/Breadth-first_search">breadth-first search</a>, i.e. level by level, but
+	 * does not descend below the specified depth.
+	 * <p>
+	 * It is not necessary for the specified node to be the tree's actual root. It will be treated as the root of a
+	 * subtree (with depth 0) and only this subtree will be streamed. Nodes below the maximum depth are never visited,
+	 * so the memory required by the search is bounded by the width of the widest levels above that depth.
+	 *
+	 * @param <N>
+	 *            the type of nodes contained in the tree
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param root
+	 *            the root node for the searched (sub-)tree
+	 * @param maxDepth
+	 *            the depth of the deepest nodes which will be streamed, where the root has depth 0; must not be
+	 *            negative
+	 * @return a stream of nodes
+	 */
+	public static <N> Stream<N> bfsFromRoot(TreeNavigator<N> navigator, N root, int maxDepth) {
+		TreeIterationStrategy<N> strategy = new BfsTreeIterationStrategy<N>(navigator, root, maxDepth);
+		return byStrategy(strategy);
+	}
+
+	/**
+	 * Returns a stream which enumerates nodes in the (sub-)tree rooted in the specified root in the order of a <a
+	 * href="https://en.wikipedia.org/wiki/Breadth-first_search">breadth-first search</a>, i.e. level by level, which
+	 * only descends into nodes which pass the specified predicate.
+	 * <p>
+	 * Each streamed node (including the root) is tested with the predicate before its children are visited. If it does
+	 * not pass, the node is still part of the stream but its entire subtree is skipped (see
+	 * {@link #dfsFromRoot(TreeNavigator, Object, Predicate) dfsFromRoot}).
+	 *
+	 * @param <N>
+	 *            the type of nodes contained in the tree
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param root
+	 *            the root node for the searched (sub-)tree
+	 * @param descendInto
+	 *            decides for each streamed node whether its children are visited
+	 * @return a stream of nodes
+	 */
+	public static <N> Stream<N> bfsFromRoot(TreeNavigator<N> navigator, N root, Predicate<? super N> descendInto) {
+		TreeIterationStrategy<N> strategy = new BfsTreeIterationStrategy<N>(
+				navigator, root, BfsTreeIterationStrategy.UNLIMITED_DEPTH, descendInto);
+		return byStrategy(strategy);
+	}
+
+	// #end BFS
+
+	// #begin WITH PATH
+
+	/**
+	 * Returns a stream which enumerates nodes in the (sub-)tree rooted in the specified root in the order of a <a
+	 * href="https://en.wikipedia.org/wiki/Depth-first_search">depth-first search</a>, each together with its depth and
+	 * path.
+	 * <p>
+	 * Each {@link NodeWithPath} references the one created for its parent, so depth and path are known without using
+	 * the navigator to walk back up the tree. They are relative to the specified root, which has depth 0. Apart from
+	 * that, the stream behaves like the one returned by {@link #dfsFromRoot(TreeNavigator, Object) dfsFromRoot}.
+	 *
+	 * @param <N>
+	 *            the type of nodes contained in the tree
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param root
+	 *            the root node for the searched (sub-)tree
+	 * @return a stream of nodes with their paths
+	 */
+	public static <N> Stream<NodeWithPath<N>> dfsWithPathFromRoot(TreeNavigator<N> navigator, N root) {
+		return dfsFromRoot(new NodeWithPathNavigator<>(navigator), NodeWithPath.root(root));
+	}
+
+	/**
+	 * Returns a stream which enumerates nodes in the (sub-)tree rooted in the specified root in the order of a <a
+	 * href="https://en.wikipedia.org/wiki/Depth-first_search">depth-first search</a>, each together with its depth and
+	 * path, which only descends into nodes which pass the specified predicate.
+	 * <p>
+	 * This combines {@link #dfsWithPathFromRoot(TreeNavigator, Object) dfsWithPathFromRoot} and
+	 * {@link #dfsFromRoot(TreeNavigator, Object, Predicate) dfsFromRoot}. Because the predicate is called with a
+	 * {@link NodeWithPath}, it can also prune the search based on a node's depth or path.
+	 *
+	 * @param <N>
+	 *            the type of nodes contained in the tree
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param root
+	 *            the root node for the searched (sub-)tree
+	 * @param descendInto
+	 *            decides for each streamed node whether its children are visited
+	 * @return a stream of nodes with their paths
+	 */
+	public static <N> Stream<NodeWithPath<N>> dfsWithPathFromRoot(
+			TreeNavigator<N> navigator, N root, Predicate<? super NodeWithPath<N>> descendInto) {
+		return dfsFromRoot(new NodeWithPathNavigator<>(navigator), NodeWithPath.root(root), descendInto);
+	}
+
+	/**
+	 * Returns a stream which enumerates nodes in the (sub-)tree rooted in the specified root in the order of a <a
+	 * href="https://en.wikipedia.org/wiki/Breadth-first_search">breadth-first search</a>, each together with its depth
+	 * and path.
+	 * <p>
+	 * Each {@link NodeWithPath} references the one created for its parent, so depth and path are known without using
+	 * the navigator to walk back up the tree. They are relative to the specified root, which has depth 0. Apart from
+	 * that, the stream behaves like the one returned by {@link #bfsFromRoot(TreeNavigator, Object) bfsFromRoot}.
+	 *
+	 * @param <N>
+	 *            the type of nodes contained in the tree
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param root
+	 *            the root node for the searched (sub-)tree
+	 * @return a stream of nodes with their paths
+	 */
+	public static <N> Stream<NodeWithPath<N>> bfsWithPathFromRoot(TreeNavigator<N> navigator, N root) {
+		return bfsFromRoot(new NodeWithPathNavigator<>(navigator), NodeWithPath.root(root));
+	}
+
+	// #end WITH PATH
+
+	// #begin POST-ORDER
+
+	/**
+	 * Returns a stream which enumerates nodes in the (sub-)tree rooted in the specified root in <a
+	 * href="https://en.wikipedia.org/wiki/Tree_traversal#Post-order">post-order</a>, i.e. each node after all of its
+	 * descendants.
+	 * <p>
+	 * It is not necessary for the specified node to be the tree's actual root. It will be treated as the root of a
+	 * subtree and only this subtree will be streamed; consequently the root is the last streamed node. The memory
+	 * required by the stream is linear in the depth of the tree.
+	 *
+	 * @param <N>
+	 *            the type of nodes contained in the tree
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param root
+	 *            the root node for the searched (sub-)tree
+	 * @return a stream of nodes
+	 */
+	public static <N> Stream<N> postOrderFromRoot(TreeNavigator<N> navigator, N root) {
+		TreeIterationStrategy<N> strategy = new PostOrderTreeIterationStrategy<N>(navigator, root);
+		return byStrategy(strategy);
+	}
+
+	/**
+	 * Folds the (sub-)tree rooted in the specified root into a single result by computing a result for each subtree in
+	 * one post-order pass.
+	 * <p>
+	 * The result of a node's subtree is computed by applying {@code initial} to the node and then folding the results
+	 * of its children's subtrees into it with {@code accumulate} (in the order of the children's indices). The result
+	 * of the root's subtree is returned. For example, the number of nodes in a tree can be computed with
+	 *
+	 * <pre>
+	 * int size = TreeStreams.foldPostOrder(navigator, root, node -&gt; 1, Integer::sum);
+	 * </pre>
+	 *
+	 * Nodes are neither collected nor is the fold implemented recursively, so the memory it requires is linear in the
+	 * depth of the tree and deep trees do not overflow the call stack.
+	 *
+	 * @param <N>
+	 *            the type of nodes contained in the tree
+	 * @param <R>
+	 *            the type of the result
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param root
+	 *            the root node for the folded (sub-)tree
+	 * @param initial
+	 *            computes the initial value of each node
+	 * @param accumulate
+	 *            combines a node's current value (first argument) with the result of one of its children's subtrees
+	 *            (second argument)
+	 * @return the result of folding the (sub-)tree
+	 */
+	public static <N, R> R foldPostOrder(TreeNavigator<N> navigator, N root,
+			Function<? super N, ? extends R> initial, BiFunction<? super R, ? super R, ? extends R> accumulate) {
+		return new PostOrderFold<N, R>(navigator, initial, accumulate).fold(root);
+	}
+
+	// #end POST-ORDER
+
+	// #begin PREFETCHING
+
+	/**
+	 * Returns a stream which enumerates nodes in the (sub-)tree rooted in the specified root in the order of a <a
+	 * href="https://en.wikipedia.org/wiki/Depth-first_search">depth-first search</a> and fetches the children of
+	 * upcoming nodes in advance.
+	 * <p>
+	 * This is meant for navigators which are backed by slow I/O (e.g. a remote file system or a lazily loaded database
+	 * hierarchy). Instead of blocking on each call to the navigator, the children of the nodes which will be streamed
+	 * next are requested by tasks running on the specified executor. At most {@code prefetchWindow} such requests are
+	 * outstanding at any time, so the stream's throughput is limited by the number of requests the navigator can
+	 * handle in parallel instead of by their latency. Because the requests block while waiting for I/O, the executor
+	 * should not be the {@link java.util.concurrent.ForkJoinPool#commonPool() common pool} but e.g. a fixed thread
+	 * pool with at least {@code prefetchWindow} threads (or an executor which starts a virtual thread per task on
+	 * runtimes which support them).
+	 * <p>
+	 * The navigator's {@link TreeNavigator#getChildren(Object) getChildren} method must be thread-safe. If it throws an
+	 * exception, the exception is rethrown by the stream when it reaches the node whose children could not be fetched.
+	 * <p>
+	 * Prefetching means that the navigator is used to find nodes which might not be processed by the stream (e.g.
+	 * when it is short-circuited). {@link Stream#close() Closing} the stream cancels the outstanding requests, so the
+	 * stream should be used in a try-with-resources block.
+	 * <p>
+	 * It is not necessary for the specified node to be the tree's actual root. It will be treated as the root of a
+	 * subtree and only this subtree will be streamed.
+	 *
+	 * @param <N>
+	 *            the type of nodes contained in the tree
+	 * @param navigator
+	 *            the navigator used to navigate the tree
+	 * @param root
+	 *            the root node for the searched (sub-)tree
+	 * @param executor
+	 *            the executor which performs the requests for children
+	 * @param prefetchWindow
+	 *            the maximum number of outstanding requests; must be positive
+	 * @return a stream of nodes
+	 */
+	public static <N> Stream<N> prefetchingDfsFromRoot(
+			TreeNavigator<N> navigator, N root, Executor executor, int prefetchWindow) {
+		PrefetchingDfsTreeSpliterator<N> spliterator = new PrefetchingDfsTreeSpliterator<N>(
+				navigator, root, executor, prefetchWindow, Spliterator.NONNULL | Spliterator.ORDERED);
+		return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+	}
+
+	// #end PREFETCHING
+
+	// #begin SIZED
+
+	/**
+	 * Returns a {@link Spliterator#SIZED sized} stream which enumerates nodes in the (sub-)tree rooted in the specified
+	 * root in the order of a <a href="https://en.wikipedia.org/wiki/Depth-first_search">depth-first search</a>.
+	 * <p>
+	 * The stream uses the specified cache to determine its exact size, which allows operations like
+	 * {@link Stream#toArray() toArray} to presize their results. When made {@link Stream#parallel() parallel}, it
+	 * splits into parts of (roughly) equal size instead of into equal numbers of subtrees. The first use of the cache
+	 * for a (sub-)tree traverses it to compute the sizes, so this pays off if the sizes are reused by several streams.
+	 * The cache must be kept up to date (see {@link SubtreeSizeCache}); otherwise the stream's behavior is undefined.
+	 * Because the cache only holds its nodes weakly, it should not be used with navigators which create new node
+	 * instances on each access; each split of the stream would then traverse whole subtrees again.
+	 * <p>
+	 * It is not necessary for the specified node to be the tree's actual root. It will be treated as the root of a
+	 * subtree and only this subtree will be streamed.
+	 *
+	 * @param <N>
+	 *            the type of nodes contained in the tree
+	 * @param sizes
+	 *            the cache of subtree sizes, which also provides the navigator used to navigate the tree
+	 * @param root
+	 *            the root node for the searched (sub-)tree
+	 * @return a stream of nodes
+	 */
+	public static <N> Stream<N> sizedDfsFromRoot(SubtreeSizeCache<N> sizes, N root) {
+		Spliterator<N> spliterator =
+				DfsTreeSpliterator.createSized(sizes, root, Spliterator.NONNULL | Spliterator.ORDERED);
+		return StreamSupport.stream(spliterator, false);
+	}
+
+	// #end SIZED
+
 	/**
 	 * Returns a stream which enumerates a tree's nodes according to the specified {@link TreeIterationStrategy}.
 	 *
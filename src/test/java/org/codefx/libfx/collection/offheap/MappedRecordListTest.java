@@ -0,0 +1,254 @@
+package org.codefx.libfx.collection.offheap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.codefx.libfx.collection.transform.TransformingCollectionBuilder;
+import org.codefx.libfx.collection.transform.TransformingList;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link MappedRecordList}.
+ */
+public class MappedRecordListTest {
+
+	private static final int RECORD_SIZE = Long.BYTES;
+
+	private Path file;
+
+	private MappedRecordList list;
+
+	@Before
+	@SuppressWarnings("javadoc")
+	public void setUp() throws IOException {
+		file = Files.createTempFile("records", ".bin");
+		Files.delete(file);
+		list = MappedRecordList.open(file, RECORD_SIZE);
+	}
+
+	@After
+	@SuppressWarnings("javadoc")
+	public void tearDown() throws IOException {
+		list.close();
+		Files.deleteIfExists(file);
+	}
+
+	// open
+
+	@Test(expected = IllegalArgumentException.class)
+	@SuppressWarnings("javadoc")
+	public void open_recordSizeZero_throwsException() throws IOException {
+		MappedRecordList.open(file, 0);
+	}
+
+	@Test(expected = IOException.class)
+	@SuppressWarnings("javadoc")
+	public void open_differentRecordSize_throwsException() throws IOException {
+		list.close();
+
+		MappedRecordList.open(file, 2 * RECORD_SIZE);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void open_afterClose_containsSameRecords() throws IOException {
+		list.add(record(1));
+		list.add(record(2));
+		list.close();
+
+		list = MappedRecordList.open(file, RECORD_SIZE);
+
+		assertEquals(Arrays.asList(1L, 2L), values(list));
+	}
+
+	// access
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void add_records_areReturnedInOrder() {
+		for (long value = 0; value < 5_000; value++)
+			list.add(record(value));
+
+		assertEquals(5_000, list.size());
+		for (int index = 0; index < 5_000; index++)
+			assertEquals(index, list.get(index).getLong(0));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	@SuppressWarnings("javadoc")
+	public void add_recordWithWrongSize_throwsException() {
+		list.add(ByteBuffer.allocate(RECORD_SIZE + 1));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	@SuppressWarnings("javadoc")
+	public void get_indexOutOfBounds_throwsException() {
+		list.add(record(1));
+
+		list.get(1);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void get_returnsReadOnlyRecord() {
+		list.add(record(1));
+
+		ByteBuffer record = list.get(0);
+
+		assertTrue(record.isReadOnly());
+		assertEquals(RECORD_SIZE, record.remaining());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void set_returnsCopyOfFormerRecord() {
+		list.add(record(1));
+
+		ByteBuffer formerRecord = list.set(0, record(2));
+
+		assertEquals(1, formerRecord.getLong(0));
+		assertEquals(2, list.get(0).getLong(0));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void addAndRemoveAtIndex_shiftRecords() {
+		list.addAll(Arrays.asList(record(1), record(2), record(4)));
+
+		list.add(2, record(3));
+		list.add(0, record(0));
+		ByteBuffer removed = list.remove(1);
+
+		assertEquals(1, removed.getLong(0));
+		assertEquals(Arrays.asList(0L, 2L, 3L, 4L), values(list));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void contains_comparesContent() {
+		list.add(record(1));
+
+		assertTrue(list.contains(record(1)));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void sort_unsortedRecords_sortsWithoutLosingRecords() {
+		addRecords(3, 1, 2);
+
+		list.sort(Comparator.comparingLong(record -> record.getLong(0)));
+
+		assertEquals(Arrays.asList(1L, 2L, 3L), values(list));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void replaceAll_operatorReadsOtherRecords_seesFormerRecords() {
+		addRecords(1, 2, 3);
+
+		// replace each record with its successor (or the first record for the last one)
+		list.replaceAll(record -> list.get((list.indexOf(record) + 1) % list.size()));
+
+		assertEquals(Arrays.asList(2L, 3L, 1L), values(list));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void toArray_recordsChangedAfterwards_containsFormerRecords() {
+		addRecords(1, 2);
+
+		Object[] records = list.toArray();
+		list.set(0, record(3));
+
+		assertEquals(1L, ((ByteBuffer) records[0]).getLong(0));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	@SuppressWarnings("javadoc")
+	public void size_afterClose_throwsException() throws IOException {
+		list.close();
+
+		list.size();
+	}
+
+	// transformation
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void transformingList_decodesAndEncodesRecords() {
+		TransformingList<ByteBuffer, Long> values = TransformingCollectionBuilder
+				.<ByteBuffer, Long> forInnerAndOuterType(ByteBuffer.class, Long.class)
+				.toOuter(record -> record.getLong(0))
+				.toInner(MappedRecordListTest::record)
+				.transformList(list);
+
+		values.add(5L);
+		values.add(7L);
+		values.set(0, 6L);
+
+		assertEquals(Arrays.asList(6L, 7L), values);
+		assertEquals(Arrays.asList(6L, 7L), values(list));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void transformingList_sort_sortsRecords() {
+		addRecords(3, 1, 2);
+		TransformingList<ByteBuffer, Long> values = transformToLongs(list);
+
+		values.sort(Comparator.naturalOrder());
+
+		assertEquals(Arrays.asList(1L, 2L, 3L), values(list));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void transformingList_sortTransformingOnce_sortsRecords() {
+		addRecords(3, 1, 2);
+		TransformingList<ByteBuffer, Long> values = transformToLongs(list);
+
+		values.sortTransformingOnce(Comparator.naturalOrder());
+
+		assertEquals(Arrays.asList(1L, 2L, 3L), values(list));
+	}
+
+	// helper
+
+	private void addRecords(long... values) {
+		for (long value : values)
+			list.add(record(value));
+	}
+
+	private static TransformingList<ByteBuffer, Long> transformToLongs(List<ByteBuffer> records) {
+		return TransformingCollectionBuilder
+				.<ByteBuffer, Long> forInnerAndOuterType(ByteBuffer.class, Long.class)
+				.toOuter(record -> record.getLong(0))
+				.toInner(MappedRecordListTest::record)
+				.transformList(records);
+	}
+
+	private static ByteBuffer record(long value) {
+		ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+		record.putLong(0, value);
+		return record;
+	}
+
+	private static List<Long> values(List<ByteBuffer> records) {
+		List<Long> values = new ArrayList<>();
+		for (ByteBuffer record : records)
+			values.add(record.getLong(0));
+		return values;
+	}
+
+}
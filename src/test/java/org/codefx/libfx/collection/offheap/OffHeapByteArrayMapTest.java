@@ -0,0 +1,325 @@
+package org.codefx.libfx.collection.offheap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+
+import org.codefx.libfx.collection.transform.TransformingMap;
+import org.codefx.libfx.collection.transform.TransformingMapBuilder;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link OffHeapByteArrayMap}.
+ */
+public class OffHeapByteArrayMapTest {
+
+	/**
+	 * A small chunk size so that tests allocate several chunks and trigger compaction.
+	 */
+	private static final int CHUNK_SIZE = 64;
+
+	private OffHeapByteArrayMap map;
+
+	@Before
+	@SuppressWarnings("javadoc")
+	public void setUp() {
+		map = new OffHeapByteArrayMap(0, CHUNK_SIZE);
+	}
+
+	// construction
+
+	@Test(expected = IllegalArgumentException.class)
+	@SuppressWarnings("javadoc")
+	public void create_negativeExpectedSize_throwsException() {
+		new OffHeapByteArrayMap(-1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	@SuppressWarnings("javadoc")
+	public void create_chunkSizeZero_throwsException() {
+		new OffHeapByteArrayMap(16, 0);
+	}
+
+	// put & get
+
+	@Test(expected = NullPointerException.class)
+	@SuppressWarnings("javadoc")
+	public void put_nullValue_throwsException() {
+		map.put(1, null);
+	}
+
+	@Test(expected = NullPointerException.class)
+	@SuppressWarnings("javadoc")
+	public void put_nullKey_throwsException() {
+		map.put(null, new byte[0]);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void get_absentKey_returnsNull() {
+		assertNull(map.get(1L));
+		assertNull(map.get("not a long"));
+		assertFalse(map.getBuffer(1).isPresent());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void put_newKey_valueCanBeRetrieved() {
+		byte[] formerValue = map.put(1, bytes("one"));
+
+		assertNull(formerValue);
+		assertEquals(1, map.size());
+		assertTrue(map.containsKey(1L));
+		assertArrayEquals(bytes("one"), map.get(1L));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void put_valueModifiedAfterwards_mapContainsCopy() {
+		byte[] value = bytes("one");
+		map.put(1, value);
+
+		value[0] = 'x';
+
+		assertArrayEquals(bytes("one"), map.get(1L));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void put_existingKey_replacesValueAndReturnsFormerOne() {
+		map.put(1, bytes("one"));
+
+		byte[] formerValue = map.put(1, bytes("uno"));
+
+		assertArrayEquals(bytes("one"), formerValue);
+		assertArrayEquals(bytes("uno"), map.get(1L));
+		assertEquals(1, map.size());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void put_valueLargerThanChunk_valueCanBeRetrieved() {
+		byte[] largeValue = new byte[3 * CHUNK_SIZE];
+		new Random(0).nextBytes(largeValue);
+
+		map.put(1, largeValue);
+
+		assertArrayEquals(largeValue, map.get(1L));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getBuffer_keyRemappedAfterwards_bufferIsUnchanged() {
+		map.put(1, bytes("one"));
+		ByteBuffer buffer = map.getBuffer(1).get();
+
+		map.put(1, bytes("uno"));
+		map.compact();
+
+		assertTrue(buffer.isReadOnly());
+		assertEquals(ByteBuffer.wrap(bytes("one")), buffer);
+	}
+
+	// remove
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void remove_existingKey_returnsValueAndRemovesKey() {
+		map.put(1, bytes("one"));
+
+		byte[] removedValue = map.remove(1L);
+
+		assertArrayEquals(bytes("one"), removedValue);
+		assertFalse(map.containsKey(1L));
+		assertTrue(map.isEmpty());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void remove_absentKey_returnsNull() {
+		assertNull(map.remove(1L));
+		assertNull(map.remove("not a long"));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void clear_nonEmptyMap_isEmpty() {
+		map.put(1, bytes("one"));
+		map.put(2, bytes("two"));
+
+		map.clear();
+
+		assertTrue(map.isEmpty());
+		assertNull(map.get(1L));
+	}
+
+	// iteration
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void entrySet_iteration_returnsAllEntries() {
+		Map<Long, String> expected = new HashMap<>();
+		for (long key = 0; key < 100; key++) {
+			map.put(key, bytes("value " + key));
+			expected.put(key, "value " + key);
+		}
+
+		Map<Long, String> actual = new HashMap<>();
+		for (Entry<Long, byte[]> entry : map.entrySet())
+			actual.put(entry.getKey(), string(entry.getValue()));
+
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void entrySetIterator_remove_removesEntries() {
+		for (long key = 0; key < 100; key++)
+			map.put(key, bytes("value " + key));
+
+		for (Iterator<Entry<Long, byte[]>> iterator = map.entrySet().iterator(); iterator.hasNext();)
+			if (iterator.next().getKey() % 2 == 0)
+				iterator.remove();
+
+		assertEquals(50, map.size());
+		for (long key = 0; key < 100; key++)
+			assertEquals(key % 2 == 1, map.containsKey(key));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void entrySetIteration_valuesReplacedWhileIterating_visitsEachEntryOnce() {
+		// removals leave markers in the index, so rebuilding it moves the entries to other slots;
+		// in some of the runs, the index is exactly full enough to be rebuilt before the next insertion
+		for (int seed = 0; seed < 200; seed++) {
+			Random random = new Random(seed);
+			map = new OffHeapByteArrayMap(0, CHUNK_SIZE);
+			int insertions = random.nextInt(200);
+			for (int i = 0; i < insertions; i++) {
+				long key = random.nextLong();
+				map.put(key, bytes("value " + key));
+				if (random.nextInt(3) == 0)
+					map.remove(key);
+			}
+
+			Map<Long, String> visited = new HashMap<>();
+			for (Entry<Long, byte[]> entry : map.entrySet()) {
+				assertNull(visited.put(entry.getKey(), string(entry.getValue())));
+				map.put(entry.getKey(), bytes("replaced"));
+			}
+
+			assertEquals(map.size(), visited.size());
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void entrySetValue_existingEntry_writesThroughToMap() {
+		map.put(1L, bytes("one"));
+		Entry<Long, byte[]> entry = map.entrySet().iterator().next();
+
+		byte[] formerValue = entry.setValue(bytes("uno"));
+
+		assertEquals("one", string(formerValue));
+		assertEquals("uno", string(entry.getValue()));
+		assertEquals("uno", string(map.get(1L)));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void replaceAll_replacesAllValues() {
+		for (long key = 0; key < 100; key++)
+			map.put(key, bytes("value " + key));
+
+		map.replaceAll((key, value) -> bytes(string(value).toUpperCase()));
+
+		assertEquals(100, map.size());
+		for (long key = 0; key < 100; key++)
+			assertEquals("VALUE " + key, string(map.get(key)));
+	}
+
+	// stress
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void randomOperations_behavesLikeHashMap() {
+		Map<Long, String> expected = new HashMap<>();
+		Random random = new Random(42);
+		for (int i = 0; i < 20_000; i++) {
+			long key = random.nextInt(1_000);
+			if (random.nextInt(3) == 0) {
+				String expectedRemoved = expected.remove(key);
+				byte[] removed = map.remove(key);
+				assertEquals(expectedRemoved, removed == null ? null : string(removed));
+			} else {
+				String value = "value " + random.nextInt();
+				String expectedFormer = expected.put(key, value);
+				byte[] former = map.put(key, bytes(value));
+				assertEquals(expectedFormer, former == null ? null : string(former));
+			}
+		}
+
+		assertEquals(expected.size(), map.size());
+		expected.forEach((key, value) -> assertEquals(value, string(map.get(key))));
+	}
+
+	// transformation
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void transformingMap_serializesValues() {
+		TransformingMap<Long, Long, byte[], String> strings = TransformingMapBuilder
+				.<Long, Long, byte[], String> forTypes(Long.class, Long.class, byte[].class, String.class)
+				.toOuterKey(key -> key)
+				.toInnerKey(key -> key)
+				.toOuterValue(OffHeapByteArrayMapTest::string)
+				.toInnerValue(OffHeapByteArrayMapTest::bytes)
+				.transformMap(map);
+
+		strings.put(1L, "one");
+
+		assertEquals("one", strings.get(1L));
+		assertArrayEquals(bytes("one"), map.get(1L));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void transformingMap_replaceAll_replacesSerializedValues() {
+		TransformingMap<Long, Long, byte[], String> strings = TransformingMapBuilder
+				.<Long, Long, byte[], String> forTypes(Long.class, Long.class, byte[].class, String.class)
+				.toOuterKey(key -> key)
+				.toInnerKey(key -> key)
+				.toOuterValue(OffHeapByteArrayMapTest::string)
+				.toInnerValue(OffHeapByteArrayMapTest::bytes)
+				.transformMap(map);
+		strings.put(1L, "one");
+		strings.put(2L, "two");
+
+		strings.replaceAll((key, value) -> value + key);
+
+		assertEquals("one1", string(map.get(1L)));
+		assertEquals("two2", string(map.get(2L)));
+	}
+
+	// helper
+
+	private static byte[] bytes(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static String string(byte[] value) {
+		return new String(value, StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,345 @@
+package org.codefx.libfx.collection.transform;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+
+import org.codefx.libfx.collection.transform.ModificationLog.Changes;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link ModificationLog} and how {@link AbstractTransformingCollection} and {@link AbstractTransformingMap}
+ * record their modifications to it.
+ */
+public class ModificationLogTest {
+
+	private List<String> innerList;
+
+	private TransformingList<String, Integer> transformingList;
+
+	private Map<String, String> innerMap;
+
+	private TransformingMap<String, Integer, String, Integer> transformingMap;
+
+	@Before
+	@SuppressWarnings("javadoc")
+	public void setUp() {
+		innerList = new ArrayList<>(Arrays.asList("1", "2", "3", "2"));
+		transformingList = TransformingCollectionBuilder
+				.<String, Integer> forInnerAndOuterType(String.class, Integer.class)
+				.toOuter(Integer::valueOf)
+				.toInner(Object::toString)
+				.transformList(innerList);
+
+		innerMap = new HashMap<>();
+		innerMap.put("1", "10");
+		innerMap.put("2", "20");
+		innerMap.put("3", "30");
+		transformingMap = TransformingMapBuilder
+				.<String, Integer, String, Integer> forTypes(String.class, Integer.class, String.class, Integer.class)
+				.toOuterKey(Integer::valueOf)
+				.toInnerKey(Object::toString)
+				.toOuterValue(Integer::valueOf)
+				.toInnerValue(Object::toString)
+				.transformMap(innerMap);
+	}
+
+	// log
+
+	@Test(expected = IllegalArgumentException.class)
+	@SuppressWarnings("javadoc")
+	public void create_capacityZero_throwsException() {
+		new ModificationLog<>(0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	@SuppressWarnings("javadoc")
+	public void drainChanges_cursorAfterCurrentCursor_throwsException() {
+		ModificationLog<String> log = new ModificationLog<>(4);
+		log.record("a");
+
+		log.drainChanges(2);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void drainChanges_withinCapacity_returnsModificationsSinceCursor() {
+		ModificationLog<String> log = new ModificationLog<>(4);
+		log.record("a");
+		log.record("b");
+		log.record("c");
+
+		Changes<String> changes = log.drainChanges(1);
+
+		assertEquals(Arrays.asList("b", "c"), changes.getModifications());
+		assertEquals(3, changes.getNextCursor());
+		assertTrue(changes.isComplete());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void drainChanges_calledTwice_returnsSameModifications() {
+		ModificationLog<String> log = new ModificationLog<>(4);
+		log.record("a");
+
+		assertEquals(log.drainChanges(0).getModifications(), log.drainChanges(0).getModifications());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void drainChanges_beyondCapacity_returnsRetainedModificationsAsIncomplete() {
+		ModificationLog<String> log = new ModificationLog<>(2);
+		log.record("a");
+		log.record("b");
+		log.record("c");
+
+		Changes<String> changes = log.drainChanges(0);
+
+		assertEquals(Arrays.asList("b", "c"), changes.getModifications());
+		assertEquals(3, changes.getNextCursor());
+		assertFalse(changes.isComplete());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void drainChanges_currentCursor_returnsNoModifications() {
+		ModificationLog<String> log = new ModificationLog<>(2);
+		log.record("a");
+
+		Changes<String> changes = log.drainChanges(log.getCursor());
+
+		assertEquals(Collections.emptyList(), changes.getModifications());
+		assertTrue(changes.isComplete());
+	}
+
+	// collection
+
+	@Test(expected = IllegalStateException.class)
+	@SuppressWarnings("javadoc")
+	public void startModificationLog_calledTwice_throwsException() {
+		transformingList.startModificationLog(4);
+		transformingList.startModificationLog(4);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void collection_notLogging_hasNoLog() {
+		transformingList.add(4);
+
+		assertFalse(transformingList.getModificationLog().isPresent());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void collection_addAndRemove_logsModificationsInOuterTerms() {
+		ModificationLog<ElementModification<Integer>> log = transformingList.startModificationLog(16);
+
+		transformingList.add(4);
+		transformingList.remove((Object) 1);
+		transformingList.remove((Object) 5);
+
+		assertEquals(
+				Arrays.asList(ElementModification.added(4, 4), ElementModification.removed(0, 1)),
+				log.drainChanges(0).getModifications());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void collection_bulkOperations_logOnlyActualModifications() {
+		ModificationLog<ElementModification<Integer>> log = transformingList.startModificationLog(16);
+
+		transformingList.removeAll(Arrays.asList(3, 5));
+		transformingList.retainAll(Arrays.asList(1));
+
+		assertEquals(
+				Arrays.asList(
+						ElementModification.removed(2, 3),
+						ElementModification.removed(1, 2),
+						ElementModification.removed(1, 2)),
+				log.drainChanges(0).getModifications());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void collection_variousModifications_replayReproducesContent() {
+		List<Integer> replica = new ArrayList<>(transformingList);
+		ModificationLog<ElementModification<Integer>> log = transformingList.startModificationLog(64);
+
+		transformingList.addAll(Arrays.asList(5, 6));
+		transformingList.removeIf(element -> element == 2);
+		transformingList.set(0, 7);
+		transformingList.replaceAll(element -> element * 10);
+		transformingList.subList(1, 3).clear();
+		ListIterator<Integer> iterator = transformingList.listIterator();
+		iterator.next();
+		iterator.set(8);
+		iterator.add(9);
+		Iterator<Integer> removingIterator = transformingList.iterator();
+		removingIterator.next();
+		removingIterator.remove();
+
+		replay(log.drainChanges(0), replica);
+		assertEquals(transformingList, replica);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void collection_removeIf_logsRemovalsAfterTheyHappened() {
+		ModificationLog<ElementModification<Integer>> log = transformingList.startModificationLog(16);
+
+		transformingList.removeIf(element -> {
+			// every logged removal must already have happened
+			assertEquals(4 - transformingList.size(), log.drainChanges(0).getModifications().size());
+			return element == 2;
+		});
+
+		assertEquals(
+				Arrays.asList(ElementModification.removed(1, 2), ElementModification.removed(2, 2)),
+				log.drainChanges(0).getModifications());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void collection_sortAndSubListModifications_replayReproducesOrder() {
+		List<Integer> replica = new ArrayList<>(transformingList);
+		ModificationLog<ElementModification<Integer>> log = transformingList.startModificationLog(64);
+
+		transformingList.sort(Comparator.naturalOrder());
+		transformingList.subList(1, 3).add(0, 5);
+		transformingList.subList(2, 5).sort(Comparator.reverseOrder());
+		transformingList.sortTransformingOnce(Comparator.reverseOrder());
+		transformingList.add(1, 6);
+		transformingList.remove((Object) 2);
+
+		replay(log.drainChanges(0), replica);
+		assertEquals(transformingList, replica);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void collection_clear_logsCleared() {
+		ModificationLog<ElementModification<Integer>> log = transformingList.startModificationLog(4);
+
+		transformingList.clear();
+
+		assertEquals(
+				Arrays.asList(ElementModification.cleared()),
+				log.drainChanges(0).getModifications());
+	}
+
+	// map
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void map_putAndRemove_logsModificationsInOuterTerms() {
+		ModificationLog<EntryModification<Integer, Integer>> log = transformingMap.startModificationLog(16);
+
+		transformingMap.put(4, 40);
+		transformingMap.remove(1);
+		transformingMap.remove(5);
+
+		assertEquals(
+				Arrays.asList(EntryModification.put(4, 40), EntryModification.removed(1)),
+				log.drainChanges(0).getModifications());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void map_variousModifications_replayReproducesContent() {
+		Map<Integer, Integer> replica = new HashMap<>(transformingMap);
+		ModificationLog<EntryModification<Integer, Integer>> log = transformingMap.startModificationLog(64);
+
+		transformingMap.putIfAbsent(4, 40);
+		transformingMap.putAll(Collections.singletonMap(5, 50));
+		transformingMap.compute(1, (key, value) -> value + 1);
+		transformingMap.computeIfPresent(2, (key, value) -> null);
+		transformingMap.merge(6, 60, Integer::sum);
+		transformingMap.replace(3, 33);
+		transformingMap.replaceAll((key, value) -> value * 2);
+		transformingMap.remove(4, 80);
+
+		replay(log.drainChanges(0), replica);
+		assertEquals(replica, transformingMap);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void map_modificationsThroughViews_replayReproducesContent() {
+		Map<Integer, Integer> replica = new HashMap<>(transformingMap);
+		ModificationLog<EntryModification<Integer, Integer>> log = transformingMap.startModificationLog(64);
+
+		transformingMap.keySet().remove(1);
+		transformingMap.values().remove(20);
+		transformingMap.put(4, 40);
+		transformingMap.put(5, 50);
+		transformingMap.entrySet().removeIf(entry -> entry.getKey() == 4);
+		transformingMap.values().removeAll(Arrays.asList(50));
+
+		replay(log.drainChanges(0), replica);
+		assertEquals(replica, transformingMap);
+		assertEquals(Collections.singletonMap(3, 30), replica);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void map_clearThroughView_logsCleared() {
+		ModificationLog<EntryModification<Integer, Integer>> log = transformingMap.startModificationLog(4);
+
+		transformingMap.values().clear();
+
+		assertEquals(
+				Arrays.asList(EntryModification.cleared()),
+				log.drainChanges(0).getModifications());
+	}
+
+	// helper
+
+	private static <E> void replay(Changes<ElementModification<E>> changes, List<E> replica) {
+		assertTrue(changes.isComplete());
+		for (ElementModification<E> modification : changes.getModifications()) {
+			// modifications of lists always carry an index
+			int index = modification.getType() == ElementModification.Type.CLEARED
+					? -1
+					: modification.getIndex().getAsInt();
+			switch (modification.getType()) {
+			case ADDED:
+				replica.add(index, modification.getElement());
+				break;
+			case REMOVED:
+				assertEquals(modification.getElement(), replica.remove(index));
+				break;
+			case CLEARED:
+				replica.clear();
+				break;
+			}
+		}
+	}
+
+	private static <K, V> void replay(Changes<EntryModification<K, V>> changes, Map<K, V> replica) {
+		assertTrue(changes.isComplete());
+		for (EntryModification<K, V> modification : changes.getModifications())
+			switch (modification.getType()) {
+			case PUT:
+				replica.put(modification.getKey(), modification.getValue());
+				break;
+			case REMOVED:
+				replica.remove(modification.getKey());
+				break;
+			case CLEARED:
+				replica.clear();
+				break;
+			}
+	}
+
+}
@@ -0,0 +1,143 @@
+package org.codefx.libfx.collection.transform;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link TransformationStatistics} and how the builders instrument transforming collections and maps with it.
+ */
+public class TransformationStatisticsTest {
+
+	private TransformationStatistics statistics;
+
+	private TransformingList<String, Integer> transformingList;
+
+	@Before
+	@SuppressWarnings("javadoc")
+	public void setUp() {
+		statistics = new TransformationStatistics(1);
+		transformingList = TransformingCollectionBuilder
+				.<String, Integer> forInnerAndOuterType(String.class, Integer.class)
+				.toOuter(Integer::valueOf)
+				.toInner(Object::toString)
+				.instrumentWith(statistics)
+				.transformList(new ArrayList<>(Arrays.asList("1", "2", "3")));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	@SuppressWarnings("javadoc")
+	public void create_samplingIntervalZero_throwsException() {
+		new TransformationStatistics(0);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void create_noTransformations_statisticsAreEmpty() {
+		assertEquals(0, statistics.getToOuterCount());
+		assertEquals(0, statistics.getToInnerCount());
+		assertEquals(0, statistics.getRejectionCount());
+		assertFalse(statistics.getAverageToOuterNanos().isPresent());
+		assertFalse(statistics.getAverageToInnerNanos().isPresent());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void iterate_countsTransformationsToOuter() {
+		List<Integer> copy = new ArrayList<>();
+		transformingList.forEach(copy::add);
+
+		assertEquals(3, statistics.getToOuterCount());
+		assertEquals(0, statistics.getToInnerCount());
+		assertTrue(statistics.getAverageToOuterNanos().isPresent());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void add_countsTransformationToInner() {
+		transformingList.add(4);
+
+		assertEquals(0, statistics.getToOuterCount());
+		assertEquals(1, statistics.getToInnerCount());
+		assertTrue(statistics.getAverageToInnerNanos().isPresent());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void contains_elementOfWrongType_countsRejection() {
+		transformingList.contains("1");
+
+		assertEquals(1, statistics.getRejectionCount());
+		assertEquals(0, statistics.getToInnerCount());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void addNull_transformationIsNotCounted() {
+		transformingList.add(null);
+
+		assertEquals(0, statistics.getToInnerCount());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void reset_afterTransformations_statisticsAreEmpty() {
+		transformingList.add(4);
+		transformingList.contains("1");
+
+		statistics.reset();
+
+		assertEquals(0, statistics.getToInnerCount());
+		assertEquals(0, statistics.getRejectionCount());
+		assertFalse(statistics.getAverageToInnerNanos().isPresent());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void map_countsKeyAndValueTransformationsAndRejections() {
+		Map<String, Integer> map = TransformingMapBuilder
+				.<String, String, String, Integer> forTypes(String.class, String.class, String.class, Integer.class)
+				.toOuterKey(key -> key)
+				.toInnerKey(key -> key)
+				.toOuterValue(Integer::valueOf)
+				.toInnerValue(Object::toString)
+				.instrumentWith(statistics)
+				.transformMap(new HashMap<>());
+
+		map.put("a", 1);
+		map.get("a");
+		map.containsKey(1);
+
+		// 'put' transforms key and value to inner and the null former value (which is not counted);
+		// 'get' transforms the key to inner and the value to outer
+		assertEquals(3, statistics.getToInnerCount());
+		assertEquals(1, statistics.getToOuterCount());
+		assertEquals(1, statistics.getRejectionCount());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void notInstrumented_statisticsAreNotChanged() {
+		TransformingList<String, Integer> notInstrumented = TransformingCollectionBuilder
+				.<String, Integer> forInnerAndOuterType(String.class, Integer.class)
+				.toOuter(Integer::valueOf)
+				.toInner(Object::toString)
+				.transformList(new ArrayList<>(Arrays.asList("1")));
+
+		notInstrumented.add(2);
+		notInstrumented.contains("1");
+
+		assertEquals(0, statistics.getToInnerCount());
+		assertEquals(0, statistics.getRejectionCount());
+	}
+
+}
@@ -0,0 +1,123 @@
+package org.codefx.libfx.collection.transform;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link AbstractTransformingList#sortTransformingOnce(Comparator) sortTransformingOnce} and
+ * {@link AbstractTransformingList#parallelSortTransformingOnce(Comparator) parallelSortTransformingOnce}.
+ */
+public class TransformingListSortTest {
+
+	private List<String> innerList;
+
+	private AtomicInteger toOuterCount;
+
+	private AtomicInteger toInnerCount;
+
+	private TransformingList<String, Integer> transformingList;
+
+	@Before
+	@SuppressWarnings("javadoc")
+	public void setUp() {
+		innerList = new ArrayList<>(Arrays.asList("5", "3", "8", "1", "9", "2", "7"));
+		toOuterCount = new AtomicInteger();
+		toInnerCount = new AtomicInteger();
+		transformingList = TransformingCollectionBuilder
+				.<String, Integer> forInnerAndOuterType(String.class, Integer.class)
+				.toOuter(inner -> {
+					toOuterCount.incrementAndGet();
+					return Integer.valueOf(inner);
+				})
+				.toInner(outer -> {
+					toInnerCount.incrementAndGet();
+					return outer.toString();
+				})
+				.transformList(innerList);
+	}
+
+	// sequential
+
+	@Test(expected = NullPointerException.class)
+	@SuppressWarnings("javadoc")
+	public void sortTransformingOnce_nullComparator_throwsNullPointerException() {
+		transformingList.sortTransformingOnce(null);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void sortTransformingOnce_sortsInnerList() {
+		transformingList.sortTransformingOnce(Comparator.naturalOrder());
+
+		assertEquals(Arrays.asList("1", "2", "3", "5", "7", "8", "9"), innerList);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void sortTransformingOnce_transformsEachElementOnce() {
+		transformingList.sortTransformingOnce(Comparator.reverseOrder());
+
+		assertEquals(innerList.size(), toOuterCount.get());
+		assertEquals(0, toInnerCount.get());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void sortTransformingOnce_isStable() {
+		List<String> innerElements = new ArrayList<>(Arrays.asList("b2", "a1", "b1", "a2"));
+		TransformingList<String, String> byFirstLetter = TransformingCollectionBuilder
+				.<String, String> forInnerAndOuterType(String.class, String.class)
+				.toOuter(inner -> inner)
+				.toInner(outer -> outer)
+				.transformList(innerElements);
+
+		byFirstLetter.sortTransformingOnce(Comparator.comparing(element -> element.charAt(0)));
+
+		assertEquals(Arrays.asList("a1", "a2", "b2", "b1"), innerElements);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void sortTransformingOnce_emptyList_remainsEmpty() {
+		innerList.clear();
+
+		transformingList.sortTransformingOnce(Comparator.naturalOrder());
+
+		assertEquals(Collections.emptyList(), innerList);
+	}
+
+	// parallel
+
+	@Test(expected = NullPointerException.class)
+	@SuppressWarnings("javadoc")
+	public void parallelSortTransformingOnce_nullComparator_throwsNullPointerException() {
+		transformingList.parallelSortTransformingOnce(null);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void parallelSortTransformingOnce_sortsInnerList() {
+		transformingList.parallelSortTransformingOnce(Comparator.naturalOrder());
+
+		assertEquals(Arrays.asList("1", "2", "3", "5", "7", "8", "9"), innerList);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void parallelSortTransformingOnce_transformsEachElementOnce() {
+		transformingList.parallelSortTransformingOnce(Comparator.reverseOrder());
+
+		assertEquals(innerList.size(), toOuterCount.get());
+		assertEquals(0, toInnerCount.get());
+	}
+
+}
@@ -0,0 +1,124 @@
+package org.codefx.libfx.collection.tree.navigate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.codefx.libfx.collection.tree.stream.TreeShape;
+import org.codefx.libfx.collection.tree.stream.TreeStreams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Abstract superclass to benchmarks of {@link TreeNavigator} implementations. Each benchmark accesses the children (or
+ * the parent) of every node in a tree with one of the navigator's methods.
+ * <p>
+ * Navigators for UI hierarchies are much slower than the streams' benchmark nodes and the index-based methods might
+ * even need time linear in the number of siblings. The trees are hence smaller than those used to benchmark the
+ * streams.
+ * <p>
+ * This is not a test and is hence not run during the build. Run it via
+ * {@link org.codefx.libfx.collection.tree.stream.TreeBenchmarks TreeBenchmarks}, which adds allocation rates to the
+ * report.
+ *
+ * @param <N>
+ *            the type of nodes contained in the tree
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@SuppressWarnings("javadoc")
+public abstract class AbstractTreeNavigatorBenchmark<N> {
+
+	@Param({ "CHAIN", "FAN", "BINARY", "OCTARY" })
+	public TreeShape shape;
+
+	@Param({ "1000", "10000" })
+	public int size;
+
+	private TreeNavigator<N> navigator;
+
+	/**
+	 * The tree's nodes in breadth-first order.
+	 */
+	private List<N> nodes;
+
+	@Setup
+	public void createTree() {
+		navigator = createNavigator();
+		nodes = createTree(shape, size);
+	}
+
+	// #begin ABSTRACT METHODS
+
+	/**
+	 * @return the tested navigator
+	 */
+	protected abstract TreeNavigator<N> createNavigator();
+
+	/**
+	 * Creates a tree which can be navigated by the {@link #createNavigator() tested navigator}.
+	 *
+	 * @param shape
+	 *            the tree's shape
+	 * @param size
+	 *            the number of nodes in the tree
+	 * @return the tree's nodes as returned by {@link TreeShape#create(int, java.util.function.Supplier,
+	 *         java.util.function.BiConsumer) TreeShape.create}
+	 */
+	protected abstract List<N> createTree(TreeShape shape, int size);
+
+	// #end ABSTRACT METHODS
+
+	// #begin BENCHMARKS
+
+	@Benchmark
+	public void getChild(Blackhole blackhole) {
+		for (N node : nodes) {
+			int childrenCount = navigator.getChildrenCount(node);
+			for (int childIndex = 0; childIndex < childrenCount; childIndex++)
+				blackhole.consume(navigator.getChild(node, childIndex));
+		}
+	}
+
+	@Benchmark
+	public void forEachChild(Blackhole blackhole) {
+		for (N node : nodes)
+			navigator.forEachChild(node, blackhole::consume);
+	}
+
+	@Benchmark
+	public void getChildren(Blackhole blackhole) {
+		for (N node : nodes)
+			for (N child : navigator.getChildren(node))
+				blackhole.consume(child);
+	}
+
+	@Benchmark
+	public void getParentAndChildIndex(Blackhole blackhole) {
+		for (N node : nodes) {
+			blackhole.consume(navigator.getParent(node));
+			blackhole.consume(navigator.getChildIndex(node));
+		}
+	}
+
+	@Benchmark
+	public void dfsFromRoot(Blackhole blackhole) {
+		TreeStreams.dfsFromRoot(navigator, nodes.get(0)).forEach(blackhole::consume);
+	}
+
+	// #end BENCHMARKS
+
+}
@@ -3,7 +3,10 @@ package org.codefx.libfx.collection.tree.navigate;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.OptionalInt;
 
@@ -149,6 +152,65 @@ public abstract class AbstractTreeNavigatorTest<E> {
 		}
 	}
 
+	// forEachChild
+
+	@Test(expected = NullPointerException.class)
+	@SuppressWarnings("javadoc")
+	public void forEachChild_parentNull_throwsNullPointerException() throws Exception {
+		navigator.forEachChild(null, child -> {});
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void forEachChild_nodeWithoutChildren_performsNoAction() throws Exception {
+		List<E> children = new ArrayList<>();
+
+		navigator.forEachChild(createSingletonNode(), children::add);
+
+		assertTrue(children.isEmpty());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void forEachChild_nodeWithChildren_passesChildrenInOrder() throws Exception {
+		E parent = createNodeWithChildren(5);
+		List<E> children = new ArrayList<>();
+
+		navigator.forEachChild(parent, children::add);
+
+		assertEquals(5, children.size());
+		for (int childIndex = 0; childIndex < 5; childIndex++)
+			assertSame(getChildOfParent(parent, childIndex), children.get(childIndex));
+	}
+
+	// getChildren
+
+	@Test(expected = NullPointerException.class)
+	@SuppressWarnings("javadoc")
+	public void getChildren_parentNull_throwsNullPointerException() throws Exception {
+		navigator.getChildren(null);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getChildren_nodeWithoutChildren_returnsEmptyList() throws Exception {
+		List<E> children = navigator.getChildren(createSingletonNode());
+
+		assertTrue(children.isEmpty());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getChildren_nodeWithChildren_returnsChildrenInOrder() throws Exception {
+		E parent = createNodeWithChildren(5);
+
+		List<E> children = navigator.getChildren(parent);
+
+		assertEquals(5, children.size());
+		for (int childIndex = 0; childIndex < 5; childIndex++)
+			assertSame(getChildOfParent(parent, childIndex), children.get(childIndex));
+	}
+
 	// #begin ABSTRACT METHODS
 
 	/**
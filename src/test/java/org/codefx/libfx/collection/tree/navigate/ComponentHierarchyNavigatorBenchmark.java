@@ -0,0 +1,27 @@
+package org.codefx.libfx.collection.tree.navigate;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.util.List;
+
+import org.codefx.libfx.collection.tree.stream.TreeShape;
+import org.openjdk.jmh.annotations.Fork;
+
+/**
+ * Benchmarks {@link ComponentHierarchyNavigator} on a hierarchy of lightweight {@link Container}s. The forked JVM runs
+ * in headless mode, so no display is needed.
+ */
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ComponentHierarchyNavigatorBenchmark extends AbstractTreeNavigatorBenchmark<Component> {
+
+	@Override
+	protected TreeNavigator<Component> createNavigator() {
+		return new ComponentHierarchyNavigator();
+	}
+
+	@Override
+	protected List<Component> createTree(TreeShape shape, int size) {
+		return shape.create(size, Container::new, (parent, child) -> ((Container) parent).add(child));
+	}
+
+}
@@ -0,0 +1,48 @@
+package org.codefx.libfx.collection.tree.navigate;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Tests {@link DomNavigator}.
+ */
+public class DomNavigatorTest extends AbstractTreeNavigatorTest<Node> {
+
+	private final Document document;
+
+	@SuppressWarnings("javadoc")
+	public DomNavigatorTest() throws ParserConfigurationException {
+		document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+	}
+
+	@Override
+	protected TreeNavigator<Node> createNavigator() {
+		return new DomNavigator();
+	}
+
+	@Override
+	protected Node createSingletonNode() {
+		return document.createElement("singleton");
+	}
+
+	@Override
+	protected Node createNodeWithChildren(int nrOfChildren) {
+		Element parent = document.createElement("parent");
+		for (int i = 0; i < nrOfChildren; i++)
+			if (i % 2 == 0)
+				parent.appendChild(document.createElement("child"));
+			else
+				parent.appendChild(document.createTextNode("Child #" + i));
+		return parent;
+	}
+
+	@Override
+	protected Node getChildOfParent(Node parent, int childIndex) {
+		return parent.getChildNodes().item(childIndex);
+	}
+
+}
@@ -0,0 +1,112 @@
+package org.codefx.libfx.collection.tree.navigate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.control.TextArea;
+
+import org.codefx.tarkastus.JavaFXRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Tests {@link IndexingSceneGraphNavigator}.
+ */
+public class IndexingSceneGraphNavigatorTest extends AbstractTreeNavigatorTest<Node> {
+
+	/**
+	 * Runs all tests in the JavaFX platform thread.
+	 */
+	@Rule
+	public JavaFXRule javaFXRule = new JavaFXRule();
+
+	// index maintenance
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getChildIndex_childInsertedBeforeNode_returnsUpdatedIndex() throws Exception {
+		TreeNavigator<Node> navigator = createNavigator();
+		Group parent = (Group) createNodeWithChildren(3);
+		Node lastChild = parent.getChildren().get(2);
+		// create the index
+		assertEquals(2, navigator.getChildIndex(lastChild).getAsInt());
+
+		Node newChild = new TextArea("New child");
+		parent.getChildren().add(0, newChild);
+
+		assertEquals(0, navigator.getChildIndex(newChild).getAsInt());
+		assertEquals(3, navigator.getChildIndex(lastChild).getAsInt());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getChildIndex_childRemovedBeforeNode_returnsUpdatedIndex() throws Exception {
+		TreeNavigator<Node> navigator = createNavigator();
+		Group parent = (Group) createNodeWithChildren(3);
+		Node firstChild = parent.getChildren().get(0);
+		Node lastChild = parent.getChildren().get(2);
+		// create the index
+		assertEquals(2, navigator.getChildIndex(lastChild).getAsInt());
+
+		parent.getChildren().remove(firstChild);
+
+		assertFalse(navigator.getChildIndex(firstChild).isPresent());
+		assertEquals(1, navigator.getChildIndex(lastChild).getAsInt());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getChildIndex_childrenReordered_returnsUpdatedIndices() throws Exception {
+		TreeNavigator<Node> navigator = createNavigator();
+		Group parent = (Group) createNodeWithChildren(3);
+		Node firstChild = parent.getChildren().get(0);
+		// create the index
+		assertEquals(0, navigator.getChildIndex(firstChild).getAsInt());
+
+		firstChild.toFront();
+
+		assertEquals(2, navigator.getChildIndex(firstChild).getAsInt());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getChildIndex_indexCreated_doesNotModifyParentProperties() throws Exception {
+		TreeNavigator<Node> navigator = createNavigator();
+		Group parent = (Group) createNodeWithChildren(3);
+
+		navigator.getChildIndex(parent.getChildren().get(1));
+
+		assertTrue(parent.getProperties().isEmpty());
+	}
+
+	// #begin IMPLEMENTATION OF ABSTRACT METHODS
+
+	@Override
+	protected TreeNavigator<Node> createNavigator() {
+		return new IndexingSceneGraphNavigator();
+	}
+
+	@Override
+	protected Node createSingletonNode() {
+		return new TextArea("A node without parents and children.");
+	}
+
+	@Override
+	protected Node createNodeWithChildren(int nrOfChildren) {
+		Group parent = new Group();
+		for (int i = 0; i < nrOfChildren; i++)
+			parent.getChildren().add(new TextArea("Child #" + i));
+		return parent;
+	}
+
+	@Override
+	protected Node getChildOfParent(Node parent, int childIndex) {
+		return ((Group) parent).getChildren().get(childIndex);
+	}
+
+	// #end IMPLEMENTATION OF ABSTRACT METHODS
+
+}
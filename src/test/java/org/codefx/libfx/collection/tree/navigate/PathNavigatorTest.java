@@ -0,0 +1,181 @@
+package org.codefx.libfx.collection.tree.navigate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.codefx.libfx.collection.tree.stream.TreeStreams;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link PathNavigator}.
+ * <p>
+ * Unlike the other navigator tests, this one can not extend {@link AbstractTreeNavigatorTest} because paths are
+ * compared by equality instead of identity.
+ */
+public class PathNavigatorTest {
+
+	// #begin FIELDS
+
+	private PathNavigator navigator;
+
+	private Path root;
+
+	// #end FIELDS
+
+	@Before
+	@SuppressWarnings("javadoc")
+	public void setUp() throws IOException {
+		navigator = new PathNavigator();
+
+		/*
+		 * root
+		 * +- a
+		 * |  +- a1.txt
+		 * |  +- a2.txt
+		 * +- b
+		 * |  +- b1
+		 * |     +- b11.txt
+		 * +- c.txt
+		 */
+		root = Files.createTempDirectory("libfx-path-navigator");
+		Files.createDirectories(root.resolve("a"));
+		Files.createFile(root.resolve("a").resolve("a1.txt"));
+		Files.createFile(root.resolve("a").resolve("a2.txt"));
+		Files.createDirectories(root.resolve("b").resolve("b1"));
+		Files.createFile(root.resolve("b").resolve("b1").resolve("b11.txt"));
+		Files.createFile(root.resolve("c.txt"));
+	}
+
+	@After
+	@SuppressWarnings("javadoc")
+	public void tearDown() throws IOException {
+		try (Stream<Path> paths = Files.walk(root)) {
+			for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList()))
+				Files.delete(path);
+		}
+	}
+
+	// navigation
+
+	@Test(expected = NullPointerException.class)
+	@SuppressWarnings("javadoc")
+	public void getParent_childNull_throwsNullPointerException() throws Exception {
+		navigator.getParent(null);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getParent_relativePathWithoutParent_returnsEmptyOptional() throws Exception {
+		Optional<Path> parent = navigator.getParent(Paths.get("file.txt"));
+
+		assertFalse(parent.isPresent());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getParent_file_returnsDirectory() throws Exception {
+		Optional<Path> parent = navigator.getParent(root.resolve("c.txt"));
+
+		assertEquals(root, parent.get());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getChildIndex_entries_returnsIndicesInNaturalOrder() throws Exception {
+		assertEquals(0, navigator.getChildIndex(root.resolve("a")).getAsInt());
+		assertEquals(1, navigator.getChildIndex(root.resolve("b")).getAsInt());
+		assertEquals(2, navigator.getChildIndex(root.resolve("c.txt")).getAsInt());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getChildIndex_nonExistingFile_returnsEmptyOptional() throws Exception {
+		OptionalInt childIndex = navigator.getChildIndex(root.resolve("d.txt"));
+
+		assertFalse(childIndex.isPresent());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getChildrenCount_file_returns0() throws Exception {
+		assertEquals(0, navigator.getChildrenCount(root.resolve("c.txt")));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getChildrenCount_directory_returnsNumberOfEntries() throws Exception {
+		assertEquals(3, navigator.getChildrenCount(root));
+		assertEquals(2, navigator.getChildrenCount(root.resolve("a")));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	@SuppressWarnings("javadoc")
+	public void getChild_childIndexNegative_throwsIllegalArgumentException() throws Exception {
+		navigator.getChild(root, -1);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getChild_existingAndNonExistingChild_returnsChildOrEmptyOptional() throws Exception {
+		assertEquals(root.resolve("b"), navigator.getChild(root, 1).get());
+		assertFalse(navigator.getChild(root, 3).isPresent());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getChildren_afterListingOtherDirectory_returnsSameEntries() throws Exception {
+		List<Path> before = navigator.getChildren(root.resolve("a"));
+		navigator.getChildren(root.resolve("b"));
+		List<Path> after = navigator.getChildren(root.resolve("a"));
+
+		assertEquals(Arrays.asList(root.resolve("a").resolve("a1.txt"), root.resolve("a").resolve("a2.txt")), after);
+		assertEquals(before, after);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getChildren_afterDirectoryChangedOutsideOfPath_reflectsChange() throws Exception {
+		navigator.getChildren(root.resolve("a"));
+		// listing 'b' releases the listing of 'a'
+		navigator.getChildren(root.resolve("b"));
+		Files.createFile(root.resolve("a").resolve("a3.txt"));
+
+		assertEquals(3, navigator.getChildrenCount(root.resolve("a")));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getChildren_file_returnsEmptyList() throws Exception {
+		assertTrue(navigator.getChildren(root.resolve("c.txt")).isEmpty());
+	}
+
+	// streams
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void dfsFromRoot_returnsAllPathsInDepthFirstOrder() throws Exception {
+		List<Path> paths = TreeStreams.dfsFromRoot(navigator, root).collect(Collectors.toList());
+
+		List<Path> expected = Stream
+				.of("", "a", "a/a1.txt", "a/a2.txt", "b", "b/b1", "b/b1/b11.txt", "c.txt")
+				.map(root::resolve)
+				.collect(Collectors.toList());
+		assertEquals(expected, paths);
+	}
+
+}
@@ -0,0 +1,25 @@
+package org.codefx.libfx.collection.tree.navigate;
+
+import java.util.List;
+
+import javafx.scene.Group;
+import javafx.scene.Node;
+
+import org.codefx.libfx.collection.tree.stream.TreeShape;
+
+/**
+ * Benchmarks {@link SceneGraphNavigator} on a scene graph of {@link Group}s which is not part of a scene.
+ */
+public class SceneGraphNavigatorBenchmark extends AbstractTreeNavigatorBenchmark<Node> {
+
+	@Override
+	protected TreeNavigator<Node> createNavigator() {
+		return new SceneGraphNavigator();
+	}
+
+	@Override
+	protected List<Node> createTree(TreeShape shape, int size) {
+		return shape.create(size, Group::new, (parent, child) -> ((Group) parent).getChildren().add(child));
+	}
+
+}
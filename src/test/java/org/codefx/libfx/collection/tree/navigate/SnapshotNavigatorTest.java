@@ -0,0 +1,137 @@
+package org.codefx.libfx.collection.tree.navigate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.codefx.libfx.collection.tree.stream.TreeStreams;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Tests {@link SnapshotNavigator}.
+ */
+public class SnapshotNavigatorTest extends AbstractTreeNavigatorTest<Node> {
+
+	private final Document document;
+
+	@SuppressWarnings("javadoc")
+	public SnapshotNavigatorTest() throws ParserConfigurationException {
+		document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+	}
+
+	@Override
+	protected TreeNavigator<Node> createNavigator() {
+		return new SnapshotNavigator<>(new DomNavigator());
+	}
+
+	@Override
+	protected Node createSingletonNode() {
+		return document.createElement("singleton");
+	}
+
+	@Override
+	protected Node createNodeWithChildren(int nrOfChildren) {
+		Element parent = document.createElement("parent");
+		for (int i = 0; i < nrOfChildren; i++)
+			parent.appendChild(document.createElement("child" + i));
+		return parent;
+	}
+
+	@Override
+	protected Node getChildOfParent(Node parent, int childIndex) {
+		return parent.getChildNodes().item(childIndex);
+	}
+
+	// snapshots
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getChild_childrenChangedAfterSnapshot_returnsSnapshot() throws Exception {
+		SnapshotNavigator<Node> navigator = new SnapshotNavigator<>(new DomNavigator());
+		Node parent = createNodeWithChildren(3);
+		Node firstChild = parent.getFirstChild();
+		navigator.getChildrenCount(parent);
+
+		parent.removeChild(firstChild);
+
+		assertEquals(3, navigator.getChildrenCount(parent));
+		assertSame(firstChild, navigator.getChild(parent, 0).get());
+		assertSame(parent, navigator.getParent(firstChild).get());
+		assertEquals(0, navigator.getChildIndex(firstChild).getAsInt());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void clear_childrenChangedAfterSnapshot_returnsCurrentChildren() throws Exception {
+		SnapshotNavigator<Node> navigator = new SnapshotNavigator<>(new DomNavigator());
+		Node parent = createNodeWithChildren(3);
+		navigator.getChildrenCount(parent);
+		parent.removeChild(parent.getFirstChild());
+
+		navigator.clear();
+
+		assertEquals(2, navigator.getChildrenCount(parent));
+	}
+
+	// streams
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void postOrderFromRoot_siblingsRemovedWhileStreaming_streamsEachNodeOnce() throws Exception {
+		Element root = createRootWithGrandchildren();
+
+		// the post-order stream accesses children by index
+		List<String> streamed = TreeStreams.postOrderFromRoot(new SnapshotNavigator<>(new DomNavigator()), (Node) root)
+				// when a child is reached, remove its preceding sibling, which shifts the indices of all later ones
+				.peek(node -> {
+					if (node.getParentNode() == root && node.getPreviousSibling() != null)
+						root.removeChild(node.getPreviousSibling());
+				})
+				.map(Node::getNodeName)
+				.collect(Collectors.toList());
+
+		assertEquals("[grandchild0, child0, grandchild1, child1, grandchild2, child2, grandchild3, child3, root]",
+				streamed.toString());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void dfsFromRoot_siblingsRemovedWhileStreaming_streamsEachNodeOnce() throws Exception {
+		Element root = createRootWithGrandchildren();
+
+		List<String> streamed = TreeStreams.dfsFromRoot(new DomNavigator(), (Node) root)
+				// when a child is reached, remove its preceding sibling, which shifts the indices of all later ones
+				.peek(node -> {
+					if (node.getParentNode() == root && node.getPreviousSibling() != null)
+						root.removeChild(node.getPreviousSibling());
+				})
+				.map(Node::getNodeName)
+				.collect(Collectors.toList());
+
+		assertEquals("[root, child0, grandchild0, child1, grandchild1, child2, grandchild2, child3, grandchild3]",
+				streamed.toString());
+	}
+
+	// #begin HELPER
+
+	private Element createRootWithGrandchildren() {
+		Element root = document.createElement("root");
+		for (int i = 0; i < 4; i++) {
+			Element child = document.createElement("child" + i);
+			child.appendChild(document.createElement("grandchild" + i));
+			root.appendChild(child);
+		}
+		return root;
+	}
+
+	// #end HELPER
+
+}
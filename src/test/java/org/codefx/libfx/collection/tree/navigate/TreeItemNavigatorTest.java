@@ -0,0 +1,65 @@
+package org.codefx.libfx.collection.tree.navigate;
+
+import static org.junit.Assert.assertEquals;
+
+import javafx.collections.ObservableList;
+import javafx.scene.control.TreeItem;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link TreeItemNavigator}.
+ */
+public class TreeItemNavigatorTest extends AbstractTreeNavigatorTest<TreeItem<String>> {
+
+	@Override
+	protected TreeNavigator<TreeItem<String>> createNavigator() {
+		return new TreeItemNavigator<>();
+	}
+
+	@Override
+	protected TreeItem<String> createSingletonNode() {
+		return new TreeItem<>("An item without parents and children.");
+	}
+
+	@Override
+	protected TreeItem<String> createNodeWithChildren(int nrOfChildren) {
+		TreeItem<String> parent = new TreeItem<>("Parent");
+		for (int i = 0; i < nrOfChildren; i++)
+			parent.getChildren().add(new TreeItem<>("Child #" + i));
+		return parent;
+	}
+
+	@Override
+	protected TreeItem<String> getChildOfParent(TreeItem<String> parent, int childIndex) {
+		return parent.getChildren().get(childIndex);
+	}
+
+	// lazy items
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getChildrenCount_lazyLeaf_doesNotPopulateChildren() throws Exception {
+		int[] populations = { 0 };
+		TreeItem<String> lazyLeaf = new TreeItem<String>("Lazy leaf") {
+
+			@Override
+			public boolean isLeaf() {
+				return true;
+			}
+
+			@Override
+			public ObservableList<TreeItem<String>> getChildren() {
+				populations[0]++;
+				return super.getChildren();
+			}
+
+		};
+
+		int childrenCount = new TreeItemNavigator<String>().getChildrenCount(lazyLeaf);
+
+		assertEquals(0, childrenCount);
+		assertEquals(0, populations[0]);
+	}
+
+}
@@ -0,0 +1,167 @@
+package org.codefx.libfx.collection.tree.navigate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.stream.Collectors;
+
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeModel;
+import javax.swing.tree.TreePath;
+
+import org.codefx.libfx.collection.tree.stream.TreeStreams;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link TreeModelNavigator}.
+ * <p>
+ * Unlike most other navigator tests, this one can not extend {@link AbstractTreeNavigatorTest} because tree paths are
+ * compared by equality instead of identity.
+ */
+public class TreeModelNavigatorTest {
+
+	// #begin FIELDS
+
+	private DefaultMutableTreeNode root;
+
+	private TreeModelNavigator navigator;
+
+	private TreePath rootPath;
+
+	// #end FIELDS
+
+	@Before
+	@SuppressWarnings("javadoc")
+	public void setUp() {
+		/*
+		 * root
+		 * +- a
+		 * |  +- a1
+		 * |  +- a2
+		 * +- b (may have children but has none)
+		 * +- c (leaf)
+		 */
+		root = new DefaultMutableTreeNode("root");
+		DefaultMutableTreeNode a = new DefaultMutableTreeNode("a");
+		a.add(new DefaultMutableTreeNode("a1", false));
+		a.add(new DefaultMutableTreeNode("a2", false));
+		root.add(a);
+		root.add(new DefaultMutableTreeNode("b"));
+		root.add(new DefaultMutableTreeNode("c", false));
+
+		navigator = new TreeModelNavigator(new DefaultTreeModel(root, true));
+		rootPath = navigator.getRootPath().get();
+	}
+
+	// navigation
+
+	@Test(expected = NullPointerException.class)
+	@SuppressWarnings("javadoc")
+	public void create_modelNull_throwsNullPointerException() throws Exception {
+		new TreeModelNavigator(null);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getParent_root_returnsEmptyOptional() throws Exception {
+		Optional<TreePath> parent = navigator.getParent(rootPath);
+
+		assertFalse(parent.isPresent());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getParent_child_returnsParentPath() throws Exception {
+		TreePath a1 = navigator.getChild(navigator.getChild(rootPath, 0).get(), 0).get();
+
+		Optional<TreePath> parent = navigator.getParent(a1);
+
+		assertEquals(new TreePath(new Object[] { root, root.getChildAt(0) }), parent.get());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getChildIndex_children_returnsIndices() throws Exception {
+		for (int childIndex = 0; childIndex < 3; childIndex++) {
+			TreePath child = navigator.getChild(rootPath, childIndex).get();
+
+			OptionalInt proclaimedChildIndex = navigator.getChildIndex(child);
+
+			assertEquals(childIndex, proclaimedChildIndex.getAsInt());
+		}
+		assertFalse(navigator.getChildIndex(rootPath).isPresent());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getChildIndex_pathNotInModel_returnsEmptyOptional() throws Exception {
+		TreePath foreignPath = rootPath.pathByAddingChild(new DefaultMutableTreeNode("foreign"));
+
+		OptionalInt childIndex = navigator.getChildIndex(foreignPath);
+
+		assertFalse(childIndex.isPresent());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getChildrenCount_variousNodes_returnsCounts() throws Exception {
+		assertEquals(3, navigator.getChildrenCount(rootPath));
+		assertEquals(2, navigator.getChildrenCount(navigator.getChild(rootPath, 0).get()));
+		assertEquals(0, navigator.getChildrenCount(navigator.getChild(rootPath, 1).get()));
+		assertEquals(0, navigator.getChildrenCount(navigator.getChild(rootPath, 2).get()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	@SuppressWarnings("javadoc")
+	public void getChild_negativeIndex_throwsIllegalArgumentException() throws Exception {
+		navigator.getChild(rootPath, -1);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getChild_indexTooLarge_returnsEmptyOptional() throws Exception {
+		assertFalse(navigator.getChild(rootPath, 3).isPresent());
+		assertFalse(navigator.getChild(navigator.getChild(rootPath, 2).get(), 0).isPresent());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getChildren_parent_returnsPathsToChildren() throws Exception {
+		List<TreePath> children = navigator.getChildren(rootPath);
+
+		assertEquals(3, children.size());
+		for (int childIndex = 0; childIndex < 3; childIndex++) {
+			assertEquals(rootPath, children.get(childIndex).getParentPath());
+			assertEquals(root.getChildAt(childIndex), children.get(childIndex).getLastPathComponent());
+		}
+	}
+
+	// streams
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void dfsFromRoot_model_returnsNodesInDepthFirstOrder() throws Exception {
+		List<String> nodes = TreeStreams.dfsFromRoot(navigator, rootPath)
+				.map(path -> path.getLastPathComponent().toString())
+				.collect(Collectors.toList());
+
+		assertEquals("[root, a, a1, a2, b, c]", nodes.toString());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void dfsFromRoot_changedModel_reflectsChanges() throws Exception {
+		((DefaultMutableTreeNode) root.getChildAt(1)).add(new DefaultMutableTreeNode("b1", false));
+
+		long nodeCount = TreeStreams.dfsFromRoot(navigator, rootPath).count();
+
+		assertEquals(7, nodeCount);
+		assertTrue(navigator.getChild(navigator.getChild(rootPath, 1).get(), 0).isPresent());
+	}
+
+}
@@ -12,6 +12,7 @@ import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.mock;
 
 import java.util.Arrays;
+import java.util.Optional;
 
 import org.codefx.libfx.collection.tree.navigate.TreeNavigator;
 import org.codefx.libfx.collection.tree.stream.TreeTestHelper.Node;
@@ -174,4 +175,29 @@ public class BackwardsDfsTreeIterationStrategyTest {
 				treeContent);
 	}
 
+	@Test
+	@SuppressWarnings("javadoc")
+	public void iterateOverDeepBinaryTree_navigatorRejectsNegativeIndices_returnsCorrectElements() {
+		TreeNavigator<Node> strictNavigator = new TreeTestHelper.Navigator() {
+			@Override
+			public Optional<Node> getChild(Node parent, int childIndex) {
+				if (childIndex < 0)
+					throw new IllegalArgumentException("The argument 'childIndex' must be non-negative.");
+				return super.getChild(parent, childIndex);
+			}
+		};
+		Node root = createDeepBinaryTree();
+		Node descendant = root
+				.children.get(1) // returns the tree rooted in "9"
+				.children.get(0); // returns the tree rooted in "10"
+		TreePath<TreeNode<Node>> initialPath = createFromNodeToDescendant(strictNavigator, root, descendant);
+		TreeIterationStrategy<Node> strategy = new BackwardsDfsTreeIterationStrategy<>(strictNavigator, initialPath);
+
+		String[] treeContent = iterateTreeContent(strategy);
+
+		assertArrayEquals(
+				new String[] { "10", "9", "8", "7", "6", "5", "4", "3", "2", "1" },
+				treeContent);
+	}
+
 }
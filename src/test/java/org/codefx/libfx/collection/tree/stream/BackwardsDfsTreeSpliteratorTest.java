@@ -0,0 +1,177 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import static org.codefx.libfx.collection.tree.stream.TreePathFactory.createFromNodeToDescendant;
+import static org.codefx.libfx.collection.tree.stream.TreePathFactory.createWithSingleNode;
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.NAVIGATOR;
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.createDeepBinaryTree;
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.createSimpleBinaryTree;
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.createSingletonTree;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.codefx.libfx.collection.tree.navigate.TreeNavigator;
+import org.codefx.libfx.collection.tree.stream.TreeTestHelper.BulkChildrenNavigator;
+import org.codefx.libfx.collection.tree.stream.TreeTestHelper.CopyingNavigator;
+import org.codefx.libfx.collection.tree.stream.TreeTestHelper.Node;
+import org.junit.Test;
+
+/**
+ * Tests {@link BackwardsDfsTreeSpliterator} and the streams which use it.
+ */
+public class BackwardsDfsTreeSpliteratorTest {
+
+	// construction
+
+	@Test(expected = NullPointerException.class)
+	@SuppressWarnings({ "javadoc", "unused" })
+	public void create_nullNavigator_throwsNullPointerException() throws Exception {
+		new BackwardsDfsTreeSpliterator<>(null, createWithSingleNode(createSingletonTree()), 0);
+	}
+
+	@Test(expected = NullPointerException.class)
+	@SuppressWarnings({ "javadoc", "unused" })
+	public void create_nullInitialPath_throwsNullPointerException() throws Exception {
+		new BackwardsDfsTreeSpliterator<>(NAVIGATOR, null, 0);
+	}
+
+	// iterate through trees
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void iterateOverSingletonTree_returnsCorrectElements() {
+		List<String> treeContent = iterate(NAVIGATOR, createWithSingleNode(createSingletonTree()));
+
+		assertEquals(Arrays.asList("singleton"), treeContent);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void iterateOverSimpleBinaryTree_startAtLastNode_returnsWholeTreeBackwards() {
+		Node root = createSimpleBinaryTree();
+		Node rightLeaf = root.children.get(1);
+
+		List<String> treeContent = iterate(NAVIGATOR, createFromNodeToDescendant(NAVIGATOR, root, rightLeaf));
+
+		assertEquals(Arrays.asList("rightLeaf", "leftLeaf", "root"), treeContent);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void iterateOverDeepBinaryTree_startFromWithin_returnsCorrectElements() {
+		Node root = createDeepBinaryTree();
+		Node descendant = root
+				.children.get(1) // returns the tree rooted in "9"
+				.children.get(1); // returns the tree rooted in "13"
+
+		List<String> treeContent = iterate(NAVIGATOR, createFromNodeToDescendant(NAVIGATOR, root, descendant));
+
+		assertEquals(
+				Arrays.asList("13", "12", "11", "10", "9", "8", "7", "6", "5", "4", "3", "2", "1"),
+				treeContent);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void iterateOverSubTreeOfDeepBinaryTree_stopsAtSubtreeRoot() {
+		Node subtreeRoot = createDeepBinaryTree().children.get(0); // returns the tree rooted in "2"
+		Node descendant = subtreeRoot.children.get(1).children.get(1); // returns the tree rooted in "8"
+
+		List<String> treeContent = iterate(NAVIGATOR, createFromNodeToDescendant(NAVIGATOR, subtreeRoot, descendant));
+
+		assertEquals(Arrays.asList("8", "7", "6", "5", "4", "3", "2"), treeContent);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void iterateOverDeepBinaryTree_bulkChildrenNavigator_doesNotUseIndexBasedAccess() {
+		Node root = createDeepBinaryTree();
+		Node lastNode = root.children.get(1).children.get(1).children.get(1);
+		TreePath<TreeNode<Node>> initialPath = createFromNodeToDescendant(NAVIGATOR, root, lastNode);
+
+		List<String> treeContent = iterate(new BulkChildrenNavigator(), initialPath);
+
+		assertEquals(
+				Arrays.asList("15", "14", "13", "12", "11", "10", "9", "8", "7", "6", "5", "4", "3", "2", "1"),
+				treeContent);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void trySplit_returnsNull() {
+		Spliterator<Node> spliterator = new BackwardsDfsTreeSpliterator<>(
+				NAVIGATOR, createWithSingleNode(createDeepBinaryTree()), Spliterator.ORDERED);
+
+		assertNull(spliterator.trySplit());
+	}
+
+	// streams
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void backwardDfs_startFromWithin_streamsBackwardsToRoot() {
+		Node root = createDeepBinaryTree();
+		Node descendant = root.children.get(1).children.get(0); // returns the tree rooted in "10"
+
+		List<String> treeContent = TreeStreams.backwardDfs(NAVIGATOR, descendant)
+				.map(node -> node.content)
+				.collect(Collectors.toList());
+
+		assertEquals(Arrays.asList("10", "9", "8", "7", "6", "5", "4", "3", "2", "1"), treeContent);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void backwardDfsToRoot_startFromWithin_stopsAtRoot() {
+		Node root = createDeepBinaryTree();
+		Node subtreeRoot = root.children.get(1); // returns the tree rooted in "9"
+		Node descendant = subtreeRoot.children.get(1).children.get(0); // returns the tree rooted in "14"
+
+		List<String> treeContent = TreeStreams.backwardDfsToRoot(NAVIGATOR, subtreeRoot, descendant)
+				.map(node -> node.content)
+				.collect(Collectors.toList());
+
+		assertEquals(Arrays.asList("14", "13", "12", "11", "10", "9"), treeContent);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void backwardDfs_navigatorCreatesEqualNodes_streamsBackwardsToRoot() {
+		// the navigator returns new instances, so the start node is equal but not identical to the one in the tree
+		CopyingNavigator navigator = new CopyingNavigator(createDeepBinaryTree());
+
+		List<String> treeContent = TreeStreams.backwardDfs(navigator, new String("10"))
+				.collect(Collectors.toList());
+
+		assertEquals(Arrays.asList("10", "9", "8", "7", "6", "5", "4", "3", "2", "1"), treeContent);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	@SuppressWarnings({ "javadoc", "unused" })
+	public void create_pathNotInTree_throwsIllegalStateException() throws Exception {
+		Node root = createDeepBinaryTree();
+		// "6" is the child of "2" with index 1, but the path claims it to be a child of the root
+		TreePath<TreeNode<Node>> initialPath = new StackTreePath<>();
+		initialPath.append(SimpleTreeNode.root(root));
+		initialPath.append(SimpleTreeNode.innerNode(root.children.get(0).children.get(1), 1));
+
+		new BackwardsDfsTreeSpliterator<>(NAVIGATOR, initialPath, Spliterator.ORDERED);
+	}
+
+	// #begin HELPER
+
+	private static List<String> iterate(TreeNavigator<Node> navigator, TreePath<TreeNode<Node>> initialPath) {
+		Spliterator<Node> spliterator = new BackwardsDfsTreeSpliterator<>(navigator, initialPath, Spliterator.ORDERED);
+		return StreamSupport.stream(spliterator, false)
+				.map(node -> node.content)
+				.collect(Collectors.toList());
+	}
+
+	// #end HELPER
+
+}
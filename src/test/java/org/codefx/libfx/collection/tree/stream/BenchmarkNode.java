@@ -0,0 +1,89 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import org.codefx.libfx.collection.tree.navigate.TreeNavigator;
+
+/**
+ * A minimal tree node for benchmarks, which knows its parent, its children and its index in its parent's list of
+ * children.
+ * <p>
+ * The {@link #NAVIGATOR} only implements the methods required by {@link TreeNavigator}, so the benchmarks measure the
+ * streams and not a particularly fast navigator.
+ */
+public final class BenchmarkNode {
+
+	/**
+	 * A navigator for {@link BenchmarkNode}s.
+	 */
+	public static final TreeNavigator<BenchmarkNode> NAVIGATOR = new Navigator();
+
+	private final List<BenchmarkNode> children = new ArrayList<>();
+
+	private BenchmarkNode parent;
+
+	private int childIndex;
+
+	private BenchmarkNode() {
+		// nothing to do
+	}
+
+	/**
+	 * Creates a tree of {@link BenchmarkNode}s.
+	 *
+	 * @param shape
+	 *            the tree's shape
+	 * @param size
+	 *            the number of nodes in the tree
+	 * @return the tree's nodes in breadth-first order (see {@link TreeShape#create(int, java.util.function.Supplier,
+	 *         java.util.function.BiConsumer) TreeShape.create})
+	 */
+	public static List<BenchmarkNode> createTree(TreeShape shape, int size) {
+		return shape.create(size, BenchmarkNode::new, BenchmarkNode::addChild);
+	}
+
+	private static void addChild(BenchmarkNode parent, BenchmarkNode child) {
+		child.parent = parent;
+		child.childIndex = parent.children.size();
+		parent.children.add(child);
+	}
+
+	// #begin INNER CLASSES
+
+	/**
+	 * A navigator for {@link BenchmarkNode}s.
+	 */
+	private static class Navigator implements TreeNavigator<BenchmarkNode> {
+
+		@Override
+		public Optional<BenchmarkNode> getParent(BenchmarkNode child) {
+			return Optional.ofNullable(child.parent);
+		}
+
+		@Override
+		public OptionalInt getChildIndex(BenchmarkNode node) {
+			return node.parent == null
+					? OptionalInt.empty()
+					: OptionalInt.of(node.childIndex);
+		}
+
+		@Override
+		public int getChildrenCount(BenchmarkNode parent) {
+			return parent.children.size();
+		}
+
+		@Override
+		public Optional<BenchmarkNode> getChild(BenchmarkNode parent, int childIndex) {
+			return 0 <= childIndex && childIndex < parent.children.size()
+					? Optional.of(parent.children.get(childIndex))
+					: Optional.empty();
+		}
+
+	}
+
+	// #end INNER CLASSES
+
+}
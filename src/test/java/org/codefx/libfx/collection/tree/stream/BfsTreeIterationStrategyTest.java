@@ -0,0 +1,163 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.NAVIGATOR;
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.createDeepBinaryTree;
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.createSimpleBinaryTree;
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.createSingletonTree;
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.iterateTreeContent;
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.stream.IntStream;
+
+import org.codefx.libfx.collection.tree.stream.TreeTestHelper.BulkChildrenNavigator;
+import org.codefx.libfx.collection.tree.stream.TreeTestHelper.Node;
+import org.junit.Test;
+
+/**
+ * Tests {@link BfsTreeIterationStrategy}.
+ */
+public class BfsTreeIterationStrategyTest {
+
+	// construction
+
+	@Test(expected = NullPointerException.class)
+	@SuppressWarnings({ "javadoc", "unused" })
+	public void create_nullNavigator_throwsNullPointerException() throws Exception {
+		new BfsTreeIterationStrategy<>(null, createSingletonTree());
+	}
+
+	@Test(expected = NullPointerException.class)
+	@SuppressWarnings({ "javadoc", "unused" })
+	public void create_nullRoot_throwsNullPointerException() throws Exception {
+		new BfsTreeIterationStrategy<>(NAVIGATOR, null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	@SuppressWarnings({ "javadoc", "unused" })
+	public void create_negativeMaxDepth_throwsIllegalArgumentException() throws Exception {
+		new BfsTreeIterationStrategy<>(NAVIGATOR, createSingletonTree(), -1);
+	}
+
+	// iterate through trees
+
+	/*
+	 * Like the tests for the depth-first search, these tests create a tree (from 'TreeTestHelper') and compare the
+	 * resulting order of nodes to what is expected.
+	 */
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void iterateOverSingletonTree_returnsCorrectElements() {
+		TreeIterationStrategy<Node> strategy = new BfsTreeIterationStrategy<>(NAVIGATOR, createSingletonTree());
+
+		String[] treeContent = iterateTreeContent(strategy);
+
+		assertArrayEquals(new String[] { "singleton" }, treeContent);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void iterateOverSimpleBinaryTree_returnsCorrectElements() {
+		TreeIterationStrategy<Node> strategy = new BfsTreeIterationStrategy<>(NAVIGATOR, createSimpleBinaryTree());
+
+		String[] treeContent = iterateTreeContent(strategy);
+
+		assertArrayEquals(new String[] { "root", "leftLeaf", "rightLeaf" }, treeContent);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void iterateOverDeepBinaryTree_returnsCorrectElements() {
+		TreeIterationStrategy<Node> strategy = new BfsTreeIterationStrategy<>(NAVIGATOR, createDeepBinaryTree());
+
+		String[] treeContent = iterateTreeContent(strategy);
+
+		assertArrayEquals(
+				new String[] { "1", "2", "9", "3", "6", "10", "13", "4", "5", "7", "8", "11", "12", "14", "15" },
+				treeContent);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void iterateOverSubTreeOfDeepBinaryTree_returnsCorrectElements() {
+		Node subtreeRoot = createDeepBinaryTree()
+				.children.get(1); // returns the tree rooted in "9"
+		TreeIterationStrategy<Node> strategy = new BfsTreeIterationStrategy<>(NAVIGATOR, subtreeRoot);
+
+		String[] treeContent = iterateTreeContent(strategy);
+
+		assertArrayEquals(new String[] { "9", "10", "13", "11", "12", "14", "15" }, treeContent);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void iterateOverDeepBinaryTree_accessesChildrenInBulk() {
+		TreeIterationStrategy<Node> strategy =
+				new BfsTreeIterationStrategy<>(new BulkChildrenNavigator(), createDeepBinaryTree());
+
+		// the navigator throws an exception if a child is accessed by index
+		String[] treeContent = iterateTreeContent(strategy);
+
+		assertArrayEquals(
+				new String[] { "1", "2", "9", "3", "6", "10", "13", "4", "5", "7", "8", "11", "12", "14", "15" },
+				treeContent);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void iterateOverDeepBinaryTree_maxDepthZero_returnsOnlyRoot() {
+		TreeIterationStrategy<Node> strategy = new BfsTreeIterationStrategy<>(NAVIGATOR, createDeepBinaryTree(), 0);
+
+		String[] treeContent = iterateTreeContent(strategy);
+
+		assertArrayEquals(new String[] { "1" }, treeContent);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void iterateOverDeepBinaryTree_maxDepthTwo_returnsUpperLevels() {
+		TreeIterationStrategy<Node> strategy = new BfsTreeIterationStrategy<>(NAVIGATOR, createDeepBinaryTree(), 2);
+
+		String[] treeContent = iterateTreeContent(strategy);
+
+		assertArrayEquals(new String[] { "1", "2", "9", "3", "6", "10", "13" }, treeContent);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void iterateOverDeepBinaryTree_pruned_skipsSubtrees() {
+		// do not descend into "2" and "10"
+		TreeIterationStrategy<Node> strategy = new BfsTreeIterationStrategy<>(
+				NAVIGATOR, createDeepBinaryTree(), BfsTreeIterationStrategy.UNLIMITED_DEPTH,
+				node -> !node.content.equals("2") && !node.content.equals("10"));
+
+		String[] treeContent = iterateTreeContent(strategy);
+
+		assertArrayEquals(new String[] { "1", "2", "9", "10", "13", "14", "15" }, treeContent);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void iterateOverWideTree_frontierGrows_returnsCorrectElements() {
+		// more children than the initial frontier capacity forces the circular queue to grow while it wraps around
+		Node[] grandchildren = IntStream.range(0, 50)
+				.mapToObj(index -> Node.leaf("grandchild " + index))
+				.toArray(Node[]::new);
+		Node root = Node.root("root",
+				Node.node("child 0", Node.leaf("leaf")),
+				Node.node("child 1", grandchildren));
+		TreeIterationStrategy<Node> strategy = new BfsTreeIterationStrategy<>(NAVIGATOR, root);
+
+		String[] treeContent = iterateTreeContent(strategy);
+
+		String[] expected = new String[54];
+		expected[0] = "root";
+		expected[1] = "child 0";
+		expected[2] = "child 1";
+		expected[3] = "leaf";
+		for (int index = 0; index < 50; index++)
+			expected[4 + index] = "grandchild " + index;
+		assertArrayEquals(expected, treeContent);
+	}
+
+}
@@ -0,0 +1,118 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.NAVIGATOR;
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.createDeepBinaryTree;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.codefx.libfx.collection.tree.stream.TreeTestHelper.Node;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link BinaryLiftingIndex}.
+ */
+public class BinaryLiftingIndexTest {
+
+	private Node root;
+
+	private BinaryLiftingIndex<Node> index;
+
+	@Before
+	@SuppressWarnings("javadoc")
+	public void setUp() {
+		root = createDeepBinaryTree();
+		index = new BinaryLiftingIndex<>(NAVIGATOR, root);
+	}
+
+	// queries
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getAncestor_variousGenerations_returnsAncestors() {
+		Node fifteen = find("15");
+
+		assertSame(fifteen, index.getAncestor(fifteen, 0).get());
+		assertSame(find("13"), index.getAncestor(fifteen, 1).get());
+		assertSame(find("9"), index.getAncestor(fifteen, 2).get());
+		assertSame(root, index.getAncestor(fifteen, 3).get());
+		assertFalse(index.getAncestor(fifteen, 4).isPresent());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	@SuppressWarnings("javadoc")
+	public void getAncestor_negativeGenerations_throwsIllegalArgumentException() {
+		index.getAncestor(root, -1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	@SuppressWarnings("javadoc")
+	public void lowestCommonAncestor_nodeNotInTree_throwsIllegalArgumentException() {
+		index.lowestCommonAncestor(root, Node.singleton("other"));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void queries_allPairsOfNodes_matchNavigatorBasedQueries() {
+		List<Node> nodes = TreeStreams.dfsFromRoot(NAVIGATOR, root).collect(Collectors.toList());
+
+		for (Node first : nodes)
+			for (Node second : nodes) {
+				assertSame(
+						TreeQueries.lowestCommonAncestor(NAVIGATOR, first, second).get(),
+						index.lowestCommonAncestor(first, second));
+				assertEquals(
+						TreeQueries.distance(NAVIGATOR, first, second).getAsInt(),
+						index.distance(first, second));
+				assertEquals(
+						TreeQueries.pathBetween(NAVIGATOR, first, second).get(),
+						index.pathBetween(first, second));
+			}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void queries_deepChain_matchNavigatorBasedQueries() {
+		Node chain = Node.leaf("1000");
+		for (int depth = 999; depth >= 0; depth--)
+			chain = Node.node(String.valueOf(depth), chain, Node.leaf(depth + "'"));
+		BinaryLiftingIndex<Node> chainIndex = new BinaryLiftingIndex<>(NAVIGATOR, chain);
+		// the chain comes first in pre-order, so its end has the same index as depth
+		Node deepLeaf = chainIndex.getTreeIndex().getNode(1000);
+		Node shallowLeaf = chainIndex.getAncestor(deepLeaf, 990).get().children.get(1);
+
+		assertSame(
+				TreeQueries.lowestCommonAncestor(NAVIGATOR, deepLeaf, shallowLeaf).get(),
+				chainIndex.lowestCommonAncestor(deepLeaf, shallowLeaf));
+		assertEquals(
+				TreeQueries.distance(NAVIGATOR, deepLeaf, shallowLeaf).getAsInt(),
+				chainIndex.distance(deepLeaf, shallowLeaf));
+	}
+
+	// rebuild
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void rebuild_treeChanged_reflectsChange() {
+		Node nine = find("9");
+		Node sixteen = Node.leaf("16");
+		find("4").children.add(sixteen);
+
+		index.rebuild();
+
+		assertEquals(5, index.distance(sixteen, nine));
+	}
+
+	// #begin HELPER
+
+	private Node find(String content) {
+		return TreeStreams.dfsFromRoot(NAVIGATOR, root).filter(node -> node.content.equals(content)).findFirst().get();
+	}
+
+	// #end HELPER
+
+}
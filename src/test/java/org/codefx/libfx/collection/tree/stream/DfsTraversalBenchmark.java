@@ -0,0 +1,75 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import static org.codefx.libfx.collection.tree.stream.BenchmarkNode.NAVIGATOR;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the {@link DfsTreeIterationStrategy} (wrapped in a {@link TreeIterator}) with the {@link DfsTraversal}.
+ * <p>
+ * Both are run on trees of all {@link TreeShape shapes}.
+ * <p>
+ * This is not a test and is hence not run during the build. Run it via {@link TreeBenchmarks}, which adds allocation
+ * rates to the report.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@SuppressWarnings("javadoc")
+public class DfsTraversalBenchmark {
+
+	@Param({ "CHAIN", "FAN", "BINARY", "OCTARY" })
+	public TreeShape shape;
+
+	@Param({ "100000" })
+	public int size;
+
+	private BenchmarkNode root;
+
+	@Setup
+	public void createTree() {
+		root = BenchmarkNode.createTree(shape, size).get(0);
+	}
+
+	// #begin BENCHMARKS
+
+	@Benchmark
+	public void iterationStrategy(Blackhole blackhole) {
+		TreePath<TreeNode<BenchmarkNode>> initialPath = TreePathFactory.createWithSingleNode(root);
+		Iterator<BenchmarkNode> nodes = new TreeIterator<>(new DfsTreeIterationStrategy<>(NAVIGATOR, initialPath));
+		while (nodes.hasNext())
+			blackhole.consume(nodes.next());
+	}
+
+	@Benchmark
+	public void traversal(Blackhole blackhole) {
+		DfsTraversal<BenchmarkNode> traversal = new DfsTraversal<>(NAVIGATOR, root);
+		for (BenchmarkNode node = traversal.goToNextNode(); node != null; node = traversal.goToNextNode())
+			blackhole.consume(node);
+	}
+
+	@Benchmark
+	public void stream(Blackhole blackhole) {
+		TreeStreams.dfsFromRoot(NAVIGATOR, root).forEach(blackhole::consume);
+	}
+
+	// #end BENCHMARKS
+
+}
@@ -0,0 +1,171 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import static org.codefx.libfx.collection.tree.stream.TreePathFactory.createFromNodeToDescendant;
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.NAVIGATOR;
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.createDeepBinaryTree;
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.createSimpleBinaryTree;
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.createSingletonTree;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.codefx.libfx.collection.tree.stream.TreeTestHelper.BulkChildrenNavigator;
+import org.codefx.libfx.collection.tree.stream.TreeTestHelper.CopyingNavigator;
+import org.codefx.libfx.collection.tree.stream.TreeTestHelper.Node;
+import org.junit.Test;
+
+/**
+ * Tests {@link DfsTraversal}.
+ */
+public class DfsTraversalTest {
+
+	// construction
+
+	@Test(expected = NullPointerException.class)
+	@SuppressWarnings({ "javadoc", "unused" })
+	public void create_nullNavigator_throwsNullPointerException() throws Exception {
+		new DfsTraversal<>(null, createSingletonTree());
+	}
+
+	@Test(expected = NullPointerException.class)
+	@SuppressWarnings({ "javadoc", "unused" })
+	public void create_nullRoot_throwsNullPointerException() throws Exception {
+		new DfsTraversal<>(NAVIGATOR, (Node) null);
+	}
+
+	// iterate through trees
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void iterateOverSingletonTree_returnsCorrectElements() {
+		DfsTraversal<Node> traversal = new DfsTraversal<>(NAVIGATOR, createSingletonTree());
+
+		assertArrayEquals(new String[] { "singleton" }, content(traversal));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void iterateOverSimpleBinaryTree_returnsCorrectElements() {
+		DfsTraversal<Node> traversal = new DfsTraversal<>(NAVIGATOR, createSimpleBinaryTree());
+
+		assertArrayEquals(new String[] { "root", "leftLeaf", "rightLeaf" }, content(traversal));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void iterateOverDeepBinaryTree_returnsCorrectElements() {
+		DfsTraversal<Node> traversal = new DfsTraversal<>(NAVIGATOR, createDeepBinaryTree());
+
+		assertArrayEquals(
+				new String[] { "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15" },
+				content(traversal));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void iterateOverDeepBinaryTree_startFromWithin_returnsCorrectElements() {
+		Node root = createDeepBinaryTree();
+		Node descendant = root
+				.children.get(0) // returns the tree rooted in "2"
+				.children.get(1); // returns the tree rooted in "6"
+		DfsTraversal<Node> traversal = new DfsTraversal<>(
+				NAVIGATOR, createFromNodeToDescendant(NAVIGATOR, root, descendant));
+
+		assertArrayEquals(
+				new String[] { "6", "7", "8", "9", "10", "11", "12", "13", "14", "15" },
+				content(traversal));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void dfsFromWithin_navigatorCreatesEqualNodes_continuesAfterStartNode() {
+		// the navigator returns new instances, so the start node is equal but not identical to the one in the tree
+		CopyingNavigator navigator = new CopyingNavigator(createDeepBinaryTree());
+
+		List<String> treeContent = TreeStreams.dfsFromWithin(navigator, new String("6"))
+				.collect(Collectors.toList());
+
+		assertEquals(Arrays.asList("6", "7", "8", "9", "10", "11", "12", "13", "14", "15"), treeContent);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	@SuppressWarnings({ "javadoc", "unused" })
+	public void create_pathNotInTree_throwsIllegalStateException() throws Exception {
+		Node root = createDeepBinaryTree();
+		// "6" is the child of "2" with index 1, but the path claims it to be a child of the root
+		TreePath<TreeNode<Node>> initialPath = new StackTreePath<>();
+		initialPath.append(SimpleTreeNode.root(root));
+		initialPath.append(SimpleTreeNode.innerNode(root.children.get(0).children.get(1), 1));
+
+		new DfsTraversal<>(NAVIGATOR, initialPath);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void iterateOverDeepChain_stackGrows_returnsCorrectElements() {
+		// a chain which is deeper than the initial stack capacity
+		Node node = Node.leaf("99");
+		for (int depth = 98; depth >= 0; depth--)
+			node = Node.node(Integer.toString(depth), node);
+		DfsTraversal<Node> traversal = new DfsTraversal<>(NAVIGATOR, node);
+
+		String[] expected = new String[100];
+		for (int depth = 0; depth < 100; depth++)
+			expected[depth] = Integer.toString(depth);
+		assertArrayEquals(expected, content(traversal));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void iterateOverDeepBinaryTree_accessesChildrenInBulk() {
+		DfsTraversal<Node> traversal = new DfsTraversal<>(new BulkChildrenNavigator(), createDeepBinaryTree());
+
+		// the navigator throws an exception if a child is accessed by index
+		assertArrayEquals(
+				new String[] { "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15" },
+				content(traversal));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void iterateOverDeepBinaryTree_pruned_skipsSubtrees() {
+		// do not descend into "3" and "9"
+		DfsTraversal<Node> traversal = new DfsTraversal<>(
+				NAVIGATOR, createDeepBinaryTree(), node -> !node.content.equals("3") && !node.content.equals("9"));
+
+		assertArrayEquals(new String[] { "1", "2", "3", "6", "7", "8", "9" }, content(traversal));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void iterateOverDeepBinaryTree_rootPruned_returnsOnlyRoot() {
+		DfsTraversal<Node> traversal = new DfsTraversal<>(NAVIGATOR, createDeepBinaryTree(), node -> false);
+
+		assertArrayEquals(new String[] { "1" }, content(traversal));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void goToNextNode_afterEnd_returnsNull() {
+		DfsTraversal<Node> traversal = new DfsTraversal<>(NAVIGATOR, createSingletonTree());
+		traversal.goToNextNode();
+
+		assertNull(traversal.goToNextNode());
+		assertNull(traversal.goToNextNode());
+	}
+
+	// helper
+
+	private static String[] content(DfsTraversal<Node> traversal) {
+		List<String> content = new ArrayList<>();
+		for (Node node = traversal.goToNextNode(); node != null; node = traversal.goToNextNode())
+			content.add(node.content);
+		return content.toArray(new String[0]);
+	}
+
+}
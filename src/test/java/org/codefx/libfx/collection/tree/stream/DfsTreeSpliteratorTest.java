@@ -0,0 +1,325 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import static org.codefx.libfx.collection.tree.stream.TreePathFactory.createFromNodeToDescendant;
+import static org.codefx.libfx.collection.tree.stream.TreePathFactory.createWithSingleNode;
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.NAVIGATOR;
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.createDeepBinaryTree;
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.createSingletonTree;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.codefx.libfx.collection.tree.stream.TreeTestHelper.Node;
+import org.junit.Test;
+
+/**
+ * Tests {@link DfsTreeSpliterator}.
+ */
+public class DfsTreeSpliteratorTest {
+
+	private static final String[] DEEP_BINARY_TREE_CONTENT =
+			new String[] { "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15" };
+
+	// construction
+
+	@Test(expected = NullPointerException.class)
+	@SuppressWarnings({ "javadoc", "unused" })
+	public void create_nullNavigator_throwsNullPointerException() throws Exception {
+		new DfsTreeSpliterator<>(null, createWithSingleNode(createSingletonTree()), Spliterator.ORDERED);
+	}
+
+	@Test(expected = NullPointerException.class)
+	@SuppressWarnings({ "javadoc", "unused" })
+	public void create_nullInitialTreePath_throwsNullPointerException() throws Exception {
+		new DfsTreeSpliterator<>(NAVIGATOR, null, Spliterator.ORDERED);
+	}
+
+	// sequential traversal
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void forEachRemaining_singletonTree_returnsCorrectElements() {
+		Spliterator<Node> spliterator = createSpliterator(createSingletonTree());
+
+		assertArrayEquals(new String[] { "singleton" }, content(spliterator));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void forEachRemaining_deepBinaryTree_returnsCorrectElements() {
+		Spliterator<Node> spliterator = createSpliterator(createDeepBinaryTree());
+
+		assertArrayEquals(DEEP_BINARY_TREE_CONTENT, content(spliterator));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void tryAdvance_deepBinaryTree_returnsCorrectElements() {
+		Spliterator<Node> spliterator = createSpliterator(createDeepBinaryTree());
+
+		List<String> content = new ArrayList<>();
+		while (spliterator.tryAdvance(node -> content.add(node.content))) {
+			// the action adds the content
+		}
+
+		assertArrayEquals(DEEP_BINARY_TREE_CONTENT, content.toArray());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void forEachRemaining_startFromWithin_returnsCorrectElements() {
+		Node root = createDeepBinaryTree();
+		Node descendant = root
+				.children.get(0) // returns the tree rooted in "2"
+				.children.get(1); // returns the tree rooted in "6"
+		Spliterator<Node> spliterator = new DfsTreeSpliterator<>(
+				NAVIGATOR, createFromNodeToDescendant(NAVIGATOR, root, descendant), Spliterator.ORDERED);
+
+		assertArrayEquals(
+				new String[] { "6", "7", "8", "9", "10", "11", "12", "13", "14", "15" },
+				content(spliterator));
+	}
+
+	// split
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void trySplit_singletonTree_splitsOffRootThenReturnsNull() {
+		Spliterator<Node> spliterator = createSpliterator(createSingletonTree());
+
+		Spliterator<Node> prefix = spliterator.trySplit();
+
+		assertArrayEquals(new String[] { "singleton" }, content(prefix));
+		assertNull(spliterator.trySplit());
+		assertEquals(0, content(spliterator).length);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void trySplit_deepBinaryTree_prefixPrecedesRest() {
+		Spliterator<Node> spliterator = createSpliterator(createDeepBinaryTree());
+
+		// the first split hands off the root, the second one the subtree rooted in "2"
+		Spliterator<Node> root = spliterator.trySplit();
+		Spliterator<Node> leftSubtree = spliterator.trySplit();
+
+		assertArrayEquals(new String[] { "1" }, content(root));
+		assertArrayEquals(new String[] { "2", "3", "4", "5", "6", "7", "8" }, content(leftSubtree));
+		assertArrayEquals(new String[] { "9", "10", "11", "12", "13", "14", "15" }, content(spliterator));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void trySplit_afterPartialTraversal_prefixPrecedesRest() {
+		Spliterator<Node> spliterator = createSpliterator(createDeepBinaryTree());
+		List<String> content = new ArrayList<>();
+		// visit "1", "2", "3"
+		for (int i = 0; i < 3; i++)
+			spliterator.tryAdvance(node -> content.add(node.content));
+
+		// the shallowest frame with two unvisited children is the one of "3"
+		Spliterator<Node> prefix = spliterator.trySplit();
+
+		assertArrayEquals(new String[] { "4" }, content(prefix));
+		assertArrayEquals(new String[] { "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15" },
+				content(spliterator));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void trySplit_recursively_concatenationEqualsSequentialOrder() {
+		Spliterator<Node> spliterator = createSpliterator(createWideTree());
+
+		List<String> content = new ArrayList<>();
+		splitRecursivelyAndCollect(spliterator, content);
+
+		List<String> expected = new ArrayList<>();
+		createSpliterator(createWideTree()).forEachRemaining(node -> expected.add(node.content));
+		assertEquals(expected, content);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void trySplit_halvesEstimatedSize() {
+		Spliterator<Node> spliterator = createSpliterator(createDeepBinaryTree());
+
+		Spliterator<Node> prefix = spliterator.trySplit();
+
+		assertEquals(Long.MAX_VALUE >>> 1, spliterator.estimateSize());
+		assertEquals(Long.MAX_VALUE >>> 1, prefix.estimateSize());
+	}
+
+	// sized
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void sized_deepBinaryTree_reportsExactSize() {
+		Spliterator<Node> spliterator = createSizedSpliterator(createDeepBinaryTree());
+
+		assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+		assertEquals(15, spliterator.getExactSizeIfKnown());
+		spliterator.tryAdvance(node -> { /* nothing to do */ });
+		assertEquals(14, spliterator.getExactSizeIfKnown());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void trySplitSized_deepBinaryTree_splitsExactSizes() {
+		Spliterator<Node> spliterator = createSizedSpliterator(createDeepBinaryTree());
+
+		// the first split hands off the root, the second one the subtree rooted in "2"
+		Spliterator<Node> root = spliterator.trySplit();
+		Spliterator<Node> subtree = spliterator.trySplit();
+
+		assertEquals(1, root.getExactSizeIfKnown());
+		assertEquals(7, subtree.getExactSizeIfKnown());
+		assertEquals(7, spliterator.getExactSizeIfKnown());
+		assertArrayEquals(new String[] { "2", "3", "4", "5", "6", "7", "8" }, content(subtree));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void trySplitSized_unbalancedTree_splitsByNumberOfNodes() {
+		Node[] leaves = IntStream.range(0, 10).mapToObj(leaf -> Node.leaf("leaf " + leaf)).toArray(Node[]::new);
+		Node root = Node.root("root",
+				Node.node("big", leaves), Node.leaf("b"), Node.leaf("c"), Node.leaf("d"), Node.leaf("e"));
+		Spliterator<Node> spliterator = createSizedSpliterator(root);
+		spliterator.trySplit(); // hands off the root
+
+		Spliterator<Node> prefix = spliterator.trySplit();
+
+		// splitting by the number of children would have handed off "big" and "b"
+		assertEquals(11, prefix.getExactSizeIfKnown());
+		assertEquals(4, spliterator.getExactSizeIfKnown());
+		assertArrayEquals(new String[] { "b", "c", "d", "e" }, content(spliterator));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void trySplitSized_recursively_exactSizesAreCorrect() {
+		Spliterator<Node> spliterator = createSizedSpliterator(createWideTree());
+
+		List<String> content = new ArrayList<>();
+		splitRecursivelyCheckSizesAndCollect(spliterator, content);
+
+		List<String> expected = new ArrayList<>();
+		createSpliterator(createWideTree()).forEachRemaining(node -> expected.add(node.content));
+		assertEquals(expected, content);
+	}
+
+	// streams
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void dfsFromRoot_parallel_returnsNodesInOrder() {
+		Node root = createWideTree();
+
+		List<String> sequential = TreeStreams.dfsFromRoot(NAVIGATOR, root)
+				.map(node -> node.content)
+				.collect(Collectors.toList());
+		List<String> parallel = TreeStreams.dfsFromRoot(NAVIGATOR, root)
+				.parallel()
+				.map(node -> node.content)
+				.collect(Collectors.toList());
+
+		assertEquals(1 + 100 + 100 * 100, sequential.size());
+		assertEquals(sequential, parallel);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void dfsFromRoot_prunedAndParallel_skipsSubtreesAndReturnsNodesInOrder() {
+		Node root = createWideTree();
+
+		// do not descend into children with an odd number
+		List<String> parallel = TreeStreams
+				.dfsFromRoot(NAVIGATOR, root, node -> !node.content.matches("child \\d*[13579]"))
+				.parallel()
+				.map(node -> node.content)
+				.collect(Collectors.toList());
+
+		List<String> expected = new ArrayList<>();
+		expected.add("root");
+		for (int child = 0; child < 100; child++) {
+			expected.add("child " + child);
+			if (child % 2 == 0)
+				for (int leaf = 0; leaf < 100; leaf++)
+					expected.add("leaf " + child + "." + leaf);
+		}
+		assertEquals(expected, parallel);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void sizedDfsFromRoot_parallel_returnsNodesInOrder() {
+		Node root = createWideTree();
+		SubtreeSizeCache<Node> sizes = new SubtreeSizeCache<>(NAVIGATOR);
+
+		Object[] sequential = TreeStreams.dfsFromRoot(NAVIGATOR, root).toArray();
+		Object[] parallel = TreeStreams.sizedDfsFromRoot(sizes, root).parallel().toArray();
+
+		assertEquals(1 + 100 + 100 * 100, parallel.length);
+		assertArrayEquals(sequential, parallel);
+	}
+
+	// helper
+
+	private static Spliterator<Node> createSpliterator(Node root) {
+		return new DfsTreeSpliterator<>(NAVIGATOR, createWithSingleNode(root), Spliterator.ORDERED);
+	}
+
+	private static Spliterator<Node> createSizedSpliterator(Node root) {
+		return DfsTreeSpliterator.createSized(new SubtreeSizeCache<>(NAVIGATOR), root, Spliterator.ORDERED);
+	}
+
+	private static void splitRecursivelyCheckSizesAndCollect(Spliterator<Node> spliterator, List<String> content) {
+		long size = spliterator.getExactSizeIfKnown();
+		Spliterator<Node> prefix = spliterator.trySplit();
+		if (prefix == null) {
+			int sizeBefore = content.size();
+			spliterator.forEachRemaining(node -> content.add(node.content));
+			assertEquals(size, content.size() - sizeBefore);
+			assertEquals(0, spliterator.getExactSizeIfKnown());
+		} else {
+			assertEquals(size, prefix.getExactSizeIfKnown() + spliterator.getExactSizeIfKnown());
+			splitRecursivelyCheckSizesAndCollect(prefix, content);
+			splitRecursivelyCheckSizesAndCollect(spliterator, content);
+		}
+	}
+
+	private static String[] content(Spliterator<Node> spliterator) {
+		List<String> content = new ArrayList<>();
+		spliterator.forEachRemaining(node -> content.add(node.content));
+		return content.toArray(new String[0]);
+	}
+
+	private static void splitRecursivelyAndCollect(Spliterator<Node> spliterator, List<String> content) {
+		Spliterator<Node> prefix = spliterator.trySplit();
+		if (prefix == null) {
+			spliterator.forEachRemaining(node -> content.add(node.content));
+			return;
+		}
+		splitRecursivelyAndCollect(prefix, content);
+		splitRecursivelyAndCollect(spliterator, content);
+	}
+
+	/**
+	 * @return a tree whose root has 100 children which each have 100 leaves
+	 */
+	private static Node createWideTree() {
+		Node[] children = IntStream.range(0, 100)
+				.mapToObj(child -> Node.node("child " + child, IntStream.range(0, 100)
+						.mapToObj(leaf -> Node.leaf("leaf " + child + "." + leaf))
+						.toArray(Node[]::new)))
+				.toArray(Node[]::new);
+		return Node.root("root", children);
+	}
+
+}
@@ -0,0 +1,97 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.NAVIGATOR;
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.createDeepBinaryTree;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.codefx.libfx.collection.tree.stream.TreeTestHelper.Node;
+import org.junit.Test;
+
+/**
+ * Tests {@link NodeWithPath} and the streams which create them.
+ */
+public class NodeWithPathTest {
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void dfsWithPathFromRoot_returnsNodesWithDepths() {
+		List<String> nodesWithDepths = TreeStreams.dfsWithPathFromRoot(NAVIGATOR, createDeepBinaryTree())
+				.map(node -> node.getNode().content + "@" + node.getDepth())
+				.collect(Collectors.toList());
+
+		assertEquals(
+				Arrays.asList("1@0", "2@1", "3@2", "4@3", "5@3", "6@2", "7@3", "8@3",
+						"9@1", "10@2", "11@3", "12@3", "13@2", "14@3", "15@3"),
+				nodesWithDepths);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void dfsWithPathFromRoot_returnsNodesWithPaths() {
+		NodeWithPath<Node> twelve = TreeStreams.dfsWithPathFromRoot(NAVIGATOR, createDeepBinaryTree())
+				.filter(node -> node.getNode().content.equals("12"))
+				.findFirst()
+				.get();
+
+		List<String> path = twelve.getPath().stream()
+				.map(node -> node.content)
+				.collect(Collectors.toList());
+		assertEquals(Arrays.asList("1", "9", "10", "12"), path);
+		assertSame(twelve.getNode().parent.get(), twelve.getParent().get().getNode());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void dfsWithPathFromRoot_subtree_depthIsRelativeToSubtreeRoot() {
+		Node subtreeRoot = createDeepBinaryTree().children.get(1);
+
+		NodeWithPath<Node> first = TreeStreams.dfsWithPathFromRoot(NAVIGATOR, subtreeRoot).findFirst().get();
+
+		assertEquals(0, first.getDepth());
+		assertFalse(first.getParent().isPresent());
+		assertEquals(Arrays.asList(subtreeRoot), first.getPath());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void dfsWithPathFromRoot_prunedByDepth_skipsDeeperNodes() {
+		List<String> nodes = TreeStreams
+				.dfsWithPathFromRoot(NAVIGATOR, createDeepBinaryTree(), node -> node.getDepth() < 1)
+				.map(node -> node.getNode().content)
+				.collect(Collectors.toList());
+
+		assertEquals(Arrays.asList("1", "2", "9"), nodes);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void dfsWithPathFromRoot_parallel_returnsSameDepthsAsSequential() {
+		List<Integer> sequential = TreeStreams.dfsWithPathFromRoot(NAVIGATOR, createDeepBinaryTree())
+				.map(NodeWithPath::getDepth)
+				.collect(Collectors.toList());
+		List<Integer> parallel = TreeStreams.dfsWithPathFromRoot(NAVIGATOR, createDeepBinaryTree())
+				.parallel()
+				.map(NodeWithPath::getDepth)
+				.collect(Collectors.toList());
+
+		assertEquals(sequential, parallel);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void bfsWithPathFromRoot_returnsNodesWithDepths() {
+		List<String> nodesWithDepths = TreeStreams.bfsWithPathFromRoot(NAVIGATOR, createDeepBinaryTree())
+				.limit(7)
+				.map(node -> node.getNode().content + "@" + node.getDepth())
+				.collect(Collectors.toList());
+
+		assertEquals(Arrays.asList("1@0", "2@1", "9@1", "3@2", "6@2", "10@2", "13@2"), nodesWithDepths);
+	}
+
+}
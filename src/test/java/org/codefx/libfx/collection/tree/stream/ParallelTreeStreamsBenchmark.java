@@ -0,0 +1,96 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import static org.codefx.libfx.collection.tree.stream.BenchmarkNode.NAVIGATOR;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the throughput of sequential and {@link java.util.stream.Stream#parallel() parallel} depth-first streams.
+ * <p>
+ * The parallel streams are created with {@link TreeStreams#dfsFromRoot(
+ * org.codefx.libfx.collection.tree.navigate.TreeNavigator, Object) dfsFromRoot}, which splits off subtrees without
+ * knowing their sizes, and with {@link TreeStreams#sizedDfsFromRoot(SubtreeSizeCache, Object) sizedDfsFromRoot},
+ * which splits into parts of equal size. The sizes are computed before the benchmark runs. Each node is processed by
+ * burning a configurable amount of CPU time, so the benchmark shows when parallelization starts to pay off.
+ * <p>
+ * This is not a test and is hence not run during the build. Run it via {@link TreeBenchmarks}, which adds allocation
+ * rates to the report.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@SuppressWarnings("javadoc")
+public class ParallelTreeStreamsBenchmark {
+
+	@Param({ "CHAIN", "FAN", "BINARY", "OCTARY" })
+	public TreeShape shape;
+
+	@Param({ "10000", "1000000", "10000000" })
+	public int size;
+
+	/**
+	 * The amount of work done for each node (see {@link Blackhole#consumeCPU(long)}).
+	 */
+	@Param({ "0", "100" })
+	public long work;
+
+	private BenchmarkNode root;
+
+	private SubtreeSizeCache<BenchmarkNode> sizes;
+
+	@Setup
+	public void createTree() {
+		root = BenchmarkNode.createTree(shape, size).get(0);
+		sizes = new SubtreeSizeCache<>(NAVIGATOR);
+		sizes.getSubtreeSize(root);
+	}
+
+	// #begin BENCHMARKS
+
+	@Benchmark
+	public long sequential() {
+		return TreeStreams.dfsFromRoot(NAVIGATOR, root)
+				.mapToLong(this::process)
+				.sum();
+	}
+
+	@Benchmark
+	public long parallel() {
+		return TreeStreams.dfsFromRoot(NAVIGATOR, root)
+				.parallel()
+				.mapToLong(this::process)
+				.sum();
+	}
+
+	@Benchmark
+	public long parallelSized() {
+		return TreeStreams.sizedDfsFromRoot(sizes, root)
+				.parallel()
+				.mapToLong(this::process)
+				.sum();
+	}
+
+	private long process(BenchmarkNode node) {
+		Blackhole.consumeCPU(work);
+		return NAVIGATOR.getChildrenCount(node);
+	}
+
+	// #end BENCHMARKS
+
+}
@@ -0,0 +1,151 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.NAVIGATOR;
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.createDeepBinaryTree;
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.createSimpleBinaryTree;
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.createSingletonTree;
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.iterateTreeContent;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.codefx.libfx.collection.tree.stream.TreeTestHelper.Node;
+import org.junit.Test;
+
+/**
+ * Tests {@link PostOrderTreeIterationStrategy} and {@link TreeStreams#foldPostOrder foldPostOrder}.
+ */
+public class PostOrderTreeIterationStrategyTest {
+
+	// construction
+
+	@Test(expected = NullPointerException.class)
+	@SuppressWarnings({ "javadoc", "unused" })
+	public void create_nullNavigator_throwsNullPointerException() throws Exception {
+		new PostOrderTreeIterationStrategy<>(null, createSingletonTree());
+	}
+
+	@Test(expected = NullPointerException.class)
+	@SuppressWarnings({ "javadoc", "unused" })
+	public void create_nullRoot_throwsNullPointerException() throws Exception {
+		new PostOrderTreeIterationStrategy<>(NAVIGATOR, null);
+	}
+
+	// iterate through trees
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void iterateOverSingletonTree_returnsCorrectElements() {
+		TreeIterationStrategy<Node> strategy = new PostOrderTreeIterationStrategy<>(NAVIGATOR, createSingletonTree());
+
+		String[] treeContent = iterateTreeContent(strategy);
+
+		assertArrayEquals(new String[] { "singleton" }, treeContent);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void iterateOverSimpleBinaryTree_returnsCorrectElements() {
+		TreeIterationStrategy<Node> strategy = new PostOrderTreeIterationStrategy<>(NAVIGATOR, createSimpleBinaryTree());
+
+		String[] treeContent = iterateTreeContent(strategy);
+
+		assertArrayEquals(new String[] { "leftLeaf", "rightLeaf", "root" }, treeContent);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void iterateOverDeepBinaryTree_returnsCorrectElements() {
+		TreeIterationStrategy<Node> strategy = new PostOrderTreeIterationStrategy<>(NAVIGATOR, createDeepBinaryTree());
+
+		String[] treeContent = iterateTreeContent(strategy);
+
+		assertArrayEquals(
+				new String[] { "4", "5", "3", "7", "8", "6", "2", "11", "12", "10", "14", "15", "13", "9", "1" },
+				treeContent);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void iterateOverSubtree_endsWithSubtreeRoot() {
+		Node subtreeRoot = createDeepBinaryTree().children.get(0);
+		TreeIterationStrategy<Node> strategy = new PostOrderTreeIterationStrategy<>(NAVIGATOR, subtreeRoot);
+
+		String[] treeContent = iterateTreeContent(strategy);
+
+		assertArrayEquals(new String[] { "4", "5", "3", "7", "8", "6", "2" }, treeContent);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void goToNextNode_afterEnd_returnsEmpty() {
+		TreeIterationStrategy<Node> strategy = new PostOrderTreeIterationStrategy<>(NAVIGATOR, createSimpleBinaryTree());
+		iterateTreeContent(strategy);
+
+		assertFalse(strategy.goToNextNode().isPresent());
+	}
+
+	// fold
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void foldPostOrder_countNodes_returnsTreeSize() {
+		int size = TreeStreams.foldPostOrder(NAVIGATOR, createDeepBinaryTree(), node -> 1, Integer::sum);
+
+		assertEquals(15, size);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void foldPostOrder_singletonTree_returnsInitialValue() {
+		String result = TreeStreams.foldPostOrder(
+				NAVIGATOR, createSingletonTree(), node -> node.content, (value, child) -> value + child);
+
+		assertEquals("singleton", result);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void foldPostOrder_concatenation_accumulatesChildrenInOrder() {
+		String result = TreeStreams.foldPostOrder(
+				NAVIGATOR, createDeepBinaryTree(), node -> node.content, (value, child) -> value + "(" + child + ")");
+
+		assertEquals("1(2(3(4)(5))(6(7)(8)))(9(10(11)(12))(13(14)(15)))", result);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void foldPostOrder_height_returnsDepthOfDeepestLeaf() {
+		int height = TreeStreams.foldPostOrder(
+				NAVIGATOR, createDeepBinaryTree(), node -> 0, (value, child) -> Math.max(value, child + 1));
+
+		assertEquals(3, height);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void foldPostOrder_deepChain_doesNotOverflowStack() {
+		Node root = Node.leaf("100000");
+		for (int depth = 99_999; depth >= 0; depth--)
+			root = Node.node(String.valueOf(depth), root);
+
+		int size = TreeStreams.foldPostOrder(NAVIGATOR, root, node -> 1, Integer::sum);
+
+		assertEquals(100_001, size);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void postOrderFromRoot_returnsSameOrderAsStrategy() {
+		List<String> nodes = TreeStreams.postOrderFromRoot(NAVIGATOR, createSimpleBinaryTree())
+				.map(node -> node.content)
+				.collect(Collectors.toList());
+
+		assertEquals(Arrays.asList("leftLeaf", "rightLeaf", "root"), nodes);
+	}
+
+}
@@ -0,0 +1,174 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.NAVIGATOR;
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.createDeepBinaryTree;
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.createSingletonTree;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.codefx.libfx.collection.tree.navigate.TreeNavigator;
+import org.codefx.libfx.collection.tree.stream.TreeTestHelper.BulkChildrenNavigator;
+import org.codefx.libfx.collection.tree.stream.TreeTestHelper.Node;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link PrefetchingDfsTreeSpliterator} and the streams which use it.
+ */
+public class PrefetchingDfsTreeSpliteratorTest {
+
+	private static final List<String> DEEP_TREE_DFS_ORDER = Arrays.asList(
+			"1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15");
+
+	private ExecutorService executor;
+
+	@Before
+	@SuppressWarnings("javadoc")
+	public void setUp() {
+		executor = Executors.newFixedThreadPool(8);
+	}
+
+	@After
+	@SuppressWarnings("javadoc")
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	// construction
+
+	@Test(expected = NullPointerException.class)
+	@SuppressWarnings({ "javadoc", "unused" })
+	public void create_nullExecutor_throwsNullPointerException() throws Exception {
+		new PrefetchingDfsTreeSpliterator<>(NAVIGATOR, createSingletonTree(), null, 1, 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	@SuppressWarnings({ "javadoc", "unused" })
+	public void create_emptyPrefetchWindow_throwsIllegalArgumentException() throws Exception {
+		new PrefetchingDfsTreeSpliterator<>(NAVIGATOR, createSingletonTree(), executor, 0, 0);
+	}
+
+	// iterate through trees
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void prefetchingDfsFromRoot_singletonTree_streamsRoot() {
+		List<String> treeContent = stream(NAVIGATOR, createSingletonTree(), 4);
+
+		assertEquals(Arrays.asList("singleton"), treeContent);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void prefetchingDfsFromRoot_variousWindows_streamsInDepthFirstOrder() {
+		for (int prefetchWindow : new int[] { 1, 2, 3, 8, 100 }) {
+			List<String> treeContent = stream(new BulkChildrenNavigator(), createDeepBinaryTree(), prefetchWindow);
+
+			assertEquals(DEEP_TREE_DFS_ORDER, treeContent);
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void prefetchingDfsFromRoot_slowNavigator_requestsInParallelWithinWindow() {
+		SlowNavigator navigator = new SlowNavigator();
+
+		List<String> treeContent = stream(navigator, createDeepBinaryTree(), 3);
+
+		assertEquals(DEEP_TREE_DFS_ORDER, treeContent);
+		assertTrue(navigator.maxConcurrentRequests.get() <= 3);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	@SuppressWarnings("javadoc")
+	public void prefetchingDfsFromRoot_navigatorFails_rethrowsException() {
+		BulkChildrenNavigator failingNavigator = new BulkChildrenNavigator() {
+			@Override
+			public List<Node> getChildren(Node parent) {
+				if (parent.content.equals("6"))
+					throw new IllegalStateException();
+				return super.getChildren(parent);
+			}
+		};
+
+		stream(failingNavigator, createDeepBinaryTree(), 4);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void close_outstandingRequests_requestsAreCancelled() {
+		List<Runnable> submittedTasks = new ArrayList<>();
+		AtomicInteger requests = new AtomicInteger();
+		BulkChildrenNavigator countingNavigator = new BulkChildrenNavigator() {
+			@Override
+			public List<Node> getChildren(Node parent) {
+				requests.incrementAndGet();
+				return super.getChildren(parent);
+			}
+		};
+
+		try (Stream<Node> stream =
+				TreeStreams.prefetchingDfsFromRoot(countingNavigator, createDeepBinaryTree(), submittedTasks::add, 4)) {
+			Iterator<Node> nodes = stream.iterator();
+			assertEquals("1", nodes.next().content);
+		}
+		submittedTasks.forEach(Runnable::run);
+
+		assertEquals(1, submittedTasks.size());
+		assertEquals(0, requests.get());
+	}
+
+	// #begin HELPER
+
+	private List<String> stream(TreeNavigator<Node> navigator, Node root, int prefetchWindow) {
+		try (Stream<Node> stream = TreeStreams.prefetchingDfsFromRoot(navigator, root, executor, prefetchWindow)) {
+			return stream
+					.map(node -> node.content)
+					.collect(Collectors.toList());
+		}
+	}
+
+	// #end HELPER
+
+	// #begin INNER CLASSES
+
+	/**
+	 * A navigator which takes some time to get the children and records the maximum number of concurrent requests.
+	 */
+	private static class SlowNavigator extends BulkChildrenNavigator {
+
+		private final AtomicInteger concurrentRequests = new AtomicInteger();
+
+		private final AtomicInteger maxConcurrentRequests = new AtomicInteger();
+
+		@Override
+		public List<Node> getChildren(Node parent) {
+			int requests = concurrentRequests.incrementAndGet();
+			maxConcurrentRequests.accumulateAndGet(requests, Math::max);
+			try {
+				Thread.sleep(5);
+				return super.getChildren(parent);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(ex);
+			} finally {
+				concurrentRequests.decrementAndGet();
+			}
+		}
+
+	}
+
+	// #end INNER CLASSES
+
+}
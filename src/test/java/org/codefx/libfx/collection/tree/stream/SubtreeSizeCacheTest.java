@@ -0,0 +1,145 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.createDeepBinaryTree;
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.codefx.libfx.collection.tree.stream.TreeTestHelper.BulkChildrenNavigator;
+import org.codefx.libfx.collection.tree.stream.TreeTestHelper.Node;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link SubtreeSizeCache}.
+ */
+public class SubtreeSizeCacheTest {
+
+	private CountingNavigator navigator;
+
+	private SubtreeSizeCache<Node> sizes;
+
+	@Before
+	@SuppressWarnings("javadoc")
+	public void setUp() {
+		navigator = new CountingNavigator();
+		sizes = new SubtreeSizeCache<>(navigator);
+	}
+
+	// construction
+
+	@Test(expected = NullPointerException.class)
+	@SuppressWarnings({ "javadoc", "unused" })
+	public void create_nullNavigator_throwsNullPointerException() throws Exception {
+		new SubtreeSizeCache<>(null);
+	}
+
+	// sizes
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getSubtreeSize_deepBinaryTree_returnsSizes() {
+		Node root = createDeepBinaryTree();
+		Node two = root.children.get(0);
+		Node three = two.children.get(0);
+		Node four = three.children.get(0);
+
+		assertEquals(15, sizes.getSubtreeSize(root));
+		assertEquals(7, sizes.getSubtreeSize(two));
+		assertEquals(3, sizes.getSubtreeSize(three));
+		assertEquals(1, sizes.getSubtreeSize(four));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getSubtreeSize_repeatedRequests_treeIsTraversedOnce() {
+		Node root = createDeepBinaryTree();
+
+		sizes.getSubtreeSize(root);
+		sizes.getSubtreeSize(root);
+		sizes.getSubtreeSize(root.children.get(1));
+
+		assertEquals(15, navigator.requests.get());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getSubtreeSize_subtreeSizeCached_subtreeIsNotTraversedAgain() {
+		Node root = createDeepBinaryTree();
+
+		sizes.getSubtreeSize(root.children.get(0));
+		sizes.getSubtreeSize(root);
+
+		// the subtree rooted in "2" has 7 nodes, which are only traversed once
+		assertEquals(15, navigator.requests.get());
+	}
+
+	// invalidation
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void invalidate_afterAddingChild_nodeAndAncestorsAreUpdated() {
+		Node root = createDeepBinaryTree();
+		Node two = root.children.get(0);
+		Node three = two.children.get(0);
+		sizes.getSubtreeSize(root);
+
+		three.children.add(Node.leaf("new"));
+		sizes.invalidate(three);
+
+		assertEquals(16, sizes.getSubtreeSize(root));
+		assertEquals(8, sizes.getSubtreeSize(two));
+		assertEquals(4, sizes.getSubtreeSize(three));
+		assertEquals(7, sizes.getSubtreeSize(root.children.get(1)));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void invalidate_afterAddingChild_onlyInvalidatedNodesAreTraversedAgain() {
+		Node root = createDeepBinaryTree();
+		Node three = root.children.get(0).children.get(0);
+		sizes.getSubtreeSize(root);
+		navigator.requests.set(0);
+
+		three.children.add(Node.leaf("new"));
+		sizes.invalidate(three);
+		sizes.getSubtreeSize(root);
+
+		// "1", "2" and "3" were invalidated and the new leaf was never visited; all other sizes are cached
+		assertEquals(4, navigator.requests.get());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void invalidateAll_afterAddingChildren_sizesAreUpdated() {
+		Node root = createDeepBinaryTree();
+		sizes.getSubtreeSize(root);
+
+		root.children.get(0).children.add(Node.leaf("new"));
+		root.children.get(1).children.add(Node.leaf("new"));
+		sizes.invalidateAll();
+
+		assertEquals(17, sizes.getSubtreeSize(root));
+	}
+
+	// #begin INNER CLASSES
+
+	/**
+	 * A navigator which counts the requests for children.
+	 */
+	private static class CountingNavigator extends BulkChildrenNavigator {
+
+		private final AtomicInteger requests = new AtomicInteger();
+
+		@Override
+		public List<Node> getChildren(Node parent) {
+			requests.incrementAndGet();
+			return super.getChildren(parent);
+		}
+
+	}
+
+	// #end INNER CLASSES
+
+}
@@ -0,0 +1,51 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks for tree streams and navigators with the {@link GCProfiler}, so every report includes allocation
+ * rates.
+ * <p>
+ * Run it with the test classpath. Without arguments, all benchmarks in {@code org.codefx.libfx.collection.tree} are
+ * run. Arguments are passed on to JMH, e.g. {@code TreeStreamsBenchmark -p size=10000} only runs that benchmark on the
+ * smallest trees.
+ */
+public class TreeBenchmarks {
+
+	private static final String TREE_BENCHMARKS = "org\\.codefx\\.libfx\\.collection\\.tree\\..*Benchmark";
+
+	/**
+	 * Private constructor so utility class is not instantiated.
+	 */
+	private TreeBenchmarks() {
+		// nothing to do
+	}
+
+	/**
+	 * Runs the benchmarks.
+	 *
+	 * @param args
+	 *            JMH's command line arguments
+	 * @throws CommandLineOptionException
+	 *             if the arguments can not be parsed
+	 * @throws RunnerException
+	 *             if running the benchmarks fails
+	 */
+	public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+		CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+		ChainedOptionsBuilder options = new OptionsBuilder()
+				.parent(commandLineOptions)
+				.addProfiler(GCProfiler.class);
+		if (commandLineOptions.getIncludes().isEmpty())
+			options.include(TREE_BENCHMARKS);
+
+		new Runner(options.build()).run();
+	}
+
+}
@@ -0,0 +1,271 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.NAVIGATOR;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+import org.codefx.libfx.collection.tree.stream.TreeEdit.Type;
+import org.codefx.libfx.collection.tree.stream.TreeTestHelper.Node;
+import org.junit.Test;
+
+/**
+ * Tests {@link TreeDiff}.
+ */
+public class TreeDiffTest {
+
+	// diff
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void diff_identicalTrees_noEdits() {
+		List<TreeEdit<Node, String>> edits = diff("1(2(3,4),5)", "1(2(3,4),5)");
+
+		assertTrue(edits.isEmpty());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void diff_differentRoots_removesOldAndInsertsNewRoot() {
+		List<TreeEdit<Node, String>> edits = diff("1(2)", "3(2)");
+
+		assertEquals(2, edits.size());
+		assertEquals("TreeEdit [REMOVED: 1]", edits.get(0).toString());
+		assertEquals("TreeEdit [INSERTED: 3 to null@0]", edits.get(1).toString());
+		assertTrue(!edits.get(1).getParentKey().isPresent());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void diff_insertedLeaf_insertsLeaf() {
+		List<TreeEdit<Node, String>> edits = diff("1(2,3)", "1(2,4,3)");
+
+		assertEquals(1, edits.size());
+		assertEquals(Type.INSERTED, edits.get(0).getType());
+		assertEquals("4", edits.get(0).getKey());
+		assertEquals("1", edits.get(0).getParentKey().get());
+		assertEquals(1, edits.get(0).getIndex());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void diff_removedSubtree_removesOnlySubtreeRoot() {
+		List<TreeEdit<Node, String>> edits = diff("1(2(3,4),5)", "1(5)");
+
+		assertEquals(1, edits.size());
+		assertEquals("TreeEdit [REMOVED: 2]", edits.get(0).toString());
+		assertEquals(-1, edits.get(0).getIndex());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void diff_reorderedSiblings_movesWithinParent() {
+		List<TreeEdit<Node, String>> edits = diff("1(2,3,4)", "1(4,2,3)");
+
+		assertEquals(1, edits.size());
+		assertEquals("TreeEdit [MOVED: 4 to 1@0]", edits.get(0).toString());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void diff_subtreeMovedToOtherParent_movesSubtree() {
+		List<TreeEdit<Node, String>> edits = diff("1(2(3(4,5)),6)", "1(2,6(3(4,5)))");
+
+		assertEquals(1, edits.size());
+		assertEquals("TreeEdit [MOVED: 3 to 6@0]", edits.get(0).toString());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void diff_variousChanges_editsTransformOldIntoNewTree() {
+		assertDiffTransforms("1(2(3,4),5(6,7))", "1(5(7,3),8(2(6)),4)");
+		assertDiffTransforms("1(2(3(4(5))))", "1(5(4(3(2))))");
+		assertDiffTransforms("1(2,3,4,5,6)", "1(6,5,4,3,2)");
+		assertDiffTransforms("1(2(3),4(5))", "1(4(3),2(5))");
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void diff_randomChanges_editsTransformOldIntoNewTree() {
+		Random random = new Random(42);
+		for (int run = 0; run < 500; run++) {
+			Node oldTree = createRandomTree(random, 1 + random.nextInt(30));
+			Node newTree = copy(oldTree);
+			changeRandomly(random, newTree, 1 + random.nextInt(10));
+
+			assertDiffTransforms(oldTree, newTree);
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void diff_sameSubtreePredicate_skipsIdenticalSubtrees() {
+		Node oldTree = parse("1(2(3,4),5(6,7))");
+		Node newTree = parse("1(2(3,4),5(7,6))");
+		Set<String> visited = new HashSet<>();
+
+		List<TreeEdit<Node, String>> edits = TreeDiff.diff(
+				NAVIGATOR, oldTree, NAVIGATOR, newTree, node -> node.content,
+				(oldNode, newNode) -> {
+					visited.add(oldNode.content);
+					return oldNode.content.equals("2");
+				});
+
+		assertEquals(1, edits.size());
+		assertEquals("TreeEdit [MOVED: 7 to 5@0]", edits.get(0).toString());
+		// the children of "2" are never compared because "2" was reported to be unchanged
+		assertTrue(visited.contains("2"));
+		assertTrue(!visited.contains("3"));
+		assertTrue(!visited.contains("4"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	@SuppressWarnings("javadoc")
+	public void diff_duplicateKeys_throwsException() {
+		diff("1(2,2)", "1(2)");
+	}
+
+	// #begin HELPER
+
+	private static List<TreeEdit<Node, String>> diff(String oldTree, String newTree) {
+		return TreeDiff.diff(NAVIGATOR, parse(oldTree), NAVIGATOR, parse(newTree), node -> node.content);
+	}
+
+	private static void assertDiffTransforms(String oldTree, String newTree) {
+		assertDiffTransforms(parse(oldTree), parse(newTree));
+	}
+
+	private static void assertDiffTransforms(Node oldTree, Node newTree) {
+		List<TreeEdit<Node, String>> edits =
+				TreeDiff.diff(NAVIGATOR, oldTree, NAVIGATOR, newTree, node -> node.content);
+		Node patchedTree = apply(copy(oldTree), edits);
+		assertEquals(format(newTree), format(patchedTree));
+	}
+
+	/**
+	 * Parses trees like "1(2(3,4),5)".
+	 */
+	private static Node parse(String tree) {
+		int[] position = { 0 };
+		return parse(tree, position);
+	}
+
+	private static Node parse(String tree, int[] position) {
+		int contentStart = position[0];
+		while (position[0] < tree.length() && "(),".indexOf(tree.charAt(position[0])) < 0)
+			position[0]++;
+		Node node = Node.leaf(tree.substring(contentStart, position[0]));
+		if (position[0] < tree.length() && tree.charAt(position[0]) == '(') {
+			do {
+				position[0]++;
+				attach(node, node.children.size(), parse(tree, position));
+			} while (tree.charAt(position[0]) == ',');
+			position[0]++;
+		}
+		return node;
+	}
+
+	private static String format(Node node) {
+		if (node.children.isEmpty())
+			return node.content;
+		StringBuilder formatted = new StringBuilder(node.content).append("(");
+		for (int i = 0; i < node.children.size(); i++)
+			formatted.append(i == 0 ? "" : ",").append(format(node.children.get(i)));
+		return formatted.append(")").toString();
+	}
+
+	private static Node copy(Node node) {
+		Node copy = Node.leaf(node.content);
+		for (Node child : node.children)
+			attach(copy, copy.children.size(), copy(child));
+		return copy;
+	}
+
+	private static void attach(Node parent, int index, Node child) {
+		parent.children.add(index, child);
+		child.parent = Optional.of(parent);
+	}
+
+	private static void detach(Node node) {
+		node.parent.ifPresent(parent -> parent.children.remove(node));
+		node.parent = Optional.empty();
+	}
+
+	private static Node apply(Node root, List<TreeEdit<Node, String>> edits) {
+		Map<String, Node> nodesByKey = new HashMap<>();
+		TreeStreams.dfsFromRoot(NAVIGATOR, root).forEach(node -> nodesByKey.put(node.content, node));
+
+		Node patchedRoot = root;
+		for (TreeEdit<Node, String> edit : edits)
+			switch (edit.getType()) {
+			case REMOVED:
+				detach(nodesByKey.get(edit.getKey()));
+				break;
+			case INSERTED:
+				Node inserted = copy(edit.getNode());
+				TreeStreams.dfsFromRoot(NAVIGATOR, inserted).forEach(node -> nodesByKey.put(node.content, node));
+				if (edit.getParentKey().isPresent())
+					attach(nodesByKey.get(edit.getParentKey().get()), edit.getIndex(), inserted);
+				else
+					patchedRoot = inserted;
+				break;
+			case MOVED:
+				Node moved = nodesByKey.get(edit.getKey());
+				Node newParent = nodesByKey.get(edit.getParentKey().get());
+				assertTrue("Moving " + moved + " below its own descendant.",
+						!TreeQueries.isAncestor(NAVIGATOR, moved, newParent));
+				detach(moved);
+				attach(newParent, edit.getIndex(), moved);
+				break;
+			default:
+				throw new IllegalArgumentException();
+			}
+		return patchedRoot;
+	}
+
+	private static Node createRandomTree(Random random, int size) {
+		List<Node> nodes = new ArrayList<>();
+		nodes.add(Node.leaf("0"));
+		for (int i = 1; i < size; i++) {
+			Node parent = nodes.get(random.nextInt(nodes.size()));
+			Node child = Node.leaf(Integer.toString(i));
+			attach(parent, random.nextInt(parent.children.size() + 1), child);
+			nodes.add(child);
+		}
+		return nodes.get(0);
+	}
+
+	private static void changeRandomly(Random random, Node root, int changes) {
+		for (int change = 0; change < changes; change++) {
+			List<Node> nodes = new ArrayList<>();
+			TreeStreams.dfsFromRoot(NAVIGATOR, root).forEach(nodes::add);
+			Node node = nodes.get(random.nextInt(nodes.size()));
+			Node parent = nodes.get(random.nextInt(nodes.size()));
+			switch (random.nextInt(3)) {
+			case 0:
+				if (node != root)
+					detach(node);
+				break;
+			case 1:
+				attach(parent, random.nextInt(parent.children.size() + 1), Node.leaf("n" + change));
+				break;
+			default:
+				if (node != root && node != parent && !TreeQueries.isAncestor(NAVIGATOR, node, parent)) {
+					detach(node);
+					attach(parent, random.nextInt(parent.children.size() + 1), node);
+				}
+			}
+		}
+	}
+
+	// #end HELPER
+
+}
@@ -0,0 +1,217 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.NAVIGATOR;
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.createDeepBinaryTree;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.codefx.libfx.collection.tree.stream.TreeTestHelper.Node;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link TreeIndex}.
+ */
+public class TreeIndexTest {
+
+	// #begin FIELDS
+
+	private Node root;
+
+	private TreeIndex<Node> index;
+
+	// #end FIELDS
+
+	@Before
+	@SuppressWarnings("javadoc")
+	public void setUp() {
+		root = createDeepBinaryTree();
+		index = new TreeIndex<>(NAVIGATOR, root);
+	}
+
+	// construction
+
+	@Test(expected = NullPointerException.class)
+	@SuppressWarnings({ "javadoc", "unused" })
+	public void create_nullNavigator_throwsNullPointerException() throws Exception {
+		new TreeIndex<>(null, root);
+	}
+
+	@Test(expected = NullPointerException.class)
+	@SuppressWarnings({ "javadoc", "unused" })
+	public void create_nullRoot_throwsNullPointerException() throws Exception {
+		new TreeIndex<>(NAVIGATOR, null);
+	}
+
+	// numbering
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void size_deepBinaryTree_returnsNumberOfNodes() {
+		assertEquals(15, index.size());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getNode_allIndices_returnsNodesInDepthFirstOrder() {
+		List<Node> nodesInPreOrder = new ArrayList<>();
+		for (int preOrderIndex = 0; preOrderIndex < index.size(); preOrderIndex++)
+			nodesInPreOrder.add(index.getNode(preOrderIndex));
+
+		assertEquals(TreeStreams.dfsFromRoot(NAVIGATOR, root).collect(Collectors.toList()), nodesInPreOrder);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getPostOrderIndex_allNodes_matchesPostOrderStream() {
+		List<Node> nodesInPostOrder = TreeStreams.postOrderFromRoot(NAVIGATOR, root).collect(Collectors.toList());
+
+		for (int postOrderIndex = 0; postOrderIndex < nodesInPostOrder.size(); postOrderIndex++)
+			assertEquals(postOrderIndex, index.getPostOrderIndex(nodesInPostOrder.get(postOrderIndex)));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getPreOrderIndex_nodeNotInTree_returnsNoIndex() {
+		assertEquals(TreeIndex.NO_INDEX, index.getPreOrderIndex(Node.singleton("other")));
+		assertFalse(index.contains(Node.singleton("other")));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	@SuppressWarnings("javadoc")
+	public void getDepth_nodeNotInTree_throwsIllegalArgumentException() {
+		index.getDepth(Node.singleton("other"));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	@SuppressWarnings("javadoc")
+	public void getNode_indexOutOfBounds_throwsIndexOutOfBoundsException() {
+		index.getNode(15);
+	}
+
+	// structural queries
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getDepthAndParent_leaf_returnsDepthAndParent() {
+		Node twelve = find("12");
+
+		assertEquals(3, index.getDepth(twelve));
+		assertSame(find("10"), index.getParent(twelve).get());
+		assertFalse(index.getParent(root).isPresent());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getSubtreeSize_variousNodes_returnsSizes() {
+		assertEquals(15, index.getSubtreeSize(root));
+		assertEquals(7, index.getSubtreeSize(find("9")));
+		assertEquals(3, index.getSubtreeSize(find("6")));
+		assertEquals(1, index.getSubtreeSize(find("15")));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void isAncestor_variousNodes_returnsCorrectAnswers() {
+		assertTrue(index.isAncestor(root, find("15")));
+		assertTrue(index.isAncestor(find("2"), find("8")));
+		assertFalse(index.isAncestor(find("2"), find("9")));
+		assertFalse(index.isAncestor(find("8"), find("2")));
+		assertFalse(index.isAncestor(find("8"), find("8")));
+		assertFalse(index.isAncestor(root, Node.singleton("other")));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getDescendants_innerNode_returnsDescendantsInPreOrder() {
+		List<String> descendants = index.getDescendants(find("9")).stream()
+				.map(node -> node.content)
+				.collect(Collectors.toList());
+
+		assertEquals(Arrays.asList("10", "11", "12", "13", "14", "15"), descendants);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void getSubtreeEnd_innerNode_delimitsDescendants() {
+		int nodeIndex = index.getPreOrderIndex(find("2"));
+		List<String> descendants = new ArrayList<>();
+
+		int subtreeEnd = index.getSubtreeEnd(nodeIndex);
+		for (int descendant = nodeIndex + 1; descendant < subtreeEnd; descendant++)
+			descendants.add(index.getNode(descendant).content);
+
+		assertEquals(Arrays.asList("3", "4", "5", "6", "7", "8"), descendants);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void forEachDescendant_leaf_performsNoAction() {
+		List<Node> descendants = new ArrayList<>();
+
+		index.forEachDescendant(find("4"), descendants::add);
+
+		assertTrue(descendants.isEmpty());
+	}
+
+	// validity
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void invalidate_treeChanged_indexRebuiltOnNextQuery() {
+		Node eight = find("8");
+		Node sixteen = Node.leaf("16");
+		eight.children.add(sixteen);
+		sixteen.parent = Optional.of(eight);
+
+		index.invalidate();
+
+		assertFalse(index.isValid());
+		assertEquals(16, index.size());
+		assertTrue(index.isValid());
+		assertTrue(index.isAncestor(find("2"), sixteen));
+		assertEquals(4, index.getSubtreeSize(find("6")));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void rebuild_treeChanged_reflectsChange() {
+		Node nine = find("9");
+		root.children.remove(nine);
+
+		index.rebuild();
+
+		assertEquals(8, index.size());
+		assertFalse(index.contains(nine));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void rebuild_deepChain_doesNotOverflowStack() {
+		Node chain = Node.leaf("10000");
+		for (int depth = 9_999; depth >= 0; depth--)
+			chain = Node.node(String.valueOf(depth), chain);
+
+		TreeIndex<Node> chainIndex = new TreeIndex<>(NAVIGATOR, chain);
+
+		assertEquals(10_001, chainIndex.size());
+		assertEquals(10_000, chainIndex.getDepth(chainIndex.getNode(10_000)));
+	}
+
+	// #begin HELPER
+
+	private Node find(String content) {
+		return TreeStreams.dfsFromRoot(NAVIGATOR, root).filter(node -> node.content.equals(content)).findFirst().get();
+	}
+
+	// #end HELPER
+
+}
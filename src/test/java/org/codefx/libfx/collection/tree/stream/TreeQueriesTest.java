@@ -0,0 +1,121 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.NAVIGATOR;
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.createDeepBinaryTree;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.codefx.libfx.collection.tree.stream.TreeTestHelper.Node;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link TreeQueries}.
+ */
+public class TreeQueriesTest {
+
+	private Node root;
+
+	@Before
+	@SuppressWarnings("javadoc")
+	public void setUp() {
+		root = createDeepBinaryTree();
+	}
+
+	// depth & ancestors
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void depth_variousNodes_returnsNumberOfAncestors() {
+		assertEquals(0, TreeQueries.depth(NAVIGATOR, root));
+		assertEquals(1, TreeQueries.depth(NAVIGATOR, find("9")));
+		assertEquals(3, TreeQueries.depth(NAVIGATOR, find("15")));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void isAncestor_variousNodes_returnsCorrectAnswers() {
+		assertTrue(TreeQueries.isAncestor(NAVIGATOR, root, find("12")));
+		assertTrue(TreeQueries.isAncestor(NAVIGATOR, find("9"), find("12")));
+		assertFalse(TreeQueries.isAncestor(NAVIGATOR, find("2"), find("12")));
+		assertFalse(TreeQueries.isAncestor(NAVIGATOR, find("12"), find("12")));
+	}
+
+	// lowest common ancestor
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void lowestCommonAncestor_nodesInDifferentSubtrees_returnsSplittingNode() {
+		assertSame(root, TreeQueries.lowestCommonAncestor(NAVIGATOR, find("4"), find("15")).get());
+		assertSame(find("2"), TreeQueries.lowestCommonAncestor(NAVIGATOR, find("4"), find("8")).get());
+		assertSame(find("9"), TreeQueries.lowestCommonAncestor(NAVIGATOR, find("10"), find("15")).get());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void lowestCommonAncestor_ancestorAndDescendant_returnsAncestor() {
+		assertSame(find("9"), TreeQueries.lowestCommonAncestor(NAVIGATOR, find("9"), find("14")).get());
+		assertSame(find("9"), TreeQueries.lowestCommonAncestor(NAVIGATOR, find("14"), find("9")).get());
+		assertSame(find("7"), TreeQueries.lowestCommonAncestor(NAVIGATOR, find("7"), find("7")).get());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void lowestCommonAncestor_nodesInDifferentTrees_returnsEmpty() {
+		Node otherTree = createDeepBinaryTree().children.get(0).children.get(0);
+
+		assertFalse(TreeQueries.lowestCommonAncestor(NAVIGATOR, find("4"), otherTree).isPresent());
+	}
+
+	// distance & path
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void distance_variousNodes_returnsNumberOfEdges() {
+		assertEquals(0, TreeQueries.distance(NAVIGATOR, find("5"), find("5")).getAsInt());
+		assertEquals(2, TreeQueries.distance(NAVIGATOR, find("4"), find("5")).getAsInt());
+		assertEquals(6, TreeQueries.distance(NAVIGATOR, find("4"), find("15")).getAsInt());
+		assertEquals(2, TreeQueries.distance(NAVIGATOR, root, find("10")).getAsInt());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void distance_nodesInDifferentTrees_returnsEmpty() {
+		assertFalse(TreeQueries.distance(NAVIGATOR, find("4"), createDeepBinaryTree()).isPresent());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void pathBetween_nodesInDifferentSubtrees_returnsPathOverLowestCommonAncestor() {
+		List<String> path = TreeQueries.pathBetween(NAVIGATOR, find("5"), find("7")).get().stream()
+				.map(node -> node.content)
+				.collect(Collectors.toList());
+
+		assertEquals(Arrays.asList("5", "3", "2", "6", "7"), path);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void pathBetween_descendantAndAncestor_returnsUpwardsPath() {
+		List<String> path = TreeQueries.pathBetween(NAVIGATOR, find("12"), root).get().stream()
+				.map(node -> node.content)
+				.collect(Collectors.toList());
+
+		assertEquals(Arrays.asList("12", "10", "9", "1"), path);
+	}
+
+	// #begin HELPER
+
+	private Node find(String content) {
+		return TreeStreams.dfsFromRoot(NAVIGATOR, root).filter(node -> node.content.equals(content)).findFirst().get();
+	}
+
+	// #end HELPER
+
+}
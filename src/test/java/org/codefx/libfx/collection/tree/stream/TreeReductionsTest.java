@@ -0,0 +1,142 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.NAVIGATOR;
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.createDeepBinaryTree;
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.createSingletonTree;
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.codefx.libfx.collection.tree.stream.TreeTestHelper.Node;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link TreeReductions}.
+ */
+public class TreeReductionsTest {
+
+	// #begin FIELDS
+
+	private ForkJoinPool pool;
+
+	// #end FIELDS
+
+	@Before
+	@SuppressWarnings("javadoc")
+	public void setUp() {
+		pool = new ForkJoinPool(4);
+	}
+
+	@After
+	@SuppressWarnings("javadoc")
+	public void tearDown() {
+		pool.shutdownNow();
+	}
+
+	// construction
+
+	@Test(expected = NullPointerException.class)
+	@SuppressWarnings("javadoc")
+	public void reduce_nullNavigator_throwsNullPointerException() throws Exception {
+		TreeReductions.reduce(null, createSingletonTree(), 0, node -> 1, Integer::sum);
+	}
+
+	@Test(expected = NullPointerException.class)
+	@SuppressWarnings("javadoc")
+	public void reduce_nullRoot_throwsNullPointerException() throws Exception {
+		TreeReductions.reduce(NAVIGATOR, null, 0, node -> 1, Integer::sum);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	@SuppressWarnings("javadoc")
+	public void reduce_negativeSplitThreshold_throwsIllegalArgumentException() throws Exception {
+		TreeReductions.reduce(NAVIGATOR, createSingletonTree(), 0, node -> 1, Integer::sum, -1, pool);
+	}
+
+	// reduce
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void count_singletonTree_returnsOne() {
+		long count = TreeReductions.count(NAVIGATOR, createSingletonTree());
+
+		assertEquals(1, count);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void count_deepBinaryTree_returnsTreeSize() {
+		long count = TreeReductions.count(NAVIGATOR, createDeepBinaryTree());
+
+		assertEquals(15, count);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void reduce_nonCommutativeCombiner_combinesInDepthFirstOrder() {
+		String concatenated = TreeReductions.reduce(
+				NAVIGATOR, createDeepBinaryTree(), "", node -> node.content + " ", String::concat, 0, pool);
+
+		String expected = TreeStreams.dfsFromRoot(NAVIGATOR, createDeepBinaryTree())
+				.map(node -> node.content + " ")
+				.collect(Collectors.joining());
+		assertEquals(expected, concatenated);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void reduce_wideTree_returnsSameResultAsSequentialFold() {
+		Node root = createWideTree(100, 100);
+
+		long sum = TreeReductions.reduce(
+				NAVIGATOR, root, 0L, node -> Long.parseLong(node.content), Long::sum, 8, pool);
+
+		long expected = TreeStreams.foldPostOrder(
+				NAVIGATOR, root, node -> Long.parseLong(node.content), Long::sum);
+		assertEquals(expected, sum);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void reduce_deepChain_doesNotOverflowStack() {
+		Node root = Node.leaf("100000");
+		for (int depth = 99_999; depth >= 0; depth--)
+			root = Node.node(String.valueOf(depth), root);
+
+		long count = TreeReductions.count(NAVIGATOR, root);
+
+		assertEquals(100_001, count);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void reduce_deepCaterpillar_doesNotOverflowStack() {
+		// each node on the spine has a leaf and the next node on the spine as children, so every one of them is split
+		Node root = Node.leaf("spine 200000");
+		for (int depth = 199_999; depth >= 0; depth--)
+			root = Node.node("spine " + depth, Node.leaf("leaf " + depth), root);
+
+		long count = TreeReductions.count(NAVIGATOR, root);
+
+		assertEquals(400_001, count);
+	}
+
+	// #begin HELPER
+
+	private static Node createWideTree(int childrenOfRoot, int childrenOfChildren) {
+		Node[] children = new Node[childrenOfRoot];
+		for (int childIndex = 0; childIndex < childrenOfRoot; childIndex++) {
+			Node[] grandchildren = new Node[childrenOfChildren];
+			for (int grandchildIndex = 0; grandchildIndex < childrenOfChildren; grandchildIndex++)
+				grandchildren[grandchildIndex] = Node.leaf(String.valueOf(childIndex * grandchildIndex));
+			children[childIndex] = Node.node(String.valueOf(childIndex), grandchildren);
+		}
+		return Node.root("0", children);
+	}
+
+	// #end HELPER
+
+}
@@ -0,0 +1,225 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import static org.codefx.libfx.collection.tree.stream.TreeTestHelper.createDeepBinaryTree;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.codefx.libfx.collection.tree.stream.TreeTestHelper.BulkChildrenNavigator;
+import org.codefx.libfx.collection.tree.stream.TreeTestHelper.CopyingNavigator;
+import org.codefx.libfx.collection.tree.stream.TreeTestHelper.Node;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link TreeSearch}.
+ */
+public class TreeSearchTest {
+
+	// #begin FIELDS
+
+	private Node root;
+
+	private CountingNavigator navigator;
+
+	// #end FIELDS
+
+	@Before
+	@SuppressWarnings("javadoc")
+	public void setUp() {
+		root = createDeepBinaryTree();
+		navigator = new CountingNavigator();
+	}
+
+	// find first
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void findFirst_matchingRoot_returnsRootWithoutVisitingChildren() {
+		assertSame(root, TreeSearch.findFirst(navigator, root, node -> true).get());
+		assertTrue(navigator.visitedParents.isEmpty());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void findFirst_matchingNodes_returnsFirstInDepthFirstOrder() {
+		Node found = TreeSearch.findFirst(navigator, root, node -> Integer.parseInt(node.content) % 5 == 0).get();
+
+		assertEquals("5", found.content);
+		// the children of "5" are never accessed
+		assertEquals(Arrays.asList("1", "2", "3", "4"), navigator.visitedParents);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void findFirst_noMatch_returnsEmptyOptional() {
+		assertFalse(TreeSearch.findFirst(navigator, root, node -> false).isPresent());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void findFirst_matchBelowMaxDepth_returnsEmptyOptional() {
+		assertFalse(TreeSearch.findFirst(navigator, root, node -> node.content.equals("4"), 2).isPresent());
+		assertTrue(TreeSearch.findFirst(navigator, root, node -> node.content.equals("4"), 3).isPresent());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	@SuppressWarnings("javadoc")
+	public void findFirst_negativeMaxDepth_throwsException() {
+		TreeSearch.findFirst(navigator, root, node -> true, -1);
+	}
+
+	// find all
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void findAll_unlimited_returnsAllMatchesInDepthFirstOrder() {
+		List<Node> found = TreeSearch.findAll(navigator, root, node -> Integer.parseInt(node.content) % 2 == 0,
+				Integer.MAX_VALUE);
+
+		assertEquals(Arrays.asList("2", "4", "6", "8", "10", "12", "14"), contents(found));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void findAll_limit_stopsAfterLimit() {
+		List<Node> found = TreeSearch.findAll(navigator, root, node -> Integer.parseInt(node.content) % 2 == 0, 3);
+
+		assertEquals(Arrays.asList("2", "4", "6"), contents(found));
+		assertEquals(Arrays.asList("1", "2", "3", "4", "5"), navigator.visitedParents);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void findAll_maxDepth_returnsOnlyShallowMatches() {
+		List<Node> found = TreeSearch.findAll(navigator, root, node -> true, Integer.MAX_VALUE, 1);
+
+		assertEquals(Arrays.asList("1", "2", "9"), contents(found));
+		assertEquals(Arrays.asList("1"), navigator.visitedParents);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void findAll_zeroLimit_returnsEmptyList() {
+		assertTrue(TreeSearch.findAll(navigator, root, node -> true, 0).isEmpty());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void findAll_deepChain_doesNotOverflowStack() {
+		Node chainRoot = Node.root("0");
+		Node end = chainRoot;
+		for (int depth = 1; depth <= 10_000; depth++) {
+			Node next = Node.leaf(Integer.toString(depth));
+			next.parent = Optional.of(end);
+			end.children.add(next);
+			end = next;
+		}
+
+		List<Node> found = TreeSearch.findAll(navigator, chainRoot, node -> node.children.isEmpty(), 1);
+
+		assertSame(end, found.get(0));
+	}
+
+	// find nearest
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void findNearest_matchingStartNode_returnsStartNode() {
+		Node startNode = find("6");
+
+		assertSame(startNode, TreeSearch.findNearest(navigator, startNode, node -> true).get());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void findNearest_variousGoals_returnsNearestMatch() {
+		Node startNode = find("6");
+
+		// children come before the parent
+		assertEquals("7", findNearest(startNode, "7|2"));
+		// at distance 2, the sibling "3" comes before the grandparent "1"
+		assertEquals("3", findNearest(startNode, "1|3"));
+		assertEquals("1", findNearest(startNode, "1|4"));
+		// "15" is at distance 5
+		assertEquals("15", findNearest(startNode, "15"));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void findNearest_matchBeyondMaxDistance_returnsEmptyOptional() {
+		Node startNode = find("6");
+
+		assertFalse(TreeSearch.findNearest(navigator, startNode, node -> node.content.equals("15"), 4).isPresent());
+		assertTrue(TreeSearch.findNearest(navigator, startNode, node -> node.content.equals("15"), 5).isPresent());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void findNearest_noMatch_visitsEachNodeOnce() {
+		List<String> visited = new ArrayList<>();
+
+		TreeSearch.findNearest(navigator, find("11"), node -> !visited.add(node.content));
+
+		assertEquals(15, visited.size());
+		assertEquals(15, visited.stream().distinct().count());
+		// the nodes are visited in the order of their distance
+		assertEquals(Arrays.asList("11", "10", "12", "9", "13", "1"), visited.subList(0, 6));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void findNearest_navigatorCreatesEqualNodes_visitsEachNodeOnce() {
+		CopyingNavigator copyingNavigator = new CopyingNavigator(root);
+		List<String> visited = new ArrayList<>();
+
+		TreeSearch.findNearest(copyingNavigator, new String("11"), node -> !visited.add(node));
+
+		assertEquals(15, visited.size());
+		assertEquals(15, visited.stream().distinct().count());
+		assertEquals(Arrays.asList("11", "10", "12", "9", "13", "1"), visited.subList(0, 6));
+	}
+
+	// #begin HELPER
+
+	private Node find(String content) {
+		return TreeStreams.dfsFromRoot(navigator, root).filter(node -> node.content.equals(content)).findFirst().get();
+	}
+
+	private String findNearest(Node startNode, String contentPattern) {
+		return TreeSearch.findNearest(navigator, startNode, node -> node.content.matches(contentPattern)).get().content;
+	}
+
+	private static List<String> contents(List<Node> nodes) {
+		return nodes.stream().map(node -> node.content).collect(Collectors.toList());
+	}
+
+	// #end HELPER
+
+	// #begin INNER CLASSES
+
+	/**
+	 * A navigator which records the nodes whose children were accessed.
+	 */
+	private static class CountingNavigator extends BulkChildrenNavigator {
+
+		private final List<String> visitedParents = new ArrayList<>();
+
+		@Override
+		public List<Node> getChildren(Node parent) {
+			visitedParents.add(parent.content);
+			return super.getChildren(parent);
+		}
+
+	}
+
+	// #end INNER CLASSES
+
+}
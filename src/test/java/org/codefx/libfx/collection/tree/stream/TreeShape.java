@@ -0,0 +1,73 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * The shape of a synthetic tree used by benchmarks.
+ * <p>
+ * All shapes are created in the same way: the nodes are created in breadth-first order and each node becomes a child of
+ * the first node which has less children than the shape's fan-out. This fills the tree level by level, so a fan-out of
+ * one creates a chain, an unlimited fan-out creates a fan and every other fan-out creates a balanced tree.
+ */
+public enum TreeShape {
+
+	/**
+	 * Each node (except the last) has exactly one child, so the tree is as deep as it is large.
+	 */
+	CHAIN(1),
+
+	/**
+	 * All nodes (except the root) are children of the root.
+	 */
+	FAN(Integer.MAX_VALUE),
+
+	/**
+	 * A balanced binary tree.
+	 */
+	BINARY(2),
+
+	/**
+	 * A balanced tree in which each inner node (except maybe the last) has eight children.
+	 */
+	OCTARY(8);
+
+	private final int fanOut;
+
+	private TreeShape(int fanOut) {
+		this.fanOut = fanOut;
+	}
+
+	/**
+	 * Creates a tree with this shape.
+	 *
+	 * @param <N>
+	 *            the type of nodes contained in the tree
+	 * @param size
+	 *            the number of nodes in the tree; must be positive
+	 * @param createNode
+	 *            creates a new node without children
+	 * @param addChild
+	 *            adds the second node as the last child of the first node
+	 * @return the tree's nodes in breadth-first order; the first is the root, the last is one of the deepest nodes
+	 */
+	public <N> List<N> create(int size, Supplier<? extends N> createNode, BiConsumer<? super N, ? super N> addChild) {
+		Objects.requireNonNull(createNode, "The argument 'createNode' must not be null.");
+		Objects.requireNonNull(addChild, "The argument 'addChild' must not be null.");
+		if (size < 1)
+			throw new IllegalArgumentException("The argument 'size' must be positive (was " + size + ").");
+
+		List<N> nodes = new ArrayList<>(size);
+		nodes.add(createNode.get());
+		for (int index = 1; index < size; index++) {
+			N node = createNode.get();
+			addChild.accept(nodes.get((index - 1) / fanOut), node);
+			nodes.add(node);
+		}
+		return nodes;
+	}
+
+}
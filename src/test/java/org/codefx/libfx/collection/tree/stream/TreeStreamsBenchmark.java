@@ -0,0 +1,85 @@
+package org.codefx.libfx.collection.tree.stream;
+
+import static org.codefx.libfx.collection.tree.stream.BenchmarkNode.NAVIGATOR;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures how long it takes to stream a tree with {@link TreeStreams#dfsFromRoot(
+ * org.codefx.libfx.collection.tree.navigate.TreeNavigator, Object) dfsFromRoot} and how long
+ * {@link TreeStreams#dfsFromWithin(org.codefx.libfx.collection.tree.navigate.TreeNavigator, Object) dfsFromWithin}
+ * needs to construct the path to its start node with the {@link TreePathFactory}.
+ * <p>
+ * The trees have all {@link TreeShape shapes} and up to ten million nodes; the start node is one of the deepest nodes.
+ * The largest trees need a lot of memory, so the forked JVM gets a larger heap.
+ * <p>
+ * This is not a test and is hence not run during the build. Run it via {@link TreeBenchmarks}, which adds allocation
+ * rates to the report.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@SuppressWarnings("javadoc")
+public class TreeStreamsBenchmark {
+
+	@Param({ "CHAIN", "FAN", "BINARY", "OCTARY" })
+	public TreeShape shape;
+
+	@Param({ "10000", "1000000", "10000000" })
+	public int size;
+
+	private BenchmarkNode root;
+
+	private BenchmarkNode deepestNode;
+
+	@Setup
+	public void createTree() {
+		List<BenchmarkNode> nodes = BenchmarkNode.createTree(shape, size);
+		root = nodes.get(0);
+		deepestNode = nodes.get(nodes.size() - 1);
+	}
+
+	// #begin BENCHMARKS
+
+	@Benchmark
+	public void dfsFromRoot(Blackhole blackhole) {
+		TreeStreams.dfsFromRoot(NAVIGATOR, root).forEach(blackhole::consume);
+	}
+
+	@Benchmark
+	public TreePath<TreeNode<BenchmarkNode>> startPathFromRoot() {
+		// the path created by 'dfsFromWithin(navigator, startNode)'
+		return TreePathFactory.createFromRootToNode(NAVIGATOR, deepestNode);
+	}
+
+	@Benchmark
+	public TreePath<TreeNode<BenchmarkNode>> startPathFromAncestor() {
+		// the path created by 'dfsFromWithin(navigator, root, startNode)'
+		return TreePathFactory.createFromNodeToDescendant(NAVIGATOR, root, deepestNode);
+	}
+
+	@Benchmark
+	public void dfsFromWithin(Blackhole blackhole) {
+		TreeStreams.dfsFromWithin(NAVIGATOR, deepestNode).forEach(blackhole::consume);
+	}
+
+	// #end BENCHMARKS
+
+}
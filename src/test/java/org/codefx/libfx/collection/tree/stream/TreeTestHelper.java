@@ -2,9 +2,12 @@ package org.codefx.libfx.collection.tree.stream;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.function.Consumer;
 
 import org.codefx.libfx.collection.tree.navigate.TreeNavigator;
 import org.codefx.libfx.collection.tree.stream.TreeIterationStrategy;
@@ -129,6 +132,75 @@ class TreeTestHelper {
 
 	}
 
+	/**
+	 * A {@link Navigator} which only allows bulk access to children; the index-based {@link #getChild(Node, int)
+	 * getChild} throws an exception.
+	 */
+	public static class BulkChildrenNavigator extends Navigator {
+
+		@Override
+		public Optional<Node> getChild(Node parent, int childIndex) {
+			throw new UnsupportedOperationException("Children must be accessed in bulk.");
+		}
+
+		@Override
+		public void forEachChild(Node parent, Consumer<? super Node> action) {
+			parent.children.forEach(action);
+		}
+
+		@Override
+		public List<Node> getChildren(Node parent) {
+			return parent.children;
+		}
+
+	}
+
+	/**
+	 * A navigator over the contents of a {@link Node}-based tree, which returns a new (equal but not identical) string
+	 * for each node it returns. This mimics navigators which create new node instances on each call. The contents of
+	 * the tree's nodes must be unique.
+	 */
+	public static class CopyingNavigator implements TreeNavigator<String> {
+
+		private final Map<String, Node> nodes = new HashMap<>();
+
+		/**
+		 * Creates a navigator for the tree rooted in the specified node.
+		 *
+		 * @param root
+		 *            the tree's root
+		 */
+		public CopyingNavigator(Node root) {
+			addWithDescendants(root);
+		}
+
+		private void addWithDescendants(Node node) {
+			nodes.put(node.content, node);
+			node.children.forEach(this::addWithDescendants);
+		}
+
+		@Override
+		public Optional<String> getParent(String child) {
+			return nodes.get(child).parent.map(parent -> new String(parent.content));
+		}
+
+		@Override
+		public OptionalInt getChildIndex(String node) {
+			return NAVIGATOR.getChildIndex(nodes.get(node));
+		}
+
+		@Override
+		public int getChildrenCount(String parent) {
+			return nodes.get(parent).children.size();
+		}
+
+		@Override
+		public Optional<String> getChild(String parent, int childIndex) {
+			return NAVIGATOR.getChild(nodes.get(parent), childIndex).map(child -> new String(child.content));
+		}
+
+	}
+
 	/**
 	 * A node in the trees returned by this class.
 	 */